@@ -0,0 +1,68 @@
+package com.sjoh.kioomstock.controller;
+
+import com.sjoh.kioomstock.domain.StockInvestor;
+import com.sjoh.kioomstock.domain.StockOrderBook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HomeController.home 의 호가/투자자 Map 구성 비용.
+ * days 일치 분 단위 데이터(종목 4개 x 하루 390분)를 findAll() 로 읽었다고 가정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HomeControllerBenchmark {
+
+    private static final String[] STOCK_CODES = {"005930", "000660", "122630", "114800"};
+    private static final int MINUTES_PER_DAY = 390;
+
+    @Param({"1", "20"})
+    public int days;
+
+    private final DateTimeFormatter keyFormatter = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+
+    private List<StockOrderBook> orderBooks;
+    private List<StockInvestor> investors;
+
+    @Setup
+    public void setUp() {
+        orderBooks = new ArrayList<>();
+        investors = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2026, 10, 16, 9, 0);
+        for (int d = 0; d < days; d++) {
+            for (int m = 0; m < MINUTES_PER_DAY; m++) {
+                LocalDateTime time = start.minusDays(d).plusMinutes(m);
+                for (String code : STOCK_CODES) {
+                    orderBooks.add(StockOrderBook.builder().stockCode(code).time(time)
+                            .totalSellRemain(100_000 + m).totalBuyRemain(90_000 + m).build());
+                    investors.add(StockInvestor.builder().stockCode(code).time(time).date(time.toLocalDate())
+                            .foreigner(m * 10L).institution(-m * 5L).individual(m).build());
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, StockOrderBook> buildOrderBookMap() {
+        return HomeController.buildOrderBookMap(orderBooks, keyFormatter);
+    }
+
+    @Benchmark
+    public Map<String, StockInvestor> buildInvestorMap() {
+        return HomeController.buildInvestorMap(investors, keyFormatter);
+    }
+}
@@ -0,0 +1,45 @@
+package com.sjoh.kioomstock.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * kt00004 계좌평가현황 응답(보유 20종목) 파싱 비용.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AccountParsingBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private byte[] accountJson;
+    private Map<String, Object> accountResponse;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        accountJson = Fixtures.load("kt00004.json");
+        accountResponse = objectMapper.readValue(accountJson, Map.class);
+    }
+
+    @Benchmark
+    public Map<?, ?> decodeAccountJson() throws IOException {
+        return objectMapper.readValue(accountJson, Map.class);
+    }
+
+    @Benchmark
+    public Object parseAccountResponse() {
+        return AccountResponseParser.parse(accountResponse);
+    }
+}
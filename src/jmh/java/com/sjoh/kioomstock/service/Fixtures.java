@@ -0,0 +1,25 @@
+package com.sjoh.kioomstock.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * src/jmh/resources/fixtures 아래의 키움 API 응답 샘플 로더.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static byte[] load(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture not found: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
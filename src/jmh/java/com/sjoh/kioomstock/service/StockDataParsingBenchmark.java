@@ -0,0 +1,96 @@
+package com.sjoh.kioomstock.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시세 응답 파싱/매핑(StockResponseParser) 비용.
+ * fixture 는 ka10046(체결강도 분 단위 100행), ka10059(투자자 일별 100행) 응답 크기 기준입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StockDataParsingBenchmark {
+
+    private static final String STOCK_CODE = "005930";
+    // fixture 의 최신 일자와 맞춰 투자자 당일 필터가 실제 수집과 같은 행 수를 통과시키도록 고정
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2026, 10, 16, 15, 30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private byte[] priceJson;
+    private byte[] investorJson;
+    private Map<String, Object> priceResponse;
+    private Map<String, Object> investorResponse;
+    private List<Map<String, String>> priceRows;
+    private List<Map<String, String>> investorRows;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        priceJson = Fixtures.load("ka10046.json");
+        investorJson = Fixtures.load("ka10059.json");
+        priceResponse = objectMapper.readValue(priceJson, Map.class);
+        investorResponse = objectMapper.readValue(investorJson, Map.class);
+        priceRows = (List<Map<String, String>>) priceResponse.get("cntr_str_tm");
+        investorRows = (List<Map<String, String>>) investorResponse.get("stk_invsr_orgn");
+    }
+
+    // WebClient bodyToMono(Map.class) 에 해당하는 JSON 디코딩
+    @Benchmark
+    public Map<?, ?> decodePriceJson() throws IOException {
+        return objectMapper.readValue(priceJson, Map.class);
+    }
+
+    @Benchmark
+    public Map<?, ?> decodeInvestorJson() throws IOException {
+        return objectMapper.readValue(investorJson, Map.class);
+    }
+
+    @Benchmark
+    public Object parsePriceResponse() {
+        return StockResponseParser.parseResponse(STOCK_CODE, priceResponse, AS_OF);
+    }
+
+    @Benchmark
+    public Object parseInvestorResponse() {
+        return StockResponseParser.parseInvestorResponse(STOCK_CODE, investorResponse, AS_OF);
+    }
+
+    @Benchmark
+    public void mapAllPriceRows(Blackhole bh) {
+        for (Map<String, String> row : priceRows) {
+            bh.consume(StockResponseParser.mapToStockPriceInfo(STOCK_CODE, row, AS_OF));
+        }
+    }
+
+    @Benchmark
+    public void mapAllInvestorRows(Blackhole bh) {
+        for (Map<String, String> row : investorRows) {
+            bh.consume(StockResponseParser.mapToStockInvestor(STOCK_CODE, row, AS_OF));
+        }
+    }
+
+    // 부호/콤마가 섞인 실제 응답 형태의 숫자 문자열
+    @Benchmark
+    public void parseNumbers(Blackhole bh) {
+        bh.consume(StockResponseParser.parseLong("+60700"));
+        bh.consume(StockResponseParser.parseLong("-1,234,500"));
+        bh.consume(StockResponseParser.parseLong("000000012345678"));
+        bh.consume(StockResponseParser.parseDouble("+1.25"));
+        bh.consume(StockResponseParser.parseDouble("123.45"));
+    }
+}
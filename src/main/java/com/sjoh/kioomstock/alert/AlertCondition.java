@@ -0,0 +1,6 @@
+package com.sjoh.kioomstock.alert;
+
+@FunctionalInterface
+public interface AlertCondition {
+    boolean test(double previous, double current);
+}
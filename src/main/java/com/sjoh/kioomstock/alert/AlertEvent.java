@@ -0,0 +1,23 @@
+package com.sjoh.kioomstock.alert;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class AlertEvent {
+
+    private final String ruleId;
+    private final String stockCode;
+    private final AlertMetric metric;
+    private final AlertOperator operator;
+    private final double threshold;
+    private final double previousValue;
+    private final double value;
+    private final String message;
+    private final LocalDateTime time;
+}
@@ -0,0 +1,24 @@
+package com.sjoh.kioomstock.alert;
+
+/**
+ * 알림 조건에 사용할 수 있는 지표.
+ * StockAlertState 가 ordinal 을 현재/직전 값 배열(double[])의 인덱스로, bit() 를 갱신된 지표 비트마스크(long)로 쓰므로
+ * 64개를 넘기지 않아야 합니다.
+ */
+public enum AlertMetric {
+    PRICE,                  // 현재가 (절대값)
+    FLUCTUATION_RATE,       // 등락율
+    VOLUME_POWER,           // 체결강도 (1분)
+    VOLUME_POWER_5MIN,      // 체결강도 5분
+    VOLUME_POWER_20MIN,     // 체결강도 20분
+    VOLUME_POWER_60MIN,     // 체결강도 60분
+    ORDER_BOOK_IMBALANCE,   // (매수잔량 - 매도잔량) / (매수잔량 + 매도잔량), -1 ~ 1
+    FOREIGNER_NET,          // 외국인 순매수
+    INSTITUTION_NET,        // 기관계 순매수
+    INDIVIDUAL_NET,         // 개인 순매수
+    PENSION_FUND_NET;       // 연기금 순매수
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+}
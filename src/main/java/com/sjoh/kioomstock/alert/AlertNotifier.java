@@ -0,0 +1,9 @@
+package com.sjoh.kioomstock.alert;
+
+/**
+ * 알림 발송 확장 포인트. 구현체를 빈으로 등록하면 모두 호출됩니다.
+ * 수집 스레드에서 인라인으로 호출되므로 외부 호출이 필요한 구현은 비동기로 처리해야 합니다.
+ */
+public interface AlertNotifier {
+    void notify(AlertEvent event);
+}
@@ -0,0 +1,25 @@
+package com.sjoh.kioomstock.alert;
+
+/**
+ * 알림 조건 연산자.
+ * CROSS_* 는 직전 값과 현재 값을 비교하므로 해당 지표가 두 번 이상 수집된 이후부터 동작합니다.
+ */
+public enum AlertOperator {
+    ABOVE,          // 현재 값 > 기준값
+    BELOW,          // 현재 값 < 기준값
+    CROSS_ABOVE,    // 직전 값 < 기준값 <= 현재 값
+    CROSS_BELOW;    // 직전 값 > 기준값 >= 현재 값
+
+    /**
+     * 기준값을 고정한 조건식으로 컴파일합니다.
+     * 직전 값이 없으면 NaN 이 전달되며, NaN 과의 비교는 항상 false 이므로 CROSS_* 는 발생하지 않습니다.
+     */
+    public AlertCondition compile(double threshold) {
+        return switch (this) {
+            case ABOVE -> (previous, current) -> current > threshold;
+            case BELOW -> (previous, current) -> current < threshold;
+            case CROSS_ABOVE -> (previous, current) -> previous < threshold && current >= threshold;
+            case CROSS_BELOW -> (previous, current) -> previous > threshold && current <= threshold;
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.sjoh.kioomstock.alert;
+
+/**
+ * 종목 하나에 바인딩된 컴파일된 규칙. 디바운스 상태(마지막 발생 시각)를 종목별로 따로 가집니다.
+ */
+public class CompiledRule {
+
+    private final String id;
+    private final AlertMetric metric;
+    private final AlertOperator operator;
+    private final double threshold;
+    private final AlertCondition condition;
+    private final long cooldownNanos;
+    private final String message;
+
+    private long lastFiredNanos;
+    private boolean fired;
+
+    public CompiledRule(String id, AlertMetric metric, AlertOperator operator, double threshold, long cooldownNanos, String message) {
+        this.id = id;
+        this.metric = metric;
+        this.operator = operator;
+        this.threshold = threshold;
+        this.condition = operator.compile(threshold);
+        this.cooldownNanos = cooldownNanos;
+        this.message = message;
+    }
+
+    /**
+     * 조건을 만족하고 쿨다운이 지났으면 true 를 반환하고 발생 시각을 기록합니다.
+     */
+    public boolean evaluate(double previous, double current, long nowNanos) {
+        if (!condition.test(previous, current)) {
+            return false;
+        }
+        if (fired && nowNanos - lastFiredNanos < cooldownNanos) {
+            return false;
+        }
+        fired = true;
+        lastFiredNanos = nowNanos;
+        return true;
+    }
+
+    public CompiledRule copy() {
+        return new CompiledRule(id, metric, operator, threshold, cooldownNanos, message);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public AlertMetric getMetric() {
+        return metric;
+    }
+
+    public AlertOperator getOperator() {
+        return operator;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
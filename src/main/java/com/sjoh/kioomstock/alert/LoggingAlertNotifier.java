@@ -0,0 +1,20 @@
+package com.sjoh.kioomstock.alert;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// 기본 알림: 로그로만 남김
+@Component
+public class LoggingAlertNotifier implements AlertNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingAlertNotifier.class);
+
+    @Override
+    public void notify(AlertEvent event) {
+        logger.info("[ALERT] {} {} {} {} {} (prev: {}, now: {}) {}",
+                event.getRuleId(), event.getStockCode(), event.getMetric(), event.getOperator(),
+                event.getThreshold(), event.getPreviousValue(), event.getValue(),
+                event.getMessage() == null ? "" : event.getMessage());
+    }
+}
@@ -0,0 +1,53 @@
+package com.sjoh.kioomstock.alert;
+
+import java.util.Arrays;
+
+/**
+ * 종목별 최신 지표 값과 해당 종목에 적용되는 규칙 목록.
+ * 지표 값은 AlertMetric ordinal 로 인덱싱되는 primitive 배열이며, 값이 없으면 NaN 입니다.
+ * (스레드 안전하지 않음 - 호출 측에서 동기화)
+ */
+public class StockAlertState {
+
+    private static final int METRIC_COUNT = AlertMetric.values().length;
+
+    private final double[] current = new double[METRIC_COUNT];
+    private final double[] previous = new double[METRIC_COUNT];
+    private final CompiledRule[] rules;
+
+    // 이번 수집에서 갱신된 지표 비트마스크. 해당 지표를 쓰는 규칙만 평가합니다.
+    private long dirty;
+
+    public StockAlertState(CompiledRule[] rules) {
+        this.rules = rules;
+        Arrays.fill(current, Double.NaN);
+        Arrays.fill(previous, Double.NaN);
+    }
+
+    public void set(AlertMetric metric, double value) {
+        int i = metric.ordinal();
+        previous[i] = current[i];
+        current[i] = value;
+        dirty |= metric.bit();
+    }
+
+    public double get(AlertMetric metric) {
+        return current[metric.ordinal()];
+    }
+
+    public double getPrevious(AlertMetric metric) {
+        return previous[metric.ordinal()];
+    }
+
+    public CompiledRule[] getRules() {
+        return rules;
+    }
+
+    public boolean isDirty(AlertMetric metric) {
+        return (dirty & metric.bit()) != 0;
+    }
+
+    public void clearDirty() {
+        dirty = 0;
+    }
+}
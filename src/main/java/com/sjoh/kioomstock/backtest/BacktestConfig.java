@@ -0,0 +1,28 @@
+package com.sjoh.kioomstock.backtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestConfig {
+
+    @Builder.Default
+    private double initialCapital = 10_000_000;     // 초기 자본 (원)
+    @Builder.Default
+    private double positionFraction = 1.0;          // 진입 시 평가금액 대비 투입 비율
+    @Builder.Default
+    private double commissionRate = 0.00015;        // 매수/매도 수수료율
+    @Builder.Default
+    private double sellTaxRate = 0.0018;            // 매도 시 거래세율
+    @Builder.Default
+    private double slippageRate = 0.0005;           // 체결가 불리 슬리피지 비율
+    @Builder.Default
+    private double periodsPerYear = 252;            // 샤프지수 연율화 기준 (일봉 252, 분봉 252 * 390)
+    @Builder.Default
+    private boolean keepEquityCurve = false;        // 파라미터 스윕에서는 메모리를 위해 끔
+}
@@ -0,0 +1,27 @@
+package com.sjoh.kioomstock.backtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestResult {
+
+    private String stockCode;
+    private String strategy;
+    private String parameters;
+    private int bars;
+
+    private double finalEquity;
+    private double totalReturn;     // 총수익률 (0.1 = 10%)
+    private double maxDrawdown;     // 최대낙폭 (0.2 = 20%)
+    private double sharpeRatio;     // 연율화 샤프지수 (무위험수익률 0 가정)
+    private int tradeCount;         // 청산 완료된 거래 수
+    private double winRate;
+
+    private double[] equityCurve;   // keepEquityCurve 일 때만 채워짐
+}
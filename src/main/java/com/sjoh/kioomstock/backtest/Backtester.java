@@ -0,0 +1,101 @@
+package com.sjoh.kioomstock.backtest;
+
+/**
+ * 단일 종목 / 단일 전략 롱 온리 백테스트.
+ * 신호는 봉 종가에 확정되고 다음 봉 시가에 슬리피지를 반영해 체결합니다.
+ */
+public final class Backtester {
+
+    private Backtester() {
+    }
+
+    public static BacktestResult run(PriceSeries series, Strategy strategy, BacktestConfig config) {
+        int n = series.length();
+        double[] open = series.getOpen();
+        double[] close = series.getClose();
+        byte[] signals = strategy.generateSignals(series);
+        double[] equityCurve = config.isKeepEquityCurve() ? new double[n] : null;
+
+        double cash = config.getInitialCapital();
+        long shares = 0;
+        double entryCost = 0;
+        int trades = 0;
+        int wins = 0;
+
+        double peak = cash;
+        double maxDrawdown = 0;
+        double prevEquity = cash;
+        double returnSum = 0;
+        double returnSumSq = 0;
+        int returnCount = 0;
+
+        for (int i = 0; i < n; i++) {
+            // 직전 봉 신호를 이번 봉 시가에 체결
+            if (i > 0) {
+                byte signal = signals[i - 1];
+                if (signal == Strategy.ENTER && shares == 0) {
+                    double fillPrice = open[i] * (1 + config.getSlippageRate());
+                    double budget = prevEquity * config.getPositionFraction();
+                    long qty = (long) (budget / (fillPrice * (1 + config.getCommissionRate())));
+                    if (qty > 0) {
+                        entryCost = qty * fillPrice * (1 + config.getCommissionRate());
+                        cash -= entryCost;
+                        shares = qty;
+                    }
+                } else if (signal == Strategy.EXIT && shares > 0) {
+                    double fillPrice = open[i] * (1 - config.getSlippageRate());
+                    double proceeds = shares * fillPrice * (1 - config.getCommissionRate() - config.getSellTaxRate());
+                    cash += proceeds;
+                    trades++;
+                    if (proceeds > entryCost) {
+                        wins++;
+                    }
+                    shares = 0;
+                }
+            }
+
+            double equity = cash + shares * close[i];
+            if (equityCurve != null) {
+                equityCurve[i] = equity;
+            }
+            if (equity > peak) {
+                peak = equity;
+            } else if (peak > 0) {
+                double drawdown = (peak - equity) / peak;
+                if (drawdown > maxDrawdown) {
+                    maxDrawdown = drawdown;
+                }
+            }
+            if (i > 0 && prevEquity > 0) {
+                double r = equity / prevEquity - 1;
+                returnSum += r;
+                returnSumSq += r * r;
+                returnCount++;
+            }
+            prevEquity = equity;
+        }
+
+        double sharpe = 0;
+        if (returnCount > 1) {
+            double mean = returnSum / returnCount;
+            double variance = (returnSumSq - returnCount * mean * mean) / (returnCount - 1);
+            if (variance > 0) {
+                sharpe = mean / Math.sqrt(variance) * Math.sqrt(config.getPeriodsPerYear());
+            }
+        }
+
+        return BacktestResult.builder()
+                .stockCode(series.getStockCode())
+                .strategy(strategy.getName())
+                .parameters(strategy.getParameters())
+                .bars(n)
+                .finalEquity(prevEquity)
+                .totalReturn(prevEquity / config.getInitialCapital() - 1)
+                .maxDrawdown(maxDrawdown)
+                .sharpeRatio(sharpe)
+                .tradeCount(trades)
+                .winRate(trades == 0 ? 0 : (double) wins / trades)
+                .equityCurve(equityCurve)
+                .build();
+    }
+}
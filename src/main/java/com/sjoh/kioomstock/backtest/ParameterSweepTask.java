@@ -0,0 +1,51 @@
+package com.sjoh.kioomstock.backtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * (전략 x 종목) 조합 전체를 fork-join 으로 분할 실행합니다.
+ * 작업 인덱스 k 는 전략 k / 종목수, 종목 k % 종목수 에 대응합니다.
+ */
+public class ParameterSweepTask extends RecursiveTask<List<BacktestResult>> {
+
+    private static final int SEQUENTIAL_THRESHOLD = 16;
+
+    private final List<Strategy> strategies;
+    private final List<PriceSeries> seriesList;
+    private final BacktestConfig config;
+    private final int from;
+    private final int to;
+
+    public ParameterSweepTask(List<Strategy> strategies, List<PriceSeries> seriesList, BacktestConfig config) {
+        this(strategies, seriesList, config, 0, strategies.size() * seriesList.size());
+    }
+
+    private ParameterSweepTask(List<Strategy> strategies, List<PriceSeries> seriesList, BacktestConfig config, int from, int to) {
+        this.strategies = strategies;
+        this.seriesList = seriesList;
+        this.config = config;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected List<BacktestResult> compute() {
+        if (to - from <= SEQUENTIAL_THRESHOLD) {
+            List<BacktestResult> results = new ArrayList<>(to - from);
+            int seriesCount = seriesList.size();
+            for (int k = from; k < to; k++) {
+                results.add(Backtester.run(seriesList.get(k % seriesCount), strategies.get(k / seriesCount), config));
+            }
+            return results;
+        }
+        int mid = (from + to) >>> 1;
+        ParameterSweepTask left = new ParameterSweepTask(strategies, seriesList, config, from, mid);
+        ParameterSweepTask right = new ParameterSweepTask(strategies, seriesList, config, mid, to);
+        left.fork();
+        List<BacktestResult> results = right.compute();
+        results.addAll(left.join());
+        return results;
+    }
+}
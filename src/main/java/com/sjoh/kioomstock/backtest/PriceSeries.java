@@ -0,0 +1,148 @@
+package com.sjoh.kioomstock.backtest;
+
+import com.sjoh.kioomstock.candle.DailyCandleSeries;
+import com.sjoh.kioomstock.domain.StockDailyCandle;
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * 백테스트용 컬럼형 시계열. 엔티티 리스트를 한 번만 primitive 배열로 옮겨두고
+ * 이후 모든 전략/파라미터 조합이 같은 배열을 읽기 전용으로 공유합니다.
+ */
+public class PriceSeries {
+
+    private final String stockCode;
+    private final String timeframe;
+    private final long[] times;         // epoch seconds (UTC 기준, 순서 비교용)
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final long[] volume;
+    private final double[] closePrefixSum; // closePrefixSum[i] = close[0] + ... + close[i-1]
+
+    public PriceSeries(String stockCode, String timeframe, long[] times, double[] open, double[] high, double[] low, double[] close, long[] volume) {
+        this.stockCode = stockCode;
+        this.timeframe = timeframe;
+        this.times = times;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.closePrefixSum = new double[close.length + 1];
+        for (int i = 0; i < close.length; i++) {
+            closePrefixSum[i + 1] = closePrefixSum[i] + close[i];
+        }
+    }
+
+    // 일봉 (날짜 오름차순으로 전달해야 함)
+    public static PriceSeries fromDailyCandles(String stockCode, List<StockDailyCandle> candles) {
+        int n = candles.size();
+        long[] times = new long[n];
+        double[] open = new double[n];
+        double[] high = new double[n];
+        double[] low = new double[n];
+        double[] close = new double[n];
+        long[] volume = new long[n];
+        for (int i = 0; i < n; i++) {
+            StockDailyCandle candle = candles.get(i);
+            times[i] = candle.getDate().atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+            close[i] = Math.abs(candle.getClosePrice());
+            // 시가/고가/저가가 비어있는 행은 종가로 대체
+            open[i] = candle.getOpenPrice() != 0 ? Math.abs(candle.getOpenPrice()) : close[i];
+            high[i] = candle.getHighPrice() != 0 ? Math.abs(candle.getHighPrice()) : close[i];
+            low[i] = candle.getLowPrice() != 0 ? Math.abs(candle.getLowPrice()) : close[i];
+            volume[i] = candle.getVolume();
+        }
+        return new PriceSeries(stockCode, "daily", times, open, high, low, close, volume);
+    }
+
+    // DailyCandleCache 의 일봉 배열에서 변환 (엔티티를 거치지 않음)
+    public static PriceSeries fromDailyCandles(DailyCandleSeries candles) {
+        int n = candles.length();
+        int[] epochDays = candles.getEpochDays();
+        long[] rawOpen = candles.getOpen();
+        long[] rawHigh = candles.getHigh();
+        long[] rawLow = candles.getLow();
+        long[] rawClose = candles.getClose();
+        long[] times = new long[n];
+        double[] open = new double[n];
+        double[] high = new double[n];
+        double[] low = new double[n];
+        double[] close = new double[n];
+        for (int i = 0; i < n; i++) {
+            times[i] = epochDays[i] * 86_400L;
+            close[i] = Math.abs(rawClose[i]);
+            open[i] = rawOpen[i] != 0 ? Math.abs(rawOpen[i]) : close[i];
+            high[i] = rawHigh[i] != 0 ? Math.abs(rawHigh[i]) : close[i];
+            low[i] = rawLow[i] != 0 ? Math.abs(rawLow[i]) : close[i];
+        }
+        return new PriceSeries(candles.getStockCode(), "daily", times, open, high, low, close, candles.getVolume().clone());
+    }
+
+    // 분 단위 틱 (시간 오름차순으로 전달해야 함). 틱에는 OHLC 가 없으므로 현재가로 채움
+    public static PriceSeries fromTicks(String stockCode, List<StockPriceInfo> ticks) {
+        int n = ticks.size();
+        long[] times = new long[n];
+        double[] close = new double[n];
+        long[] volume = new long[n];
+        for (int i = 0; i < n; i++) {
+            StockPriceInfo tick = ticks.get(i);
+            LocalDateTime time = tick.getTime();
+            times[i] = time.toEpochSecond(ZoneOffset.UTC);
+            close[i] = Math.abs(tick.getCurrentPrice());
+            volume[i] = tick.getVolume();
+        }
+        return new PriceSeries(stockCode, "minute", times, close, close, close, close, volume);
+    }
+
+    public int length() {
+        return close.length;
+    }
+
+    // [from, to) 구간 종가 평균
+    public double averageClose(int from, int to) {
+        return (closePrefixSum[to] - closePrefixSum[from]) / (to - from);
+    }
+
+    // 캐시 용량 계산용 대략적인 메모리 크기 (times/volume + open/high/low/close/누적합)
+    public long weightBytes() {
+        return (long) length() * (Long.BYTES * 2 + Double.BYTES * 5) + 7 * 16 + 64;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    public String getTimeframe() {
+        return timeframe;
+    }
+
+    public long[] getTimes() {
+        return times;
+    }
+
+    public double[] getOpen() {
+        return open;
+    }
+
+    public double[] getHigh() {
+        return high;
+    }
+
+    public double[] getLow() {
+        return low;
+    }
+
+    public double[] getClose() {
+        return close;
+    }
+
+    public long[] getVolume() {
+        return volume;
+    }
+}
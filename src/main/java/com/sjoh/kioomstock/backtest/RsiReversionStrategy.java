@@ -0,0 +1,61 @@
+package com.sjoh.kioomstock.backtest;
+
+/**
+ * RSI 가 하한 아래로 내려가면 진입(과매도), 상한 위로 올라가면 청산(과매수).
+ */
+public class RsiReversionStrategy implements Strategy {
+
+    private final int period;
+    private final double lower;
+    private final double upper;
+
+    public RsiReversionStrategy(int period, double lower, double upper) {
+        if (period <= 1 || lower >= upper) {
+            throw new IllegalArgumentException("Invalid RSI parameters: period=" + period + ", lower=" + lower + ", upper=" + upper);
+        }
+        this.period = period;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    @Override
+    public byte[] generateSignals(PriceSeries series) {
+        double[] close = series.getClose();
+        int n = close.length;
+        byte[] signals = new byte[n];
+        double avgGain = 0;
+        double avgLoss = 0;
+        for (int i = 1; i < n; i++) {
+            double change = close[i] - close[i - 1];
+            double gain = change > 0 ? change : 0;
+            double loss = change < 0 ? -change : 0;
+            if (i <= period) {
+                avgGain += gain / period;
+                avgLoss += loss / period;
+                if (i < period) {
+                    continue;
+                }
+            } else {
+                avgGain = (avgGain * (period - 1) + gain) / period;
+                avgLoss = (avgLoss * (period - 1) + loss) / period;
+            }
+            double rsi = avgLoss == 0 ? 100.0 : 100.0 - 100.0 / (1.0 + avgGain / avgLoss);
+            if (rsi < lower) {
+                signals[i] = ENTER;
+            } else if (rsi > upper) {
+                signals[i] = EXIT;
+            }
+        }
+        return signals;
+    }
+
+    @Override
+    public String getName() {
+        return "rsi-reversion";
+    }
+
+    @Override
+    public String getParameters() {
+        return "period=" + period + ",lower=" + lower + ",upper=" + upper;
+    }
+}
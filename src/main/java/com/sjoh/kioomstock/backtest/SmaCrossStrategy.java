@@ -0,0 +1,48 @@
+package com.sjoh.kioomstock.backtest;
+
+/**
+ * 단기 SMA 가 장기 SMA 를 상향 돌파하면 진입, 하향 돌파하면 청산.
+ * PriceSeries 의 누적합을 이용해 봉당 O(1)로 계산합니다.
+ */
+public class SmaCrossStrategy implements Strategy {
+
+    private final int fastPeriod;
+    private final int slowPeriod;
+
+    public SmaCrossStrategy(int fastPeriod, int slowPeriod) {
+        if (fastPeriod <= 0 || slowPeriod <= fastPeriod) {
+            throw new IllegalArgumentException("Invalid SMA periods: fast=" + fastPeriod + ", slow=" + slowPeriod);
+        }
+        this.fastPeriod = fastPeriod;
+        this.slowPeriod = slowPeriod;
+    }
+
+    @Override
+    public byte[] generateSignals(PriceSeries series) {
+        int n = series.length();
+        byte[] signals = new byte[n];
+        double prevDiff = Double.NaN;
+        for (int i = slowPeriod - 1; i < n; i++) {
+            double fast = series.averageClose(i + 1 - fastPeriod, i + 1);
+            double slow = series.averageClose(i + 1 - slowPeriod, i + 1);
+            double diff = fast - slow;
+            if (prevDiff <= 0 && diff > 0) {
+                signals[i] = ENTER;
+            } else if (prevDiff >= 0 && diff < 0) {
+                signals[i] = EXIT;
+            }
+            prevDiff = diff;
+        }
+        return signals;
+    }
+
+    @Override
+    public String getName() {
+        return "sma-cross";
+    }
+
+    @Override
+    public String getParameters() {
+        return "fast=" + fastPeriod + ",slow=" + slowPeriod;
+    }
+}
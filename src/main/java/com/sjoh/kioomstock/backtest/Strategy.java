@@ -0,0 +1,20 @@
+package com.sjoh.kioomstock.backtest;
+
+/**
+ * 매매 신호 생성기. 구현체는 불변이어야 하며 여러 스레드에서 동시에 호출될 수 있습니다.
+ */
+public interface Strategy {
+
+    byte ENTER = 1;
+    byte EXIT = -1;
+    byte HOLD = 0;
+
+    /**
+     * 각 봉의 종가 시점에 확정되는 신호 배열을 반환합니다. (신호는 다음 봉 시가에 체결)
+     */
+    byte[] generateSignals(PriceSeries series);
+
+    String getName();
+
+    String getParameters();
+}
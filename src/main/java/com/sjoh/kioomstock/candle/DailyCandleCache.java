@@ -0,0 +1,197 @@
+package com.sjoh.kioomstock.candle;
+
+import com.sjoh.kioomstock.domain.StockDailyCandle;
+import com.sjoh.kioomstock.event.StockDataCollectedEvent;
+import com.sjoh.kioomstock.repository.StockDailyCandleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 과거 일봉 캐시.
+ * 어제까지의 일봉은 바뀌지 않으므로 종목마다 한 번만 DB 에서 읽어 DailyCandleSeries 로 들고 있고,
+ * 아직 확정되지 않은 당일 일봉만 따로(작은 맵) 갱신합니다.
+ * - 처음 조회할 때 읽고(같은 종목 동시 조회는 한 번만 읽음), 배열 크기 합이 max-bytes 를 넘으면 오래 안 쓴 종목부터 내보냄
+ * - 날짜가 바뀌면 어제 일봉이 과거가 되므로 다음 조회 때 다시 읽음
+ * - 과거 일자의 일봉이 새로 저장/갱신되면(장마감 확정, 백필) 그 종목을 비움
+ */
+@Component
+public class DailyCandleCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyCandleCache.class);
+
+    private final StockDailyCandleRepository stockDailyCandleRepository;
+    private final long maxBytes;
+
+    // accessOrder=true: 조회할 때마다 맨 뒤로 옮겨져 맨 앞이 가장 오래 안 쓴 종목
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+    private final Map<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+    private final Map<String, StockDailyCandle> todayCandles = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public DailyCandleCache(StockDailyCandleRepository stockDailyCandleRepository, MeterRegistry meterRegistry,
+                            @Value("${kiwoom.candle-cache.max-bytes:67108864}") long maxBytes) {
+        this.stockDailyCandleRepository = stockDailyCandleRepository;
+        this.maxBytes = maxBytes;
+        this.hits = meterRegistry.counter("kiwoom.candle.cache.hits");
+        this.misses = meterRegistry.counter("kiwoom.candle.cache.misses");
+        this.evictions = meterRegistry.counter("kiwoom.candle.cache.evictions");
+        Gauge.builder("kiwoom.candle.cache.weight.bytes", this, DailyCandleCache::getTotalBytes)
+                .description("Approximate size of cached daily candle arrays")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 어제까지의 일봉 (날짜 오름차순). 필요하면 DB 에서 읽습니다.
+     */
+    public DailyCandleSeries getHistory(String stockCode) {
+        return entry(stockCode, LocalDate.now()).history;
+    }
+
+    /**
+     * 어제까지의 일봉 + 당일 일봉(있으면).
+     */
+    public DailyCandleSeries getSeries(String stockCode) {
+        LocalDate today = LocalDate.now();
+        DailyCandleSeries history = entry(stockCode, today).history;
+        StockDailyCandle todayCandle = getToday(stockCode, today);
+        return todayCandle != null ? history.append(todayCandle) : history;
+    }
+
+    /**
+     * 오늘 일봉을 이미 받았는지. DB 를 읽지 않으므로 수집 파이프라인(이벤트 루프)에서 호출해도 됩니다.
+     */
+    public boolean hasToday(String stockCode) {
+        return getToday(stockCode, LocalDate.now()) != null;
+    }
+
+    /**
+     * 수집기가 받은 일봉 응답 중 당일 행을 기억합니다. (다음 주기부터 일봉을 다시 받지 않기 위함)
+     */
+    public void rememberToday(String stockCode, List<StockDailyCandle> candles) {
+        LocalDate today = LocalDate.now();
+        for (StockDailyCandle candle : candles) {
+            if (today.equals(candle.getDate())) {
+                todayCandles.put(stockCode, candle);
+            }
+        }
+    }
+
+    public void invalidate(String stockCode) {
+        synchronized (this) {
+            Entry removed = entries.remove(stockCode);
+            if (removed != null) {
+                totalBytes -= removed.history.weightBytes();
+            }
+        }
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    @EventListener
+    public void onStockDataCollected(StockDataCollectedEvent event) {
+        if (event.getDailyCandles().isEmpty()) {
+            return;
+        }
+        String code = event.getStockCode();
+        LocalDate today = LocalDate.now();
+        boolean pastChanged = false;
+        for (StockDailyCandle candle : event.getDailyCandles()) {
+            if (today.equals(candle.getDate())) {
+                todayCandles.put(code, candle);
+            } else if (candle.getDate().isBefore(today)) {
+                pastChanged = true;
+            }
+        }
+        if (pastChanged) {
+            invalidate(code);
+        }
+    }
+
+    private StockDailyCandle getToday(String stockCode, LocalDate today) {
+        StockDailyCandle candle = todayCandles.get(stockCode);
+        return candle != null && today.equals(candle.getDate()) ? candle : null;
+    }
+
+    private Entry entry(String stockCode, LocalDate today) {
+        synchronized (this) {
+            Entry cached = entries.get(stockCode);
+            if (cached != null && cached.loadedOn.equals(today)) {
+                hits.increment();
+                return cached;
+            }
+        }
+
+        // 같은 종목을 동시에 조회하면 먼저 온 쪽만 읽고 나머지는 그 결과를 기다림
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> inFlight = loading.putIfAbsent(stockCode, mine);
+        if (inFlight != null) {
+            return inFlight.join();
+        }
+        try {
+            misses.increment();
+            Entry loaded = load(stockCode, today);
+            put(stockCode, loaded);
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(stockCode, mine);
+        }
+    }
+
+    private Entry load(String stockCode, LocalDate today) {
+        List<StockDailyCandle> history = new ArrayList<>();
+        for (StockDailyCandle candle : stockDailyCandleRepository.findByStockCodeOrderByDateAsc(stockCode)) {
+            if (candle.getDate().isBefore(today)) {
+                history.add(candle);
+            } else if (candle.getDate().equals(today)) {
+                todayCandles.putIfAbsent(stockCode, candle);
+            }
+        }
+        logger.debug("Loaded {} daily candles for {}", history.size(), stockCode);
+        return new Entry(today, DailyCandleSeries.of(stockCode, history));
+    }
+
+    private synchronized void put(String stockCode, Entry entry) {
+        Entry previous = entries.put(stockCode, entry);
+        if (previous != null) {
+            totalBytes -= previous.history.weightBytes();
+        }
+        totalBytes += entry.history.weightBytes();
+
+        // 방금 넣은 종목(맨 뒤)은 한도보다 커도 남겨둠
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && entries.size() > 1) {
+            Map.Entry<String, Entry> evicted = eldest.next();
+            totalBytes -= evicted.getValue().history.weightBytes();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private record Entry(LocalDate loadedOn, DailyCandleSeries history) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.sjoh.kioomstock.candle;
+
+import com.sjoh.kioomstock.domain.StockDailyCandle;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 한 종목의 일봉을 날짜 오름차순 primitive 배열로 들고 있는 읽기 전용 시계열.
+ * 엔티티 1건(객체 헤더 + 박싱/문자열 필드)보다 훨씬 작아서 수년치를 메모리에 둘 수 있습니다.
+ * 가격은 API 그대로(부호 포함) 저장하므로 쓰는 쪽에서 절대값을 취해야 합니다.
+ * 배열은 공유되므로 getter 로 받은 배열을 수정하면 안 됩니다.
+ */
+public final class DailyCandleSeries {
+
+    private static final int BYTES_PER_ROW = Integer.BYTES + Long.BYTES * 6;
+    private static final int OVERHEAD_BYTES = 7 * 16 + 64;     // 배열 헤더 7개 + 객체/키
+
+    private final String stockCode;
+    private final int[] epochDays;
+    private final long[] open;
+    private final long[] high;
+    private final long[] low;
+    private final long[] close;
+    private final long[] volume;
+    private final long[] tradingValue;
+
+    private DailyCandleSeries(String stockCode, int[] epochDays, long[] open, long[] high, long[] low, long[] close,
+                              long[] volume, long[] tradingValue) {
+        this.stockCode = stockCode;
+        this.epochDays = epochDays;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.tradingValue = tradingValue;
+    }
+
+    // candles 는 날짜 오름차순이어야 함
+    public static DailyCandleSeries of(String stockCode, List<StockDailyCandle> candles) {
+        int n = candles.size();
+        DailyCandleSeries series = new DailyCandleSeries(stockCode, new int[n], new long[n], new long[n], new long[n],
+                new long[n], new long[n], new long[n]);
+        for (int i = 0; i < n; i++) {
+            series.set(i, candles.get(i));
+        }
+        return series;
+    }
+
+    /**
+     * 마지막에 한 행(보통 아직 확정되지 않은 당일 일봉)을 붙인 새 시계열을 반환합니다.
+     */
+    public DailyCandleSeries append(StockDailyCandle candle) {
+        int n = length();
+        DailyCandleSeries series = new DailyCandleSeries(stockCode, Arrays.copyOf(epochDays, n + 1),
+                Arrays.copyOf(open, n + 1), Arrays.copyOf(high, n + 1), Arrays.copyOf(low, n + 1),
+                Arrays.copyOf(close, n + 1), Arrays.copyOf(volume, n + 1),
+                Arrays.copyOf(tradingValue, n + 1));
+        series.set(n, candle);
+        return series;
+    }
+
+    private void set(int i, StockDailyCandle candle) {
+        epochDays[i] = (int) candle.getDate().toEpochDay();
+        open[i] = candle.getOpenPrice();
+        high[i] = candle.getHighPrice();
+        low[i] = candle.getLowPrice();
+        close[i] = candle.getClosePrice();
+        volume[i] = candle.getVolume();
+        tradingValue[i] = candle.getTradingValue();
+    }
+
+    public int length() {
+        return close.length;
+    }
+
+    public LocalDate dateAt(int i) {
+        return LocalDate.ofEpochDay(epochDays[i]);
+    }
+
+    // 마지막 행의 날짜 (비어 있으면 null)
+    public LocalDate lastDate() {
+        return epochDays.length == 0 ? null : dateAt(epochDays.length - 1);
+    }
+
+    // 캐시 용량 계산용 대략적인 메모리 크기
+    long weightBytes() {
+        return (long) length() * BYTES_PER_ROW + OVERHEAD_BYTES;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    public int[] getEpochDays() {
+        return epochDays;
+    }
+
+    public long[] getOpen() {
+        return open;
+    }
+
+    public long[] getHigh() {
+        return high;
+    }
+
+    public long[] getLow() {
+        return low;
+    }
+
+    public long[] getClose() {
+        return close;
+    }
+
+    public long[] getVolume() {
+        return volume;
+    }
+
+    public long[] getTradingValue() {
+        return tradingValue;
+    }
+}
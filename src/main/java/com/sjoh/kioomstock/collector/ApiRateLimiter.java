@@ -0,0 +1,70 @@
+package com.sjoh.kioomstock.collector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * 키움 API 호출 한도(초당 요청 수)를 나눠 쓰는 토큰 버킷.
+ * 버킷의 reserve 비율만큼은 HIGH 우선순위만 꺼낼 수 있어, 관심 종목 전체 수집이 몰려도
+ * 보유/알림 종목의 호출이 먼저 나갑니다. rate-limit-per-second 가 0 이면 제한하지 않습니다.
+ */
+@Component
+public class ApiRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiRateLimiter.class);
+
+    private static final Duration RETRY_INTERVAL = Duration.ofMillis(20);
+
+    private final double ratePerSecond;
+    private final double reserved;        // HIGH 전용으로 남겨두는 토큰 수
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public ApiRateLimiter(@Value("${kiwoom.api.rate-limit-per-second:0}") double ratePerSecond,
+                          @Value("${kiwoom.api.rate-limit-reserve:0.3}") double reserveRatio) {
+        if (reserveRatio < 0 || reserveRatio >= 1) {
+            throw new IllegalArgumentException("kiwoom.api.rate-limit-reserve must be in [0, 1): " + reserveRatio);
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.reserved = ratePerSecond * reserveRatio;
+        this.tokens = ratePerSecond;
+        this.lastRefillNanos = System.nanoTime();
+        if (ratePerSecond > 0) {
+            logger.info("API rate limit: {}/s ({} reserved for high priority)", ratePerSecond, reserved);
+        }
+    }
+
+    /**
+     * permits 만큼의 호출 한도를 얻을 때까지 대기한 뒤 완료되는 Mono.
+     */
+    public Mono<Void> acquire(CollectionPriority priority, int permits) {
+        if (ratePerSecond <= 0) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> tryAcquire(priority, permits))
+                .filter(Boolean::booleanValue)
+                .repeatWhenEmpty(Integer.MAX_VALUE, attempts -> attempts.delayElements(RETRY_INTERVAL))
+                .then();
+    }
+
+    synchronized boolean tryAcquire(CollectionPriority priority, int permits) {
+        long now = System.nanoTime();
+        tokens = Math.min(ratePerSecond, tokens + (now - lastRefillNanos) / 1_000_000_000.0 * ratePerSecond);
+        lastRefillNanos = now;
+
+        // 버킷 크기보다 큰 요청도 언젠가는 통과하도록 필요한 양을 버킷 크기로 제한
+        double floor = priority == CollectionPriority.HIGH ? 0.0 : reserved;
+        double needed = Math.min(permits, ratePerSecond - floor);
+        if (tokens - needed < floor) {
+            return false;
+        }
+        tokens -= permits;
+        return true;
+    }
+}
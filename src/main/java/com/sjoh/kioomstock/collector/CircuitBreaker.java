@@ -0,0 +1,170 @@
+package com.sjoh.kioomstock.collector;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 호출 수 기반 슬라이딩 윈도우 서킷 브레이커 (api-id 하나당 하나).
+ * - CLOSED: 최근 windowSize 건 중 실패율이 임계값을 넘으면 OPEN
+ * - OPEN: openDuration 동안 호출을 바로 거절한 뒤 HALF_OPEN
+ * - HALF_OPEN: halfOpenCalls 건만 시험 호출, 모두 성공하면 CLOSED / 하나라도 실패하면 다시 OPEN
+ * 잠금 안에서 I/O 를 하지 않으므로 synchronized 로 충분합니다.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;       // 나노초 (테스트에서 교체)
+
+    // 최근 결과 링버퍼 (true = 실패)
+    private final boolean[] window;
+    private int windowHead;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenInFlight;
+    private int halfOpenSucceeded;
+    private long generation;        // 상태가 바뀔 때마다 증가 (이전 상태에서 받은 허가의 결과는 무시)
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openNanos, int halfOpenCalls) {
+        this(windowSize, minimumCalls, failureRateThreshold, openNanos, halfOpenCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openNanos, int halfOpenCalls, LongSupplier clock) {
+        if (windowSize <= 0 || halfOpenCalls <= 0) {
+            throw new IllegalArgumentException("windowSize and halfOpenCalls must be positive");
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openNanos;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+        this.window = new boolean[windowSize];
+    }
+
+    /**
+     * 호출해도 되면 결과를 보고할 Permit 을, 아니면 null 을 반환합니다.
+     */
+    public synchronized Permit tryAcquire() {
+        long nowNanos = clock.getAsLong();
+        if (state == State.OPEN) {
+            if (nowNanos - openedAt < openNanos) {
+                return null;
+            }
+            transition(State.HALF_OPEN, nowNanos);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight + halfOpenSucceeded >= halfOpenCalls) {
+                return null;
+            }
+            halfOpenInFlight++;
+        }
+        return new Permit(generation);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return windowCount == 0 ? 0.0 : (double) windowFailures / windowCount;
+    }
+
+    private synchronized void record(Permit permit, Outcome outcome, long nowNanos) {
+        if (permit.generation != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight--;
+            if (outcome == Outcome.FAILURE) {
+                transition(State.OPEN, nowNanos);
+            } else if (outcome == Outcome.SUCCESS && ++halfOpenSucceeded >= halfOpenCalls) {
+                transition(State.CLOSED, nowNanos);
+            }
+            return;
+        }
+        if (state != State.CLOSED || outcome == Outcome.IGNORED) {
+            return;
+        }
+
+        boolean failed = outcome == Outcome.FAILURE;
+        if (windowCount == windowSize) {
+            if (window[windowHead]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowHead] = failed;
+        windowHead = (windowHead + 1) % windowSize;
+        if (failed) {
+            windowFailures++;
+        }
+
+        if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+            transition(State.OPEN, nowNanos);
+        }
+    }
+
+    private void transition(State next, long nowNanos) {
+        state = next;
+        generation++;
+        halfOpenInFlight = 0;
+        halfOpenSucceeded = 0;
+        if (next == State.OPEN) {
+            openedAt = nowNanos;
+        }
+        if (next == State.CLOSED) {
+            windowHead = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+    }
+
+    private enum Outcome {
+        SUCCESS, FAILURE, IGNORED
+    }
+
+    /**
+     * 허가 1건. success/failure/ignore 중 처음 보고된 것만 반영됩니다. (취소된 호출은 ignore)
+     */
+    public final class Permit {
+        private final long generation;
+        private boolean reported;
+
+        private Permit(long generation) {
+            this.generation = generation;
+        }
+
+        public void success() {
+            report(Outcome.SUCCESS);
+        }
+
+        public void failure() {
+            report(Outcome.FAILURE);
+        }
+
+        public void ignore() {
+            report(Outcome.IGNORED);
+        }
+
+        private void report(Outcome outcome) {
+            synchronized (CircuitBreaker.this) {
+                if (reported) {
+                    return;
+                }
+                reported = true;
+                record(this, outcome, clock.getAsLong());
+            }
+        }
+    }
+}
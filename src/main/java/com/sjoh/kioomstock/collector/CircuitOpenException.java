@@ -0,0 +1,11 @@
+package com.sjoh.kioomstock.collector;
+
+/**
+ * 서킷 브레이커가 열려 있어 호출하지 않고 거절했을 때 발생합니다.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(String apiId) {
+        super("Circuit open for " + apiId);
+    }
+}
@@ -0,0 +1,9 @@
+package com.sjoh.kioomstock.collector;
+
+/**
+ * 수집 우선순위 등급.
+ */
+public enum CollectionPriority {
+    HIGH,       // 보유 종목, 종목 지정 알림 규칙이 걸린 종목 - 빠른 주기 + 예약된 호출 한도
+    NORMAL      // 나머지 관심 종목 - 남는 호출 한도 사용
+}
@@ -0,0 +1,186 @@
+package com.sjoh.kioomstock.collector;
+
+import com.sjoh.kioomstock.config.KiwoomHttpProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 키움 REST 호출마다 api-id 기준으로 적용하는 WebClient 필터.
+ * - 응답 타임아웃: kiwoom.http.timeouts[api-id] (없으면 response-timeout)
+ * - 서킷 브레이커: 5xx/타임아웃/연결 실패가 몰리는 api-id 는 잠시 호출하지 않고 바로 실패
+ * - 재시도: 5xx, 429, 타임아웃, 연결 실패만 지터를 준 지수 백오프로 재시도 (브레이커가 열려 있으면 재시도하지 않음)
+ *   첫 호출의 한도는 호출 측이 ApiRateLimiter 에서 얻고, 재시도는 매번 여기서 한도를 1개씩 다시 얻은 뒤 보냄
+ *   (재시도가 호출 한도를 우회해 429 를 키우지 않도록). 우선순위는 알 수 없으므로 NORMAL 로 요청해 HIGH 예약분은 건드리지 않음
+ * 최종 실패는 예외로 전달되므로 호출 측 onErrorResume 에서 기존처럼 처리됩니다.
+ */
+public class KiwoomResilienceFilter implements ExchangeFilterFunction {
+
+    private static final Logger logger = LoggerFactory.getLogger(KiwoomResilienceFilter.class);
+
+    private final KiwoomHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ApiRateLimiter rateLimiter;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public KiwoomResilienceFilter(KiwoomHttpProperties properties, MeterRegistry meterRegistry, ApiRateLimiter rateLimiter) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String apiId = apiId(request);
+        Duration timeout = properties.timeoutFor(apiId);
+        ClientRequest timed = ClientRequest.from(request)
+                .httpRequest(httpRequest -> {
+                    if (httpRequest.getNativeRequest() instanceof HttpClientRequest nettyRequest) {
+                        nettyRequest.responseTimeout(timeout);
+                    }
+                })
+                .build();
+        CircuitBreaker breaker = properties.getCircuitBreaker().isEnabled() ? breakers.computeIfAbsent(apiId, this::createBreaker) : null;
+
+        KiwoomHttpProperties.Retry retry = properties.getRetry();
+        AtomicBoolean firstAttempt = new AtomicBoolean(true);
+        return Mono.defer(() -> firstAttempt.getAndSet(false)
+                        ? attempt(apiId, breaker, timed, next)
+                        : rateLimiter.acquire(CollectionPriority.NORMAL, 1).then(Mono.defer(() -> attempt(apiId, breaker, timed, next))))
+                .retryWhen(Retry.backoff(retry.getMaxAttempts(), retry.getMinBackoff())
+                        .maxBackoff(retry.getMaxBackoff())
+                        .jitter(retry.getJitter())
+                        .filter(KiwoomResilienceFilter::isRetryable)
+                        .doBeforeRetry(signal -> {
+                            meterRegistry.counter("kiwoom.http.retries", "api_id", apiId).increment();
+                            logger.debug("Retrying {} (attempt {}): {}", apiId, signal.totalRetries() + 1, signal.failure().toString());
+                        })
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    private Mono<ClientResponse> attempt(String apiId, CircuitBreaker breaker, ClientRequest request, ExchangeFunction next) {
+        CircuitBreaker.Permit permit = breaker != null ? breaker.tryAcquire() : null;
+        if (breaker != null && permit == null) {
+            meterRegistry.counter("kiwoom.http.rejected", "api_id", apiId).increment();
+            return Mono.error(new CircuitOpenException(apiId));
+        }
+
+        long start = System.nanoTime();
+        return next.exchange(request)
+                .flatMap(response -> {
+                    HttpStatus status = HttpStatus.resolve(response.statusCode().value());
+                    if (response.statusCode().is5xxServerError()) {
+                        report(permit, true);
+                        record(apiId, "server_error", start);
+                        return response.createException().flatMap(Mono::error);
+                    }
+                    if (status == HttpStatus.TOO_MANY_REQUESTS) {
+                        // 호출 한도 초과는 엔드포인트 장애가 아니므로 브레이커에 반영하지 않고 재시도만
+                        if (permit != null) {
+                            permit.ignore();
+                        }
+                        record(apiId, "throttled", start);
+                        return response.createException().flatMap(Mono::error);
+                    }
+                    report(permit, false);
+                    record(apiId, response.statusCode().is2xxSuccessful() ? "success" : "client_error", start);
+                    return Mono.just(response);
+                })
+                .doOnError(error -> {
+                    if (!(error instanceof WebClientResponseException)) {
+                        report(permit, true);
+                        record(apiId, isTimeout(error) ? "timeout" : "io_error", start);
+                    }
+                })
+                // zip 의 다른 호출이 실패해 취소된 경우 결과를 모르므로 반영하지 않음
+                .doOnCancel(() -> {
+                    if (permit != null) {
+                        permit.ignore();
+                    }
+                });
+    }
+
+    private static void report(CircuitBreaker.Permit permit, boolean failed) {
+        if (permit == null) {
+            return;
+        }
+        if (failed) {
+            permit.failure();
+        } else {
+            permit.success();
+        }
+    }
+
+    private void record(String apiId, String outcome, long startNanos) {
+        Timer.builder("kiwoom.http.requests")
+                .description("Kiwoom REST call latency per attempt")
+                .tag("api_id", apiId)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private CircuitBreaker createBreaker(String apiId) {
+        KiwoomHttpProperties.CircuitBreaker config = properties.getCircuitBreaker();
+        CircuitBreaker breaker = new CircuitBreaker(config.getWindowSize(), config.getMinimumCalls(),
+                config.getFailureRateThreshold(), config.getOpenDuration().toNanos(), config.getHalfOpenCalls());
+        // 0 = CLOSED, 1 = OPEN, 2 = HALF_OPEN
+        Gauge.builder("kiwoom.http.circuit.state", breaker, b -> b.getState().ordinal())
+                .description("Circuit breaker state per api-id (0 closed, 1 open, 2 half-open)")
+                .tag("api_id", apiId)
+                .register(meterRegistry);
+        Gauge.builder("kiwoom.http.circuit.failure.rate", breaker, CircuitBreaker::getFailureRate)
+                .tag("api_id", apiId)
+                .register(meterRegistry);
+        return breaker;
+    }
+
+    // 키움 TR 은 api-id 헤더로 구분, 토큰 발급처럼 헤더가 없으면 경로 마지막 부분
+    private static String apiId(ClientRequest request) {
+        String apiId = request.headers().getFirst("api-id");
+        if (apiId != null && !apiId.isEmpty()) {
+            return apiId;
+        }
+        String path = request.url().getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof CircuitOpenException) {
+            return false;
+        }
+        if (error instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError()
+                    || responseException.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return error instanceof WebClientRequestException || isTimeout(error);
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof io.netty.handler.timeout.TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,12 @@
+package com.sjoh.kioomstock.collector;
+
+/**
+ * 관심종목 일괄 시세(ka10095)에 없는 5/20/60분 체결강도를 종목별 ka10046 으로 보완할 범위.
+ * 대상이 아닌 종목도 kiwoom.collect.volume-power-refresh 주기마다 한 번은 ka10046 으로 갱신하고,
+ * 그 사이 일괄/실시간 시세에는 마지막 ka10046 값을 붙입니다. (한 번도 받지 못했으면 null 로 저장)
+ */
+public enum VolumePowerDetail {
+    ALL,        // 모든 종목 종목별 호출 (일괄 시세 사용 안 함)
+    HIGH,       // HIGH 우선순위(보유/알림) 종목만 매 주기 종목별 호출, 나머지는 일괄 시세 + 주기적 갱신
+    NONE        // 전부 일괄 시세 + 주기적 갱신
+}
@@ -0,0 +1,35 @@
+package com.sjoh.kioomstock.config;
+
+import com.sjoh.kioomstock.alert.AlertMetric;
+import com.sjoh.kioomstock.alert.AlertOperator;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * application.yml 의 alert.rules 설정.
+ * stock-codes 를 비워두면 수집 대상 전체 종목에 적용됩니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "alert")
+public class AlertProperties {
+
+    private boolean enabled = true;
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String id;
+        private List<String> stockCodes = new ArrayList<>();
+        private AlertMetric metric;
+        private AlertOperator operator;
+        private double threshold;
+        private Duration cooldown = Duration.ofMinutes(5);  // 같은 종목에서 재발생 최소 간격
+        private String message;
+    }
+}
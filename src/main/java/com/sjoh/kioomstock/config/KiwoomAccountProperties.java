@@ -0,0 +1,29 @@
+package com.sjoh.kioomstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * application.yml 의 kiwoom.account 설정 (여러 계좌 운용).
+ * credentials 를 비워두면 kiwoom.api.key/secret 하나를 "default" 계좌로 씁니다.
+ * 첫 번째 계좌의 키가 시세 수집/실시간 시세에도 쓰입니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "kiwoom.account")
+public class KiwoomAccountProperties {
+
+    private int refreshConcurrency = 4;     // 동시에 조회할 계좌 수 (kt00004)
+    private List<Credential> credentials = new ArrayList<>();
+
+    @Data
+    public static class Credential {
+        private String id;                  // 화면/API/DB 에서 계좌를 구분하는 이름
+        private String key;
+        private String secret;
+    }
+}
@@ -0,0 +1,57 @@
+package com.sjoh.kioomstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * application.yml 의 kiwoom.http 설정 (키움 REST 호출용 WebClient 커넥션 풀, 타임아웃, 재시도, 서킷 브레이커).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "kiwoom.http")
+public class KiwoomHttpProperties {
+
+    private Pool pool = new Pool();
+    private Duration connectTimeout = Duration.ofSeconds(3);
+    private Duration responseTimeout = Duration.ofSeconds(5);       // api-id 별 설정이 없을 때
+    private Map<String, Duration> timeouts = new HashMap<>();       // api-id -> 응답 타임아웃
+    private Retry retry = new Retry();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    public Duration timeoutFor(String apiId) {
+        return timeouts.getOrDefault(apiId, responseTimeout);
+    }
+
+    @Data
+    public static class Pool {
+        private int maxConnections = 100;
+        private int pendingAcquireMaxCount = 500;                    // 커넥션 대기 요청 수 상한 (넘으면 즉시 실패)
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+        private Duration maxIdleTime = Duration.ofSeconds(30);       // 게이트웨이가 먼저 끊기 전에 정리
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictInterval = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Retry {
+        private int maxAttempts = 2;                                  // 최초 호출 제외 재시도 횟수
+        private Duration minBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        private double jitter = 0.5;                                  // 0.0 ~ 1.0
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+        private int windowSize = 50;                                  // 최근 호출 결과를 이만큼 보고 판단
+        private int minimumCalls = 20;                                // 이보다 적으면 열지 않음
+        private double failureRateThreshold = 0.5;
+        private Duration openDuration = Duration.ofSeconds(30);       // 열린 뒤 시험 호출까지 대기
+        private int halfOpenCalls = 3;                                // 시험 호출 수 (모두 성공하면 닫힘)
+    }
+}
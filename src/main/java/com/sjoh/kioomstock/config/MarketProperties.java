@@ -0,0 +1,39 @@
+package com.sjoh.kioomstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * application.yml 의 market 설정 (KRX 휴장일, 장 운영시간 변경일).
+ * 휴장일/특별 운영일은 매년 KRX 공지에 맞춰 갱신해야 합니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "market")
+public class MarketProperties {
+
+    private boolean alwaysOpen = false;                 // true 면 캘린더 무시 (시뮬레이터/테스트용)
+    private LocalTime preMarketOpen = LocalTime.of(8, 30);
+    private LocalTime regularOpen = LocalTime.of(9, 0);
+    private LocalTime regularClose = LocalTime.of(15, 30);
+    private Duration closingAuction = Duration.ofMinutes(10);
+    private LocalTime afterHoursClose = LocalTime.of(18, 0);
+    private Duration endOfDayDelay = Duration.ofMinutes(10);  // 마감 후 장마감 작업까지 대기 (종가 확정 대기)
+    private List<LocalDate> holidays = new ArrayList<>();
+    private List<SpecialSession> specialSessions = new ArrayList<>();
+
+    // 개장/마감 시각이 바뀌는 날 (새해 첫 거래일, 수능일 등)
+    @Data
+    public static class SpecialSession {
+        private LocalDate date;
+        private LocalTime open;
+        private LocalTime close;
+    }
+}
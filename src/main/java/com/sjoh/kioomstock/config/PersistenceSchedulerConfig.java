@@ -0,0 +1,29 @@
+package com.sjoh.kioomstock.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * 수집 파이프라인의 JPA 저장 단계를 실행할 스케줄러.
+ * 블로킹 저장이 WebClient(Netty) 이벤트 루프를 붙잡지 않도록 저장 단계만 이 스케줄러로 넘깁니다.
+ * spring.threads.virtual.enabled=true 면 작업마다 가상 스레드를 쓰고, 아니면 크기 제한이 있는 elastic 풀을 씁니다.
+ */
+@Configuration
+public class PersistenceSchedulerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler persistenceScheduler(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                          @Value("${kiwoom.persistence.threads:32}") int threads) {
+        if (virtualThreads) {
+            // 동시 저장 수는 결국 DB 커넥션 풀(hikari maximum-pool-size)이 제한
+            return Schedulers.fromExecutorService(Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("persistence-vt-", 0).factory()), "persistence-vt");
+        }
+        return Schedulers.newBoundedElastic(threads, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "persistence");
+    }
+}
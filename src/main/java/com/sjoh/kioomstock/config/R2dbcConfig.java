@@ -0,0 +1,70 @@
+package com.sjoh.kioomstock.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * 수집 파이프라인 쓰기 전용 R2DBC 연결 (kiwoom.persistence.mode=r2dbc 일 때만).
+ * 대시보드 등 읽기는 계속 JPA 를 사용하므로 스프링 부트의 R2DBC 자동설정(트랜잭션 매니저 포함)은
+ * application.yml 에서 제외하고, 여기서 쓰기용 커넥션 풀만 직접 만듭니다.
+ * 접속 정보는 별도로 지정하지 않으면 spring.datasource 의 JDBC URL 을 그대로 변환해 사용합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "kiwoom.persistence.mode", havingValue = "r2dbc")
+public class R2dbcConfig {
+
+    @Value("${kiwoom.persistence.r2dbc.url:}")
+    private String url;
+
+    @Value("${spring.datasource.url:}")
+    private String jdbcUrl;
+
+    @Value("${kiwoom.persistence.r2dbc.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${kiwoom.persistence.r2dbc.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${kiwoom.persistence.r2dbc.pool-size:20}")
+    private int poolSize;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool ingestConnectionFactory() {
+        String r2dbcUrl = !url.isEmpty() ? url : toR2dbcUrl(jdbcUrl);
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        ConnectionFactory connectionFactory = ConnectionFactories.get(options);
+
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("ingest")
+                .initialSize(Math.min(4, poolSize))
+                .maxSize(poolSize)
+                .maxIdleTime(Duration.ofMinutes(10))
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient ingestDatabaseClient(ConnectionPool ingestConnectionFactory) {
+        return DatabaseClient.create(ingestConnectionFactory);
+    }
+
+    // jdbc:postgresql://host:5432/db -> r2dbc:postgresql://host:5432/db
+    static String toR2dbcUrl(String jdbcUrl) {
+        if (jdbcUrl == null || !jdbcUrl.startsWith("jdbc:")) {
+            throw new IllegalStateException("kiwoom.persistence.r2dbc.url is not set and spring.datasource.url is not a JDBC URL: " + jdbcUrl);
+        }
+        return "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+    }
+}
@@ -0,0 +1,26 @@
+package com.sjoh.kioomstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * application.yml 의 kiwoom.realtime 설정 (키움 실시간 WebSocket 시세 수신).
+ * 꺼져 있으면(기본) 기존 REST 폴링만으로 수집합니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "kiwoom.realtime")
+public class RealtimeProperties {
+
+    private boolean enabled = false;
+    private String url = "wss://api.kiwoom.com:10000/api/dostk/websocket";
+    private int batchSize = 500;                                 // 저장 단계로 넘기는 최대 틱 수
+    private Duration batchWindow = Duration.ofSeconds(1);        // batchSize 를 못 채워도 이 주기마다 저장
+    private Duration heartbeatTimeout = Duration.ofSeconds(60);  // 이 시간 동안 PING 포함 어떤 프레임도 없으면 끊고 재접속
+    private Duration reconnectMinBackoff = Duration.ofSeconds(1);
+    private Duration reconnectMaxBackoff = Duration.ofSeconds(60);
+    private int registerChunkSize = 100;                         // REG/REMOVE 1건에 담을 종목 수 (키움 한도)
+}
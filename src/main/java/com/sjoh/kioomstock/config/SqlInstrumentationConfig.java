@@ -0,0 +1,42 @@
+package com.sjoh.kioomstock.config;
+
+import com.sjoh.kioomstock.diagnostics.SqlMetricsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * JDBC DataSource 를 datasource-proxy 로 감싸 문장별 시간/느린 쿼리/N+1 집계를 붙입니다.
+ * show-sql 을 대신해 운영에서 켜두는 용도 (kiwoom.sql.instrumentation-enabled=false 로 끌 수 있음).
+ */
+@Configuration
+@ConditionalOnProperty(name = "kiwoom.sql.instrumentation-enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig {
+
+    // BeanPostProcessor 는 다른 빈보다 먼저 만들어져야 하므로 static + 지연 조회
+    @Bean
+    public static BeanPostProcessor dataSourceInstrumentationPostProcessor(ObjectProvider<MeterRegistry> meterRegistry, Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                Duration slowThreshold = environment.getProperty("kiwoom.sql.slow-query-threshold", Duration.class, Duration.ofMillis(200));
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SqlMetricsListener(meterRegistry::getObject, slowThreshold))
+                        .build();
+            }
+        };
+    }
+}
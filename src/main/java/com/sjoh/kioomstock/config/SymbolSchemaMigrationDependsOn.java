@@ -0,0 +1,16 @@
+package com.sjoh.kioomstock.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate 스키마 갱신(ddl-auto)보다 SymbolSchemaMigration 이 먼저 실행되도록 EntityManagerFactory 에 의존성을 추가.
+ * (Flyway/Liquibase 자동설정과 같은 방식)
+ */
+@Component
+public class SymbolSchemaMigrationDependsOn extends EntityManagerFactoryDependsOnPostProcessor {
+
+    public SymbolSchemaMigrationDependsOn() {
+        super("symbolSchemaMigration");
+    }
+}
@@ -1,9 +1,16 @@
 package com.sjoh.kioomstock.config;
 
+import com.sjoh.kioomstock.collector.ApiRateLimiter;
+import com.sjoh.kioomstock.collector.KiwoomResilienceFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
@@ -12,10 +19,33 @@ public class WebClientConfig {
     @Value("${kiwoom.api.base-url:https://api.kiwoom.com}")
     private String baseUrl;
 
+    // 키움 전용 커넥션 풀. metrics(true) 로 reactor.netty.connection.provider.* (활성/유휴/대기 커넥션) 메트릭 노출
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider kiwoomConnectionProvider(KiwoomHttpProperties properties) {
+        KiwoomHttpProperties.Pool pool = properties.getPool();
+        return ConnectionProvider.builder("kiwoom")
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInterval())
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(ConnectionProvider kiwoomConnectionProvider, KiwoomHttpProperties properties, MeterRegistry meterRegistry,
+                               ApiRateLimiter rateLimiter) {
+        HttpClient httpClient = HttpClient.create(kiwoomConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                // 기본 응답 타임아웃 (api-id 별 값은 KiwoomResilienceFilter 가 요청마다 덮어씀)
+                .responseTimeout(properties.getResponseTimeout());
+
         return WebClient.builder()
                 .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(new KiwoomResilienceFilter(properties, meterRegistry, rateLimiter))
                 .build();
     }
 }
@@ -1,22 +1,55 @@
 package com.sjoh.kioomstock.controller;
 
 import com.sjoh.kioomstock.domain.AccountInfo;
+import com.sjoh.kioomstock.portfolio.PortfolioValuation;
 import com.sjoh.kioomstock.service.AccountService;
+import com.sjoh.kioomstock.service.KiwoomAuthService;
+import com.sjoh.kioomstock.service.PortfolioValuationService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @RestController
 public class AccountController {
 
     private final AccountService accountService;
+    private final KiwoomAuthService authService;
+    private final PortfolioValuationService portfolioValuationService;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, KiwoomAuthService authService, PortfolioValuationService portfolioValuationService) {
         this.accountService = accountService;
+        this.authService = authService;
+        this.portfolioValuationService = portfolioValuationService;
     }
 
+    // 설정된 모든 계좌를 동시에 조회 (kiwoom.account.refresh-concurrency)
     @GetMapping("/account")
-    public Mono<AccountInfo> getAccountInfo() {
-        return accountService.fetchAndSaveAccountInfo();
+    public Flux<AccountInfo> getAccountInfos() {
+        return accountService.fetchAndSaveAllAccountInfo();
+    }
+
+    @GetMapping("/account/{accountId}")
+    public Mono<ResponseEntity<AccountInfo>> getAccountInfo(@PathVariable String accountId) {
+        if (!authService.getAccountIds().contains(accountId)) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        return accountService.fetchAndSaveAccountInfo(accountId).map(ResponseEntity::ok);
+    }
+
+    // 계좌 API 호출 없이 수집된 현재가로 재평가한 계좌별 보유 종목 평가
+    @GetMapping("/api/portfolio/live")
+    public List<PortfolioValuation> getLiveValuations() {
+        return portfolioValuationService.getValuations();
+    }
+
+    @GetMapping("/api/portfolio/live/{accountId}")
+    public ResponseEntity<PortfolioValuation> getLiveValuation(@PathVariable String accountId) {
+        PortfolioValuation valuation = portfolioValuationService.getValuation(accountId);
+        return valuation != null ? ResponseEntity.ok(valuation) : ResponseEntity.notFound().build();
     }
 }
@@ -0,0 +1,30 @@
+package com.sjoh.kioomstock.controller;
+
+import com.sjoh.kioomstock.alert.AlertEvent;
+import com.sjoh.kioomstock.config.AlertProperties;
+import com.sjoh.kioomstock.service.AlertService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class AlertController {
+
+    private final AlertService alertService;
+
+    public AlertController(AlertService alertService) {
+        this.alertService = alertService;
+    }
+
+    // 최근 발생한 알림 (최신순)
+    @GetMapping("/api/alerts")
+    public List<AlertEvent> getRecentAlerts() {
+        return alertService.getRecentAlerts();
+    }
+
+    @GetMapping("/api/alerts/rules")
+    public List<AlertProperties.Rule> getRules() {
+        return alertService.getRules();
+    }
+}
@@ -0,0 +1,96 @@
+package com.sjoh.kioomstock.controller;
+
+import com.sjoh.kioomstock.backtest.BacktestConfig;
+import com.sjoh.kioomstock.backtest.BacktestResult;
+import com.sjoh.kioomstock.backtest.RsiReversionStrategy;
+import com.sjoh.kioomstock.backtest.SmaCrossStrategy;
+import com.sjoh.kioomstock.backtest.Strategy;
+import com.sjoh.kioomstock.service.BacktestService;
+import com.sjoh.kioomstock.service.StockDataService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class BacktestController {
+
+    private final BacktestService backtestService;
+    private final StockDataService stockDataService;
+
+    public BacktestController(BacktestService backtestService, StockDataService stockDataService) {
+        this.backtestService = backtestService;
+        this.stockDataService = stockDataService;
+    }
+
+    // 단일 백테스트 (자산곡선 포함)
+    @GetMapping("/api/backtest/run")
+    public BacktestResult run(@RequestParam String stockCode,
+                              @RequestParam(defaultValue = "daily") String timeframe,
+                              @RequestParam(defaultValue = "sma-cross") String strategy,
+                              @RequestParam(defaultValue = "5") int fast,
+                              @RequestParam(defaultValue = "20") int slow,
+                              @RequestParam(defaultValue = "14") int period,
+                              @RequestParam(defaultValue = "30") double lower,
+                              @RequestParam(defaultValue = "70") double upper,
+                              @RequestParam(defaultValue = "0.00015") double commission,
+                              @RequestParam(defaultValue = "0.0005") double slippage,
+                              @RequestParam(defaultValue = "1.0") double positionFraction) {
+        Strategy selected = "rsi-reversion".equals(strategy)
+                ? new RsiReversionStrategy(period, lower, upper)
+                : new SmaCrossStrategy(fast, slow);
+        return backtestService.run(stockCode, timeframe, selected, config(commission, slippage, positionFraction));
+    }
+
+    // 파라미터 스윕 (stockCodes 미지정 시 수집 대상 전체)
+    @GetMapping("/api/backtest/sweep")
+    public List<BacktestResult> sweep(@RequestParam(required = false) List<String> stockCodes,
+                                      @RequestParam(defaultValue = "daily") String timeframe,
+                                      @RequestParam(defaultValue = "sma-cross") String strategy,
+                                      @RequestParam(defaultValue = "2") int fastMin,
+                                      @RequestParam(defaultValue = "30") int fastMax,
+                                      @RequestParam(defaultValue = "10") int slowMin,
+                                      @RequestParam(defaultValue = "120") int slowMax,
+                                      @RequestParam(defaultValue = "1") int step,
+                                      @RequestParam(defaultValue = "5") int periodMin,
+                                      @RequestParam(defaultValue = "30") int periodMax,
+                                      @RequestParam(defaultValue = "10") double lowerMin,
+                                      @RequestParam(defaultValue = "40") double lowerMax,
+                                      @RequestParam(defaultValue = "60") double upperMin,
+                                      @RequestParam(defaultValue = "90") double upperMax,
+                                      @RequestParam(defaultValue = "5") double levelStep,
+                                      @RequestParam(defaultValue = "0.00015") double commission,
+                                      @RequestParam(defaultValue = "0.0005") double slippage,
+                                      @RequestParam(defaultValue = "1.0") double positionFraction,
+                                      @RequestParam(defaultValue = "20") int top) {
+        List<String> codes = stockCodes == null || stockCodes.isEmpty() ? stockDataService.getTargetStockCodes() : stockCodes;
+        List<Strategy> strategies = "rsi-reversion".equals(strategy)
+                ? BacktestService.rsiGrid(periodMin, periodMax, lowerMin, lowerMax, upperMin, upperMax, levelStep)
+                : BacktestService.smaCrossGrid(fastMin, fastMax, slowMin, slowMax, step);
+        return backtestService.sweep(codes, timeframe, strategies, config(commission, slippage, positionFraction), top);
+    }
+
+    // 로드해둔 시계열 캐시 초기화
+    @PostMapping("/api/backtest/reload")
+    public void reload() {
+        backtestService.clearSeriesCache();
+    }
+
+    // 잘못된 스윕/전략 파라미터는 400
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    private BacktestConfig config(double commission, double slippage, double positionFraction) {
+        return BacktestConfig.builder()
+                .commissionRate(commission)
+                .slippageRate(slippage)
+                .positionFraction(positionFraction)
+                .build();
+    }
+}
@@ -0,0 +1,182 @@
+package com.sjoh.kioomstock.controller;
+
+import com.sjoh.kioomstock.event.AccountInfoRefreshedEvent;
+import com.sjoh.kioomstock.event.StockDataCollectedEvent;
+import com.sjoh.kioomstock.persistence.SymbolDictionary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 종목별로 렌더링된 대시보드(home.html) 캐시.
+ * 데이터는 수집 주기마다만 바뀌므로, 그 종목에 새 행이 저장되면(StockDataCollectedEvent) 해당 종목과 전체 보기 페이지만 비웁니다.
+ * - 캐시가 비었을 때 동시에 들어온 요청은 하나만 렌더링하고 나머지는 그 결과를 기다림 (single-flight)
+ * - 렌더링 중에 무효화되면 그 결과는 이미 기다리던 요청에만 쓰이고 캐시에는 남지 않음
+ * - 실시간 평가금액처럼 다른 종목 시세에 따라 바뀌는 부분 때문에 max-age 가 지나면 다시 렌더링
+ * - 종목코드는 요청 파라미터라 아무 값이나 올 수 있으므로 수집 대상이나 종목 사전에 있는 종목만 캐시하고 나머지는 매번 렌더링
+ * - 페이지 수가 max-entries, HTML 크기 합이 max-bytes 를 넘으면 가장 오래전에 렌더링한 페이지부터 제거
+ */
+@Component
+public class DashboardPageCache {
+
+    static final String ALL_STOCKS = "";
+
+    private final SymbolDictionary symbolDictionary;
+    private final Set<String> watchlist;
+    private final boolean enabled;
+    private final long maxAgeNanos;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Map<String, CompletableFuture<Page>> pages = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter uncached;
+    private final Counter evictions;
+
+    public DashboardPageCache(MeterRegistry meterRegistry, SymbolDictionary symbolDictionary,
+                              @Value("${kiwoom.collect.stock-codes:005930,000660,122630,114800}") List<String> watchlist,
+                              @Value("${kiwoom.dashboard.cache-enabled:true}") boolean enabled,
+                              @Value("${kiwoom.dashboard.cache-max-age:60s}") Duration maxAge,
+                              @Value("${kiwoom.dashboard.cache-max-entries:256}") int maxEntries,
+                              @Value("${kiwoom.dashboard.cache-max-bytes:33554432}") long maxBytes) {
+        this.symbolDictionary = symbolDictionary;
+        this.watchlist = watchlist.stream().map(String::trim).collect(Collectors.toUnmodifiableSet());
+        this.enabled = enabled;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.hits = meterRegistry.counter("kiwoom.dashboard.cache.hits");
+        this.misses = meterRegistry.counter("kiwoom.dashboard.cache.misses");
+        this.uncached = meterRegistry.counter("kiwoom.dashboard.cache.uncached");
+        this.evictions = meterRegistry.counter("kiwoom.dashboard.cache.evictions");
+    }
+
+    /**
+     * 캐시된 페이지를 반환하고, 없거나 오래됐으면 renderer 로 한 번만 만들어 캐시합니다.
+     */
+    public byte[] get(String stockCode, Supplier<byte[]> renderer) {
+        if (!enabled) {
+            return renderer.get();
+        }
+        String key = stockCode != null ? stockCode : ALL_STOCKS;
+        if (!isCacheable(key)) {
+            uncached.increment();
+            return renderer.get();
+        }
+        while (true) {
+            CompletableFuture<Page> current = pages.get(key);
+            if (current != null && (!current.isDone() || isFresh(current))) {
+                hits.increment();
+                try {
+                    return current.join().html;
+                } catch (CompletionException e) {
+                    // 먼저 렌더링하던 요청이 실패함 - 그 요청이 이미 캐시에서 지웠으므로 다시 시도
+                    continue;
+                }
+            }
+
+            CompletableFuture<Page> mine = new CompletableFuture<>();
+            boolean owner = current == null ? pages.putIfAbsent(key, mine) == null : pages.replace(key, current, mine);
+            if (!owner) {
+                continue;
+            }
+            misses.increment();
+            try {
+                Page page = new Page(renderer.get(), System.nanoTime());
+                mine.complete(page);
+                trim(key);
+                return page.html;
+            } catch (RuntimeException e) {
+                pages.remove(key, mine);
+                mine.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    public void invalidate(String stockCode) {
+        pages.remove(stockCode);
+        pages.remove(ALL_STOCKS);
+    }
+
+    public void invalidateAll() {
+        pages.clear();
+    }
+
+    // 새로 저장된 행이 있을 때만 비움 (중복으로 전부 스킵된 주기는 화면이 같음)
+    @EventListener
+    public void onStockDataCollected(StockDataCollectedEvent event) {
+        if (!event.getPriceInfos().isEmpty() || event.getOrderBook() != null
+                || !event.getDailyCandles().isEmpty() || !event.getInvestors().isEmpty()) {
+            invalidate(event.getStockCode());
+        }
+    }
+
+    // 계좌 정보는 모든 페이지에 표시됨
+    @EventListener
+    public void onAccountInfoRefreshed(AccountInfoRefreshedEvent event) {
+        invalidateAll();
+    }
+
+    private boolean isCacheable(String key) {
+        return ALL_STOCKS.equals(key) || watchlist.contains(key) || symbolDictionary.contains(key);
+    }
+
+    // 한도를 넘으면 렌더링이 끝난 페이지 중 오래된 것부터 제거 (방금 넣은 페이지는 남김)
+    private synchronized void trim(String justAdded) {
+        List<Map.Entry<String, Page>> rendered = new ArrayList<>();
+        long bytes = 0;
+        for (Map.Entry<String, CompletableFuture<Page>> entry : pages.entrySet()) {
+            CompletableFuture<Page> future = entry.getValue();
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                Page page = future.join();
+                bytes += page.html.length;
+                if (!entry.getKey().equals(justAdded)) {
+                    rendered.add(Map.entry(entry.getKey(), page));
+                }
+            }
+        }
+        int size = pages.size();
+        if (size <= maxEntries && bytes <= maxBytes) {
+            return;
+        }
+        rendered.sort(Comparator.comparingLong(entry -> entry.getValue().renderedAt));
+        for (Map.Entry<String, Page> eldest : rendered) {
+            if (size <= maxEntries && bytes <= maxBytes) {
+                break;
+            }
+            CompletableFuture<Page> current = pages.get(eldest.getKey());
+            if (current != null && current.isDone() && !current.isCompletedExceptionally()
+                    && current.join() == eldest.getValue() && pages.remove(eldest.getKey(), current)) {
+                size--;
+                bytes -= eldest.getValue().html.length;
+                evictions.increment();
+            }
+        }
+    }
+
+    private boolean isFresh(CompletableFuture<Page> future) {
+        if (future.isCompletedExceptionally()) {
+            return false;
+        }
+        return System.nanoTime() - future.join().renderedAt < maxAgeNanos;
+    }
+
+    private record Page(byte[] html, long renderedAt) {
+    }
+}
@@ -5,17 +5,26 @@ import com.sjoh.kioomstock.domain.AccountStockInfo;
 import com.sjoh.kioomstock.domain.StockInvestor;
 import com.sjoh.kioomstock.domain.StockOrderBook;
 import com.sjoh.kioomstock.domain.StockPriceInfo;
-import com.sjoh.kioomstock.repository.AccountInfoRepository;
+import com.sjoh.kioomstock.portfolio.PortfolioValuation;
 import com.sjoh.kioomstock.repository.StockInvestorRepository;
 import com.sjoh.kioomstock.repository.StockOrderBookRepository;
 import com.sjoh.kioomstock.repository.StockPriceInfoRepository;
+import com.sjoh.kioomstock.service.AccountService;
+import com.sjoh.kioomstock.service.IndicatorService;
+import com.sjoh.kioomstock.service.PortfolioValuationService;
 import com.sjoh.kioomstock.service.KiwoomAuthService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.ExtendedModelMap;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.View;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
 import reactor.core.publisher.Mono;
 
 import java.time.format.DateTimeFormatter;
@@ -30,20 +39,50 @@ public class HomeController {
 
     private final KiwoomAuthService authService;
     private final StockPriceInfoRepository stockPriceInfoRepository;
-    private final AccountInfoRepository accountInfoRepository;
+    private final AccountService accountService;
     private final StockOrderBookRepository stockOrderBookRepository;
     private final StockInvestorRepository stockInvestorRepository;
+    private final IndicatorService indicatorService;
+    private final PortfolioValuationService portfolioValuationService;
+    private final DashboardPageCache dashboardPageCache;
+    private final ThymeleafViewResolver viewResolver;
 
-    public HomeController(KiwoomAuthService authService, StockPriceInfoRepository stockPriceInfoRepository, AccountInfoRepository accountInfoRepository, StockOrderBookRepository stockOrderBookRepository, StockInvestorRepository stockInvestorRepository) {
+    public HomeController(KiwoomAuthService authService, StockPriceInfoRepository stockPriceInfoRepository, AccountService accountService, StockOrderBookRepository stockOrderBookRepository, StockInvestorRepository stockInvestorRepository, IndicatorService indicatorService, PortfolioValuationService portfolioValuationService, DashboardPageCache dashboardPageCache, ThymeleafViewResolver viewResolver) {
         this.authService = authService;
         this.stockPriceInfoRepository = stockPriceInfoRepository;
-        this.accountInfoRepository = accountInfoRepository;
+        this.accountService = accountService;
         this.stockOrderBookRepository = stockOrderBookRepository;
         this.stockInvestorRepository = stockInvestorRepository;
+        this.indicatorService = indicatorService;
+        this.portfolioValuationService = portfolioValuationService;
+        this.dashboardPageCache = dashboardPageCache;
+        this.viewResolver = viewResolver;
     }
 
-    @GetMapping("/")
-    public String home(@RequestParam(required = false) String stockCode, Model model) {
+    // 데이터는 수집 주기마다만 바뀌므로 렌더링된 페이지를 종목별로 캐시 (새 행이 저장되면 DashboardPageCache 가 비움)
+    @GetMapping(value = "/", produces = "text/html;charset=UTF-8")
+    @ResponseBody
+    public byte[] home(@RequestParam(required = false) String stockCode, HttpServletRequest request, HttpServletResponse response) {
+        String selected = stockCode != null && !stockCode.isEmpty() ? stockCode : null;
+        return dashboardPageCache.get(selected, () -> render(selected, request, response));
+    }
+
+    // home.html 을 평소와 같은 ThymeleafView 로 렌더링하되 응답 대신 버퍼에 받음
+    private byte[] render(String stockCode, HttpServletRequest request, HttpServletResponse response) {
+        ExtendedModelMap model = new ExtendedModelMap();
+        String viewName = buildModel(stockCode, model);
+        try {
+            View view = viewResolver.resolveViewName(viewName, request.getLocale());
+            ContentCachingResponseWrapper buffer = new ContentCachingResponseWrapper(response);
+            view.render(model, request, buffer);
+            buffer.getWriter().flush();
+            return buffer.getContentAsByteArray();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to render dashboard for " + (stockCode != null ? stockCode : "all stocks"), e);
+        }
+    }
+
+    private String buildModel(String stockCode, Model model) {
         // 주식 데이터 조회 (시간 오름차순으로 정렬하여 그래프 그리기에 용이하게 함)
         List<StockPriceInfo> dataList;
         if (stockCode != null && !stockCode.isEmpty()) {
@@ -60,17 +99,8 @@ public class HomeController {
 
         // 데이터를 검색하기 쉽게 Map으로 변환
         DateTimeFormatter keyFormatter = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
-        Map<String, StockOrderBook> orderBookMap = new HashMap<>();
-        for (StockOrderBook book : orderBookList) {
-            String key = book.getStockCode() + "_" + book.getTime().format(keyFormatter);
-            orderBookMap.put(key, book);
-        }
-        
-        Map<String, StockInvestor> investorMap = new HashMap<>();
-        for (StockInvestor investor : investorList) {
-            String key = investor.getStockCode() + "_" + investor.getTime().format(keyFormatter);
-            investorMap.put(key, investor);
-        }
+        Map<String, StockOrderBook> orderBookMap = buildOrderBookMap(orderBookList, keyFormatter);
+        Map<String, StockInvestor> investorMap = buildInvestorMap(investorList, keyFormatter);
 
         // 그래프용 데이터 준비
         List<String> labels = new ArrayList<>();
@@ -100,9 +130,8 @@ public class HomeController {
             }
         }
 
-        // 계좌 정보 조회
-        List<AccountInfo> accountList = accountInfoRepository.findAll();
-        AccountInfo accountInfo = accountList.isEmpty() ? null : accountList.get(0);
+        // 계좌별 마지막 스냅샷 (설정 순서)
+        List<AccountInfo> accountInfos = accountService.findLatestSnapshots();
 
         // 필터링을 위한 종목 코드 목록 (중복 제거)
         List<String> stockCodes = stockPriceInfoRepository.findAll().stream()
@@ -111,9 +140,19 @@ public class HomeController {
                 .sorted()
                 .collect(Collectors.toList());
 
-        model.addAttribute("accountInfo", accountInfo);
+        model.addAttribute("accountInfos", accountInfos);
+        Map<String, PortfolioValuation> livePortfolios = new HashMap<>();
+        for (PortfolioValuation valuation : portfolioValuationService.getValuations()) {
+            livePortfolios.put(valuation.getAccountId(), valuation);
+        }
+        model.addAttribute("livePortfolios", livePortfolios);
         model.addAttribute("stockCodes", stockCodes);
         model.addAttribute("selectedStockCode", stockCode);
+
+        // 선택된 종목의 기술적 지표 (틱마다 증분 계산된 값)
+        if (stockCode != null && !stockCode.isEmpty()) {
+            model.addAttribute("indicators", indicatorService.getIndicators(stockCode).values());
+        }
         
         // 그래프 데이터 전달
         model.addAttribute("labels", labels);
@@ -136,6 +175,25 @@ public class HomeController {
 
         return "home";
     }
+
+    // "종목코드_yyyyMMddHHmm" 키로 인덱싱 (JMH 벤치마크에서 직접 호출하므로 package-private)
+    static Map<String, StockOrderBook> buildOrderBookMap(List<StockOrderBook> orderBookList, DateTimeFormatter keyFormatter) {
+        Map<String, StockOrderBook> orderBookMap = new HashMap<>();
+        for (StockOrderBook book : orderBookList) {
+            String key = book.getStockCode() + "_" + book.getTime().format(keyFormatter);
+            orderBookMap.put(key, book);
+        }
+        return orderBookMap;
+    }
+
+    static Map<String, StockInvestor> buildInvestorMap(List<StockInvestor> investorList, DateTimeFormatter keyFormatter) {
+        Map<String, StockInvestor> investorMap = new HashMap<>();
+        for (StockInvestor investor : investorList) {
+            String key = investor.getStockCode() + "_" + investor.getTime().format(keyFormatter);
+            investorMap.put(key, investor);
+        }
+        return investorMap;
+    }
     
     // Thymeleaf에서 복잡한 로직을 처리하기 위한 헬퍼 클래스
     public static class StyleHelper {
@@ -0,0 +1,31 @@
+package com.sjoh.kioomstock.controller;
+
+import com.sjoh.kioomstock.indicator.IndicatorSnapshot;
+import com.sjoh.kioomstock.service.IndicatorService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+public class IndicatorController {
+
+    private final IndicatorService indicatorService;
+
+    public IndicatorController(IndicatorService indicatorService) {
+        this.indicatorService = indicatorService;
+    }
+
+    // 전체 종목의 일중 지표
+    @GetMapping("/api/indicators")
+    public Map<String, IndicatorSnapshot> getAllIndicators() {
+        return indicatorService.getAllIntraday();
+    }
+
+    // 종목별 일중/일봉 지표
+    @GetMapping("/api/indicators/{stockCode}")
+    public Map<String, IndicatorSnapshot> getIndicators(@PathVariable String stockCode) {
+        return indicatorService.getIndicators(stockCode);
+    }
+}
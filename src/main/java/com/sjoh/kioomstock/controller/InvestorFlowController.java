@@ -0,0 +1,37 @@
+package com.sjoh.kioomstock.controller;
+
+import com.sjoh.kioomstock.investor.FlowWindow;
+import com.sjoh.kioomstock.investor.InvestorCategory;
+import com.sjoh.kioomstock.investor.InvestorFlowSummary;
+import com.sjoh.kioomstock.investor.NetBuyerRow;
+import com.sjoh.kioomstock.service.InvestorFlowService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class InvestorFlowController {
+
+    private final InvestorFlowService investorFlowService;
+
+    public InvestorFlowController(InvestorFlowService investorFlowService) {
+        this.investorFlowService = investorFlowService;
+    }
+
+    // 예: /api/investor-flow/top?category=FOREIGNER&window=D5&top=20 (ascending=true 면 순매도 상위)
+    @GetMapping("/api/investor-flow/top")
+    public List<NetBuyerRow> topNetBuyers(@RequestParam(defaultValue = "FOREIGNER") InvestorCategory category,
+                                          @RequestParam(defaultValue = "TODAY") FlowWindow window,
+                                          @RequestParam(defaultValue = "20") int top,
+                                          @RequestParam(defaultValue = "false") boolean ascending) {
+        return investorFlowService.topNetBuyers(category, window, top, ascending);
+    }
+
+    @GetMapping("/api/investor-flow/{stockCode}")
+    public InvestorFlowSummary getSummary(@PathVariable String stockCode) {
+        return investorFlowService.getSummary(stockCode);
+    }
+}
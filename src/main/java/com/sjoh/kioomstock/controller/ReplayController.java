@@ -0,0 +1,38 @@
+package com.sjoh.kioomstock.controller;
+
+import com.sjoh.kioomstock.recording.ReplayStatus;
+import com.sjoh.kioomstock.service.ReplayService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// 녹화 재생은 kiwoom.record.replay-enabled=true 일 때만 (ReplayService 와 같은 조건)
+@RestController
+@ConditionalOnProperty(name = "kiwoom.record.replay-enabled", havingValue = "true")
+public class ReplayController {
+
+    private final ReplayService replayService;
+
+    public ReplayController(ReplayService replayService) {
+        this.replayService = replayService;
+    }
+
+    // 녹화 세그먼트 재생 시작 (speed=0 이면 최대 속도)
+    @PostMapping("/api/replay")
+    public ResponseEntity<ReplayStatus> start(@RequestParam(defaultValue = "0") double speed,
+                                              @RequestParam(required = false) String prefix) {
+        if (!replayService.start(speed, prefix)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(replayService.getStatus());
+        }
+        return ResponseEntity.accepted().body(replayService.getStatus());
+    }
+
+    @GetMapping("/api/replay")
+    public ReplayStatus status() {
+        return replayService.getStatus();
+    }
+}
@@ -0,0 +1,42 @@
+package com.sjoh.kioomstock.controller;
+
+import com.sjoh.kioomstock.screener.CorrelationResult;
+import com.sjoh.kioomstock.screener.ScreenerMetric;
+import com.sjoh.kioomstock.screener.ScreenerRow;
+import com.sjoh.kioomstock.service.ScreenerService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class ScreenerController {
+
+    private final ScreenerService screenerService;
+
+    public ScreenerController(ScreenerService screenerService) {
+        this.screenerService = screenerService;
+    }
+
+    // 예: /api/screener/rank?metric=VOLUME_SURGE&source=minute&top=20
+    @GetMapping("/api/screener/rank")
+    public List<ScreenerRow> rank(@RequestParam(defaultValue = "RETURN") ScreenerMetric metric,
+                                  @RequestParam(defaultValue = "minute") String source,
+                                  @RequestParam(defaultValue = "false") boolean ascending,
+                                  @RequestParam(defaultValue = "50") int top) {
+        return screenerService.rank(source, metric, ascending, top);
+    }
+
+    @GetMapping("/api/screener/correlation")
+    public CorrelationResult correlation(@RequestParam(defaultValue = "minute") String source) {
+        return screenerService.getCorrelation(source);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,40 @@
+package com.sjoh.kioomstock.controller;
+
+import com.sjoh.kioomstock.service.VolumeProfileService;
+import com.sjoh.kioomstock.volumeprofile.VolumeProfileSnapshot;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+public class VolumeProfileController {
+
+    private final VolumeProfileService volumeProfileService;
+
+    public VolumeProfileController(VolumeProfileService volumeProfileService) {
+        this.volumeProfileService = volumeProfileService;
+    }
+
+    // 예: /api/volume-profile/005930 (당일), /api/volume-profile/005930?date=2026-10-16 (지난 날짜)
+    @GetMapping("/api/volume-profile/{stockCode}")
+    public VolumeProfileSnapshot getProfile(@PathVariable String stockCode,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                            @RequestParam(defaultValue = "true") boolean levels) {
+        if (date == null) {
+            return volumeProfileService.getCurrent(stockCode, levels);
+        }
+        return volumeProfileService.getDaily(stockCode, date, levels);
+    }
+
+    // 최근 거래일별 POC/가치영역/VWAP 요약 (가격대 목록 제외)
+    @GetMapping("/api/volume-profile/{stockCode}/history")
+    public List<VolumeProfileSnapshot> getHistory(@PathVariable String stockCode,
+                                                  @RequestParam(defaultValue = "5") int days) {
+        return volumeProfileService.getRecent(stockCode, Math.min(days, 60));
+    }
+}
@@ -0,0 +1,129 @@
+package com.sjoh.kioomstock.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리포지토리 메서드별 소요 시간(kiwoom.repository.invocations), 반환 행 수(kiwoom.repository.rows),
+ * 실행된 SQL 문장 수(kiwoom.repository.statements)를 기록합니다.
+ * EAGER 연관관계 로딩처럼 메서드 하나가 여러 문장을 내는 경우를 문장 수로 드러냅니다.
+ */
+@Aspect
+@Component
+public class RepositoryTimingAspect {
+
+    // 느린 쿼리 로그에 호출한 리포지토리 메서드를 남기기 위함
+    private static final ThreadLocal<String> CURRENT_METHOD = new ThreadLocal<>();
+
+    private static final String REPOSITORY_PACKAGE = "com.sjoh.kioomstock.repository.";
+
+    private final MeterRegistry meterRegistry;
+    // 리포지토리 프록시 클래스 -> 우리 리포지토리 인터페이스 이름
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public RepositoryTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    static String currentMethod() {
+        return CURRENT_METHOD.get();
+    }
+
+    // findAll/save 처럼 JpaRepository 에서 상속한 메서드도 포함하도록 Repository 하위 타입 전체를 대상으로 함
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryName(joinPoint);
+        String method = joinPoint.getSignature().getName();
+
+        String outer = CURRENT_METHOD.get();
+        if (outer == null) {
+            CURRENT_METHOD.set(repository + "." + method);
+        }
+        int statementsBefore = SqlUnitOfWork.currentStatementCount();
+        long start = System.nanoTime();
+        String outcome = "success";
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable t) {
+            outcome = "error";
+            throw t;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (outer == null) {
+                CURRENT_METHOD.remove();
+            }
+            Timer.builder("kiwoom.repository.invocations")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+
+            int rows = rowCount(result);
+            if (rows >= 0) {
+                DistributionSummary.builder("kiwoom.repository.rows")
+                        .tag("repository", repository)
+                        .tag("method", method)
+                        .register(meterRegistry)
+                        .record(rows);
+            }
+            // 작업 단위가 열려 있을 때만 문장 수를 셀 수 있음
+            int statements = SqlUnitOfWork.currentStatementCount() - statementsBefore;
+            if (statements > 0) {
+                DistributionSummary.builder("kiwoom.repository.statements")
+                        .tag("repository", repository)
+                        .tag("method", method)
+                        .register(meterRegistry)
+                        .record(statements);
+            }
+        }
+    }
+
+    private String repositoryName(ProceedingJoinPoint joinPoint) {
+        Object proxy = joinPoint.getThis();
+        if (proxy == null) {
+            return joinPoint.getSignature().getDeclaringType().getSimpleName();
+        }
+        return repositoryNames.computeIfAbsent(proxy.getClass(), proxyClass -> {
+            for (Class<?> type : proxyClass.getInterfaces()) {
+                if (type.getName().startsWith(REPOSITORY_PACKAGE)) {
+                    return type.getSimpleName();
+                }
+            }
+            return joinPoint.getSignature().getDeclaringType().getSimpleName();
+        });
+    }
+
+    private static int rowCount(Object result) {
+        if (result == null) {
+            return -1;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Iterable<?> iterable) {
+            int count = 0;
+            for (Object ignored : iterable) {
+                count++;
+            }
+            return count;
+        }
+        return -1;
+    }
+}
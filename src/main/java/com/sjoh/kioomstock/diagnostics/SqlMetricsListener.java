@@ -0,0 +1,93 @@
+package com.sjoh.kioomstock.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * datasource-proxy 리스너: JDBC 문장마다 실행 시간을 Micrometer 타이머(kiwoom.sql.statements)에 기록하고,
+ * 임계값을 넘는 문장은 호출한 리포지토리 메서드와 함께 느린 쿼리 로그(logger: kiwoom.sql.slow)로 남깁니다.
+ * show-sql 과 달리 SQL 문자열을 매번 출력하지 않으므로 운영에서 켜둘 수 있습니다.
+ */
+public class SqlMetricsListener implements QueryExecutionListener {
+
+    private static final Logger slowQueryLogger = LoggerFactory.getLogger("kiwoom.sql.slow");
+
+    private static final int MAX_SQL_LENGTH = 300;
+
+    // DataSource 생성 시점에는 MeterRegistry 가 아직 없을 수 있어 첫 문장 실행 때 조회
+    private final Supplier<MeterRegistry> meterRegistrySupplier;
+    private final long slowThresholdMillis;
+    private volatile MeterRegistry meterRegistry;
+
+    public SqlMetricsListener(Supplier<MeterRegistry> meterRegistrySupplier, Duration slowThreshold) {
+        this.meterRegistrySupplier = meterRegistrySupplier;
+        this.slowThresholdMillis = slowThreshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        String repositoryMethod = RepositoryTimingAspect.currentMethod();
+
+        Timer.builder("kiwoom.sql.statements")
+                .description("JDBC statement execution time")
+                .tag("type", statementType(sql))
+                .tag("batch", String.valueOf(execInfo.isBatch()))
+                .tag("success", String.valueOf(execInfo.isSuccess()))
+                .register(meterRegistry())
+                .record(elapsedMillis, TimeUnit.MILLISECONDS);
+
+        SqlUnitOfWork.recordStatement(sql, TimeUnit.MILLISECONDS.toNanos(elapsedMillis));
+
+        if (elapsedMillis >= slowThresholdMillis) {
+            slowQueryLogger.warn("Slow query {} ms [{}] batch={} rows={}: {}",
+                    elapsedMillis, repositoryMethod != null ? repositoryMethod : "-",
+                    execInfo.isBatch() ? execInfo.getBatchSize() : 0,
+                    execInfo.getResult() instanceof Integer count ? count : "-",
+                    abbreviate(sql));
+        }
+    }
+
+    private MeterRegistry meterRegistry() {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            registry = meterRegistrySupplier.get();
+            meterRegistry = registry;
+        }
+        return registry;
+    }
+
+    static String statementType(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete" -> keyword;
+            default -> "other";
+        };
+    }
+
+    static String abbreviate(String sql) {
+        String singleLine = sql.replaceAll("\\s+", " ").trim();
+        return singleLine.length() <= MAX_SQL_LENGTH ? singleLine : singleLine.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+}
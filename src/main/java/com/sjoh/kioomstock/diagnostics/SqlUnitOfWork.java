@@ -0,0 +1,114 @@
+package com.sjoh.kioomstock.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 작업 단위(HTTP 요청 1건, 종목 1개 저장 등)별 SQL 실행 통계.
+ * 스레드 로컬에 문장 수/소요 시간/SQL 별 실행 횟수를 모으고, 단위가 끝나면
+ * 같은 SQL 이 n-plus-one-threshold 번 이상 반복된 경우 N+1 의심으로 경고합니다.
+ * (JPA/JDBC 경로만 집계 - R2DBC 쓰기 경로는 대상 아님)
+ */
+@Component
+public class SqlUnitOfWork {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlUnitOfWork.class);
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+    private final Counter nPlusOneCounter;
+
+    public SqlUnitOfWork(MeterRegistry meterRegistry,
+                         @Value("${kiwoom.sql.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.nPlusOneCounter = Counter.builder("kiwoom.sql.n_plus_one")
+                .description("Units of work that repeated the same statement at least n-plus-one-threshold times")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 작업 단위를 엽니다. 이미 열린 단위 안에서 호출하면 바깥 단위에 합산됩니다.
+     */
+    public Scope open(String kind, String name) {
+        if (CURRENT.get() != null) {
+            return Scope.NOOP;
+        }
+        Stats stats = new Stats(kind, name);
+        CURRENT.set(stats);
+        return () -> {
+            CURRENT.remove();
+            report(stats);
+        };
+    }
+
+    // SqlMetricsListener 에서 문장마다 호출
+    static void recordStatement(String sql, long elapsedNanos) {
+        Stats stats = CURRENT.get();
+        if (stats == null) {
+            return;
+        }
+        stats.statements++;
+        stats.elapsedNanos += elapsedNanos;
+        stats.countsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    // 현재 작업 단위에서 지금까지 실행된 문장 수 (리포지토리 메서드별 문장 수 계산용)
+    static int currentStatementCount() {
+        Stats stats = CURRENT.get();
+        return stats != null ? stats.statements : 0;
+    }
+
+    private void report(Stats stats) {
+        if (stats.statements == 0) {
+            return;
+        }
+        DistributionSummary.builder("kiwoom.sql.unit.statements")
+                .description("JDBC statements per unit of work")
+                .tag("kind", stats.kind)
+                .register(meterRegistry)
+                .record(stats.statements);
+
+        for (Map.Entry<String, Integer> entry : stats.countsBySql.entrySet()) {
+            if (entry.getValue() >= nPlusOneThreshold) {
+                nPlusOneCounter.increment();
+                logger.warn("Possible N+1 in {} {}: {} statements ({} ms total), repeated {}x: {}",
+                        stats.kind, stats.name, stats.statements, stats.elapsedNanos / 1_000_000,
+                        entry.getValue(), SqlMetricsListener.abbreviate(entry.getKey()));
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} {}: {} statements, {} ms", stats.kind, stats.name, stats.statements, stats.elapsedNanos / 1_000_000);
+        }
+    }
+
+    public interface Scope extends AutoCloseable {
+        Scope NOOP = () -> { };
+
+        @Override
+        void close();
+    }
+
+    private static final class Stats {
+        private final String kind;
+        private final String name;
+        private final Map<String, Integer> countsBySql = new HashMap<>();
+        private int statements;
+        private long elapsedNanos;
+
+        private Stats(String kind, String name) {
+            this.kind = kind;
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.sjoh.kioomstock.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * HTTP 요청 1건을 SQL 작업 단위로 묶습니다. (대시보드 N+1 탐지용)
+ */
+@Component
+public class SqlUnitOfWorkFilter extends OncePerRequestFilter {
+
+    private final SqlUnitOfWork sqlUnitOfWork;
+
+    public SqlUnitOfWorkFilter(SqlUnitOfWork sqlUnitOfWork) {
+        this.sqlUnitOfWork = sqlUnitOfWork;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlUnitOfWork.Scope ignored = sqlUnitOfWork.open("request", request.getMethod() + " " + request.getRequestURI())) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
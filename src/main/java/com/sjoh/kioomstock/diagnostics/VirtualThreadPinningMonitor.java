@@ -0,0 +1,92 @@
+package com.sjoh.kioomstock.diagnostics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가상 스레드 고정(pinning) 진단.
+ * JFR jdk.VirtualThreadPinned 이벤트를 앱 안에서 스트리밍으로 받아, 임계값 이상 캐리어 스레드를 붙잡은
+ * 블로킹 호출(synchronized 블록 안의 I/O, 네이티브 프레임 등)의 스택을 로그로 남깁니다.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 8;
+
+    private final Duration threshold;
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private final AtomicLong pinnedNanos = new AtomicLong();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${kiwoom.diagnostics.pinned-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+            logger.info("Virtual thread pinning monitor started (threshold: {})", threshold);
+        } catch (Exception e) {
+            // JFR 이 비활성화된 JVM 에서도 애플리케이션은 정상 기동
+            logger.warn("Could not start virtual thread pinning monitor: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    public Duration getPinnedTotal() {
+        return Duration.ofNanos(pinnedNanos.get());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        pinnedNanos.addAndGet(event.getDuration().toNanos());
+
+        StringBuilder frames = new StringBuilder();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace != null) {
+            List<RecordedFrame> recordedFrames = stackTrace.getFrames();
+            for (int i = 0; i < Math.min(MAX_FRAMES, recordedFrames.size()); i++) {
+                RecordedFrame frame = recordedFrames.get(i);
+                frames.append("\n    at ")
+                        .append(frame.getMethod().getType().getName()).append('.')
+                        .append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber());
+            }
+        }
+        logger.warn("Virtual thread pinned for {} ms on {}{}",
+                event.getDuration().toMillis(),
+                event.getThread() != null ? event.getThread().getJavaName() : "unknown",
+                frames);
+    }
+}
@@ -10,9 +10,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "account_info")
+@Table(name = "account_info", indexes = @Index(name = "idx_account_info_account_id", columnList = "account_id"))
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class AccountInfo {
@@ -21,6 +21,9 @@ public class AccountInfo {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "account_id")
+    private String accountId; // kiwoom.account.credentials[].id (계좌 구분 전 스냅샷은 null)
+
     private String accountName; // acnt_nm
     private String branchName; // brch_nm
     private long deposit; // entr 예수금
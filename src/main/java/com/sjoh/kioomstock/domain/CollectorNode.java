@@ -0,0 +1,33 @@
+package com.sjoh.kioomstock.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 수집 클러스터 멤버십 (노드별 하트비트 임대).
+ * heartbeatAt 이 lease-timeout 보다 오래된 노드는 죽은 것으로 보고 샤드에서 제외합니다.
+ */
+@Entity
+@Table(name = "collector_node")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectorNode {
+
+    @Id
+    private String nodeId;              // host-pid-랜덤
+
+    private String host;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime heartbeatAt;  // DB 시계(now()) 기준
+}
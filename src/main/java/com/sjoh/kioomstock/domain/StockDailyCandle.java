@@ -10,7 +10,7 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "stock_daily_candle", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"stockCode", "date"})
+        @UniqueConstraint(columnNames = {"symbol_id", "date"})
 })
 @Data
 @Builder
@@ -22,8 +22,9 @@ public class StockDailyCandle {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
-    private String stockCode;       // 종목코드
+    @Convert(converter = StockSymbolConverter.class)
+    @Column(name = "symbol_id", nullable = false)
+    private String stockCode;       // 종목코드 (DB 에는 stock_symbol.id 로 저장)
 
     @Column(nullable = false)
     private LocalDate date;         // 일자 (dt)
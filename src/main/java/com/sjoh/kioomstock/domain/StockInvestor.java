@@ -10,7 +10,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "stock_investor")
+@Table(name = "stock_investor", indexes = {
+        @Index(columnList = "symbol_id, date, time")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -24,8 +26,9 @@ public class StockInvestor {
     @Column(nullable = false)
     private LocalDateTime time;     // 수집 시간 (time) - StockPriceInfo와 동일한 타입
 
-    @Column(nullable = false)
-    private String stockCode;       // 종목코드
+    @Convert(converter = StockSymbolConverter.class)
+    @Column(name = "symbol_id", nullable = false)
+    private String stockCode;       // 종목코드 (DB 에는 stock_symbol.id 로 저장)
 
     @Column(nullable = false)
     private LocalDate date;         // 일자 (dt)
@@ -9,7 +9,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "stock_order_book")
+@Table(name = "stock_order_book", indexes = {
+        @Index(columnList = "symbol_id, time")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,8 +22,9 @@ public class StockOrderBook {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
-    private String stockCode;       // 종목코드
+    @Convert(converter = StockSymbolConverter.class)
+    @Column(name = "symbol_id", nullable = false)
+    private String stockCode;       // 종목코드 (DB 에는 stock_symbol.id 로 저장)
 
     @Column(nullable = false)
     private LocalDateTime time;     // 호가잔량기준시간 (bid_req_base_tm)
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "stock_price_info", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"stockCode", "time"})
+        @UniqueConstraint(columnNames = {"symbol_id", "time"})
 })
 @Data
 @Builder
@@ -22,8 +22,9 @@ public class StockPriceInfo {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
-    private String stockCode;       // 종목코드
+    @Convert(converter = StockSymbolConverter.class)
+    @Column(name = "symbol_id", nullable = false)
+    private String stockCode;       // 종목코드 (DB 에는 stock_symbol.id 로 저장)
 
     @Column(nullable = false)
     private LocalDateTime time;     // 체결시간 (cntr_tm)
@@ -44,11 +45,12 @@ public class StockPriceInfo {
 
     private double volumePower;     // 체결강도 (cntr_str)
 
-    private double volumePower5Min; // 체결강도5분 (cntr_str_5min)
+    // 기간별 체결강도는 ka10046 에만 있음 - 아직 받은 값이 없으면 null (0 으로 저장하지 않음)
+    private Double volumePower5Min; // 체결강도5분 (cntr_str_5min)
 
-    private double volumePower20Min; // 체결강도20분 (cntr_str_20min)
+    private Double volumePower20Min; // 체결강도20분 (cntr_str_20min)
 
-    private double volumePower60Min; // 체결강도60분 (cntr_str_60min)
+    private Double volumePower60Min; // 체결강도60분 (cntr_str_60min)
 
     private String exchangeType;    // 거래소구분 (stex_tp)
 }
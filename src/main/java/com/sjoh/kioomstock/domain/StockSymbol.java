@@ -0,0 +1,40 @@
+package com.sjoh.kioomstock.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 종목 마스터. 시세/호가/일봉/투자자 테이블은 종목코드 문자열 대신 이 테이블의 id(symbol_id)를 저장합니다.
+ * 코드 <-> id 변환은 SymbolDictionary 가 메모리에서 처리합니다.
+ */
+@Entity
+@Table(name = "stock_symbol", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"code"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSymbol {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, length = 20)
+    private String code;            // 종목코드 (stk_cd)
+
+    private String name;            // 종목명 (stk_nm)
+
+    private String market;          // 시장구분 (KOSPI, KOSDAQ, ETF ...)
+
+    private LocalDate listedDate;   // 상장일
+
+    private LocalDateTime updatedAt;
+}
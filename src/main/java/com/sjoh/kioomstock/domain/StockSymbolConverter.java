@@ -0,0 +1,31 @@
+package com.sjoh.kioomstock.domain;
+
+import com.sjoh.kioomstock.persistence.SymbolDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * 엔티티의 stockCode(문자열) <-> DB 의 symbol_id(정수) 변환.
+ * Hibernate 가 Spring 빈 컨테이너로 생성하므로 SymbolDictionary 를 주입받습니다.
+ * 파생 쿼리(findByStockCode 등)의 파라미터도 같은 변환을 거치므로 리포지토리 코드는 그대로 둡니다.
+ * 변환은 조회 전용이라 모르는 종목은 어떤 행과도 맞지 않는 id 가 되므로, 저장하는 쪽은 먼저 SymbolDictionary.register 를 호출해야 합니다.
+ */
+@Converter
+public class StockSymbolConverter implements AttributeConverter<String, Integer> {
+
+    private final SymbolDictionary symbolDictionary;
+
+    public StockSymbolConverter(SymbolDictionary symbolDictionary) {
+        this.symbolDictionary = symbolDictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String stockCode) {
+        return stockCode != null ? symbolDictionary.idOf(stockCode) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer symbolId) {
+        return symbolId != null ? symbolDictionary.codeOf(symbolId) : null;
+    }
+}
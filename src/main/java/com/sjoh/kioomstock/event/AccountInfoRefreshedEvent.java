@@ -0,0 +1,15 @@
+package com.sjoh.kioomstock.event;
+
+import com.sjoh.kioomstock.domain.AccountInfo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * kt00004 계좌평가 조회 결과가 DB에 저장된 직후 발행되는 이벤트.
+ */
+@Getter
+@AllArgsConstructor
+public class AccountInfoRefreshedEvent {
+
+    private final AccountInfo accountInfo;
+}
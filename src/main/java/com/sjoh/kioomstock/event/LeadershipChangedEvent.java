@@ -0,0 +1,14 @@
+package com.sjoh.kioomstock.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 수집 클러스터에서 이 노드의 리더 여부가 바뀌었을 때 발행됩니다. (시작 시 최초 판정은 제외)
+ */
+@Getter
+@AllArgsConstructor
+public class LeadershipChangedEvent {
+
+    private final boolean leader;
+}
@@ -0,0 +1,25 @@
+package com.sjoh.kioomstock.event;
+
+import com.sjoh.kioomstock.domain.StockDailyCandle;
+import com.sjoh.kioomstock.domain.StockInvestor;
+import com.sjoh.kioomstock.domain.StockOrderBook;
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 한 종목의 수집 결과가 DB에 저장된 직후 발행되는 이벤트.
+ * priceInfos / dailyCandles 에는 이번에 새로 저장된 행만 담깁니다. (중복으로 스킵된 행 제외)
+ */
+@Getter
+@AllArgsConstructor
+public class StockDataCollectedEvent {
+
+    private final String stockCode;
+    private final List<StockPriceInfo> priceInfos;
+    private final StockOrderBook orderBook;         // 없으면 null
+    private final List<StockDailyCandle> dailyCandles;
+    private final List<StockInvestor> investors;
+}
@@ -0,0 +1,36 @@
+package com.sjoh.kioomstock.indicator;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 특정 시점의 지표 값. 계산에 필요한 표본이 아직 부족한 지표는 null 입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndicatorSnapshot {
+
+    private String stockCode;
+    private String timeframe;       // intraday(분 단위 틱) / daily(일봉)
+    private LocalDateTime time;     // 마지막으로 반영된 시각
+    private long sampleCount;
+
+    private Double lastPrice;
+    private Double sma;             // SMA(20)
+    private Double emaFast;         // EMA(12)
+    private Double emaSlow;         // EMA(26)
+    private Double macd;            // EMA(12) - EMA(26)
+    private Double macdSignal;      // MACD 의 EMA(9)
+    private Double macdHistogram;
+    private Double rsi;             // RSI(14)
+    private Double bollingerUpper;  // SMA(20) + 2σ
+    private Double bollingerMiddle;
+    private Double bollingerLower;  // SMA(20) - 2σ
+    private Double vwap;            // 일중 VWAP (intraday 만 해당)
+}
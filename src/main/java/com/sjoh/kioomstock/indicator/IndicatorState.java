@@ -0,0 +1,167 @@
+package com.sjoh.kioomstock.indicator;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 종목 하나에 대한 기술적 지표의 증분 상태.
+ * 가격이 하나 들어올 때마다 O(1)로 SMA/EMA, RSI, MACD, 볼린저밴드, VWAP을 갱신합니다.
+ * 모든 상태는 primitive 필드와 고정 크기 배열로만 유지합니다. (스레드 안전하지 않음 - 호출 측에서 동기화)
+ */
+public class IndicatorState {
+
+    public static final int SMA_PERIOD = 20;
+    public static final int EMA_FAST_PERIOD = 12;
+    public static final int EMA_SLOW_PERIOD = 26;
+    public static final int MACD_SIGNAL_PERIOD = 9;
+    public static final int RSI_PERIOD = 14;
+    public static final double BOLLINGER_K = 2.0;
+
+    private static final double ALPHA_FAST = 2.0 / (EMA_FAST_PERIOD + 1);
+    private static final double ALPHA_SLOW = 2.0 / (EMA_SLOW_PERIOD + 1);
+    private static final double ALPHA_SIGNAL = 2.0 / (MACD_SIGNAL_PERIOD + 1);
+
+    // SMA / 볼린저밴드용 링버퍼와 누적합
+    private final double[] window = new double[SMA_PERIOD];
+    private int windowHead;
+    private int windowCount;
+    private double windowSum;
+    private double windowSumSq;
+
+    // EMA / MACD
+    private double emaFast;
+    private double emaSlow;
+    private double macdSignal;
+    private long count;
+
+    // RSI (Wilder 평활)
+    private double prevPrice;
+    private double avgGain;
+    private double avgLoss;
+    private int rsiSeedCount;
+
+    // 일중 VWAP
+    private LocalDate vwapDate;
+    private double vwapPriceVolume;
+    private long vwapVolume;
+
+    private double lastPrice;
+    private LocalDateTime lastTime;
+
+    /**
+     * 새 가격을 반영합니다. time 이 마지막 반영 시각보다 이르거나 같으면 무시합니다.
+     * volume 은 해당 틱의 거래량이며 일중 VWAP 계산에만 사용됩니다.
+     */
+    public boolean update(LocalDateTime time, double price, long volume) {
+        if (price <= 0) {
+            return false;
+        }
+        if (time != null && lastTime != null && !time.isAfter(lastTime)) {
+            return false;
+        }
+
+        // SMA / 볼린저
+        if (windowCount == SMA_PERIOD) {
+            double evicted = window[windowHead];
+            windowSum -= evicted;
+            windowSumSq -= evicted * evicted;
+        } else {
+            windowCount++;
+        }
+        window[windowHead] = price;
+        windowHead = (windowHead + 1) % SMA_PERIOD;
+        windowSum += price;
+        windowSumSq += price * price;
+
+        // EMA / MACD
+        if (count == 0) {
+            emaFast = price;
+            emaSlow = price;
+            macdSignal = 0.0;
+        } else {
+            emaFast += ALPHA_FAST * (price - emaFast);
+            emaSlow += ALPHA_SLOW * (price - emaSlow);
+            macdSignal += ALPHA_SIGNAL * ((emaFast - emaSlow) - macdSignal);
+        }
+
+        // RSI
+        if (count > 0) {
+            double change = price - prevPrice;
+            double gain = change > 0 ? change : 0.0;
+            double loss = change < 0 ? -change : 0.0;
+            if (rsiSeedCount < RSI_PERIOD) {
+                // 최초 RSI_PERIOD 개 변화량은 단순평균으로 시드
+                rsiSeedCount++;
+                avgGain += (gain - avgGain) / rsiSeedCount;
+                avgLoss += (loss - avgLoss) / rsiSeedCount;
+            } else {
+                avgGain = (avgGain * (RSI_PERIOD - 1) + gain) / RSI_PERIOD;
+                avgLoss = (avgLoss * (RSI_PERIOD - 1) + loss) / RSI_PERIOD;
+            }
+        }
+        prevPrice = price;
+
+        // VWAP (날짜가 바뀌면 초기화)
+        if (time != null) {
+            LocalDate date = time.toLocalDate();
+            if (!date.equals(vwapDate)) {
+                vwapDate = date;
+                vwapPriceVolume = 0.0;
+                vwapVolume = 0;
+            }
+            if (volume > 0) {
+                vwapPriceVolume += price * volume;
+                vwapVolume += volume;
+            }
+        }
+
+        count++;
+        lastPrice = price;
+        lastTime = time;
+        return true;
+    }
+
+    public IndicatorSnapshot snapshot(String stockCode, String timeframe) {
+        IndicatorSnapshot.IndicatorSnapshotBuilder builder = IndicatorSnapshot.builder()
+                .stockCode(stockCode)
+                .timeframe(timeframe)
+                .time(lastTime)
+                .sampleCount(count)
+                .lastPrice(count > 0 ? lastPrice : null);
+
+        if (windowCount == SMA_PERIOD) {
+            double mean = windowSum / SMA_PERIOD;
+            // 누적합 기반 분산은 부동소수점 오차로 미세하게 음수가 될 수 있음
+            double variance = Math.max(0.0, windowSumSq / SMA_PERIOD - mean * mean);
+            double band = BOLLINGER_K * Math.sqrt(variance);
+            builder.sma(mean)
+                    .bollingerMiddle(mean)
+                    .bollingerUpper(mean + band)
+                    .bollingerLower(mean - band);
+        }
+        if (count >= EMA_FAST_PERIOD) {
+            builder.emaFast(emaFast);
+        }
+        if (count >= EMA_SLOW_PERIOD) {
+            double macd = emaFast - emaSlow;
+            builder.emaSlow(emaSlow)
+                    .macd(macd);
+            if (count >= EMA_SLOW_PERIOD + MACD_SIGNAL_PERIOD) {
+                builder.macdSignal(macdSignal)
+                        .macdHistogram(macd - macdSignal);
+            }
+        }
+        if (rsiSeedCount >= RSI_PERIOD) {
+            double rsi = avgLoss == 0.0 ? 100.0 : 100.0 - 100.0 / (1.0 + avgGain / avgLoss);
+            builder.rsi(rsi);
+        }
+        if (vwapVolume > 0) {
+            builder.vwap(vwapPriceVolume / vwapVolume);
+        }
+        return builder.build();
+    }
+
+    public LocalDateTime getLastTime() {
+        return lastTime;
+    }
+}
@@ -0,0 +1,23 @@
+package com.sjoh.kioomstock.investor;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryFlow {
+
+    private InvestorCategory category;
+    private String label;
+    private long today;
+    private long sum5Days;
+    private long sum20Days;
+    private long sum60Days;
+    private long cumulative;
+    private long[] dailySeries;     // 최근 거래일부터 과거 순
+    private long[] intradaySeries;  // 당일 스냅샷 순 (intradayMinutes 와 같은 인덱스)
+}
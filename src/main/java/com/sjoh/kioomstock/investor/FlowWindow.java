@@ -0,0 +1,22 @@
+package com.sjoh.kioomstock.investor;
+
+/**
+ * 순매수 집계 구간. TODAY 는 당일 장중 누적(마지막 스냅샷), CUMULATIVE 는 추적 시작 이후 전체.
+ */
+public enum FlowWindow {
+    TODAY(1),
+    D5(5),
+    D20(20),
+    D60(60),
+    CUMULATIVE(0);
+
+    private final int days;
+
+    FlowWindow(int days) {
+        this.days = days;
+    }
+
+    public int getDays() {
+        return days;
+    }
+}
@@ -0,0 +1,42 @@
+package com.sjoh.kioomstock.investor;
+
+import com.sjoh.kioomstock.domain.StockInvestor;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * StockInvestor 의 투자자 구분별 순매수 컬럼. ordinal 을 상태 배열 인덱스로 사용합니다.
+ */
+public enum InvestorCategory {
+    INDIVIDUAL("개인", StockInvestor::getIndividual),
+    FOREIGNER("외국인", StockInvestor::getForeigner),
+    INSTITUTION("기관계", StockInvestor::getInstitution),
+    FINANCIAL_INVESTMENT("금융투자", StockInvestor::getFinancialInvestment),
+    INSURANCE("보험", StockInvestor::getInsurance),
+    INVESTMENT_TRUST("투신", StockInvestor::getInvestmentTrust),
+    ETC_FINANCE("기타금융", StockInvestor::getEtcFinance),
+    BANK("은행", StockInvestor::getBank),
+    PENSION_FUND("연기금등", StockInvestor::getPensionFund),
+    PRIVATE_FUND("사모펀드", StockInvestor::getPrivateFund),
+    NATION("국가", StockInvestor::getNation),
+    ETC_CORP("기타법인", StockInvestor::getEtcCorp),
+    FOREIGN_NATIONAL("내외국인", StockInvestor::getForeignNational);
+
+    public static final int COUNT = values().length;
+
+    private final String label;
+    private final ToLongFunction<StockInvestor> extractor;
+
+    InvestorCategory(String label, ToLongFunction<StockInvestor> extractor) {
+        this.label = label;
+        this.extractor = extractor;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long valueOf(StockInvestor investor) {
+        return extractor.applyAsLong(investor);
+    }
+}
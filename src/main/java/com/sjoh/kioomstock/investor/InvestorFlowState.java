@@ -0,0 +1,158 @@
+package com.sjoh.kioomstock.investor;
+
+import com.sjoh.kioomstock.domain.StockInvestor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 종목 하나의 투자자 구분별 순매수 시계열 상태.
+ * - 일별 순매수: 최근 60 거래일 링버퍼 (당일 값은 장중 스냅샷이 들어올 때마다 덮어씀)
+ * - 5/20/60일 구간 합계, 누적 합계: 값이 바뀔 때 차이만 더하고 빼서 O(카테고리 수)로 유지
+ * - 장중 시계열: 당일 스냅샷 시각과 값 (날짜가 바뀌면 초기화)
+ * (스레드 안전하지 않음 - 호출 측에서 동기화)
+ */
+public class InvestorFlowState {
+
+    private static final int CAPACITY = 60;
+    private static final int[] WINDOWS = {5, 20, 60};
+    private static final int INTRADAY_INITIAL_CAPACITY = 64;
+
+    private final long[][] daily = new long[InvestorCategory.COUNT][CAPACITY];
+    private final long[][] windowSums = new long[WINDOWS.length][InvestorCategory.COUNT];
+    private final long[] cumulative = new long[InvestorCategory.COUNT];
+    private int head = -1;          // 당일(가장 최근 거래일) 슬롯
+    private int dayCount;
+    private LocalDate currentDate;
+
+    // 장중 시계열 (당일만)
+    private int[] intradayMinutes = new int[INTRADAY_INITIAL_CAPACITY];
+    private long[][] intradayValues = new long[InvestorCategory.COUNT][INTRADAY_INITIAL_CAPACITY];
+    private int intradayCount;
+    private LocalDateTime lastSnapshotTime;
+
+    /**
+     * 투자자 스냅샷을 반영합니다. 이미 지난 거래일의 스냅샷은 무시합니다.
+     */
+    public boolean apply(StockInvestor investor) {
+        LocalDate date = investor.getDate();
+        if (currentDate != null && date.isBefore(currentDate)) {
+            return false;
+        }
+        if (!date.equals(currentDate)) {
+            advanceDay(date);
+        }
+
+        for (InvestorCategory category : InvestorCategory.values()) {
+            int c = category.ordinal();
+            long value = category.valueOf(investor);
+            long delta = value - daily[c][head];
+            if (delta == 0) {
+                continue;
+            }
+            daily[c][head] = value;
+            for (int w = 0; w < WINDOWS.length; w++) {
+                windowSums[w][c] += delta;
+            }
+            cumulative[c] += delta;
+        }
+
+        appendIntraday(investor);
+        lastSnapshotTime = investor.getTime();
+        return true;
+    }
+
+    private void advanceDay(LocalDate date) {
+        int newHead = (head + 1) % CAPACITY;
+        // 새 거래일이 들어오면 각 구간에서 가장 오래된 날이 빠짐 (60일 구간은 덮어쓸 슬롯 자체가 빠지는 날)
+        for (int w = 0; w < WINDOWS.length; w++) {
+            int window = WINDOWS[w];
+            if (dayCount >= window) {
+                int out = (newHead - window + CAPACITY) % CAPACITY;
+                for (int c = 0; c < InvestorCategory.COUNT; c++) {
+                    windowSums[w][c] -= daily[c][out];
+                }
+            }
+        }
+        for (int c = 0; c < InvestorCategory.COUNT; c++) {
+            daily[c][newHead] = 0;
+        }
+        head = newHead;
+        if (dayCount < CAPACITY) {
+            dayCount++;
+        }
+        currentDate = date;
+        intradayCount = 0;
+    }
+
+    private void appendIntraday(StockInvestor investor) {
+        if (investor.getTime() == null) {
+            return;
+        }
+        int minute = investor.getTime().getHour() * 60 + investor.getTime().getMinute();
+        if (intradayCount > 0 && intradayMinutes[intradayCount - 1] == minute) {
+            // 같은 분의 스냅샷은 마지막 값으로 덮어씀
+            intradayCount--;
+        }
+        if (intradayCount == intradayMinutes.length) {
+            int newCapacity = intradayMinutes.length * 2;
+            intradayMinutes = Arrays.copyOf(intradayMinutes, newCapacity);
+            for (int c = 0; c < InvestorCategory.COUNT; c++) {
+                intradayValues[c] = Arrays.copyOf(intradayValues[c], newCapacity);
+            }
+        }
+        intradayMinutes[intradayCount] = minute;
+        for (int c = 0; c < InvestorCategory.COUNT; c++) {
+            intradayValues[c][intradayCount] = daily[c][head];
+        }
+        intradayCount++;
+    }
+
+    public long get(InvestorCategory category, FlowWindow window) {
+        if (head < 0) {
+            return 0;
+        }
+        int c = category.ordinal();
+        switch (window) {
+            case TODAY:
+                return daily[c][head];
+            case D5:
+                return windowSums[0][c];
+            case D20:
+                return windowSums[1][c];
+            case D60:
+                return windowSums[2][c];
+            default:
+                return cumulative[c];
+        }
+    }
+
+    /**
+     * 최근 거래일부터 과거 순으로 일별 순매수 (최대 60일).
+     */
+    public long[] getDailySeries(InvestorCategory category) {
+        int c = category.ordinal();
+        long[] series = new long[dayCount];
+        for (int i = 0; i < dayCount; i++) {
+            series[i] = daily[c][(head - i + CAPACITY) % CAPACITY];
+        }
+        return series;
+    }
+
+    public int[] getIntradayMinutes() {
+        return Arrays.copyOf(intradayMinutes, intradayCount);
+    }
+
+    public long[] getIntradaySeries(InvestorCategory category) {
+        return Arrays.copyOf(intradayValues[category.ordinal()], intradayCount);
+    }
+
+    public LocalDate getCurrentDate() {
+        return currentDate;
+    }
+
+    public LocalDateTime getLastSnapshotTime() {
+        return lastSnapshotTime;
+    }
+}
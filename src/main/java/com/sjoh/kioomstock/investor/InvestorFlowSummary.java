@@ -0,0 +1,23 @@
+package com.sjoh.kioomstock.investor;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvestorFlowSummary {
+
+    private String stockCode;
+    private LocalDate date;
+    private LocalDateTime lastSnapshotTime;
+    private int[] intradayMinutes;  // 자정 기준 분 (예: 600 = 10:00)
+    private List<CategoryFlow> categories;
+}
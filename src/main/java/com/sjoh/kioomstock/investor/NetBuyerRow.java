@@ -0,0 +1,18 @@
+package com.sjoh.kioomstock.investor;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NetBuyerRow {
+
+    private String stockCode;
+    private InvestorCategory category;
+    private FlowWindow window;
+    private long netBuy;
+}
@@ -0,0 +1,94 @@
+package com.sjoh.kioomstock.market;
+
+import com.sjoh.kioomstock.config.MarketProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * KRX 거래일/장 구간 판단.
+ * 특별 운영일은 정규장 개장/마감만 옮기고, 동시호가/시간외 구간은 옮겨진 시각 기준으로 계산합니다.
+ */
+@Component
+public class MarketCalendar {
+
+    private final MarketProperties properties;
+    private final Set<LocalDate> holidays;
+    private final Map<LocalDate, MarketProperties.SpecialSession> specialSessions = new HashMap<>();
+
+    public MarketCalendar(MarketProperties properties) {
+        this.properties = properties;
+        this.holidays = new HashSet<>(properties.getHolidays());
+        for (MarketProperties.SpecialSession session : properties.getSpecialSessions()) {
+            specialSessions.put(session.getDate(), session);
+        }
+    }
+
+    public boolean isTradingDay(LocalDate date) {
+        if (properties.isAlwaysOpen()) {
+            return true;
+        }
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY && !holidays.contains(date);
+    }
+
+    public LocalTime getOpen(LocalDate date) {
+        MarketProperties.SpecialSession session = specialSessions.get(date);
+        return session != null && session.getOpen() != null ? session.getOpen() : properties.getRegularOpen();
+    }
+
+    public LocalTime getClose(LocalDate date) {
+        MarketProperties.SpecialSession session = specialSessions.get(date);
+        return session != null && session.getClose() != null ? session.getClose() : properties.getRegularClose();
+    }
+
+    public MarketPhase getPhase(LocalDateTime time) {
+        if (properties.isAlwaysOpen()) {
+            return MarketPhase.REGULAR;
+        }
+        LocalDate date = time.toLocalDate();
+        if (!isTradingDay(date)) {
+            return MarketPhase.CLOSED;
+        }
+        LocalTime now = time.toLocalTime();
+        LocalTime open = getOpen(date);
+        LocalTime close = getClose(date);
+        LocalTime auctionStart = close.minus(properties.getClosingAuction());
+        // 개장이 늦춰진 날은 장전 시간외도 같은 만큼 늦춰짐
+        LocalTime preMarketOpen = properties.getPreMarketOpen().plus(Duration.between(properties.getRegularOpen(), open));
+        LocalTime afterHoursOpen = close.plus(properties.getClosingAuction());
+        LocalTime afterHoursClose = properties.getAfterHoursClose().isAfter(afterHoursOpen)
+                ? properties.getAfterHoursClose()
+                : afterHoursOpen;
+
+        if (now.isBefore(preMarketOpen)) return MarketPhase.CLOSED;
+        if (now.isBefore(open)) return MarketPhase.PRE_MARKET;
+        if (now.isBefore(auctionStart)) return MarketPhase.REGULAR;
+        if (now.isBefore(close)) return MarketPhase.CLOSING_AUCTION;
+        if (!now.isBefore(afterHoursOpen) && now.isBefore(afterHoursClose)) return MarketPhase.AFTER_HOURS;
+        return MarketPhase.CLOSED;
+    }
+
+    public boolean isTrading(LocalDateTime time) {
+        return getPhase(time).isTrading();
+    }
+
+    /**
+     * 장마감 작업을 실행할 시점인지 (거래일이고 마감 + endOfDayDelay 이후).
+     */
+    public boolean isAfterEndOfDay(LocalDateTime time) {
+        LocalDate date = time.toLocalDate();
+        if (!isTradingDay(date)) {
+            return false;
+        }
+        return !time.toLocalTime().isBefore(getClose(date).plus(properties.getEndOfDayDelay()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.sjoh.kioomstock.market;
+
+/**
+ * KRX 정규시장 기준 장 구간.
+ */
+public enum MarketPhase {
+    CLOSED,             // 휴장일, 주말, 장 종료 후
+    PRE_MARKET,         // 장전 시간외 + 시가 동시호가 (08:30 ~ 개장)
+    REGULAR,            // 정규장 접속매매
+    CLOSING_AUCTION,    // 종가 동시호가 (마감 10분 전 ~ 마감)
+    AFTER_HOURS;        // 장후 시간외 종가/단일가 (마감 10분 후 ~ 18:00)
+
+    // 체결강도/호가 수집이 의미 있는 구간
+    public boolean isTrading() {
+        return this == REGULAR || this == CLOSING_AUCTION;
+    }
+}
@@ -0,0 +1,200 @@
+package com.sjoh.kioomstock.persistence;
+
+import com.sjoh.kioomstock.domain.StockDailyCandle;
+import com.sjoh.kioomstock.domain.StockInvestor;
+import com.sjoh.kioomstock.domain.StockOrderBook;
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+
+/**
+ * 수집 데이터의 논블로킹 쓰기 경로 (kiwoom.persistence.mode=r2dbc).
+ * 테이블은 JPA 엔티티(ddl-auto)가 만든 것을 그대로 쓰며, 컬럼명은 Spring 기본 네이밍(snake_case)을 따릅니다.
+ * 종목은 JPA 컨버터와 같이 SymbolDictionary 로 symbol_id 로 바꿔 저장합니다. (처음 보는 종목의 등록은 persistenceScheduler 에서)
+ * 중복 체크를 SELECT 후 INSERT 대신 유니크 제약 + ON CONFLICT 로 처리해 종목당 왕복 횟수를 줄입니다.
+ * 반환값은 실제로 새로 저장된 행만 담습니다. (JPA 경로의 saveData/saveDailyCandles 와 동일한 의미)
+ */
+@Component
+@ConditionalOnProperty(name = "kiwoom.persistence.mode", havingValue = "r2dbc")
+public class ReactiveStockWriter {
+
+    private static final String INSERT_PRICE_INFO =
+            "INSERT INTO stock_price_info (symbol_id, time, current_price, diff_from_prev, diff_from_prev_sign, fluctuation_rate, " +
+            "volume, accumulated_trade_price, accumulated_trade_volume, volume_power, volume_power5min, volume_power20min, " +
+            "volume_power60min, exchange_type) " +
+            "VALUES (:symbolId, :time, :currentPrice, :diffFromPrev, :diffFromPrevSign, :fluctuationRate, :volume, " +
+            ":accumulatedTradePrice, :accumulatedTradeVolume, :volumePower, :volumePower5Min, :volumePower20Min, " +
+            ":volumePower60Min, :exchangeType) " +
+            "ON CONFLICT (symbol_id, time) DO NOTHING RETURNING id";
+
+    private static final String INSERT_ORDER_BOOK =
+            "INSERT INTO stock_order_book (symbol_id, time, total_sell_remain, total_buy_remain) " +
+            "VALUES (:symbolId, :time, :totalSellRemain, :totalBuyRemain) RETURNING id";
+
+    private static final String INSERT_DAILY_CANDLE_COLUMNS =
+            "INSERT INTO stock_daily_candle (symbol_id, date, close_price, open_price, high_price, low_price, volume, " +
+            "trading_value, change_from_prev, change_sign, turnover_rate) " +
+            "VALUES (:symbolId, :date, :closePrice, :openPrice, :highPrice, :lowPrice, :volume, :tradingValue, " +
+            ":changeFromPrev, :changeSign, :turnoverRate) ";
+
+    private static final String INSERT_DAILY_CANDLE = INSERT_DAILY_CANDLE_COLUMNS +
+            "ON CONFLICT (symbol_id, date) DO NOTHING RETURNING id";
+
+    // 장마감 확정값으로 덮어쓰기
+    private static final String UPSERT_DAILY_CANDLE = INSERT_DAILY_CANDLE_COLUMNS +
+            "ON CONFLICT (symbol_id, date) DO UPDATE SET close_price = EXCLUDED.close_price, open_price = EXCLUDED.open_price, " +
+            "high_price = EXCLUDED.high_price, low_price = EXCLUDED.low_price, volume = EXCLUDED.volume, " +
+            "trading_value = EXCLUDED.trading_value, change_from_prev = EXCLUDED.change_from_prev, " +
+            "change_sign = EXCLUDED.change_sign, turnover_rate = EXCLUDED.turnover_rate RETURNING id";
+
+    private static final String INSERT_INVESTOR =
+            "INSERT INTO stock_investor (time, symbol_id, date, current_price, change_from_prev, fluctuation_rate, volume, " +
+            "trading_value, individual, foreigner, institution, financial_investment, insurance, investment_trust, " +
+            "etc_finance, bank, pension_fund, private_fund, nation, etc_corp, foreign_national) " +
+            "VALUES (:time, :symbolId, :date, :currentPrice, :changeFromPrev, :fluctuationRate, :volume, :tradingValue, " +
+            ":individual, :foreigner, :institution, :financialInvestment, :insurance, :investmentTrust, :etcFinance, " +
+            ":bank, :pensionFund, :privateFund, :nation, :etcCorp, :foreignNational) RETURNING id";
+
+    private final DatabaseClient databaseClient;
+    // 수집 대상 종목은 시작 시 올려두므로 처음 보는 종목이 아니면 메모리 조회
+    private final SymbolDictionary symbolDictionary;
+    // 처음 보는 종목의 등록(JDBC)은 이벤트 루프가 아닌 이 스케줄러에서
+    private final Scheduler persistenceScheduler;
+
+    public ReactiveStockWriter(DatabaseClient ingestDatabaseClient, SymbolDictionary symbolDictionary, Scheduler persistenceScheduler) {
+        this.databaseClient = ingestDatabaseClient;
+        this.symbolDictionary = symbolDictionary;
+        this.persistenceScheduler = persistenceScheduler;
+    }
+
+    public Mono<List<StockPriceInfo>> insertPriceInfos(List<StockPriceInfo> infos) {
+        return Flux.fromIterable(infos)
+                .concatMap(info -> symbolId(info.getStockCode()).flatMap(symbolId -> bindVolumePowerWindows(databaseClient.sql(INSERT_PRICE_INFO), info)
+                        .bind("symbolId", symbolId)
+                        .bind("time", info.getTime())
+                        .bind("currentPrice", info.getCurrentPrice())
+                        .bind("diffFromPrev", info.getDiffFromPrev())
+                        .bind("diffFromPrevSign", nullToEmpty(info.getDiffFromPrevSign()))
+                        .bind("fluctuationRate", info.getFluctuationRate())
+                        .bind("volume", info.getVolume())
+                        .bind("accumulatedTradePrice", info.getAccumulatedTradePrice())
+                        .bind("accumulatedTradeVolume", info.getAccumulatedTradeVolume())
+                        .bind("volumePower", info.getVolumePower())
+                        .bind("exchangeType", nullToEmpty(info.getExchangeType()))
+                        .map(row -> row.get("id", Long.class))
+                        .one()
+                        .map(id -> {
+                            info.setId(id);
+                            return info;
+                        })))
+                .collectList();
+    }
+
+    public Mono<StockOrderBook> insertOrderBook(StockOrderBook orderBook) {
+        return symbolId(orderBook.getStockCode()).flatMap(symbolId -> databaseClient.sql(INSERT_ORDER_BOOK)
+                .bind("symbolId", symbolId)
+                .bind("time", orderBook.getTime())
+                .bind("totalSellRemain", orderBook.getTotalSellRemain())
+                .bind("totalBuyRemain", orderBook.getTotalBuyRemain())
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    orderBook.setId(id);
+                    return orderBook;
+                }));
+    }
+
+    public Mono<List<StockDailyCandle>> insertDailyCandles(List<StockDailyCandle> candles) {
+        return writeDailyCandles(INSERT_DAILY_CANDLE, candles);
+    }
+
+    public Mono<List<StockDailyCandle>> upsertDailyCandles(List<StockDailyCandle> candles) {
+        return writeDailyCandles(UPSERT_DAILY_CANDLE, candles);
+    }
+
+    public Mono<List<StockInvestor>> insertInvestors(List<StockInvestor> investors) {
+        return Flux.fromIterable(investors)
+                .concatMap(investor -> symbolId(investor.getStockCode()).flatMap(symbolId -> databaseClient.sql(INSERT_INVESTOR)
+                        .bind("time", investor.getTime())
+                        .bind("symbolId", symbolId)
+                        .bind("date", investor.getDate())
+                        .bind("currentPrice", investor.getCurrentPrice())
+                        .bind("changeFromPrev", investor.getChangeFromPrev())
+                        .bind("fluctuationRate", investor.getFluctuationRate())
+                        .bind("volume", investor.getVolume())
+                        .bind("tradingValue", investor.getTradingValue())
+                        .bind("individual", investor.getIndividual())
+                        .bind("foreigner", investor.getForeigner())
+                        .bind("institution", investor.getInstitution())
+                        .bind("financialInvestment", investor.getFinancialInvestment())
+                        .bind("insurance", investor.getInsurance())
+                        .bind("investmentTrust", investor.getInvestmentTrust())
+                        .bind("etcFinance", investor.getEtcFinance())
+                        .bind("bank", investor.getBank())
+                        .bind("pensionFund", investor.getPensionFund())
+                        .bind("privateFund", investor.getPrivateFund())
+                        .bind("nation", investor.getNation())
+                        .bind("etcCorp", investor.getEtcCorp())
+                        .bind("foreignNational", investor.getForeignNational())
+                        .map(row -> row.get("id", Long.class))
+                        .one()
+                        .map(id -> {
+                            investor.setId(id);
+                            return investor;
+                        })))
+                .collectList();
+    }
+
+    private Mono<List<StockDailyCandle>> writeDailyCandles(String sql, List<StockDailyCandle> candles) {
+        return Flux.fromIterable(candles)
+                .concatMap(candle -> symbolId(candle.getStockCode()).flatMap(symbolId -> databaseClient.sql(sql)
+                        .bind("symbolId", symbolId)
+                        .bind("date", candle.getDate())
+                        .bind("closePrice", candle.getClosePrice())
+                        .bind("openPrice", candle.getOpenPrice())
+                        .bind("highPrice", candle.getHighPrice())
+                        .bind("lowPrice", candle.getLowPrice())
+                        .bind("volume", candle.getVolume())
+                        .bind("tradingValue", candle.getTradingValue())
+                        .bind("changeFromPrev", candle.getChangeFromPrev())
+                        .bind("changeSign", nullToEmpty(candle.getChangeSign()))
+                        .bind("turnoverRate", candle.getTurnoverRate())
+                        .map(row -> row.get("id", Long.class))
+                        .one()
+                        // ON CONFLICT DO NOTHING 으로 건너뛴 행은 RETURNING 결과가 없음
+                        .map(id -> {
+                            candle.setId(id);
+                            return candle;
+                        })))
+                .collectList();
+    }
+
+    // 사전에 있는 종목은 바로, 처음 보는 종목은 등록 쿼리가 블로킹이므로 persistenceScheduler 에서 등록
+    private Mono<Integer> symbolId(String code) {
+        if (symbolDictionary.contains(code)) {
+            return Mono.just(symbolDictionary.idOf(code));
+        }
+        return Mono.fromCallable(() -> symbolDictionary.register(code)).subscribeOn(persistenceScheduler);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    // 기간별 체결강도는 ka10046 값이 없으면 null (bind 는 null 을 받지 않음)
+    private static DatabaseClient.GenericExecuteSpec bindVolumePowerWindows(DatabaseClient.GenericExecuteSpec spec, StockPriceInfo info) {
+        spec = bindNullable(spec, "volumePower5Min", info.getVolumePower5Min());
+        spec = bindNullable(spec, "volumePower20Min", info.getVolumePower20Min());
+        return bindNullable(spec, "volumePower60Min", info.getVolumePower60Min());
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name, Double value) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, Double.class);
+    }
+}
@@ -0,0 +1,386 @@
+package com.sjoh.kioomstock.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * DB 가 죽었거나 느려 저장에 실패한 수집 결과를 로컬 디스크에 덧붙이는 append-only 로그.
+ * 레코드 형식: [int 본문길이][int CRC32][JSON 본문(SpillRecord)]
+ * - 쓰기는 전용 스레드 하나가 큐에 쌓인 레코드를 묶어서 쓰고 fsync 한 번으로 확정 (group commit)
+ *   append() 가 돌려준 future 는 fsync 이후에 완료되므로, 완료됐으면 프로세스가 죽어도 남아 있음
+ * - segment-bytes 를 넘으면 새 세그먼트로 넘어감. 다 쓴(닫힌) 세그먼트만 SpillReplayer 가 DB 로 옮긴 뒤 삭제
+ * - 비정상 종료로 끝이 잘리거나 CRC 가 맞지 않는 레코드부터는 버림
+ * - DB 가 계속 거부하는 레코드는 같은 형식으로 dead/ 아래 세그먼트 이름 그대로 옮겨 두고 재생하지 않음
+ */
+@Component
+public class SpillLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpillLog.class);
+
+    private static final String PREFIX = "spill-";
+    private static final String SUFFIX = ".log";
+    private static final String DEAD_LETTER_DIR = "dead";
+    private static final int MAX_BATCH = 1024;
+    private static final int MAX_RECORD_BYTES = 64 * 1024 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path directory;
+    private final long segmentBytes;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    // running 확인과 큐 추가를 같은 락 안에서 해서, writer 가 끝난 뒤 큐에 들어가 완료되지 않는 레코드가 없도록 함
+    private final ReentrantLock enqueueLock = new ReentrantLock();
+    private volatile boolean running = true;
+
+    // 아래 필드는 writer 스레드에서만 변경
+    private FileChannel channel;
+    private long channelSize;
+    private volatile long activeSequence;   // 열려 있는(또는 다음에 열) 세그먼트 번호. 이보다 작은 번호는 닫힌 세그먼트
+
+    private final Counter recordsWritten;
+
+    public SpillLog(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                    @Value("${kiwoom.spill.enabled:true}") boolean enabled,
+                    @Value("${kiwoom.spill.dir:spill}") String directory,
+                    @Value("${kiwoom.spill.segment-bytes:67108864}") long segmentBytes) throws IOException {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        this.recordsWritten = meterRegistry.counter("kiwoom.spill.records.written");
+        Gauge.builder("kiwoom.spill.pending.bytes", this, SpillLog::pendingBytes)
+                .description("Bytes waiting in spill segments to be replayed into the database")
+                .register(meterRegistry);
+
+        if (enabled) {
+            // 이전 실행에서 남은 세그먼트는 모두 닫힌 것으로 보고 그 다음 번호부터 씀
+            List<Path> leftovers = listSegments();
+            this.activeSequence = leftovers.isEmpty() ? 0 : sequenceOf(leftovers.get(leftovers.size() - 1)) + 1;
+            if (!leftovers.isEmpty()) {
+                logger.warn("Found {} spill segments from a previous run in {}", leftovers.size(), this.directory.toAbsolutePath());
+            }
+            this.writer = new Thread(this::runWriter, "spill-writer");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 레코드를 덧붙입니다. 디스크에 fsync 된 뒤 완료되는 future 를 반환합니다.
+     */
+    public CompletableFuture<Void> append(SpillRecord record) {
+        if (!enabled) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Spill log is disabled"));
+        }
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(record);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return enqueue(new Pending(payload));
+    }
+
+    /**
+     * 열려 있는 세그먼트에 기록이 있으면 닫아서 재생 대상으로 넘깁니다.
+     */
+    public CompletableFuture<Void> seal() {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return enqueue(new Pending(null));
+    }
+
+    private CompletableFuture<Void> enqueue(Pending pending) {
+        enqueueLock.lock();
+        try {
+            if (!running) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Spill log is closed"));
+            }
+            queue.add(pending);
+        } finally {
+            enqueueLock.unlock();
+        }
+        return pending.done;
+    }
+
+    public boolean hasPending() {
+        return enabled && pendingBytes() > 0;
+    }
+
+    /**
+     * 닫힌(더 이상 쓰지 않는) 세그먼트를 오래된 순서로 반환합니다.
+     */
+    public List<Path> sealedSegments() throws IOException {
+        long active = activeSequence;
+        List<Path> sealed = new ArrayList<>();
+        for (Path segment : listSegments()) {
+            if (sequenceOf(segment) < active) {
+                sealed.add(segment);
+            }
+        }
+        return sealed;
+    }
+
+    /**
+     * 세그먼트의 레코드를 순서대로 읽습니다. 잘리거나 손상된 레코드를 만나면 거기서 멈추고 읽은 수를 반환합니다.
+     */
+    public long read(Path segment, Consumer<SpillRecord> consumer) throws IOException {
+        long count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), 1 << 16))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return count;
+                }
+                try {
+                    int crc = in.readInt();
+                    if (length <= 0 || length > MAX_RECORD_BYTES) {
+                        logger.warn("Corrupt spill record length {} in {} after {} records, ignoring the rest", length, segment.getFileName(), count);
+                        return count;
+                    }
+                    byte[] payload = in.readNBytes(length);
+                    if (payload.length < length) {
+                        logger.warn("Truncated spill record in {} after {} records", segment.getFileName(), count);
+                        return count;
+                    }
+                    if (crc32(payload) != crc) {
+                        logger.warn("CRC mismatch in {} after {} records, ignoring the rest", segment.getFileName(), count);
+                        return count;
+                    }
+                    consumer.accept(objectMapper.readValue(payload, SpillRecord.class));
+                    count++;
+                } catch (EOFException e) {
+                    logger.warn("Truncated spill record in {} after {} records", segment.getFileName(), count);
+                    return count;
+                }
+            }
+        }
+    }
+
+    public void delete(Path segment) throws IOException {
+        Files.deleteIfExists(segment);
+    }
+
+    /**
+     * 재생할 수 없는 레코드를 dead/ 아래 원본 세그먼트와 같은 이름의 파일에 씁니다. (재생 대상 아님, read() 로 읽을 수 있음)
+     * 같은 세그먼트를 다시 재생해도 중복되지 않도록 기존 파일은 덮어씁니다.
+     */
+    public Path writeDeadLetters(Path segment, List<SpillRecord> records) throws IOException {
+        Path deadLetterDirectory = directory.resolve(DEAD_LETTER_DIR);
+        Files.createDirectories(deadLetterDirectory);
+        Path target = deadLetterDirectory.resolve(segment.getFileName());
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (SpillRecord record : records) {
+                ByteBuffer buffer = frame(objectMapper.writeValueAsBytes(record));
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+            out.force(false);
+        }
+        return target;
+    }
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            try {
+                int written = 0;
+                for (Pending pending : batch) {
+                    if (pending.payload == null) {
+                        closeActive();
+                    } else {
+                        write(pending.payload);
+                        written++;
+                    }
+                }
+                // 묶음 전체를 한 번의 fsync 로 확정
+                if (channel != null) {
+                    channel.force(false);
+                }
+                recordsWritten.increment(written);
+                batch.forEach(pending -> pending.done.complete(null));
+            } catch (IOException e) {
+                logger.error("Failed to write spill log", e);
+                batch.forEach(pending -> pending.done.completeExceptionally(e));
+                abandonActive();
+            }
+            batch.clear();
+        }
+        try {
+            closeActive();
+        } catch (IOException e) {
+            logger.error("Failed to close spill segment", e);
+        }
+        // 인터럽트로 먼저 끝난 경우 남은 요청은 실패로 완료 (기다리는 쪽이 멈추지 않도록)
+        IllegalStateException closed = new IllegalStateException("Spill log is closed");
+        batch.forEach(pending -> pending.done.completeExceptionally(closed));
+        for (Pending pending; (pending = queue.poll()) != null; ) {
+            pending.done.completeExceptionally(closed);
+        }
+    }
+
+    private void write(byte[] payload) throws IOException {
+        if (channel == null) {
+            Files.createDirectories(directory);
+            Path segment = directory.resolve(String.format("%s%010d%s", PREFIX, activeSequence, SUFFIX));
+            channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            channelSize = channel.size();
+            logger.warn("Spilling collected data to {}", segment.toAbsolutePath());
+        }
+        ByteBuffer buffer = frame(payload);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channelSize += 8 + payload.length;
+        if (channelSize >= segmentBytes) {
+            closeActive();
+        }
+    }
+
+    // 열린 세그먼트를 fsync 후 닫고 번호를 넘김 (닫힌 세그먼트부터 재생 대상)
+    private void closeActive() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.force(false);
+            channel.close();
+        } finally {
+            channel = null;
+            channelSize = 0;
+            activeSequence++;
+        }
+    }
+
+    // 쓰기 실패한 세그먼트는 끝이 깨졌을 수 있으므로 그대로 닫고 다음 번호로 넘어감 (읽을 때 CRC 로 걸러짐)
+    private void abandonActive() {
+        try {
+            closeActive();
+        } catch (IOException e) {
+            logger.error("Failed to close spill segment after write error", e);
+        }
+    }
+
+    private long pendingBytes() {
+        try {
+            long bytes = 0;
+            for (Path segment : listSegments()) {
+                bytes += Files.size(segment);
+            }
+            return bytes;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    // [int 본문길이][int CRC32][본문]
+    private static ByteBuffer frame(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + payload.length);
+        buffer.putInt(payload.length).putInt(crc32(payload)).put(payload).flip();
+        return buffer;
+    }
+
+    private static int crc32(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // 큐에 남은 레코드까지 쓰고 닫음 (이후 append/seal 은 바로 실패)
+        enqueueLock.lock();
+        try {
+            running = false;
+        } finally {
+            enqueueLock.unlock();
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        if (writer.isAlive()) {
+            logger.warn("Spill log writer did not finish flushing in time");
+        }
+    }
+
+    private static final class Pending {
+        final byte[] payload;       // null 이면 세그먼트 닫기 요청
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Pending(byte[] payload) {
+            this.payload = payload;
+        }
+    }
+}
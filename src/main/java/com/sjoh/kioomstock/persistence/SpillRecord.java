@@ -0,0 +1,36 @@
+package com.sjoh.kioomstock.persistence;
+
+import com.sjoh.kioomstock.domain.StockDailyCandle;
+import com.sjoh.kioomstock.domain.StockInvestor;
+import com.sjoh.kioomstock.domain.StockOrderBook;
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DB 저장에 실패해 스필 로그로 넘어간 종목 1건의 수집 결과.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpillRecord {
+
+    private String stockCode;
+    private LocalDateTime spilledAt;
+    private boolean upsertCandles;          // 장마감 작업이면 true (일봉을 확정값으로 덮어씀)
+
+    @Builder.Default
+    private List<StockPriceInfo> priceInfos = new ArrayList<>();
+    private StockOrderBook orderBook;
+    @Builder.Default
+    private List<StockDailyCandle> dailyCandles = new ArrayList<>();
+    @Builder.Default
+    private List<StockInvestor> investors = new ArrayList<>();
+}
@@ -0,0 +1,244 @@
+package com.sjoh.kioomstock.persistence;
+
+import com.sjoh.kioomstock.domain.StockDailyCandle;
+import com.sjoh.kioomstock.domain.StockInvestor;
+import com.sjoh.kioomstock.domain.StockOrderBook;
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스필 로그를 주기적으로 DB 에 옮깁니다.
+ * 닫힌 세그먼트를 batch-size 레코드씩 JDBC 배치로 한 트랜잭션에 넣고, 세그먼트를 다 옮기면 삭제합니다.
+ * 모든 INSERT 는 이미 있는 행을 건너뛰므로(일봉 확정값은 덮어씀) 중간에 실패해 같은 세그먼트를 다시 재생해도 안전합니다.
+ * DB 가 아직 안 살아났으면(연결/트랜잭션/일시적 오류) 실패한 지점에서 멈추고 다음 주기에 다시 시도합니다.
+ * 그 외 오류로 배치가 거부되면 레코드를 한 건씩 다시 넣어, 계속 거부되는 레코드만 dead-letter 로 옮기고 나머지를 계속 재생합니다.
+ * 재생분은 이미 지난 시세라 StockDataCollectedEvent(지표/알림)는 발행하지 않습니다.
+ */
+@Component
+public class SpillReplayer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpillReplayer.class);
+
+    private static final String INSERT_PRICE_INFO =
+            "INSERT INTO stock_price_info (symbol_id, time, current_price, diff_from_prev, diff_from_prev_sign, fluctuation_rate, " +
+            "volume, accumulated_trade_price, accumulated_trade_volume, volume_power, volume_power5min, volume_power20min, " +
+            "volume_power60min, exchange_type) " +
+            "VALUES (:symbolId, :time, :currentPrice, :diffFromPrev, :diffFromPrevSign, :fluctuationRate, :volume, " +
+            ":accumulatedTradePrice, :accumulatedTradeVolume, :volumePower, :volumePower5Min, :volumePower20Min, " +
+            ":volumePower60Min, :exchangeType) " +
+            "ON CONFLICT (symbol_id, time) DO NOTHING";
+
+    // 호가/투자자 테이블에는 유니크 제약이 없어 NOT EXISTS 로 중복을 막음
+    private static final String INSERT_ORDER_BOOK =
+            "INSERT INTO stock_order_book (symbol_id, time, total_sell_remain, total_buy_remain) " +
+            "SELECT :symbolId, :time, :totalSellRemain, :totalBuyRemain " +
+            "WHERE NOT EXISTS (SELECT 1 FROM stock_order_book WHERE symbol_id = :symbolId AND time = :time)";
+
+    private static final String INSERT_DAILY_CANDLE_COLUMNS =
+            "INSERT INTO stock_daily_candle (symbol_id, date, close_price, open_price, high_price, low_price, volume, " +
+            "trading_value, change_from_prev, change_sign, turnover_rate) " +
+            "VALUES (:symbolId, :date, :closePrice, :openPrice, :highPrice, :lowPrice, :volume, :tradingValue, " +
+            ":changeFromPrev, :changeSign, :turnoverRate) ";
+
+    private static final String INSERT_DAILY_CANDLE = INSERT_DAILY_CANDLE_COLUMNS +
+            "ON CONFLICT (symbol_id, date) DO NOTHING";
+
+    private static final String UPSERT_DAILY_CANDLE = INSERT_DAILY_CANDLE_COLUMNS +
+            "ON CONFLICT (symbol_id, date) DO UPDATE SET close_price = EXCLUDED.close_price, open_price = EXCLUDED.open_price, " +
+            "high_price = EXCLUDED.high_price, low_price = EXCLUDED.low_price, volume = EXCLUDED.volume, " +
+            "trading_value = EXCLUDED.trading_value, change_from_prev = EXCLUDED.change_from_prev, " +
+            "change_sign = EXCLUDED.change_sign, turnover_rate = EXCLUDED.turnover_rate";
+
+    private static final String INSERT_INVESTOR =
+            "INSERT INTO stock_investor (time, symbol_id, date, current_price, change_from_prev, fluctuation_rate, volume, " +
+            "trading_value, individual, foreigner, institution, financial_investment, insurance, investment_trust, " +
+            "etc_finance, bank, pension_fund, private_fund, nation, etc_corp, foreign_national) " +
+            "SELECT :time, :symbolId, :date, :currentPrice, :changeFromPrev, :fluctuationRate, :volume, :tradingValue, " +
+            ":individual, :foreigner, :institution, :financialInvestment, :insurance, :investmentTrust, :etcFinance, " +
+            ":bank, :pensionFund, :privateFund, :nation, :etcCorp, :foreignNational " +
+            "WHERE NOT EXISTS (SELECT 1 FROM stock_investor WHERE symbol_id = :symbolId AND time = :time AND date = :date)";
+
+    private final SpillLog spillLog;
+    private final SymbolDictionary symbolDictionary;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter recordsReplayed;
+    private final Counter recordsDeadLettered;
+
+    // 직전 주기가 DB 오류로 멈췄으면 true. 그동안은 새 세그먼트를 닫지 않아 DB 가 죽어 있는 동안 작은 세그먼트가 쌓이지 않게 함
+    private volatile boolean lastDrainFailed;
+
+    public SpillReplayer(SpillLog spillLog, SymbolDictionary symbolDictionary, NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                         MeterRegistry meterRegistry, @Value("${kiwoom.spill.replay-batch-size:500}") int batchSize) {
+        this.spillLog = spillLog;
+        this.symbolDictionary = symbolDictionary;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.recordsReplayed = meterRegistry.counter("kiwoom.spill.records.replayed");
+        this.recordsDeadLettered = meterRegistry.counter("kiwoom.spill.records.dead-lettered");
+    }
+
+    @Scheduled(fixedDelayString = "${kiwoom.spill.replay-interval-ms:10000}", initialDelayString = "${kiwoom.spill.replay-interval-ms:10000}")
+    public void drain() {
+        if (!spillLog.hasPending()) {
+            return;
+        }
+        try {
+            // 쓰고 있던 세그먼트까지 닫아서 이번 주기에 함께 옮김 (직전에 실패했으면 닫힌 세그먼트로 DB 복구부터 확인)
+            if (!lastDrainFailed || spillLog.sealedSegments().isEmpty()) {
+                spillLog.seal().get(10, TimeUnit.SECONDS);
+            }
+            for (Path segment : spillLog.sealedSegments()) {
+                long replayed = replaySegment(segment);
+                spillLog.delete(segment);
+                logger.info("Replayed {} spilled records from {}", replayed, segment.getFileName());
+            }
+            lastDrainFailed = false;
+        } catch (Exception e) {
+            // DB 가 아직 복구되지 않음 - 세그먼트는 남겨두고 다음 주기에 처음부터 다시 (중복은 INSERT 에서 걸러짐)
+            lastDrainFailed = true;
+            logger.warn("Spill replay stopped, will retry: {}", e.toString());
+        }
+    }
+
+    private long replaySegment(Path segment) throws Exception {
+        List<SpillRecord> batch = new ArrayList<>(batchSize);
+        List<SpillRecord> rejected = new ArrayList<>();
+        long[] total = {0};
+        spillLog.read(segment, record -> {
+            batch.add(record);
+            if (batch.size() >= batchSize) {
+                total[0] += writeBatch(batch, rejected);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            total[0] += writeBatch(batch, rejected);
+        }
+        // 세그먼트를 끝까지 옮긴 뒤에만 기록 (중간에 멈춰 다시 재생해도 dead-letter 가 중복되지 않음)
+        if (!rejected.isEmpty()) {
+            Path deadLetters = spillLog.writeDeadLetters(segment, rejected);
+            recordsDeadLettered.increment(rejected.size());
+            logger.error("Moved {} spilled records rejected by the database from {} to {}", rejected.size(), segment.getFileName(), deadLetters);
+        }
+        return total[0];
+    }
+
+    // 저장한 레코드 수를 반환. 레코드 때문에 실패한 배치는 한 건씩 다시 넣어 거부되는 레코드만 rejected 로 골라냄
+    private long writeBatch(List<SpillRecord> records, List<SpillRecord> rejected) {
+        try {
+            write(records);
+            return records.size();
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            logger.warn("Spill batch of {} records rejected ({}), retrying one by one", records.size(), e.toString());
+        }
+        long written = 0;
+        for (SpillRecord record : records) {
+            try {
+                write(List.of(record));
+                written++;
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    throw e;
+                }
+                logger.error("Spilled record for {} at {} rejected by the database: {}", record.getStockCode(), record.getSpilledAt(), e.toString());
+                rejected.add(record);
+            }
+        }
+        return written;
+    }
+
+    // DB 연결/트랜잭션 문제처럼 레코드와 상관없이 다시 시도하면 될 수 있는 오류
+    static boolean isTransient(Throwable error) {
+        return error instanceof TransientDataAccessException
+                || error instanceof RecoverableDataAccessException
+                || error instanceof DataAccessResourceFailureException
+                || error instanceof TransactionException;
+    }
+
+    private void write(List<SpillRecord> records) {
+        List<SqlParameterSource> priceInfos = new ArrayList<>();
+        List<SqlParameterSource> orderBooks = new ArrayList<>();
+        List<SqlParameterSource> insertCandles = new ArrayList<>();
+        List<SqlParameterSource> upsertCandles = new ArrayList<>();
+        List<SqlParameterSource> investors = new ArrayList<>();
+
+        for (SpillRecord record : records) {
+            for (StockPriceInfo info : record.getPriceInfos()) {
+                priceInfos.add(new SymbolParameterSource(info));
+            }
+            StockOrderBook orderBook = record.getOrderBook();
+            if (orderBook != null) {
+                orderBooks.add(new SymbolParameterSource(orderBook));
+            }
+            for (StockDailyCandle candle : record.getDailyCandles()) {
+                (record.isUpsertCandles() ? upsertCandles : insertCandles).add(new SymbolParameterSource(candle));
+            }
+            for (StockInvestor investor : record.getInvestors()) {
+                investors.add(new SymbolParameterSource(investor));
+            }
+        }
+
+        // 종목 등록은 트랜잭션 밖에서 (컨버터/파라미터 변환은 조회만 함)
+        records.stream().map(SpillRecord::getStockCode).distinct().forEach(symbolDictionary::register);
+        transactionTemplate.executeWithoutResult(status -> {
+            batchUpdate(INSERT_PRICE_INFO, priceInfos);
+            batchUpdate(INSERT_ORDER_BOOK, orderBooks);
+            batchUpdate(INSERT_DAILY_CANDLE, insertCandles);
+            batchUpdate(UPSERT_DAILY_CANDLE, upsertCandles);
+            batchUpdate(INSERT_INVESTOR, investors);
+        });
+        recordsReplayed.increment(records.size());
+    }
+
+    // 엔티티 프로퍼티 + :symbolId (stockCode 를 사전으로 변환)
+    private final class SymbolParameterSource extends BeanPropertySqlParameterSource {
+
+        SymbolParameterSource(Object row) {
+            super(row);
+        }
+
+        @Override
+        public boolean hasValue(String paramName) {
+            return "symbolId".equals(paramName) || super.hasValue(paramName);
+        }
+
+        @Override
+        public Object getValue(String paramName) {
+            if ("symbolId".equals(paramName)) {
+                return symbolDictionary.idOf((String) super.getValue("stockCode"));
+            }
+            return super.getValue(paramName);
+        }
+    }
+
+    private void batchUpdate(String sql, List<SqlParameterSource> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows.toArray(new SqlParameterSource[0]));
+        }
+    }
+}
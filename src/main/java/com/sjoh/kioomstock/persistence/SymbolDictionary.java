@@ -0,0 +1,177 @@
+package com.sjoh.kioomstock.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 종목코드 <-> stock_symbol.id 양방향 사전.
+ * 처음 쓸 때 stock_symbol 전체를 올려두므로 이후 조회는 메모리에서 끝납니다.
+ * - idOf 는 조회 전용: 모르는 코드는 DB 에서 한 번 더 찾아보고(다른 노드가 등록한 종목), 없으면 어떤 행과도 맞지 않는
+ *   UNKNOWN_ID 를 돌려줍니다. 파생 쿼리 파라미터(컨버터)도 이 경로라 읽기 요청으로는 종목이 등록되지 않습니다.
+ * - 저장하는 쪽은 저장 트랜잭션을 열기 전에 register 로 등록(INSERT ... ON CONFLICT)해야 합니다.
+ *   트랜잭션 밖에서 자동 커밋으로 실행하므로 저장 중인 커넥션과 별도로 커넥션을 하나 더 잡지 않습니다.
+ * codeOf 는 종목마다 같은 String 인스턴스를 돌려주므로 대량으로 읽은 엔티티도 코드 문자열을 공유합니다.
+ * Hibernate flush 도중(컨버터)에도 불리므로 JPA 가 아닌 JdbcTemplate 으로 접근합니다.
+ * 가상 스레드가 캐리어에 고정되지 않도록 synchronized 대신 ReentrantLock 을 쓰고, 등록 쿼리는 락 밖에서 실행합니다.
+ */
+@Component
+public class SymbolDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(SymbolDictionary.class);
+
+    // stock_symbol.id 는 1 부터 증가하므로 어떤 행과도 맞지 않음
+    public static final int UNKNOWN_ID = -1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<String> preloadCodes;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Map<String, Integer> idsByCode = new ConcurrentHashMap<>();
+    private volatile String[] codesById = new String[0];
+    private volatile boolean loaded;
+
+    public SymbolDictionary(JdbcTemplate jdbcTemplate,
+                            @Value("${kiwoom.collect.stock-codes:005930,000660,122630,114800}") List<String> preloadCodes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.preloadCodes = preloadCodes;
+    }
+
+    // 수집 대상 종목은 수집이 시작되기 전에 등록해 둠
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerPreloadCodes() {
+        try {
+            for (String code : preloadCodes) {
+                register(code.trim());
+            }
+        } catch (RuntimeException e) {
+            // DB 가 아직 없어도 기동은 계속 - 저장 단계에서 다시 등록함
+            logger.warn("Failed to register collection target symbols: {}", e.toString());
+        }
+    }
+
+    /**
+     * 종목 id 조회 (등록하지 않음). 없는 종목이면 UNKNOWN_ID.
+     */
+    public int idOf(String code) {
+        Integer id = idsByCode.get(code);
+        if (id != null) {
+            return id;
+        }
+        ensureLoaded();
+        id = idsByCode.get(code);
+        if (id != null) {
+            return id;
+        }
+        // 다른 노드가 등록한 종목
+        List<Integer> found = jdbcTemplate.queryForList("SELECT id FROM stock_symbol WHERE code = ?", Integer.class, code);
+        if (found.isEmpty()) {
+            return UNKNOWN_ID;
+        }
+        put(found.get(0), code);
+        return found.get(0);
+    }
+
+    /**
+     * 종목을 등록하고 id 를 반환합니다. 저장 트랜잭션 밖에서 호출해야 합니다. (이미 아는 종목이면 메모리에서 끝남)
+     * INSERT ... ON CONFLICT 후 조회라 여러 스레드/노드가 같은 코드를 동시에 등록해도 같은 id 를 받으므로 락 없이 실행합니다.
+     */
+    public int register(String code) {
+        if (code == null || code.isBlank()) {
+            throw new IllegalArgumentException("Stock code must not be blank");
+        }
+        Integer existing = idsByCode.get(code);
+        if (existing != null) {
+            return existing;
+        }
+        jdbcTemplate.update("INSERT INTO stock_symbol (code, updated_at) VALUES (?, now()) ON CONFLICT (code) DO NOTHING", code);
+        Integer id = jdbcTemplate.queryForObject("SELECT id FROM stock_symbol WHERE code = ?", Integer.class, code);
+        if (id == null) {
+            throw new IllegalStateException("Failed to register stock symbol " + code);
+        }
+        put(id, code);
+        logger.debug("Registered stock symbol {} as {}", code, id);
+        return id;
+    }
+
+    public String codeOf(int id) {
+        String[] codes = codesById;
+        if (id >= 0 && id < codes.length && codes[id] != null) {
+            return codes[id];
+        }
+        ensureLoaded();
+        codes = codesById;
+        if (id >= 0 && id < codes.length && codes[id] != null) {
+            return codes[id];
+        }
+        // 다른 노드가 등록한 종목
+        List<String> found = jdbcTemplate.queryForList("SELECT code FROM stock_symbol WHERE id = ?", String.class, id);
+        if (found.isEmpty()) {
+            throw new IllegalStateException("Unknown symbol id: " + id);
+        }
+        return put(id, found.get(0));
+    }
+
+    /**
+     * 메모리에 올라온 종목인지 (DB 를 읽거나 등록하지 않음).
+     */
+    public boolean contains(String code) {
+        return idsByCode.containsKey(code);
+    }
+
+    public int size() {
+        return idsByCode.size();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        // 최초 1회만 락을 잡은 채 읽음 (동시에 들어온 호출은 읽기가 끝날 때까지 대기). 읽기 전용 트랜잭션 안에서도 불리므로 SELECT 만 함
+        lock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            jdbcTemplate.query("SELECT id, code FROM stock_symbol", rs -> {
+                put(rs.getInt("id"), rs.getString("code"));
+            });
+            loaded = true;
+            logger.info("Loaded {} stock symbols", idsByCode.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 같은 코드는 항상 먼저 등록된 String 인스턴스를 돌려줌 (메모리 작업만 하므로 락을 짧게 잡음)
+    private String put(int id, String code) {
+        lock.lock();
+        try {
+            String[] codes = codesById;
+            if (id >= codes.length) {
+                codes = Arrays.copyOf(codes, Math.max(id + 1, codes.length * 2));
+            }
+            if (codes[id] == null) {
+                codes[id] = code;
+            }
+            codesById = codes;      // volatile 쓰기로 슬롯 변경을 읽는 쪽에 공개
+            idsByCode.putIfAbsent(codes[id], id);
+            return codes[id];
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.sjoh.kioomstock.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 종목코드 varchar 컬럼(stock_code)을 쓰던 기존 DB 를 symbol_id 정수 컬럼으로 옮기는 1회성 마이그레이션.
+ * Hibernate ddl-auto=update 는 컬럼을 지우지 못해 NOT NULL stock_code 가 남으면 INSERT 가 실패하므로,
+ * EntityManagerFactory 보다 먼저(SymbolSchemaMigrationDependsOn) 테이블마다 한 트랜잭션으로:
+ * 종목 등록 -> symbol_id 추가/채움 -> NOT NULL -> stock_code 삭제(옛 유니크 인덱스도 함께 삭제).
+ * 새 유니크/조회 인덱스는 이후 Hibernate 가 엔티티 정의대로 만듭니다. stock_code 가 없는 테이블은 건너뜁니다.
+ * 디스크 공간은 VACUUM FULL(또는 pg_repack) 이후에 실제로 줄어듭니다.
+ */
+@Component("symbolSchemaMigration")
+public class SymbolSchemaMigration implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SymbolSchemaMigration.class);
+
+    private static final List<String> TABLES = List.of("stock_price_info", "stock_order_book", "stock_daily_candle", "stock_investor");
+
+    // StockSymbol 엔티티로 Hibernate 가 만드는 것과 같은 정의
+    private static final String CREATE_SYMBOL_TABLE =
+            "CREATE TABLE IF NOT EXISTS stock_symbol (id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+            "code varchar(20) NOT NULL UNIQUE, name varchar(255), market varchar(255), listed_date date, updated_at timestamp(6))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SymbolSchemaMigration(DataSource dataSource) {
+        // JPA 트랜잭션 매니저는 아직 없으므로 DataSource 로 직접
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        for (String table : TABLES) {
+            if (hasStockCodeColumn(table)) {
+                migrate(table);
+            }
+        }
+    }
+
+    private boolean hasStockCodeColumn(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM information_schema.columns WHERE table_schema = current_schema() " +
+                "AND table_name = ? AND column_name = 'stock_code'", Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private void migrate(String table) {
+        long started = System.nanoTime();
+        logger.warn("Migrating {}.stock_code to symbol_id", table);
+        Integer rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(CREATE_SYMBOL_TABLE);
+            jdbcTemplate.update("INSERT INTO stock_symbol (code, updated_at) SELECT DISTINCT stock_code, now() FROM " + table +
+                    " WHERE stock_code IS NOT NULL ON CONFLICT (code) DO NOTHING");
+            jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS symbol_id integer");
+            int updated = jdbcTemplate.update("UPDATE " + table + " t SET symbol_id = s.id FROM stock_symbol s " +
+                    "WHERE s.code = t.stock_code AND t.symbol_id IS NULL");
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN symbol_id SET NOT NULL");
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN stock_code");
+            return updated;
+        });
+        logger.warn("Migrated {} rows of {} to symbol_id in {} ms (run VACUUM FULL to reclaim space)",
+                rows, table, (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,46 @@
+package com.sjoh.kioomstock.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 기간별 체결강도(volume_power5min/20min/60min) 컬럼의 NOT NULL 제거.
+ * 예전 엔티티는 double 이라 Hibernate 가 NOT NULL 로 만들었고, ddl-auto=update 는 제약을 풀지 않으므로
+ * ka10046 값이 없는 시세를 null 로 저장하려면 한 번 직접 바꿔야 합니다. 테이블이 아직 없으면 건너뜁니다.
+ */
+@Component
+public class VolumePowerColumnMigration implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(VolumePowerColumnMigration.class);
+
+    private static final List<String> COLUMNS = List.of("volume_power5min", "volume_power20min", "volume_power60min");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VolumePowerColumnMigration(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        for (String column : COLUMNS) {
+            if (isNotNull(column)) {
+                jdbcTemplate.execute("ALTER TABLE stock_price_info ALTER COLUMN " + column + " DROP NOT NULL");
+                logger.warn("Dropped NOT NULL on stock_price_info.{}", column);
+            }
+        }
+    }
+
+    private boolean isNotNull(String column) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM information_schema.columns WHERE table_schema = current_schema() " +
+                "AND table_name = 'stock_price_info' AND column_name = ? AND is_nullable = 'NO'", Integer.class, column);
+        return count != null && count > 0;
+    }
+}
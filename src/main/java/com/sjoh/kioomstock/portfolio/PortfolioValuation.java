@@ -0,0 +1,31 @@
+package com.sjoh.kioomstock.portfolio;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 마지막 계좌 스냅샷의 보유수량/평균단가를 수집된 현재가로 재평가한 실시간 계좌 평가.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioValuation {
+
+    private String accountId;
+    private String accountName;
+    private long deposit;               // 스냅샷 시점 예수금
+    private long totalPurchaseAmount;
+    private long totalEvalAmount;
+    private long totalProfitLoss;
+    private double totalProfitLossRate; // %
+    private long estimatedAsset;        // 예수금 + 평가금액
+    private LocalDateTime snapshotTime; // 계좌 스냅샷 반영 시각
+    private LocalDateTime updatedAt;    // 마지막 시세 반영 시각
+    private List<PositionValuation> positions;
+}
@@ -0,0 +1,23 @@
+package com.sjoh.kioomstock.portfolio;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PositionValuation {
+
+    private String stockCode;
+    private String stockName;
+    private long quantity;
+    private double avgPrice;
+    private long currentPrice;
+    private long purchaseAmount;    // 보유수량 x 평균단가
+    private long evalAmount;        // 보유수량 x 현재가 (수수료/세금 미반영)
+    private long profitLoss;
+    private double profitLossRate;  // %
+}
@@ -0,0 +1,447 @@
+package com.sjoh.kioomstock.realtime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sjoh.kioomstock.config.RealtimeProperties;
+import com.sjoh.kioomstock.domain.StockOrderBook;
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import com.sjoh.kioomstock.service.KiwoomAuthService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import org.springframework.web.reactive.socket.client.WebSocketClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 키움 실시간 WebSocket 클라이언트.
+ * 접속 -> LOGIN -> 관심 종목 REG(주식체결 0B, 주식호가잔량 0D) 후 REAL 메시지를 {@link RealtimeQuote} 로 바꿔 흘려보냅니다.
+ * - 서버 PING 은 그대로 돌려보내고, heartbeat-timeout 동안 아무 프레임도 없으면 끊긴 것으로 보고 재접속
+ * - 끊기면 지수 백오프로 재접속하고, 로그인 후 현재 구독 대상을 다시 REG (로그인에 성공하면 백오프를 처음부터 다시 셈)
+ * - 저장은 하지 않음 (StockDataService 가 quotes() 를 배치로 묶어 기존 저장 경로로 보냄)
+ */
+@Component
+public class KiwoomRealtimeClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(KiwoomRealtimeClient.class);
+
+    static final String TYPE_TRADE = "0B";        // 주식체결
+    static final String TYPE_ORDER_BOOK = "0D";   // 주식호가잔량
+    private static final List<String> TYPES = List.of(TYPE_TRADE, TYPE_ORDER_BOOK);
+    private static final String GROUP_NO = "1";
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HHmmss");
+
+    private final RealtimeProperties properties;
+    private final KiwoomAuthService authService;
+    private final ObjectMapper objectMapper;
+    private final WebSocketClient webSocketClient = new ReactorNettyWebSocketClient();
+
+    // 구독자가 붙기 전 틱은 버퍼에 보관, 저장 단계가 밀리면 버퍼 한도를 넘는 틱은 버림(dropped 카운트)
+    private final Sinks.Many<RealtimeQuote> quotes = Sinks.many().multicast().onBackpressureBuffer(10_000, false);
+
+    // 아래 상태는 lock 으로 보호 (수신은 Netty 이벤트 루프, 구독 변경은 스케줄러 스레드)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<String> desiredCodes = new LinkedHashSet<>();
+    private final Set<String> registeredCodes = new LinkedHashSet<>();
+    private Sinks.Many<String> outbound;
+    private boolean loggedIn;
+    private boolean refreshToken;
+    private int failuresInARow;    // 마지막 로그인 성공 이후 연속 재접속 횟수
+
+    private volatile long lastFrameAt;
+    private volatile Disposable connection;
+
+    private final Counter frames;
+    private final Counter reconnects;
+    private final Counter dropped;
+
+    public KiwoomRealtimeClient(RealtimeProperties properties, KiwoomAuthService authService, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.authService = authService;
+        this.objectMapper = objectMapper;
+        this.frames = meterRegistry.counter("kiwoom.realtime.frames");
+        this.reconnects = meterRegistry.counter("kiwoom.realtime.reconnects");
+        this.dropped = meterRegistry.counter("kiwoom.realtime.dropped");
+        Gauge.builder("kiwoom.realtime.connected", this, client -> client.isConnected() ? 1 : 0)
+                .description("1 if the real-time feed is logged in and receiving frames")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Flux<RealtimeQuote> quotes() {
+        return quotes.asFlux();
+    }
+
+    /**
+     * 접속 루프를 시작합니다. 이미 시작했으면 아무 것도 하지 않습니다.
+     */
+    public void start() {
+        if (!properties.isEnabled() || connection != null) {
+            return;
+        }
+        logger.info("Starting real-time feed: {}", properties.getUrl());
+        connection = Mono.defer(this::connectOnce)
+                .doOnError(e -> logger.warn("Real-time feed disconnected: {}", e.toString()))
+                // 정상 종료(서버가 닫음)도 에러로 바꿔 같은 백오프 경로로 재접속
+                .then(Mono.<Void>error(new IllegalStateException("Real-time feed closed by server")))
+                // Mono<Void> 는 onNext 가 없어 Retry.backoff 의 transientErrors 가 재설정되지 않음
+                // -> 연속 실패 횟수를 직접 세고 LOGIN 성공 시 0 으로 돌림
+                .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                    reconnects.increment();
+                    Duration delay = nextReconnectDelay();
+                    logger.info("Reconnecting real-time feed in {} ms", delay.toMillis());
+                    return Mono.delay(delay);
+                })))
+                .subscribe();
+    }
+
+    // min * 2^(연속 실패 횟수), max 로 상한
+    Duration nextReconnectDelay() {
+        int attempt;
+        lock.lock();
+        try {
+            attempt = failuresInARow++;
+        } finally {
+            lock.unlock();
+        }
+        Duration min = properties.getReconnectMinBackoff();
+        Duration max = properties.getReconnectMaxBackoff();
+        Duration delay = min.multipliedBy(1L << Math.min(attempt, 20));
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = connection;
+        if (current != null) {
+            current.dispose();
+        }
+        quotes.tryEmitComplete();
+    }
+
+    /**
+     * 구독 대상 종목을 바꿉니다. 접속 중이면 차이만 REG/REMOVE 하고, 아니면 다음 로그인 때 전체를 REG 합니다.
+     */
+    public void subscribe(Collection<String> stockCodes) {
+        lock.lock();
+        try {
+            desiredCodes.clear();
+            desiredCodes.addAll(stockCodes);
+            if (loggedIn) {
+                syncRegistrations();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 해당 종목 시세가 지금 실시간으로 들어오고 있는지. (폴링 수집이 현재가/호가를 건너뛸지 판단)
+     */
+    public boolean isStreaming(String stockCode) {
+        if (!isConnected()) {
+            return false;
+        }
+        lock.lock();
+        try {
+            return registeredCodes.contains(stockCode);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isConnected() {
+        lock.lock();
+        try {
+            if (!loggedIn) {
+                return false;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return System.currentTimeMillis() - lastFrameAt < properties.getHeartbeatTimeout().toMillis();
+    }
+
+    // 한 번 접속해서 끊길 때까지 유지
+    private Mono<Void> connectOnce() {
+        Mono<String> token;
+        lock.lock();
+        try {
+            token = refreshToken ? authService.refreshAccessToken() : authService.getAccessToken();
+            refreshToken = false;
+        } finally {
+            lock.unlock();
+        }
+
+        return token.flatMap(accessToken -> webSocketClient.execute(URI.create(properties.getUrl()), session -> {
+            Sinks.Many<String> out = Sinks.many().unicast().onBackpressureBuffer();
+            lock.lock();
+            try {
+                outbound = out;
+                loggedIn = false;
+                registeredCodes.clear();
+            } finally {
+                lock.unlock();
+            }
+            lastFrameAt = System.currentTimeMillis();
+            send(toJson(Map.of("trnm", "LOGIN", "token", accessToken)));
+
+            Mono<Void> receive = session.receive()
+                    .map(WebSocketMessage::getPayloadAsText)
+                    // 하트비트 감시: PING 포함 어떤 프레임도 없으면 TimeoutException 으로 끊고 재접속
+                    .timeout(properties.getHeartbeatTimeout())
+                    .doOnNext(this::handle)
+                    .doFinally(signal -> {
+                        lock.lock();
+                        try {
+                            loggedIn = false;
+                            registeredCodes.clear();
+                            if (outbound == out) {
+                                outbound = null;
+                            }
+                        } finally {
+                            lock.unlock();
+                        }
+                        out.tryEmitComplete();
+                    })
+                    .then();
+            Mono<Void> send = session.send(out.asFlux().map(session::textMessage));
+            return send.and(receive);
+        }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handle(String text) {
+        lastFrameAt = System.currentTimeMillis();
+        frames.increment();
+
+        Map<String, Object> message;
+        try {
+            message = objectMapper.readValue(text, Map.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring malformed real-time frame: {}", text);
+            return;
+        }
+
+        String trnm = String.valueOf(message.get("trnm"));
+        switch (trnm) {
+            case "LOGIN" -> onLogin(message);
+            case "PING" -> send(text); // 받은 그대로 돌려줘야 서버가 세션을 유지
+            case "REG", "REMOVE" -> {
+                if (!isSuccess(message)) {
+                    logger.warn("Real-time {} failed: {}", trnm, message.get("return_msg"));
+                }
+            }
+            case "REAL" -> {
+                Object data = message.get("data");
+                if (data instanceof List<?> entries) {
+                    for (Object entry : entries) {
+                        if (entry instanceof Map<?, ?> map) {
+                            emit((Map<String, Object>) map);
+                        }
+                    }
+                }
+            }
+            default -> logger.debug("Ignoring real-time message {}", trnm);
+        }
+    }
+
+    private void onLogin(Map<String, Object> message) {
+        if (!isSuccess(message)) {
+            lock.lock();
+            try {
+                refreshToken = true; // 토큰 만료 가능성: 다음 접속 때 새로 발급
+            } finally {
+                lock.unlock();
+            }
+            throw new IllegalStateException("Real-time login failed: " + message.get("return_msg"));
+        }
+        lock.lock();
+        try {
+            loggedIn = true;
+            failuresInARow = 0;
+            syncRegistrations();
+            logger.info("Real-time feed logged in, subscribed {} codes", registeredCodes.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // lock 을 잡은 상태에서 호출
+    private void syncRegistrations() {
+        List<String> added = new ArrayList<>();
+        for (String code : desiredCodes) {
+            if (!registeredCodes.contains(code)) {
+                added.add(code);
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (String code : registeredCodes) {
+            if (!desiredCodes.contains(code)) {
+                removed.add(code);
+            }
+        }
+
+        int chunk = Math.max(1, properties.getRegisterChunkSize());
+        for (int i = 0; i < removed.size(); i += chunk) {
+            List<String> items = removed.subList(i, Math.min(removed.size(), i + chunk));
+            send(registration("REMOVE", items));
+        }
+        for (int i = 0; i < added.size(); i += chunk) {
+            List<String> items = added.subList(i, Math.min(added.size(), i + chunk));
+            send(registration("REG", items));
+        }
+        registeredCodes.removeAll(removed);
+        registeredCodes.addAll(added);
+    }
+
+    private String registration(String trnm, List<String> items) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("trnm", trnm);
+        message.put("grp_no", GROUP_NO);
+        if ("REG".equals(trnm)) {
+            message.put("refresh", "1"); // 기존 등록 유지하고 추가
+        }
+        message.put("data", List.of(Map.of("item", List.copyOf(items), "type", TYPES)));
+        return toJson(message);
+    }
+
+    // PING 응답(Netty 스레드)과 REG(스케줄러 스레드)가 동시에 emit 하지 않도록 lock 안에서 보냄
+    private void send(String text) {
+        lock.lock();
+        try {
+            if (outbound != null) {
+                outbound.tryEmitNext(text);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void emit(Map<String, Object> entry) {
+        String type = String.valueOf(entry.get("type"));
+        String code = normalizeCode(String.valueOf(entry.get("item")));
+        Object values = entry.get("values");
+        if (!(values instanceof Map<?, ?>)) {
+            return;
+        }
+        Map<String, Object> fids = (Map<String, Object>) values;
+        LocalDateTime now = LocalDateTime.now();
+
+        RealtimeQuote quote = switch (type) {
+            case TYPE_TRADE -> new RealtimeQuote(code, mapTrade(code, fids, now), null);
+            case TYPE_ORDER_BOOK -> new RealtimeQuote(code, null, mapOrderBook(code, fids, now));
+            default -> null;
+        };
+        if (quote != null && quotes.tryEmitNext(quote).isFailure()) {
+            dropped.increment();
+        }
+    }
+
+    // 주식체결(0B) FID -> StockPriceInfo. 5/20/60분 체결강도는 실시간 항목에 없어 0 (수집 단계에서 폴링 값으로 보완)
+    StockPriceInfo mapTrade(String stockCode, Map<String, Object> fids, LocalDateTime asOf) {
+        return StockPriceInfo.builder()
+                .stockCode(stockCode)
+                .time(parseTime(fids.get("20"), asOf))
+                .currentPrice(parseLong(fids.get("10")))
+                .diffFromPrev(parseLong(fids.get("11")))
+                .diffFromPrevSign(fids.getOrDefault("25", "").toString())
+                .fluctuationRate(parseDouble(fids.get("12")))
+                .volume(Math.abs(parseLong(fids.get("15"))))   // 부호는 매수(+)/매도(-) 체결 구분
+                .accumulatedTradeVolume(parseLong(fids.get("13")))
+                .accumulatedTradePrice(parseLong(fids.get("14")))
+                .volumePower(parseDouble(fids.get("228")))
+                .exchangeType("KRX")
+                .build();
+    }
+
+    // 주식호가잔량(0D) FID -> StockOrderBook
+    StockOrderBook mapOrderBook(String stockCode, Map<String, Object> fids, LocalDateTime asOf) {
+        return StockOrderBook.builder()
+                .stockCode(stockCode)
+                .time(parseTime(fids.get("21"), asOf))
+                .totalSellRemain(parseLong(fids.get("121")))
+                .totalBuyRemain(parseLong(fids.get("125")))
+                .build();
+    }
+
+    private static LocalDateTime parseTime(Object value, LocalDateTime asOf) {
+        String text = value != null ? value.toString() : "";
+        if (text.length() == 6) {
+            try {
+                return LocalDateTime.of(asOf.toLocalDate(), LocalTime.parse(text, TIME));
+            } catch (Exception e) {
+                logger.warn("Failed to parse real-time time: {}", text);
+            }
+        }
+        return asOf.withNano(0);
+    }
+
+    // 실시간 종목코드는 "005930_AL" 처럼 거래소 구분이 붙어 올 수 있음
+    private static String normalizeCode(String item) {
+        int separator = item.indexOf('_');
+        return separator > 0 ? item.substring(0, separator) : item;
+    }
+
+    private static boolean isSuccess(Map<String, Object> message) {
+        Object code = message.get("return_code");
+        return code == null || "0".equals(code.toString());
+    }
+
+    private static long parseLong(Object value) {
+        if (value == null) return 0;
+        String text = value.toString().replace("+", "").replace(",", "").trim();
+        if (text.isEmpty()) return 0;
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static double parseDouble(Object value) {
+        if (value == null) return 0.0;
+        String text = value.toString().replace("+", "").replace(",", "").trim();
+        if (text.isEmpty()) return 0.0;
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize real-time message", e);
+        }
+    }
+}
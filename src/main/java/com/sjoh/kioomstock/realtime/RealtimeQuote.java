@@ -0,0 +1,18 @@
+package com.sjoh.kioomstock.realtime;
+
+import com.sjoh.kioomstock.domain.StockOrderBook;
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 실시간 WebSocket 으로 받은 시세 1건. 주식체결(0B)이면 trade, 주식호가잔량(0D)이면 orderBook 만 채워집니다.
+ */
+@Getter
+@AllArgsConstructor
+public class RealtimeQuote {
+
+    private final String stockCode;
+    private final StockPriceInfo trade;
+    private final StockOrderBook orderBook;
+}
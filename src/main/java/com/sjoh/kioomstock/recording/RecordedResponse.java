@@ -0,0 +1,21 @@
+package com.sjoh.kioomstock.recording;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 세그먼트 파일의 레코드 하나 (녹화 시각, TR, 종목코드, 원본 응답 본문).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordedResponse {
+
+    private long recordedAtMillis;
+    private String apiId;
+    private String stockCode;       // 계좌(kt00004) 응답은 빈 문자열
+    private Map<String, Object> body;
+}
@@ -0,0 +1,29 @@
+package com.sjoh.kioomstock.recording;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재생 진행 상황.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayStatus {
+
+    private boolean running;
+    private double speed;               // 1.0 = 녹화 속도, 0 = 최대 속도
+    private int segments;
+    private int segmentsDone;
+    private long records;
+    private long rowsSaved;
+    private LocalDateTime recordedUpTo; // 마지막으로 재생한 레코드의 녹화 시각
+    private long elapsedMillis;
+    private double recordsPerSecond;
+    private String error;
+}
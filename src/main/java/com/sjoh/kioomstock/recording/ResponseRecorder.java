@@ -0,0 +1,184 @@
+package com.sjoh.kioomstock.recording;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 수집/계좌 WebClient 호출의 원본 응답을 GZIP 세그먼트 파일에 순서대로 덧붙입니다.
+ * 레코드 형식: [int 길이][long 녹화시각(ms)][UTF api-id][UTF 종목코드][int 본문길이][JSON 본문]
+ * 디스크 I/O 는 전용 단일 스레드에서 처리하므로 수집 경로(Netty 이벤트 루프)를 막지 않습니다.
+ * 쓰기 대기열은 kiwoom.record.queue-capacity 로 제한되며, 디스크가 밀려 넘치면 레코드를 버리고 개수를 경고로 남깁니다.
+ * kiwoom.record.enabled=false(기본)이면 아무 것도 하지 않습니다.
+ */
+@Component
+public class ResponseRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseRecorder.class);
+
+    public static final String API_VOLUME_POWER = "ka10046";
+    public static final String API_ORDER_BOOK = "ka10004";
+    public static final String API_WATCHLIST_QUOTES = "ka10095";   // 여러 종목 응답이지만 종목별 행으로 나눠 녹화
+    public static final String API_DAILY_CANDLE = "ka10081";
+    public static final String API_INVESTOR = "ka10059";
+    public static final String API_ACCOUNT = "kt00004";
+
+    static final String SEGMENT_SUFFIX = ".seg.gz";
+
+    private static final long DROP_LOG_INTERVAL = 1000;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentRecords;
+    private final ThreadPoolExecutor writer;
+    private final AtomicLong dropped = new AtomicLong();
+
+    // 아래 필드는 writer 스레드에서만 접근
+    private DataOutputStream out;
+    private int recordsInSegment;
+    private int segmentSequence;
+
+    public ResponseRecorder(ObjectMapper objectMapper,
+                            @Value("${kiwoom.record.enabled:false}") boolean enabled,
+                            @Value("${kiwoom.record.dir:recordings}") String directory,
+                            @Value("${kiwoom.record.segment-records:50000}") int segmentRecords,
+                            @Value("${kiwoom.record.queue-capacity:10000}") int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("kiwoom.record.queue-capacity must be > 0");
+        }
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentRecords = segmentRecords;
+        // 대기열이 차면 execute 가 RejectedExecutionException 을 던짐 (AbortPolicy) -> record() 에서 버림
+        this.writer = enabled ? new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, "response-recorder");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        if (enabled) {
+            logger.info("Response recording enabled: {}", this.directory.toAbsolutePath());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public void record(String apiId, String stockCode, Map<?, ?> body) {
+        if (!enabled) {
+            return;
+        }
+        long recordedAt = System.currentTimeMillis();
+        try {
+            // 응답 Map 은 파싱 이후 변경되지 않으므로 직렬화까지 writer 스레드에 맡김
+            writer.execute(() -> write(recordedAt, apiId, stockCode, body));
+        } catch (RejectedExecutionException e) {
+            if (writer.isShutdown()) {
+                logger.debug("Recorder is shut down, dropping {} response for {}", apiId, stockCode);
+                return;
+            }
+            long count = dropped.incrementAndGet();
+            if (count % DROP_LOG_INTERVAL == 1) {
+                logger.warn("Recorder queue is full, dropped {} responses so far (latest {} for {})", count, apiId, stockCode);
+            }
+        }
+    }
+
+    private void write(long recordedAt, String apiId, String stockCode, Map<?, ?> body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length + 64);
+            DataOutputStream record = new DataOutputStream(buffer);
+            record.writeLong(recordedAt);
+            record.writeUTF(apiId);
+            record.writeUTF(stockCode != null ? stockCode : "");
+            record.writeInt(json.length);
+            record.write(json);
+            record.flush();
+
+            if (out == null || recordsInSegment >= segmentRecords) {
+                rotate();
+            }
+            out.writeInt(buffer.size());
+            buffer.writeTo(out);
+            recordsInSegment++;
+        } catch (IOException e) {
+            logger.error("Failed to record {} response for {}", apiId, stockCode, e);
+        }
+    }
+
+    private void rotate() throws IOException {
+        closeSegment();
+        Files.createDirectories(directory);
+        String name = String.format("responses-%s-%04d%s",
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")), segmentSequence++, SEGMENT_SUFFIX);
+        out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(directory.resolve(name)), 1 << 16), 1 << 16));
+        recordsInSegment = 0;
+        logger.info("Opened recording segment {}", name);
+    }
+
+    private void closeSegment() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            logger.error("Failed to close recording segment", e);
+        }
+        out = null;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // 대기 중인 레코드를 모두 쓴 뒤 GZIP 트레일러까지 닫아야 세그먼트가 온전히 남음
+        // (대기열이 꽉 차 있어도 닫기 작업은 버려지면 안 되므로 종료 후 이 스레드에서 닫음)
+        writer.shutdown();
+        if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Response recorder did not finish flushing in time");
+            writer.shutdownNow();
+            if (!writer.awaitTermination(1, TimeUnit.SECONDS)) {
+                // writer 가 아직 쓰는 중이면 스트림을 동시에 닫을 수 없으므로 마지막 세그먼트는 포기
+                return;
+            }
+        }
+        closeSegment();
+        if (dropped.get() > 0) {
+            logger.warn("Response recorder dropped {} responses because the write queue was full", dropped.get());
+        }
+    }
+}
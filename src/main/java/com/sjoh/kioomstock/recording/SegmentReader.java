@@ -0,0 +1,83 @@
+package com.sjoh.kioomstock.recording;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * ResponseRecorder 가 만든 세그먼트 파일을 녹화 순서대로 읽습니다.
+ * 비정상 종료로 끝부분이 잘린 세그먼트는 읽을 수 있는 레코드까지만 돌려줍니다.
+ */
+public class SegmentReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentReader.class);
+
+    private final ObjectMapper objectMapper;
+
+    public SegmentReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // 파일명에 시각/순번이 들어가므로 이름순 = 녹화순
+    public List<Path> listSegments(Path directory, String prefix) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.endsWith(ResponseRecorder.SEGMENT_SUFFIX) && (prefix == null || name.startsWith(prefix));
+                    })
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    /**
+     * 세그먼트 하나를 읽어 레코드마다 consumer 를 호출합니다. 읽은 레코드 수를 반환합니다.
+     */
+    @SuppressWarnings("unchecked")
+    public long read(Path segment, Consumer<RecordedResponse> consumer) throws IOException {
+        long count = 0;
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(Files.newInputStream(segment), 1 << 16), 1 << 16))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                long recordedAt = record.readLong();
+                String apiId = record.readUTF();
+                String stockCode = record.readUTF();
+                byte[] json = new byte[record.readInt()];
+                record.readFully(json);
+
+                consumer.accept(new RecordedResponse(recordedAt, apiId, stockCode, objectMapper.readValue(json, Map.class)));
+                count++;
+            }
+        } catch (EOFException e) {
+            logger.warn("Segment {} is truncated; replayed {} complete records", segment.getFileName(), count);
+        }
+        return count;
+    }
+}
@@ -3,7 +3,15 @@ package com.sjoh.kioomstock.repository;
 import com.sjoh.kioomstock.domain.AccountInfo;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface AccountInfoRepository extends JpaRepository<AccountInfo, Long> {
+
+    @Transactional
+    void deleteByAccountId(String accountId);
+
+    // 계좌 구분 컬럼이 생기기 전에 저장된 스냅샷
+    @Transactional
+    void deleteByAccountIdIsNull();
 }
@@ -0,0 +1,31 @@
+package com.sjoh.kioomstock.repository;
+
+import com.sjoh.kioomstock.domain.CollectorNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// 노드 간 시계 차이를 피하기 위해 하트비트/만료 판단은 모두 DB 시계(now())로 처리
+@Repository
+public interface CollectorNodeRepository extends JpaRepository<CollectorNode, String> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO collector_node (node_id, host, started_at, heartbeat_at) VALUES (:nodeId, :host, now(), now()) " +
+            "ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = now()", nativeQuery = true)
+    int heartbeat(@Param("nodeId") String nodeId, @Param("host") String host);
+
+    @Query(value = "SELECT node_id FROM collector_node WHERE heartbeat_at > now() - make_interval(secs => :leaseSeconds) ORDER BY node_id",
+            nativeQuery = true)
+    List<String> findLiveNodeIds(@Param("leaseSeconds") double leaseSeconds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM collector_node WHERE heartbeat_at <= now() - make_interval(secs => :leaseSeconds)", nativeQuery = true)
+    int deleteExpired(@Param("leaseSeconds") double leaseSeconds);
+}
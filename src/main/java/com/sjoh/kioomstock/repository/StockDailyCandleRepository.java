@@ -5,9 +5,13 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StockDailyCandleRepository extends JpaRepository<StockDailyCandle, Long> {
     Optional<StockDailyCandle> findByStockCodeAndDate(String stockCode, LocalDate date);
+    List<StockDailyCandle> findByStockCodeAndDateBeforeOrderByDateAsc(String stockCode, LocalDate date);
+    List<StockDailyCandle> findByStockCodeOrderByDateAsc(String stockCode);
+    List<StockDailyCandle> findByDateGreaterThanEqual(LocalDate date);
 }
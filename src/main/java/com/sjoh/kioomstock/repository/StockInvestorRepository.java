@@ -5,9 +5,12 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StockInvestorRepository extends JpaRepository<StockInvestor, Long> {
     Optional<StockInvestor> findByStockCodeAndDate(String stockCode, LocalDate date);
+    List<StockInvestor> findByDate(LocalDate date);
+    List<StockInvestor> findByDateGreaterThanEqualOrderByTimeAsc(LocalDate date);
 }
@@ -3,9 +3,12 @@ package com.sjoh.kioomstock.repository;
 import com.sjoh.kioomstock.domain.StockPriceInfo;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +16,29 @@ import java.util.Optional;
 public interface StockPriceInfoRepository extends JpaRepository<StockPriceInfo, Long> {
     Optional<StockPriceInfo> findByStockCodeAndTime(String stockCode, LocalDateTime time);
     List<StockPriceInfo> findByStockCode(String stockCode, Sort sort);
+    List<StockPriceInfo> findTop200ByStockCodeOrderByTimeDesc(String stockCode);
+    List<StockPriceInfo> findByStockCodeAndTimeBetweenOrderByTimeAsc(String stockCode, LocalDateTime from, LocalDateTime to);
+
+    // [from, to) 구간에서 행이 하나라도 있는 분(from 기준 분 오프셋) 목록 (누락 분 탐지용)
+    @Query(value = "SELECT DISTINCT CAST(FLOOR(EXTRACT(EPOCH FROM (time - :from)) / 60) AS integer) FROM stock_price_info " +
+            "WHERE symbol_id = (SELECT id FROM stock_symbol WHERE code = :stockCode) AND time >= :from AND time < :to", nativeQuery = true)
+    List<Integer> findMinuteOffsets(@Param("stockCode") String stockCode, @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to);
+
+    // [from, to] 구간에서 종목/분(from 기준 분 오프셋)별 마지막 틱의 가격(절대값)과 거래량 (스크리너 분봉 행렬용, 엔티티를 만들지 않음)
+    @Query(value = "SELECT DISTINCT ON (p.symbol_id, CAST(FLOOR(EXTRACT(EPOCH FROM (p.time - :from)) / 60) AS integer)) " +
+            "s.code AS code, CAST(FLOOR(EXTRACT(EPOCH FROM (p.time - :from)) / 60) AS integer) AS minute, " +
+            "ABS(p.current_price) AS price, p.volume AS volume " +
+            "FROM stock_price_info p JOIN stock_symbol s ON s.id = p.symbol_id " +
+            "WHERE s.code IN (:stockCodes) AND p.time >= :from AND p.time <= :to " +
+            "ORDER BY p.symbol_id, CAST(FLOOR(EXTRACT(EPOCH FROM (p.time - :from)) / 60) AS integer), p.time DESC", nativeQuery = true)
+    List<MinuteBar> findMinuteBars(@Param("stockCodes") Collection<String> stockCodes, @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
+
+    interface MinuteBar {
+        String getCode();
+        int getMinute();
+        long getPrice();
+        long getVolume();
+    }
 }
@@ -0,0 +1,22 @@
+package com.sjoh.kioomstock.screener;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorrelationResult {
+
+    private String source;          // minute / daily
+    private int observations;       // 상관계수 계산에 사용한 수익률 개수
+    private LocalDateTime computedAt;
+    private List<String> stockCodes;
+    private double[][] matrix;
+}
@@ -0,0 +1,103 @@
+package com.sjoh.kioomstock.screener;
+
+import java.util.List;
+
+/**
+ * 시간축이 정렬된 종목별 수익률 행렬 (row-major, 종목 i 의 t 번째 수익률 = returns[i * length + t]).
+ * 가격/거래량도 같은 축으로 보관해 랭킹 계산에 재사용합니다.
+ */
+public class ReturnMatrix {
+
+    private final List<String> stockCodes;
+    private final int length;           // 수익률 개수 (가격 개수 - 1)
+    private final double[] returns;
+    private final double[] firstPrices;
+    private final double[] lastPrices;
+    private final double[] lastVolumes;
+    private final double[] avgVolumes;
+
+    public ReturnMatrix(List<String> stockCodes, int length, double[] returns, double[] firstPrices, double[] lastPrices, double[] lastVolumes, double[] avgVolumes) {
+        this.stockCodes = stockCodes;
+        this.length = length;
+        this.returns = returns;
+        this.firstPrices = firstPrices;
+        this.lastPrices = lastPrices;
+        this.lastVolumes = lastVolumes;
+        this.avgVolumes = avgVolumes;
+    }
+
+    /**
+     * 종목별 가격/거래량 시계열(같은 시간축, 값이 없으면 0)로부터 수익률 행렬을 만듭니다.
+     * 빈 구간은 직전 가격으로 채우고, 첫 가격 이전 구간의 수익률은 0 으로 둡니다.
+     */
+    public static ReturnMatrix fromAlignedPrices(List<String> stockCodes, double[][] prices, double[][] volumes) {
+        int n = stockCodes.size();
+        int points = n == 0 ? 0 : prices[0].length;
+        int length = Math.max(0, points - 1);
+        double[] returns = new double[n * length];
+        double[] firstPrices = new double[n];
+        double[] lastPrices = new double[n];
+        double[] lastVolumes = new double[n];
+        double[] avgVolumes = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            double[] p = prices[i];
+            double prev = 0;
+            int base = i * length;
+            double volumeSum = 0;
+            int volumeCount = 0;
+            for (int t = 0; t < points; t++) {
+                double price = p[t] > 0 ? p[t] : prev;
+                if (t > 0 && prev > 0 && price > 0) {
+                    returns[base + t - 1] = price / prev - 1;
+                }
+                if (price > 0 && firstPrices[i] == 0) {
+                    firstPrices[i] = price;
+                }
+                prev = price;
+
+                double v = volumes[i][t];
+                if (v > 0) {
+                    lastVolumes[i] = v;
+                    volumeSum += v;
+                    volumeCount++;
+                }
+            }
+            lastPrices[i] = prev;
+            avgVolumes[i] = volumeCount == 0 ? 0 : volumeSum / volumeCount;
+        }
+        return new ReturnMatrix(stockCodes, length, returns, firstPrices, lastPrices, lastVolumes, avgVolumes);
+    }
+
+    public List<String> getStockCodes() {
+        return stockCodes;
+    }
+
+    public int size() {
+        return stockCodes.size();
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public double[] getReturns() {
+        return returns;
+    }
+
+    public double getFirstPrice(int i) {
+        return firstPrices[i];
+    }
+
+    public double getLastPrice(int i) {
+        return lastPrices[i];
+    }
+
+    public double getLastVolume(int i) {
+        return lastVolumes[i];
+    }
+
+    public double getAvgVolume(int i) {
+        return avgVolumes[i];
+    }
+}
@@ -0,0 +1,8 @@
+package com.sjoh.kioomstock.screener;
+
+public enum ScreenerMetric {
+    RETURN,             // 구간 수익률
+    VOLATILITY,         // 수익률 표준편차
+    VOLUME_SURGE,       // 최근 거래량 / 구간 평균 거래량
+    INVESTOR_NET_BUY    // 외국인 + 기관 순매수 (당일 최신)
+}
@@ -0,0 +1,20 @@
+package com.sjoh.kioomstock.screener;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScreenerRow {
+
+    private String stockCode;
+    private double lastPrice;
+    private double returnRate;      // 구간 수익률 (0.01 = 1%)
+    private double volatility;      // 수익률 표준편차
+    private double volumeSurge;     // 최근 거래량 / 평균 거래량
+    private long investorNetBuy;    // 외국인 + 기관 순매수
+}
@@ -1,16 +1,23 @@
 package com.sjoh.kioomstock.service;
 
+import com.sjoh.kioomstock.config.KiwoomAccountProperties;
 import com.sjoh.kioomstock.domain.AccountInfo;
-import com.sjoh.kioomstock.domain.AccountStockInfo;
+import com.sjoh.kioomstock.event.AccountInfoRefreshedEvent;
+import com.sjoh.kioomstock.event.LeadershipChangedEvent;
+import com.sjoh.kioomstock.recording.ResponseRecorder;
 import com.sjoh.kioomstock.repository.AccountInfoRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -25,30 +32,97 @@ public class AccountService {
     private final WebClient webClient;
     private final KiwoomAuthService authService;
     private final AccountInfoRepository accountInfoRepository;
-
-    public AccountService(WebClient webClient, KiwoomAuthService authService, AccountInfoRepository accountInfoRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResponseRecorder responseRecorder;
+    private final ClusterService clusterService;
+    private final Scheduler persistenceScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final int refreshConcurrency;
+
+    public AccountService(WebClient webClient, KiwoomAuthService authService, AccountInfoRepository accountInfoRepository, ApplicationEventPublisher eventPublisher, ResponseRecorder responseRecorder, ClusterService clusterService, Scheduler persistenceScheduler, TransactionTemplate transactionTemplate, KiwoomAccountProperties accountProperties) {
         this.webClient = webClient;
         this.authService = authService;
         this.accountInfoRepository = accountInfoRepository;
+        this.eventPublisher = eventPublisher;
+        this.responseRecorder = responseRecorder;
+        this.clusterService = clusterService;
+        this.persistenceScheduler = persistenceScheduler;
+        this.transactionTemplate = transactionTemplate;
+        this.refreshConcurrency = Math.max(1, accountProperties.getRefreshConcurrency());
     }
 
-    // 서버 시작 시 1회 실행
+    // 서버 시작 시 1회 실행 (클러스터 모드에서는 리더만 조회, 나머지는 DB 스냅샷 사용)
     @EventListener(ApplicationReadyEvent.class)
     public void initAccountInfo() {
+        if (!clusterService.isLeader()) {
+            logger.info("Not the collector leader, skipping account info refresh");
+            return;
+        }
         logger.info("Initializing account info...");
-        fetchAndSaveAccountInfo().subscribe(
-                info -> logger.info("Successfully initialized account info for: {}", info.getAccountName()),
+        fetchAndSaveAllAccountInfo().count().subscribe(
+                count -> logger.info("Successfully initialized account info for {} accounts", count),
                 error -> logger.error("Failed to initialize account info", error)
         );
     }
 
-    public Mono<AccountInfo> fetchAndSaveAccountInfo() {
-        return authService.getAccessToken()
-                .flatMap(this::fetchAccountInfo)
-                .map(this::saveAccountInfo);
+    // 리더가 바뀌면 새 리더가 계좌 갱신을 이어받음
+    @EventListener
+    public void onLeadershipChanged(LeadershipChangedEvent event) {
+        if (event.isLeader()) {
+            initAccountInfo();
+        }
+    }
+
+    /**
+     * 설정된 모든 계좌를 refresh-concurrency 개씩 동시에 조회/저장합니다.
+     * 한 계좌가 실패해도 나머지 계좌는 계속 갱신합니다. (완료 순서대로 방출)
+     */
+    public Flux<AccountInfo> fetchAndSaveAllAccountInfo() {
+        return Flux.fromIterable(authService.getAccountIds())
+                .flatMap(accountId -> fetchAndSaveAccountInfo(accountId)
+                        .onErrorResume(error -> {
+                            logger.error("Failed to refresh account info for {}", accountId, error);
+                            return Mono.empty();
+                        }), refreshConcurrency);
+    }
+
+    public Mono<AccountInfo> fetchAndSaveAccountInfo(String accountId) {
+        return authService.getAccessToken(accountId)
+                .flatMap(token -> fetchAccountInfo(accountId, token))
+                // 저장은 블로킹이므로 이벤트 루프 밖에서
+                .publishOn(persistenceScheduler)
+                .map(info -> saveAccountInfo(accountId, info))
+                .doOnNext(info -> eventPublisher.publishEvent(new AccountInfoRefreshedEvent(info)));
     }
 
-    private Mono<AccountInfo> fetchAccountInfo(String token) {
+    /**
+     * 설정된 계좌들의 마지막 스냅샷 (설정 순서). 계좌 구분 전 스냅샷은 기본 계좌로 취급하고,
+     * 설정에서 빠진 계좌의 스냅샷은 제외합니다.
+     * 조회한 엔티티는 건드리지 않고, 계좌 ID 를 채운 사본을 반환합니다.
+     */
+    public List<AccountInfo> findLatestSnapshots() {
+        Map<String, AccountInfo> byAccount = new HashMap<>();
+        for (AccountInfo info : accountInfoRepository.findAll()) {
+            String accountId = authService.resolveAccountId(info.getAccountId());
+            AccountInfo existing = byAccount.get(accountId);
+            if (existing == null || (existing.getId() != null && info.getId() != null && info.getId() > existing.getId())) {
+                byAccount.put(accountId, info);
+            }
+        }
+        List<AccountInfo> result = new ArrayList<>();
+        for (String accountId : authService.getAccountIds()) {
+            AccountInfo info = byAccount.get(accountId);
+            if (info != null) {
+                result.add(info.toBuilder()
+                        .accountId(accountId)
+                        .stockInfos(new ArrayList<>(info.getStockInfos()))
+                        .build());
+            }
+        }
+        return result;
+    }
+
+    private Mono<AccountInfo> fetchAccountInfo(String accountId, String token) {
         Map<String, String> requestBody = new HashMap<>();
         requestBody.put("qry_tp", "0"); // 0:전체
         requestBody.put("dmst_stex_tp", "KRX"); // KRX:한국거래소
@@ -61,99 +135,23 @@ public class AccountService {
                 .bodyValue(requestBody)
                 .retrieve()
                 .bodyToMono(Map.class)
+                .doOnNext(response -> responseRecorder.record(ResponseRecorder.API_ACCOUNT, accountId, response))
                 .map(response -> {
-                    logger.info("Account API Response: {}", response);
-                    return parseResponse(response);
+                    logger.info("Account API Response ({}): {}", accountId, response);
+                    return AccountResponseParser.parse(response);
                 });
     }
 
-    @SuppressWarnings("unchecked")
-    private AccountInfo parseResponse(Map<String, Object> response) {
-        try {
-            Map<String, Object> data = response;
-
-            AccountInfo accountInfo = AccountInfo.builder()
-                    .accountName(getString(data, "acnt_nm"))
-                    .branchName(getString(data, "brch_nm"))
-                    .deposit(parseLong(data, "entr"))
-                    .d2Deposit(parseLong(data, "d2_entra"))
-                    .totalEvalAmount(parseLong(data, "tot_est_amt"))
-                    .assetEvalAmount(parseLong(data, "aset_evlt_amt"))
-                    .totalPurchaseAmount(parseLong(data, "tot_pur_amt"))
-                    .estimatedDepositAsset(parseLong(data, "prsm_dpst_aset_amt"))
-                    .totalLoanAmount(parseLong(data, "tot_grnt_sella"))
-                    .todayInvestPrincipal(parseLong(data, "tdy_lspft_amt"))
-                    .monthInvestPrincipal(parseLong(data, "invt_bsamt"))
-                    .accumInvestPrincipal(parseLong(data, "lspft_amt"))
-                    .todayProfitLoss(parseLong(data, "tdy_lspft"))
-                    .monthProfitLoss(parseLong(data, "lspft2"))
-                    .accumProfitLoss(parseLong(data, "lspft"))
-                    .todayProfitRate(parseDouble(data, "tdy_lspft_rt"))
-                    .monthProfitRate(parseDouble(data, "lspft_ratio"))
-                    .accumProfitRate(parseDouble(data, "lspft_rt"))
-                    .build();
-
-            List<Map<String, Object>> stockList = (List<Map<String, Object>>) data.get("stk_acnt_evlt_prst");
-            if (stockList != null) {
-                List<AccountStockInfo> stockInfos = new ArrayList<>();
-                for (Map<String, Object> stockData : stockList) {
-                    AccountStockInfo stockInfo = AccountStockInfo.builder()
-                            .accountInfo(accountInfo)
-                            .stockCode(getString(stockData, "stk_cd"))
-                            .stockName(getString(stockData, "stk_nm"))
-                            .remainQty(parseLong(stockData, "rmnd_qty"))
-                            .avgPrice(parseDouble(stockData, "avg_prc"))
-                            .currentPrice(parseLong(stockData, "cur_prc"))
-                            .evalAmount(parseLong(stockData, "evlt_amt"))
-                            .profitLossAmount(parseLong(stockData, "pl_amt"))
-                            .profitLossRate(parseDouble(stockData, "pl_rt"))
-                            .loanDate(getString(stockData, "loan_dt"))
-                            .purchaseAmount(parseLong(stockData, "pur_amt"))
-                            .settlementRemain(parseLong(stockData, "setl_remn"))
-                            .prevBuyQty(parseLong(stockData, "pred_buyq"))
-                            .prevSellQty(parseLong(stockData, "pred_sellq"))
-                            .todayBuyQty(parseLong(stockData, "tdy_buyq"))
-                            .todaySellQty(parseLong(stockData, "tdy_sellq"))
-                            .build();
-                    stockInfos.add(stockInfo);
-                }
-                accountInfo.setStockInfos(stockInfos);
+    // 계좌마다 마지막 스냅샷 하나만 유지 (다른 계좌의 스냅샷은 건드리지 않음)
+    // 삭제와 저장을 한 트랜잭션으로 묶어 중간에 실패해도 스냅샷이 사라지지 않게 함
+    private AccountInfo saveAccountInfo(String accountId, AccountInfo accountInfo) {
+        accountInfo.setAccountId(accountId);
+        return transactionTemplate.execute(status -> {
+            accountInfoRepository.deleteByAccountId(accountId);
+            if (accountId.equals(authService.getDefaultAccountId())) {
+                accountInfoRepository.deleteByAccountIdIsNull();
             }
-
-            return accountInfo;
-
-        } catch (Exception e) {
-            logger.error("Error parsing account info response", e);
-            throw new RuntimeException("Failed to parse account info", e);
-        }
-    }
-
-    private AccountInfo saveAccountInfo(AccountInfo accountInfo) {
-        accountInfoRepository.deleteAll();
-        return accountInfoRepository.save(accountInfo);
-    }
-
-    private String getString(Map<String, Object> data, String key) {
-        return data.getOrDefault(key, "").toString();
-    }
-
-    private long parseLong(Map<String, Object> data, String key) {
-        Object val = data.get(key);
-        if (val == null) return 0;
-        try {
-            return Long.parseLong(val.toString().replace("+", "").replace(",", "").trim());
-        } catch (NumberFormatException e) {
-            return 0;
-        }
-    }
-
-    private double parseDouble(Map<String, Object> data, String key) {
-        Object val = data.get(key);
-        if (val == null) return 0.0;
-        try {
-            return Double.parseDouble(val.toString().replace("+", "").replace(",", "").trim());
-        } catch (NumberFormatException e) {
-            return 0.0;
-        }
+            return accountInfoRepository.save(accountInfo);
+        });
     }
 }
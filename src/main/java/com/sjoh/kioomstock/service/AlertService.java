@@ -0,0 +1,196 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.alert.AlertEvent;
+import com.sjoh.kioomstock.alert.AlertMetric;
+import com.sjoh.kioomstock.alert.AlertNotifier;
+import com.sjoh.kioomstock.alert.CompiledRule;
+import com.sjoh.kioomstock.alert.StockAlertState;
+import com.sjoh.kioomstock.config.AlertProperties;
+import com.sjoh.kioomstock.domain.StockInvestor;
+import com.sjoh.kioomstock.domain.StockOrderBook;
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import com.sjoh.kioomstock.event.StockDataCollectedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 수집 직후 인라인으로 평가되는 알림 규칙 엔진.
+ * 설정(alert.rules)을 시작 시 한 번 컴파일해 종목코드별로 인덱싱하고,
+ * 수집 이벤트마다 이번에 갱신된 지표를 참조하는 규칙만 평가합니다.
+ */
+@Service
+public class AlertService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertService.class);
+    private static final int RECENT_ALERT_LIMIT = 100;
+
+    private final AlertProperties alertProperties;
+    private final List<AlertNotifier> notifiers;
+
+    // 종목 지정 규칙 / 전체 종목 규칙 (템플릿 - 종목별 상태에 복사해서 사용)
+    private final Map<String, List<CompiledRule>> rulesByStockCode = new HashMap<>();
+    private final List<CompiledRule> wildcardRules = new ArrayList<>();
+
+    private final Map<String, StockAlertState> states = new ConcurrentHashMap<>();
+    private final Deque<AlertEvent> recentAlerts = new ArrayDeque<>();
+
+    public AlertService(AlertProperties alertProperties, List<AlertNotifier> notifiers) {
+        this.alertProperties = alertProperties;
+        this.notifiers = notifiers;
+    }
+
+    @PostConstruct
+    public void compileRules() {
+        for (AlertProperties.Rule rule : alertProperties.getRules()) {
+            if (rule.getId() == null || rule.getMetric() == null || rule.getOperator() == null) {
+                throw new IllegalArgumentException("Invalid alert rule (id, metric, operator are required): " + rule);
+            }
+            CompiledRule compiled = new CompiledRule(rule.getId(), rule.getMetric(), rule.getOperator(),
+                    rule.getThreshold(), rule.getCooldown().toNanos(), rule.getMessage());
+            if (rule.getStockCodes().isEmpty()) {
+                wildcardRules.add(compiled);
+            } else {
+                for (String code : rule.getStockCodes()) {
+                    rulesByStockCode.computeIfAbsent(code, k -> new ArrayList<>()).add(compiled);
+                }
+            }
+        }
+        logger.info("Compiled {} alert rules ({} stock-specific codes, {} wildcard rules)",
+                alertProperties.getRules().size(), rulesByStockCode.size(), wildcardRules.size());
+    }
+
+    @EventListener
+    public void onStockDataCollected(StockDataCollectedEvent event) {
+        if (!alertProperties.isEnabled() || alertProperties.getRules().isEmpty()) {
+            return;
+        }
+
+        StockAlertState state = states.computeIfAbsent(event.getStockCode(), this::createState);
+        List<AlertEvent> fired = null;
+
+        synchronized (state) {
+            applyMetrics(state, event);
+
+            long now = System.nanoTime();
+            for (CompiledRule rule : state.getRules()) {
+                AlertMetric metric = rule.getMetric();
+                if (!state.isDirty(metric)) {
+                    continue;
+                }
+                double previous = state.getPrevious(metric);
+                double current = state.get(metric);
+                if (rule.evaluate(previous, current, now)) {
+                    if (fired == null) {
+                        fired = new ArrayList<>();
+                    }
+                    fired.add(new AlertEvent(rule.getId(), event.getStockCode(), metric, rule.getOperator(),
+                            rule.getThreshold(), previous, current, rule.getMessage(), LocalDateTime.now()));
+                }
+            }
+            state.clearDirty();
+        }
+
+        if (fired != null) {
+            for (AlertEvent alert : fired) {
+                dispatch(alert);
+            }
+        }
+    }
+
+    public List<AlertEvent> getRecentAlerts() {
+        synchronized (recentAlerts) {
+            return new ArrayList<>(recentAlerts);
+        }
+    }
+
+    // 종목 지정 규칙이 걸린 종목 (수집 우선순위 판단용, 전체 종목 규칙은 제외)
+    public Set<String> getAlertedStockCodes() {
+        return alertProperties.isEnabled() ? Collections.unmodifiableSet(rulesByStockCode.keySet()) : Set.of();
+    }
+
+    public List<AlertProperties.Rule> getRules() {
+        return alertProperties.getRules();
+    }
+
+    private StockAlertState createState(String stockCode) {
+        List<CompiledRule> templates = rulesByStockCode.getOrDefault(stockCode, List.of());
+        CompiledRule[] rules = new CompiledRule[templates.size() + wildcardRules.size()];
+        int i = 0;
+        for (CompiledRule rule : templates) {
+            rules[i++] = rule.copy();
+        }
+        for (CompiledRule rule : wildcardRules) {
+            rules[i++] = rule.copy();
+        }
+        return new StockAlertState(rules);
+    }
+
+    private static void setIfPresent(StockAlertState state, AlertMetric metric, Double value) {
+        if (value != null) {
+            state.set(metric, value);
+        }
+    }
+
+    private void applyMetrics(StockAlertState state, StockDataCollectedEvent event) {
+        List<StockPriceInfo> priceInfos = event.getPriceInfos();
+        if (!priceInfos.isEmpty()) {
+            StockPriceInfo latest = priceInfos.get(priceInfos.size() - 1);
+            state.set(AlertMetric.PRICE, Math.abs(latest.getCurrentPrice()));
+            state.set(AlertMetric.FLUCTUATION_RATE, latest.getFluctuationRate());
+            state.set(AlertMetric.VOLUME_POWER, latest.getVolumePower());
+            // 기간별 체결강도가 없는 시세(일괄/실시간, 아직 ka10046 미수신)는 이전 값을 유지
+            setIfPresent(state, AlertMetric.VOLUME_POWER_5MIN, latest.getVolumePower5Min());
+            setIfPresent(state, AlertMetric.VOLUME_POWER_20MIN, latest.getVolumePower20Min());
+            setIfPresent(state, AlertMetric.VOLUME_POWER_60MIN, latest.getVolumePower60Min());
+        }
+
+        StockOrderBook orderBook = event.getOrderBook();
+        if (orderBook != null) {
+            long total = orderBook.getTotalBuyRemain() + orderBook.getTotalSellRemain();
+            if (total > 0) {
+                state.set(AlertMetric.ORDER_BOOK_IMBALANCE,
+                        (double) (orderBook.getTotalBuyRemain() - orderBook.getTotalSellRemain()) / total);
+            }
+        }
+
+        List<StockInvestor> investors = event.getInvestors();
+        if (!investors.isEmpty()) {
+            StockInvestor latest = investors.get(investors.size() - 1);
+            state.set(AlertMetric.FOREIGNER_NET, latest.getForeigner());
+            state.set(AlertMetric.INSTITUTION_NET, latest.getInstitution());
+            state.set(AlertMetric.INDIVIDUAL_NET, latest.getIndividual());
+            state.set(AlertMetric.PENSION_FUND_NET, latest.getPensionFund());
+        }
+    }
+
+    private void dispatch(AlertEvent alert) {
+        synchronized (recentAlerts) {
+            if (recentAlerts.size() >= RECENT_ALERT_LIMIT) {
+                recentAlerts.removeLast();
+            }
+            recentAlerts.addFirst(alert);
+        }
+        for (AlertNotifier notifier : notifiers) {
+            try {
+                notifier.notify(alert);
+            } catch (Exception e) {
+                // 알림 실패가 수집 파이프라인을 막지 않도록 로그만 남김
+                logger.error("Alert notifier {} failed for {}", notifier.getClass().getSimpleName(), alert.getRuleId(), e);
+            }
+        }
+    }
+}
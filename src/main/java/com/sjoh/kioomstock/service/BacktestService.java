@@ -0,0 +1,251 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.backtest.BacktestConfig;
+import com.sjoh.kioomstock.backtest.BacktestResult;
+import com.sjoh.kioomstock.backtest.Backtester;
+import com.sjoh.kioomstock.backtest.ParameterSweepTask;
+import com.sjoh.kioomstock.backtest.PriceSeries;
+import com.sjoh.kioomstock.backtest.RsiReversionStrategy;
+import com.sjoh.kioomstock.backtest.SmaCrossStrategy;
+import com.sjoh.kioomstock.backtest.Strategy;
+import com.sjoh.kioomstock.candle.DailyCandleCache;
+import com.sjoh.kioomstock.repository.StockPriceInfoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * 저장된 일봉/분 틱으로 전략을 검증하는 백테스트 서비스.
+ * 일봉은 DailyCandleCache(장마감 확정/백필 시 무효화)에서 받아 그때그때 컬럼형 배열로 바꾸고,
+ * 분 틱 시계열만 여기서 minute-cache-max-bytes 한도의 LRU 로 보관합니다. (/api/backtest/reload 로 비움)
+ * 파라미터 스윕은 전용 ForkJoinPool 에서 코어 수만큼 병렬 실행합니다.
+ */
+@Service
+public class BacktestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BacktestService.class);
+
+    public static final String DAILY = "daily";
+    public static final String MINUTE = "minute";
+
+    // 한 번의 스윕에서 만들 수 있는 최대 전략 수 (요청 파라미터로 메모리를 다 쓰지 않도록)
+    public static final int MAX_GRID_SIZE = 20_000;
+    // 그리드 범위 한도 - 루프 횟수가 요청 파라미터에 끌려가지 않도록 개수를 먼저 계산하기 위한 상한
+    public static final int MAX_PERIOD = 1_000;
+    public static final double MIN_LEVEL_STEP = 0.1;
+
+    private final DailyCandleCache dailyCandleCache;
+    private final StockPriceInfoRepository stockPriceInfoRepository;
+
+    private final long minuteCacheMaxBytes;
+
+    // accessOrder=true: 맨 앞이 가장 오래 안 쓴 종목
+    private final LinkedHashMap<String, PriceSeries> minuteSeriesCache = new LinkedHashMap<>(16, 0.75f, true);
+    private long minuteCacheBytes;
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public BacktestService(DailyCandleCache dailyCandleCache, StockPriceInfoRepository stockPriceInfoRepository,
+                           @Value("${kiwoom.backtest.minute-cache-max-bytes:134217728}") long minuteCacheMaxBytes) {
+        this.dailyCandleCache = dailyCandleCache;
+        this.stockPriceInfoRepository = stockPriceInfoRepository;
+        this.minuteCacheMaxBytes = minuteCacheMaxBytes;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public PriceSeries loadSeries(String stockCode, String timeframe) {
+        if (!MINUTE.equals(timeframe)) {
+            return PriceSeries.fromDailyCandles(dailyCandleCache.getSeries(stockCode));
+        }
+        synchronized (minuteSeriesCache) {
+            PriceSeries cached = minuteSeriesCache.get(stockCode);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        PriceSeries loaded = PriceSeries.fromTicks(stockCode, stockPriceInfoRepository.findByStockCode(stockCode, Sort.by(Sort.Direction.ASC, "time")));
+        putMinuteSeries(stockCode, loaded);
+        return loaded;
+    }
+
+    // 새로 수집된 분 틱을 반영하려면 캐시를 비우고 다시 로드
+    public void clearSeriesCache() {
+        synchronized (minuteSeriesCache) {
+            minuteSeriesCache.clear();
+            minuteCacheBytes = 0;
+        }
+    }
+
+    private void putMinuteSeries(String stockCode, PriceSeries series) {
+        synchronized (minuteSeriesCache) {
+            PriceSeries previous = minuteSeriesCache.put(stockCode, series);
+            if (previous != null) {
+                minuteCacheBytes -= previous.weightBytes();
+            }
+            minuteCacheBytes += series.weightBytes();
+
+            // 한도보다 크면 오래 안 쓴 종목부터 제거 (방금 넣은 종목 하나만 남으면 한도보다 커도 유지)
+            Iterator<PriceSeries> eldest = minuteSeriesCache.values().iterator();
+            while (minuteCacheBytes > minuteCacheMaxBytes && minuteSeriesCache.size() > 1) {
+                minuteCacheBytes -= eldest.next().weightBytes();
+                eldest.remove();
+            }
+        }
+    }
+
+    public BacktestResult run(String stockCode, String timeframe, Strategy strategy, BacktestConfig config) {
+        requireValid(config);
+        config.setKeepEquityCurve(true);
+        config.setPeriodsPerYear(periodsPerYear(timeframe));
+        return Backtester.run(loadSeries(stockCode, timeframe), strategy, config);
+    }
+
+    /**
+     * 전략 목록 x 종목 목록 전체를 병렬 실행하고 샤프지수 상위 top 개를 반환합니다.
+     */
+    public List<BacktestResult> sweep(List<String> stockCodes, String timeframe, List<Strategy> strategies, BacktestConfig config, int top) {
+        if (top < 1) {
+            throw new IllegalArgumentException("top must be at least 1: " + top);
+        }
+        requireValid(config);
+        config.setKeepEquityCurve(false);
+        config.setPeriodsPerYear(periodsPerYear(timeframe));
+
+        List<PriceSeries> seriesList = stockCodes.stream()
+                .map(code -> loadSeries(code, timeframe))
+                .filter(series -> series.length() > 1)
+                .collect(Collectors.toList());
+        if (seriesList.isEmpty() || strategies.isEmpty()) {
+            return List.of();
+        }
+
+        long start = System.nanoTime();
+        List<BacktestResult> results = pool.invoke(new ParameterSweepTask(strategies, seriesList, config));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Backtest sweep finished: {} runs ({} strategies x {} series) in {} ms",
+                results.size(), strategies.size(), seriesList.size(), elapsedMs);
+
+        return results.stream()
+                .sorted(Comparator.comparingDouble(BacktestResult::getSharpeRatio).reversed())
+                .limit(top)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 이동평균 교차 그리드. 범위를 검증하고 전략 수를 먼저 계산해 MAX_GRID_SIZE 를 넘으면 만들지 않습니다.
+     */
+    public static List<Strategy> smaCrossGrid(int fastMin, int fastMax, int slowMin, int slowMax, int step) {
+        requireRange("fast", fastMin, fastMax, 1, MAX_PERIOD);
+        requireRange("slow", slowMin, slowMax, 2, MAX_PERIOD);
+        requireRange("step", step, step, 1, MAX_PERIOD);
+
+        long size = 0;
+        for (int fast = fastMin; fast <= fastMax; fast += step) {
+            size += steps(Math.max(slowMin, fast + 1), slowMax, step);
+        }
+        requireGridSize(size);
+
+        List<Strategy> strategies = new ArrayList<>((int) size);
+        for (int fast = fastMin; fast <= fastMax; fast += step) {
+            for (int slow = Math.max(slowMin, fast + 1); slow <= slowMax; slow += step) {
+                strategies.add(new SmaCrossStrategy(fast, slow));
+            }
+        }
+        return strategies;
+    }
+
+    /**
+     * RSI 역추세 그리드. 레벨은 0~100, levelStep 은 MIN_LEVEL_STEP 이상이어야 하며,
+     * 누적 오차 없이 lowerMin + i * levelStep 으로 레벨을 만듭니다.
+     */
+    public static List<Strategy> rsiGrid(int periodMin, int periodMax, double lowerMin, double lowerMax, double upperMin, double upperMax, double levelStep) {
+        requireRange("period", periodMin, periodMax, 2, MAX_PERIOD);
+        requireRange("lower", lowerMin, lowerMax);
+        requireRange("upper", upperMin, upperMax);
+        // NaN/Infinity 도 여기서 걸러짐
+        if (!(levelStep >= MIN_LEVEL_STEP && levelStep <= 100)) {
+            throw new IllegalArgumentException("levelStep must be between " + MIN_LEVEL_STEP + " and 100: " + levelStep);
+        }
+
+        int lowers = levelCount(lowerMin, lowerMax, levelStep);
+        long size = 0;
+        for (int i = 0; i < lowers; i++) {
+            double lower = lowerMin + i * levelStep;
+            double upperStart = Math.max(upperMin, lower + levelStep);
+            size += upperStart <= upperMax ? levelCount(upperStart, upperMax, levelStep) : 0;
+        }
+        requireGridSize(size * (periodMax - periodMin + 1));
+
+        List<Strategy> strategies = new ArrayList<>();
+        for (int period = periodMin; period <= periodMax; period++) {
+            for (int i = 0; i < lowers; i++) {
+                double lower = lowerMin + i * levelStep;
+                double upperStart = Math.max(upperMin, lower + levelStep);
+                if (upperStart > upperMax) {
+                    continue;
+                }
+                int uppers = levelCount(upperStart, upperMax, levelStep);
+                for (int j = 0; j < uppers; j++) {
+                    strategies.add(new RsiReversionStrategy(period, lower, upperStart + j * levelStep));
+                }
+            }
+        }
+        return strategies;
+    }
+
+    static void requireValid(BacktestConfig config) {
+        // NaN 도 여기서 걸러짐
+        if (!(config.getPositionFraction() > 0 && config.getPositionFraction() <= 1)) {
+            throw new IllegalArgumentException("positionFraction must be in (0, 1]: " + config.getPositionFraction());
+        }
+    }
+
+    private static void requireRange(String name, int min, int max, int lowest, int highest) {
+        if (min < lowest || max > highest || min > max) {
+            throw new IllegalArgumentException(name + " range must satisfy " + lowest + " <= min <= max <= " + highest
+                    + ": " + min + ".." + max);
+        }
+    }
+
+    // RSI 레벨 (0~100)
+    private static void requireRange(String name, double min, double max) {
+        if (!(min >= 0 && max <= 100 && min <= max)) {
+            throw new IllegalArgumentException(name + " range must satisfy 0 <= min <= max <= 100: " + min + ".." + max);
+        }
+    }
+
+    private static void requireGridSize(long size) {
+        if (size > MAX_GRID_SIZE) {
+            throw new IllegalArgumentException("Parameter grid has " + size + " strategies, more than " + MAX_GRID_SIZE);
+        }
+    }
+
+    // from, from + step, ... <= to 의 개수 (from > to 면 0)
+    private static long steps(int from, int to, int step) {
+        return from > to ? 0 : (to - from) / step + 1;
+    }
+
+    // 부동소수 나눗셈 오차로 마지막 레벨이 빠지지 않도록 약간의 여유를 둠
+    private static int levelCount(double from, double to, double step) {
+        return (int) Math.floor((to - from) / step + 1e-9) + 1;
+    }
+
+    private double periodsPerYear(String timeframe) {
+        // 정규장 6시간 30분 = 390분
+        return MINUTE.equals(timeframe) ? 252 * 390 : 252;
+    }
+}
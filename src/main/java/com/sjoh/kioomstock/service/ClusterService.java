@@ -0,0 +1,208 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.event.LeadershipChangedEvent;
+import com.sjoh.kioomstock.repository.CollectorNodeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 여러 수집 인스턴스가 Postgres 의 collector_node 임대 테이블로 관심 종목을 나눠 맡습니다.
+ * - 각 노드는 주기적으로 하트비트를 갱신하고, lease-timeout 안에 갱신한 노드만 살아있는 멤버로 봅니다.
+ * - 종목 배정은 rendezvous(HRW) 해싱: 노드가 들어오거나 죽으면 해당 노드 몫만 옮겨갑니다.
+ * - 리더(살아있는 노드 중 nodeId 가 가장 작은 노드)만 계좌 갱신과 만료 노드 정리를 합니다.
+ * collector.cluster.enabled=false(기본)이면 단일 노드로 동작해 모든 종목을 맡고 항상 리더입니다.
+ */
+@Service
+public class ClusterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterService.class);
+
+    private final CollectorNodeRepository collectorNodeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Duration leaseTimeout;
+    private final String nodeId;
+    private final String host;
+
+    // 하트비트마다 통째로 교체 (읽기는 잠금 없이)
+    private volatile List<String> liveNodes;
+    private volatile boolean leader;
+    private boolean initialized;
+    // 하트비트는 DB 호출을 포함하므로 synchronized 대신 사용 (가상 스레드 고정 방지)
+    private final ReentrantLock heartbeatLock = new ReentrantLock();
+
+    public ClusterService(CollectorNodeRepository collectorNodeRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${collector.cluster.enabled:false}") boolean enabled,
+                          @Value("${collector.cluster.lease-timeout:30s}") Duration leaseTimeout) {
+        this.collectorNodeRepository = collectorNodeRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.leaseTimeout = leaseTimeout;
+        this.host = resolveHost();
+        this.nodeId = host + "-" + ProcessHandle.current().pid() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.liveNodes = List.of(nodeId);
+        this.leader = true;
+    }
+
+    // 수집/계좌 초기화보다 먼저 멤버십을 잡아야 하므로 가장 먼저 실행
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void join() {
+        if (!enabled) {
+            return;
+        }
+        logger.info("Joining collector cluster as {}", nodeId);
+        heartbeat();
+    }
+
+    @Scheduled(fixedDelayString = "${collector.cluster.heartbeat-interval-ms:10000}", initialDelayString = "${collector.cluster.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        heartbeatLock.lock();
+        try {
+            collectorNodeRepository.heartbeat(nodeId, host);
+            List<String> nodes = collectorNodeRepository.findLiveNodeIds(leaseTimeout.toMillis() / 1000.0);
+            if (!nodes.contains(nodeId)) {
+                // 방금 갱신했는데 안 보이면 DB 지연 등 - 자기 자신은 항상 포함
+                nodes = new ArrayList<>(nodes);
+                nodes.add(nodeId);
+                nodes.sort(null);
+            }
+            boolean wasLeader = leader;
+            boolean nowLeader = nodes.get(0).equals(nodeId);
+            if (!nodes.equals(liveNodes)) {
+                logger.info("Collector cluster membership changed: {} (leader: {})", nodes, nodes.get(0));
+            }
+            liveNodes = List.copyOf(nodes);
+            leader = nowLeader;
+
+            if (nowLeader) {
+                int expired = collectorNodeRepository.deleteExpired(leaseTimeout.toMillis() / 1000.0);
+                if (expired > 0) {
+                    logger.info("Removed {} expired collector nodes", expired);
+                }
+            }
+            if (initialized && wasLeader != nowLeader) {
+                logger.info("Collector leadership changed: leader={}", nowLeader);
+                eventPublisher.publishEvent(new LeadershipChangedEvent(nowLeader));
+            }
+            initialized = true;
+        } catch (Exception e) {
+            // 하트비트를 못 하면 다른 노드들이 곧 이 노드를 제외하므로, 이 노드도 스스로 아무 것도 맡지 않음
+            logger.error("Collector heartbeat failed; suspending collection until it recovers", e);
+            liveNodes = List.of();
+            if (leader) {
+                leader = false;
+                if (initialized) {
+                    eventPublisher.publishEvent(new LeadershipChangedEvent(false));
+                }
+            }
+        } finally {
+            heartbeatLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void leave() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // 임대 만료를 기다리지 않고 바로 재분배되도록 행 삭제
+            collectorNodeRepository.deleteById(nodeId);
+            logger.info("Left collector cluster: {}", nodeId);
+        } catch (Exception e) {
+            logger.warn("Failed to deregister collector node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public List<String> getLiveNodes() {
+        return liveNodes;
+    }
+
+    public boolean owns(String stockCode) {
+        return owns(stockCode, liveNodes);
+    }
+
+    // 이 노드가 맡은 종목만 남김 (순서 유지)
+    public List<String> filterOwned(List<String> stockCodes) {
+        if (!enabled) {
+            return stockCodes;
+        }
+        List<String> nodes = liveNodes;
+        List<String> owned = new ArrayList<>();
+        for (String code : stockCodes) {
+            if (owns(code, nodes)) {
+                owned.add(code);
+            }
+        }
+        return owned;
+    }
+
+    private boolean owns(String stockCode, List<String> nodes) {
+        if (!enabled) {
+            return true;
+        }
+        return nodeId.equals(ownerOf(stockCode, nodes));
+    }
+
+    // 점수가 가장 높은 노드가 담당 (노드 목록 순서와 무관, 빈 목록이면 null)
+    static String ownerOf(String stockCode, List<String> nodes) {
+        String owner = null;
+        long best = Long.MIN_VALUE;
+        for (String node : nodes) {
+            long score = score(node, stockCode);
+            if (owner == null || score > best) {
+                owner = node;
+                best = score;
+            }
+        }
+        return owner;
+    }
+
+    // rendezvous 해싱 가중치 (String.hashCode 를 64비트로 섞어 분포를 고르게)
+    static long score(String node, String stockCode) {
+        long h = node.hashCode() * 0x9E3779B97F4A7C15L + stockCode.hashCode();
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static String resolveHost() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
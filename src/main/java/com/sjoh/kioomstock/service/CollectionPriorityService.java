@@ -0,0 +1,108 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.collector.CollectionPriority;
+import com.sjoh.kioomstock.domain.AccountInfo;
+import com.sjoh.kioomstock.domain.AccountStockInfo;
+import com.sjoh.kioomstock.event.AccountInfoRefreshedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 종목별 수집 우선순위.
+ * 보유 종목(모든 계좌 스냅샷의 합집합)과 종목 지정 알림 규칙이 걸린 종목은 HIGH, 나머지 관심 종목은 NORMAL 입니다.
+ * 계좌 스냅샷이 갱신될 때마다 보유 종목 집합을 다시 계산합니다.
+ */
+@Service
+public class CollectionPriorityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CollectionPriorityService.class);
+
+    private final AccountService accountService;
+    private final AlertService alertService;
+
+    // 계좌 ID -> 보유 종목 (갱신은 updateHoldings 에서만, 동기화)
+    private final Map<String, Set<String>> heldCodesByAccount = new HashMap<>();
+
+    // 스냅샷 교체 방식 (읽기는 잠금 없이)
+    private volatile Set<String> heldCodes = Set.of();
+    private volatile Set<String> highPriorityCodes = Set.of();
+
+    public CollectionPriorityService(AccountService accountService, AlertService alertService) {
+        this.accountService = accountService;
+        this.alertService = alertService;
+        recompute();
+    }
+
+    // 초기 수집보다 먼저 마지막 계좌 스냅샷으로 우선순위를 잡아둠
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLastSnapshot() {
+        for (AccountInfo accountInfo : accountService.findLatestSnapshots()) {
+            updateHoldings(accountInfo);
+        }
+    }
+
+    @EventListener
+    public void onAccountInfoRefreshed(AccountInfoRefreshedEvent event) {
+        updateHoldings(event.getAccountInfo());
+    }
+
+    public CollectionPriority getPriority(String stockCode) {
+        return highPriorityCodes.contains(stockCode) ? CollectionPriority.HIGH : CollectionPriority.NORMAL;
+    }
+
+    public Set<String> getHighPriorityCodes() {
+        return highPriorityCodes;
+    }
+
+    /**
+     * 수집 순서: HIGH 종목(관심 종목에 없는 보유 종목 포함)을 앞에, 나머지 관심 종목을 뒤에 둡니다.
+     */
+    public List<String> orderForCollection(List<String> watchlist) {
+        Set<String> high = highPriorityCodes;
+        List<String> ordered = new ArrayList<>(high.size() + watchlist.size());
+        ordered.addAll(high);
+        for (String code : watchlist) {
+            if (!high.contains(code)) {
+                ordered.add(code);
+            }
+        }
+        return ordered;
+    }
+
+    private synchronized void updateHoldings(AccountInfo accountInfo) {
+        Set<String> held = new LinkedHashSet<>();
+        if (accountInfo.getStockInfos() != null) {
+            for (AccountStockInfo stock : accountInfo.getStockInfos()) {
+                if (stock.getRemainQty() > 0) {
+                    held.add(StockResponseParser.normalizeCode(stock.getStockCode()));
+                }
+            }
+        }
+        heldCodesByAccount.put(accountInfo.getAccountId(), held);
+        Set<String> union = new LinkedHashSet<>();
+        heldCodesByAccount.values().forEach(union::addAll);
+        heldCodes = Collections.unmodifiableSet(union);
+        recompute();
+    }
+
+    private void recompute() {
+        Set<String> high = new LinkedHashSet<>(heldCodes);
+        high.addAll(alertService.getAlertedStockCodes());
+        highPriorityCodes = Collections.unmodifiableSet(high);
+        logger.info("High priority collection codes updated: {} (held: {})", highPriorityCodes.size(), heldCodes.size());
+    }
+}
@@ -0,0 +1,265 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.collector.ApiRateLimiter;
+import com.sjoh.kioomstock.collector.CollectionPriority;
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import com.sjoh.kioomstock.market.MarketCalendar;
+import com.sjoh.kioomstock.market.MarketPhase;
+import com.sjoh.kioomstock.persistence.SymbolDictionary;
+import com.sjoh.kioomstock.repository.StockPriceInfoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 당일 분봉 누락 탐지/복구.
+ * 종목마다 개장부터 (지금 - grace) 까지 정규장 분을 비트맵으로 만들고, stock_price_info 에 행이 있는 분(분 단위 버킷 쿼리)을 지워
+ * 남은 분을 누락으로 봅니다. 누락이 있는 종목은 ka10046 시간별 응답을 다시 받아 빠진 분의 행만 채웁니다.
+ * - 복구 호출은 NORMAL 우선순위 한도를 쓰고, 한 번에 max-repairs-per-run 종목까지만 (누락이 많은 종목부터)
+ * - 종목별 당일 완전성(행이 있는 분 / 정규장 분)을 kiwoom.collect.completeness 게이지로 노출
+ * - 장중(정규장/종가 동시호가)에만 돌고, 마감 후에는 마지막 분까지 한 번 더 스캔한 뒤 다음 거래일까지 쉼
+ * - 복구 응답에 더 늦은 분은 있는데 해당 분이 없으면 체결이 없던 분으로 보고 당일에는 다시 요청하지 않음
+ * 복구된 행은 지난 시각이라 StockDataCollectedEvent 는 발행하지 않습니다.
+ */
+@Service
+public class GapRepairService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GapRepairService.class);
+
+    private final StockDataService stockDataService;
+    private final StockPriceInfoRepository stockPriceInfoRepository;
+    private final SymbolDictionary symbolDictionary;
+    private final MarketCalendar marketCalendar;
+    private final ClusterService clusterService;
+    private final ApiRateLimiter rateLimiter;
+    private final Scheduler persistenceScheduler;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration grace;
+    private final int maxRepairsPerRun;
+
+    // 종목별 마지막 스캔의 당일 완전성 (0.0 ~ 1.0)
+    private final Map<String, Double> completeness = new ConcurrentHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    // 종목별 복구 불가로 확인된 분 (개장 기준 분 오프셋) - 날짜가 바뀌면 비움
+    private final Map<String, BitSet> unrepairable = new ConcurrentHashMap<>();
+    private volatile LocalDate unrepairableDate;
+    private volatile LocalDate finalPassDate;     // 마감 후 마지막 스캔을 한 날
+    private final Counter minutesMissing;
+    private final Counter minutesRepaired;
+
+    public GapRepairService(StockDataService stockDataService, StockPriceInfoRepository stockPriceInfoRepository, SymbolDictionary symbolDictionary,
+                            MarketCalendar marketCalendar, ClusterService clusterService, ApiRateLimiter rateLimiter,
+                            Scheduler persistenceScheduler, MeterRegistry meterRegistry,
+                            @Value("${kiwoom.gap-repair.enabled:true}") boolean enabled,
+                            @Value("${kiwoom.gap-repair.grace:3m}") Duration grace,
+                            @Value("${kiwoom.gap-repair.max-repairs-per-run:20}") int maxRepairsPerRun) {
+        this.stockDataService = stockDataService;
+        this.stockPriceInfoRepository = stockPriceInfoRepository;
+        this.symbolDictionary = symbolDictionary;
+        this.marketCalendar = marketCalendar;
+        this.clusterService = clusterService;
+        this.rateLimiter = rateLimiter;
+        this.persistenceScheduler = persistenceScheduler;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.grace = grace;
+        this.maxRepairsPerRun = maxRepairsPerRun;
+        this.minutesMissing = meterRegistry.counter("kiwoom.collect.gap.minutes.detected");
+        this.minutesRepaired = meterRegistry.counter("kiwoom.collect.gap.minutes.repaired");
+    }
+
+    @Scheduled(fixedDelayString = "${kiwoom.gap-repair.interval-ms:300000}", initialDelayString = "${kiwoom.gap-repair.interval-ms:300000}")
+    public void scanAndRepair() {
+        if (enabled) {
+            scanAndRepair(LocalDateTime.now());
+        }
+    }
+
+    void scanAndRepair(LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        if (!marketCalendar.isTradingDay(today)) {
+            return;
+        }
+        LocalDateTime start = LocalDateTime.of(today, marketCalendar.getOpen(today));
+        LocalDateTime close = LocalDateTime.of(today, marketCalendar.getClose(today));
+        LocalDateTime scanned = now.minus(grace).truncatedTo(ChronoUnit.MINUTES);
+        // 장중이 아니면 마감 후 (마지막 분이 grace 만큼 지난 뒤) 한 번만
+        boolean finalPass = !marketCalendar.getPhase(now).isTrading();
+        if (finalPass && (scanned.isBefore(close) || today.equals(finalPassDate))) {
+            return;
+        }
+        LocalDateTime end = scanned.isBefore(close) ? scanned : close;
+        int minutes = (int) Duration.between(start, end).toMinutes();
+        if (minutes <= 0) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            logger.debug("Previous gap repair still running, skipping");
+            return;
+        }
+        if (finalPass) {
+            finalPassDate = today;
+        }
+        if (!today.equals(unrepairableDate)) {
+            unrepairable.clear();
+            unrepairableDate = today;
+        }
+
+        List<DayGaps> gaps;
+        try {
+            gaps = scan(clusterService.filterOwned(stockDataService.getTargetStockCodes()), start, end, expectedMinutes(start, minutes));
+        } catch (Exception e) {
+            running.set(false);
+            logger.warn("Gap scan failed: {}", e.toString());
+            return;
+        }
+
+        List<DayGaps> toRepair = gaps.stream()
+                .filter(gap -> !gap.missing.isEmpty())
+                .sorted(Comparator.comparingInt((DayGaps gap) -> gap.missing.cardinality()).reversed())
+                .limit(maxRepairsPerRun)
+                .toList();
+        if (toRepair.isEmpty()) {
+            running.set(false);
+            return;
+        }
+        logger.info("Repairing intraday gaps for {} stocks ({} with gaps)", toRepair.size(),
+                gaps.stream().filter(gap -> !gap.missing.isEmpty()).count());
+
+        Flux.fromIterable(toRepair)
+                .concatMap(gap -> rateLimiter.acquire(CollectionPriority.NORMAL, 1)
+                        .then(Mono.defer(() -> stockDataService.fetchVolumePowerHistory(gap.stockCode)))
+                        .publishOn(persistenceScheduler)
+                        .map(history -> repair(gap, history)))
+                .reduce(0L, Long::sum)
+                .doFinally(signal -> running.set(false))
+                .subscribe(
+                        repaired -> logger.info("Gap repair filled {} minutes", repaired),
+                        error -> logger.error("Gap repair failed", error));
+    }
+
+    /**
+     * 종목별 당일 완전성. 아직 스캔하지 않은 종목은 없음.
+     */
+    public Map<String, Double> getCompleteness() {
+        return Map.copyOf(completeness);
+    }
+
+    // 개장부터 minutes 분 중 정규장(접속매매) 분만 1 - 동시호가 구간은 체결이 없어 제외
+    private BitSet expectedMinutes(LocalDateTime start, int minutes) {
+        BitSet expected = new BitSet(minutes);
+        for (int i = 0; i < minutes; i++) {
+            if (marketCalendar.getPhase(start.plusMinutes(i)) == MarketPhase.REGULAR) {
+                expected.set(i);
+            }
+        }
+        return expected;
+    }
+
+    private List<DayGaps> scan(List<String> codes, LocalDateTime start, LocalDateTime end, BitSet expected) {
+        int expectedCount = expected.cardinality();
+        if (expectedCount == 0) {
+            return List.of();
+        }
+        List<DayGaps> result = new ArrayList<>(codes.size());
+        for (String code : codes) {
+            BitSet missing = (BitSet) expected.clone();
+            for (Integer offset : stockPriceInfoRepository.findMinuteOffsets(code, start, end)) {
+                if (offset != null && offset >= 0) {
+                    missing.clear(offset);
+                }
+            }
+            int missingCount = missing.cardinality();
+            updateCompleteness(code, (double) (expectedCount - missingCount) / expectedCount);
+            // 완전성에는 반영하되, 복구 불가로 확인된 분은 다시 요청하지 않음
+            BitSet known = unrepairable.get(code);
+            if (known != null) {
+                missing.andNot(known);
+            }
+            if (!missing.isEmpty()) {
+                minutesMissing.increment(missing.cardinality());
+                logger.debug("{} is missing {} of {} minutes on {} ({} repairable)", code, missingCount, expectedCount,
+                        start.toLocalDate(), missing.cardinality());
+            }
+            result.add(new DayGaps(code, start, expectedCount, missingCount, missing));
+        }
+        return result;
+    }
+
+    // 응답 행 중 비어 있던 분의 첫 행만 저장하고, 채운 분 수를 반환
+    private long repair(DayGaps gap, List<StockPriceInfo> history) {
+        BitSet remaining = (BitSet) gap.missing.clone();
+        List<StockPriceInfo> rows = new ArrayList<>();
+        long latest = -1;
+        for (StockPriceInfo info : history) {
+            if (!info.getTime().toLocalDate().equals(gap.start.toLocalDate())) {
+                continue;
+            }
+            long offset = Duration.between(gap.start, info.getTime()).toMinutes();
+            if (offset >= 0 && offset < Integer.MAX_VALUE) {
+                latest = Math.max(latest, offset);
+                if (remaining.get((int) offset)) {
+                    remaining.clear((int) offset);
+                    rows.add(info);
+                }
+            }
+        }
+        // 응답의 마지막 분보다 이른데도 없는 분은 체결이 없던 분 - 이후 분은 아직 응답에 안 실렸을 수 있으므로 남겨둠
+        BitSet noTrades = remaining.get(0, (int) latest + 1);
+        if (!noTrades.isEmpty()) {
+            unrepairable.computeIfAbsent(gap.stockCode, k -> new BitSet()).or(noTrades);
+            logger.debug("{} has {} minutes without trades, not requesting them again today", gap.stockCode, noTrades.cardinality());
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        try {
+            symbolDictionary.register(gap.stockCode);
+            stockPriceInfoRepository.saveAll(rows);
+        } catch (DataIntegrityViolationException e) {
+            // 그 사이 수집 주기가 같은 시각을 저장함 - 다음 스캔에서 다시 계산
+            logger.debug("Gap repair for {} raced with collection: {}", gap.stockCode, e.getMessage());
+            return 0;
+        }
+        minutesRepaired.increment(rows.size());
+        int missingCount = gap.missingCount - rows.size();
+        updateCompleteness(gap.stockCode, (double) (gap.expectedCount - missingCount) / gap.expectedCount);
+        logger.info("Repaired {} missing minutes for {} ({} still missing)", rows.size(), gap.stockCode, missingCount);
+        return rows.size();
+    }
+
+    private void updateCompleteness(String code, double ratio) {
+        if (completeness.put(code, ratio) == null) {
+            Gauge.builder("kiwoom.collect.completeness", completeness, values -> values.getOrDefault(code, Double.NaN))
+                    .tag("stock_code", code)
+                    .description("Share of today's regular-session minutes that have a stock_price_info row")
+                    .register(meterRegistry);
+        }
+    }
+
+    // missingCount: 행이 없는 분 수, missing: 그중 복구를 요청할 분
+    private record DayGaps(String stockCode, LocalDateTime start, int expectedCount, int missingCount, BitSet missing) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.candle.DailyCandleCache;
+import com.sjoh.kioomstock.candle.DailyCandleSeries;
+import com.sjoh.kioomstock.domain.StockDailyCandle;
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import com.sjoh.kioomstock.event.StockDataCollectedEvent;
+import com.sjoh.kioomstock.indicator.IndicatorSnapshot;
+import com.sjoh.kioomstock.indicator.IndicatorState;
+import com.sjoh.kioomstock.repository.StockPriceInfoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 수집되는 틱마다 기술적 지표를 증분 계산하는 엔진.
+ * - intraday: StockPriceInfo(분 단위 체결강도 틱) 기준
+ * - daily: 마감된 StockDailyCandle 종가 기준 (오늘 일봉은 장중에 계속 바뀌므로 제외)
+ * 서버 시작 시 저장된 틱/일봉으로 상태를 재구성하고, 이후에는 수집 이벤트로만 갱신합니다.
+ */
+@Service
+public class IndicatorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndicatorService.class);
+
+    public static final String INTRADAY = "intraday";
+    public static final String DAILY = "daily";
+
+    private final StockDataService stockDataService;
+    private final StockPriceInfoRepository stockPriceInfoRepository;
+    private final DailyCandleCache dailyCandleCache;
+
+    private final Map<String, IndicatorState> intradayStates = new ConcurrentHashMap<>();
+    private final Map<String, IndicatorState> dailyStates = new ConcurrentHashMap<>();
+
+    public IndicatorService(StockDataService stockDataService, StockPriceInfoRepository stockPriceInfoRepository, DailyCandleCache dailyCandleCache) {
+        this.stockDataService = stockDataService;
+        this.stockPriceInfoRepository = stockPriceInfoRepository;
+        this.dailyCandleCache = dailyCandleCache;
+    }
+
+    // 초기 수집(initDataCollection)보다 먼저 상태를 재구성해야 하므로 가장 먼저 실행
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildStates() {
+        for (String code : stockDataService.getTargetStockCodes()) {
+            try {
+                // 어제까지의 일봉은 캐시에 올려두고 차트/백테스트와 함께 씀 (종가도 부호가 붙어 있으므로 절대값)
+                IndicatorState daily = new IndicatorState();
+                DailyCandleSeries history = dailyCandleCache.getHistory(code);
+                long[] close = history.getClose();
+                for (int i = 0; i < history.length(); i++) {
+                    daily.update(history.dateAt(i).atStartOfDay(), Math.abs(close[i]), 0);
+                }
+
+                // 최근 틱만 있으면 충분 (가장 긴 EMA/시그널 기간보다 넉넉하게)
+                List<StockPriceInfo> recent = new ArrayList<>(stockPriceInfoRepository.findTop200ByStockCodeOrderByTimeDesc(code));
+                Collections.reverse(recent);
+                IndicatorState intraday = new IndicatorState();
+                for (StockPriceInfo info : recent) {
+                    intraday.update(info.getTime(), Math.abs(info.getCurrentPrice()), info.getVolume());
+                }
+
+                dailyStates.put(code, daily);
+                intradayStates.put(code, intraday);
+                logger.info("Rebuilt indicator state for {} (ticks: {})", code, recent.size());
+            } catch (Exception e) {
+                logger.error("Failed to rebuild indicator state for {}", code, e);
+            }
+        }
+    }
+
+    @EventListener
+    public void onStockDataCollected(StockDataCollectedEvent event) {
+        String code = event.getStockCode();
+
+        if (!event.getPriceInfos().isEmpty()) {
+            IndicatorState state = intradayStates.computeIfAbsent(code, k -> new IndicatorState());
+            synchronized (state) {
+                for (StockPriceInfo info : event.getPriceInfos()) {
+                    // 현재가는 부호(+/-)가 붙어 들어오므로 절대값 사용
+                    state.update(info.getTime(), Math.abs(info.getCurrentPrice()), info.getVolume());
+                }
+            }
+        }
+
+        if (!event.getDailyCandles().isEmpty()) {
+            LocalDate today = LocalDate.now();
+            IndicatorState state = dailyStates.computeIfAbsent(code, k -> new IndicatorState());
+            synchronized (state) {
+                event.getDailyCandles().stream()
+                        .filter(candle -> candle.getDate().isBefore(today))
+                        .sorted(Comparator.comparing(StockDailyCandle::getDate))
+                        .forEach(candle -> state.update(candle.getDate().atStartOfDay(), Math.abs(candle.getClosePrice()), 0));
+            }
+        }
+    }
+
+    public IndicatorSnapshot getIntraday(String stockCode) {
+        return snapshot(intradayStates.get(stockCode), stockCode, INTRADAY);
+    }
+
+    public IndicatorSnapshot getDaily(String stockCode) {
+        return snapshot(dailyStates.get(stockCode), stockCode, DAILY);
+    }
+
+    public Map<String, IndicatorSnapshot> getIndicators(String stockCode) {
+        Map<String, IndicatorSnapshot> result = new LinkedHashMap<>();
+        result.put(INTRADAY, getIntraday(stockCode));
+        result.put(DAILY, getDaily(stockCode));
+        return result;
+    }
+
+    public Map<String, IndicatorSnapshot> getAllIntraday() {
+        Map<String, IndicatorSnapshot> result = new LinkedHashMap<>();
+        intradayStates.keySet().stream().sorted().forEach(code -> result.put(code, getIntraday(code)));
+        return result;
+    }
+
+    private IndicatorSnapshot snapshot(IndicatorState state, String stockCode, String timeframe) {
+        if (state == null) {
+            return IndicatorSnapshot.builder().stockCode(stockCode).timeframe(timeframe).build();
+        }
+        synchronized (state) {
+            return state.snapshot(stockCode, timeframe);
+        }
+    }
+}
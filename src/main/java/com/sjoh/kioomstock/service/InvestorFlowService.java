@@ -0,0 +1,126 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.domain.StockInvestor;
+import com.sjoh.kioomstock.event.StockDataCollectedEvent;
+import com.sjoh.kioomstock.investor.CategoryFlow;
+import com.sjoh.kioomstock.investor.FlowWindow;
+import com.sjoh.kioomstock.investor.InvestorCategory;
+import com.sjoh.kioomstock.investor.InvestorFlowState;
+import com.sjoh.kioomstock.investor.InvestorFlowSummary;
+import com.sjoh.kioomstock.investor.NetBuyerRow;
+import com.sjoh.kioomstock.repository.StockInvestorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 투자자별 순매수 흐름 분석.
+ * 종목별 InvestorFlowState 를 수집 이벤트로 증분 갱신하고,
+ * "카테고리별 순매수 상위 종목" 조회는 메모리 상태만으로 처리합니다. (stock_investor 재조회 없음)
+ */
+@Service
+public class InvestorFlowService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvestorFlowService.class);
+
+    // 60 거래일 + 휴장일 여유
+    private static final int REBUILD_CALENDAR_DAYS = 100;
+
+    private final StockInvestorRepository stockInvestorRepository;
+    private final Map<String, InvestorFlowState> states = new ConcurrentHashMap<>();
+
+    public InvestorFlowService(StockInvestorRepository stockInvestorRepository) {
+        this.stockInvestorRepository = stockInvestorRepository;
+    }
+
+    // 초기 수집보다 먼저 저장된 스냅샷으로 상태를 재구성
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildStates() {
+        List<StockInvestor> investors = stockInvestorRepository.findByDateGreaterThanEqualOrderByTimeAsc(LocalDate.now().minusDays(REBUILD_CALENDAR_DAYS));
+        // 같은 거래일 스냅샷이 여러 번 있어도 시간순으로 덮어쓰므로 마지막 값이 남음
+        investors.sort(Comparator.comparing(StockInvestor::getDate).thenComparing(StockInvestor::getTime));
+        for (StockInvestor investor : investors) {
+            apply(investor);
+        }
+        logger.info("Rebuilt investor flow state for {} stocks from {} snapshots", states.size(), investors.size());
+    }
+
+    @EventListener
+    public void onStockDataCollected(StockDataCollectedEvent event) {
+        for (StockInvestor investor : event.getInvestors()) {
+            apply(investor);
+        }
+    }
+
+    public List<NetBuyerRow> topNetBuyers(InvestorCategory category, FlowWindow window, int top, boolean ascending) {
+        Comparator<NetBuyerRow> comparator = Comparator.comparingLong(NetBuyerRow::getNetBuy);
+        if (ascending) {
+            comparator = comparator.reversed();
+        }
+        // 크기 top 의 최소 힙으로 상위 top 개만 유지 (종목 수 N 에 대해 O(N log top))
+        PriorityQueue<NetBuyerRow> heap = new PriorityQueue<>(Math.max(1, top), comparator);
+        states.forEach((code, state) -> {
+            long value;
+            synchronized (state) {
+                value = state.get(category, window);
+            }
+            heap.offer(NetBuyerRow.builder().stockCode(code).category(category).window(window).netBuy(value).build());
+            if (heap.size() > top) {
+                heap.poll();
+            }
+        });
+        List<NetBuyerRow> result = new ArrayList<>(heap);
+        result.sort(comparator.reversed());
+        return result;
+    }
+
+    public InvestorFlowSummary getSummary(String stockCode) {
+        InvestorFlowState state = states.get(stockCode);
+        if (state == null) {
+            return InvestorFlowSummary.builder().stockCode(stockCode).categories(List.of()).build();
+        }
+        synchronized (state) {
+            List<CategoryFlow> categories = new ArrayList<>(InvestorCategory.COUNT);
+            for (InvestorCategory category : InvestorCategory.values()) {
+                categories.add(CategoryFlow.builder()
+                        .category(category)
+                        .label(category.getLabel())
+                        .today(state.get(category, FlowWindow.TODAY))
+                        .sum5Days(state.get(category, FlowWindow.D5))
+                        .sum20Days(state.get(category, FlowWindow.D20))
+                        .sum60Days(state.get(category, FlowWindow.D60))
+                        .cumulative(state.get(category, FlowWindow.CUMULATIVE))
+                        .dailySeries(state.getDailySeries(category))
+                        .intradaySeries(state.getIntradaySeries(category))
+                        .build());
+            }
+            return InvestorFlowSummary.builder()
+                    .stockCode(stockCode)
+                    .date(state.getCurrentDate())
+                    .lastSnapshotTime(state.getLastSnapshotTime())
+                    .intradayMinutes(state.getIntradayMinutes())
+                    .categories(categories)
+                    .build();
+        }
+    }
+
+    private void apply(StockInvestor investor) {
+        InvestorFlowState state = states.computeIfAbsent(investor.getStockCode(), k -> new InvestorFlowState());
+        synchronized (state) {
+            state.apply(investor);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.sjoh.kioomstock.service;
 
+import com.sjoh.kioomstock.config.KiwoomAccountProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,59 +10,112 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 계좌별 OAuth 토큰 발급/보관.
+ * 계좌마다 앱키가 다르므로 토큰도 계좌 단위로 캐시합니다. 계좌를 지정하지 않는 호출(시세 수집, 실시간 시세)은
+ * 첫 번째 계좌(기본 계좌)의 토큰을 씁니다.
+ */
 @Service
 public class KiwoomAuthService {
 
     private static final Logger logger = LoggerFactory.getLogger(KiwoomAuthService.class);
 
-    private final WebClient webClient;
+    public static final String DEFAULT_ACCOUNT_ID = "default";
 
-    @Value("${kiwoom.api.key:}")
-    private String apiKey;
+    private final WebClient webClient;
 
-    @Value("${kiwoom.api.secret:}")
-    private String apiSecret;
+    // 계좌 ID -> 자격증명 (설정 순서 유지, 첫 항목이 기본 계좌)
+    private final Map<String, KiwoomAccountProperties.Credential> credentials;
+    private final String defaultAccountId;
 
-    // 발급받은 토큰을 메모리에 저장
-    private String cachedToken;
+    // 발급받은 토큰을 계좌별로 메모리에 저장
+    private final Map<String, String> cachedTokens = new ConcurrentHashMap<>();
 
-    public KiwoomAuthService(WebClient webClient) {
+    public KiwoomAuthService(WebClient webClient, KiwoomAccountProperties accountProperties,
+                             @Value("${kiwoom.api.key:}") String apiKey,
+                             @Value("${kiwoom.api.secret:}") String apiSecret) {
         this.webClient = webClient;
+        this.credentials = buildCredentials(accountProperties.getCredentials(), apiKey, apiSecret);
+        this.defaultAccountId = credentials.keySet().iterator().next();
     }
 
     @PostConstruct
     public void init() {
-        if (apiKey.isEmpty() || apiSecret.isEmpty()) {
+        List<String> accountIds = getAccountIds();
+        if (accountIds.isEmpty()) {
             logger.warn("API Key or Secret is not configured. Skipping token initialization.");
             return;
         }
-        refreshAccessToken().subscribe(
-                token -> logger.info("Successfully initialized OAuth token."),
-                error -> logger.error("Failed to initialize OAuth token", error)
-        );
+        for (String accountId : accountIds) {
+            refreshAccessToken(accountId).subscribe(
+                    token -> logger.info("Successfully initialized OAuth token for account {}", accountId),
+                    error -> logger.error("Failed to initialize OAuth token for account {}", accountId, error)
+            );
+        }
+    }
+
+    /**
+     * 키/시크릿이 설정된 계좌 ID 목록 (설정 순서).
+     */
+    public List<String> getAccountIds() {
+        List<String> ids = new ArrayList<>();
+        credentials.forEach((id, credential) -> {
+            if (isConfigured(credential)) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    public String getDefaultAccountId() {
+        return defaultAccountId;
+    }
+
+    /**
+     * 비어 있는 계좌 ID(계좌 구분 전 스냅샷/녹화 데이터)는 기본 계좌로 봅니다.
+     */
+    public String resolveAccountId(String accountId) {
+        return accountId == null || accountId.isBlank() ? defaultAccountId : accountId;
     }
 
     /**
-     * 유효한 토큰을 반환합니다.
+     * 기본 계좌의 유효한 토큰을 반환합니다.
      * 토큰이 없으면 새로 발급받습니다. (만료 처리는 별도 로직 필요)
      */
     public Mono<String> getAccessToken() {
+        return getAccessToken(defaultAccountId);
+    }
+
+    public Mono<String> getAccessToken(String accountId) {
+        String cachedToken = cachedTokens.get(accountId);
         if (cachedToken != null && !cachedToken.isEmpty()) {
             return Mono.just(cachedToken);
         }
-        return refreshAccessToken();
+        return refreshAccessToken(accountId);
     }
 
     public Mono<String> refreshAccessToken() {
-        logger.info("refreshAccessToken CALL");
+        return refreshAccessToken(defaultAccountId);
+    }
+
+    public Mono<String> refreshAccessToken(String accountId) {
+        KiwoomAccountProperties.Credential credential = credentials.get(accountId);
+        if (credential == null) {
+            return Mono.error(new IllegalArgumentException("Unknown account: " + accountId));
+        }
+        logger.info("refreshAccessToken CALL (account: {})", accountId);
         // JSON 요청을 위해 Map 사용 (MultiValueMap은 배열로 직렬화될 수 있음)
         Map<String, String> body = new HashMap<>();
         body.put("grant_type", "client_credentials");
-        body.put("appkey", apiKey);
-        body.put("secretkey", apiSecret);
+        body.put("appkey", credential.getKey());
+        body.put("secretkey", credential.getSecret());
 
         return webClient.post()
                 .uri("/oauth2/token")
@@ -72,11 +126,39 @@ public class KiwoomAuthService {
                 .map(response -> {
                     String token = (String) response.get("token");
                     if (token == null) {
-                        logger.error("Failed to retrieve access token. Response: {}", response);
+                        logger.error("Failed to retrieve access token for account {}. Response: {}", accountId, response);
                         throw new RuntimeException("Access token not found in response: " + response);
                     }
-                    this.cachedToken = token;
+                    cachedTokens.put(accountId, token);
                     return token;
                 });
     }
+
+    // kiwoom.account.credentials 가 비어 있으면 kiwoom.api.key/secret 을 기본 계좌로 사용
+    private static Map<String, KiwoomAccountProperties.Credential> buildCredentials(
+            List<KiwoomAccountProperties.Credential> configured, String apiKey, String apiSecret) {
+        Map<String, KiwoomAccountProperties.Credential> result = new LinkedHashMap<>();
+        if (configured == null || configured.isEmpty()) {
+            KiwoomAccountProperties.Credential fallback = new KiwoomAccountProperties.Credential();
+            fallback.setId(DEFAULT_ACCOUNT_ID);
+            fallback.setKey(apiKey);
+            fallback.setSecret(apiSecret);
+            result.put(DEFAULT_ACCOUNT_ID, fallback);
+            return result;
+        }
+        for (KiwoomAccountProperties.Credential credential : configured) {
+            if (credential.getId() == null || credential.getId().isBlank()) {
+                throw new IllegalArgumentException("kiwoom.account.credentials[].id must not be blank");
+            }
+            if (result.putIfAbsent(credential.getId(), credential) != null) {
+                throw new IllegalArgumentException("Duplicate kiwoom.account.credentials id: " + credential.getId());
+            }
+        }
+        return result;
+    }
+
+    private static boolean isConfigured(KiwoomAccountProperties.Credential credential) {
+        return credential.getKey() != null && !credential.getKey().isEmpty()
+                && credential.getSecret() != null && !credential.getSecret().isEmpty();
+    }
 }
@@ -0,0 +1,216 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.domain.AccountInfo;
+import com.sjoh.kioomstock.domain.AccountStockInfo;
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import com.sjoh.kioomstock.event.AccountInfoRefreshedEvent;
+import com.sjoh.kioomstock.event.StockDataCollectedEvent;
+import com.sjoh.kioomstock.portfolio.PortfolioValuation;
+import com.sjoh.kioomstock.portfolio.PositionValuation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 보유 종목 실시간 평가.
+ * 계좌 스냅샷(kt00004)이 갱신될 때 계좌별로 보유수량/평균단가를 배열로 적재하고,
+ * 이후에는 수집된 현재가만으로 평가금액/손익 합계를 틱당 O(계좌 수)로 갱신합니다. (계좌 API 호출, DB 쓰기 없음)
+ */
+@Service
+public class PortfolioValuationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioValuationService.class);
+
+    private final AccountService accountService;
+
+    // 계좌 ID -> 보유 종목 배열 (스냅샷 적재 순서 유지)
+    private final Map<String, Book> books = new LinkedHashMap<>();
+
+    public PortfolioValuationService(AccountService accountService) {
+        this.accountService = accountService;
+    }
+
+    // 서버 시작 시 DB에 남아있는 계좌별 마지막 스냅샷으로 초기화 (계좌 API 응답 전에도 평가 가능하도록)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLastSnapshot() {
+        for (AccountInfo accountInfo : accountService.findLatestSnapshots()) {
+            load(accountInfo);
+        }
+    }
+
+    @EventListener
+    public void onAccountInfoRefreshed(AccountInfoRefreshedEvent event) {
+        load(event.getAccountInfo());
+    }
+
+    @EventListener
+    public void onStockDataCollected(StockDataCollectedEvent event) {
+        List<StockPriceInfo> priceInfos = event.getPriceInfos();
+        if (priceInfos.isEmpty()) {
+            return;
+        }
+        StockPriceInfo latest = priceInfos.get(priceInfos.size() - 1);
+        updatePrice(event.getStockCode(), Math.abs(latest.getCurrentPrice()), latest.getTime());
+    }
+
+    public synchronized void load(AccountInfo accountInfo) {
+        Book book = new Book(accountInfo);
+        books.put(accountInfo.getAccountId(), book);
+        logger.info("Loaded {} positions of account {} for live valuation (eval: {})",
+                book.codes.length, accountInfo.getAccountId(), book.totalEval);
+    }
+
+    public synchronized void updatePrice(String stockCode, long price, LocalDateTime time) {
+        if (price <= 0) {
+            return;
+        }
+        for (Book book : books.values()) {
+            book.updatePrice(stockCode, price, time);
+        }
+    }
+
+    // 어느 계좌든 보유 중이면 true
+    public synchronized boolean isHeld(String stockCode) {
+        for (Book book : books.values()) {
+            if (book.indexByCode.containsKey(stockCode)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 계좌별 실시간 평가 (스냅샷 적재 순서).
+     */
+    public synchronized List<PortfolioValuation> getValuations() {
+        List<PortfolioValuation> valuations = new ArrayList<>(books.size());
+        for (Map.Entry<String, Book> entry : books.entrySet()) {
+            valuations.add(entry.getValue().valuation(entry.getKey()));
+        }
+        return valuations;
+    }
+
+    /**
+     * 한 계좌의 실시간 평가. 스냅샷이 아직 없으면 null.
+     */
+    public synchronized PortfolioValuation getValuation(String accountId) {
+        Book book = books.get(accountId);
+        return book != null ? book.valuation(accountId) : null;
+    }
+
+    private double rate(long profitLoss, long base) {
+        return base == 0 ? 0.0 : Math.round(profitLoss * 10000.0 / base) / 100.0;
+    }
+
+    // 한 계좌의 보유 종목 배열과 합계 (호출 측에서 동기화)
+    private final class Book {
+
+        // 종목코드 -> 배열 인덱스들 (현금/신용 잔고처럼 한 계좌에 같은 종목이 여러 줄로 올 수 있음)
+        private final Map<String, int[]> indexByCode = new HashMap<>();
+        private final String[] codes;
+        private final String[] names;
+        private final long[] quantities;
+        private final double[] avgPrices;
+        private final long[] lastPrices;
+
+        private final String accountName;
+        private final long deposit;
+        private final double totalPurchase;
+        private long totalEval;
+        private final LocalDateTime snapshotTime;
+        private LocalDateTime updatedAt;
+
+        Book(AccountInfo accountInfo) {
+            List<AccountStockInfo> stockInfos = accountInfo.getStockInfos();
+            int n = stockInfos.size();
+            codes = new String[n];
+            names = new String[n];
+            quantities = new long[n];
+            avgPrices = new double[n];
+            lastPrices = new long[n];
+            double purchase = 0;
+            long eval = 0;
+            Map<String, List<Integer>> lines = new HashMap<>();
+
+            for (int i = 0; i < n; i++) {
+                AccountStockInfo stock = stockInfos.get(i);
+                codes[i] = StockResponseParser.normalizeCode(stock.getStockCode());
+                names[i] = stock.getStockName();
+                quantities[i] = stock.getRemainQty();
+                avgPrices[i] = stock.getAvgPrice();
+                lastPrices[i] = Math.abs(stock.getCurrentPrice());
+                lines.computeIfAbsent(codes[i], k -> new ArrayList<>(1)).add(i);
+                purchase += quantities[i] * avgPrices[i];
+                eval += quantities[i] * lastPrices[i];
+            }
+            lines.forEach((code, indices) -> indexByCode.put(code, indices.stream().mapToInt(Integer::intValue).toArray()));
+
+            accountName = accountInfo.getAccountName();
+            deposit = accountInfo.getDeposit();
+            totalPurchase = purchase;
+            totalEval = eval;
+            snapshotTime = LocalDateTime.now();
+            updatedAt = snapshotTime;
+        }
+
+        void updatePrice(String stockCode, long price, LocalDateTime time) {
+            int[] indices = indexByCode.get(stockCode);
+            if (indices == null) {
+                return;
+            }
+            for (int i : indices) {
+                totalEval += quantities[i] * (price - lastPrices[i]);
+                lastPrices[i] = price;
+            }
+            updatedAt = time != null ? time : LocalDateTime.now();
+        }
+
+        PortfolioValuation valuation(String accountId) {
+            List<PositionValuation> positions = new ArrayList<>(codes.length);
+            for (int i = 0; i < codes.length; i++) {
+                long purchaseAmount = Math.round(quantities[i] * avgPrices[i]);
+                long evalAmount = quantities[i] * lastPrices[i];
+                long profitLoss = evalAmount - purchaseAmount;
+                positions.add(PositionValuation.builder()
+                        .stockCode(codes[i])
+                        .stockName(names[i])
+                        .quantity(quantities[i])
+                        .avgPrice(avgPrices[i])
+                        .currentPrice(lastPrices[i])
+                        .purchaseAmount(purchaseAmount)
+                        .evalAmount(evalAmount)
+                        .profitLoss(profitLoss)
+                        .profitLossRate(rate(profitLoss, purchaseAmount))
+                        .build());
+            }
+
+            long purchase = Math.round(totalPurchase);
+            long profitLoss = totalEval - purchase;
+            return PortfolioValuation.builder()
+                    .accountId(accountId)
+                    .accountName(accountName)
+                    .deposit(deposit)
+                    .totalPurchaseAmount(purchase)
+                    .totalEvalAmount(totalEval)
+                    .totalProfitLoss(profitLoss)
+                    .totalProfitLossRate(rate(profitLoss, purchase))
+                    .estimatedAsset(deposit + totalEval)
+                    .snapshotTime(snapshotTime)
+                    .updatedAt(updatedAt)
+                    .positions(positions)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.sjoh.kioomstock.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sjoh.kioomstock.recording.RecordedResponse;
+import com.sjoh.kioomstock.recording.ReplayStatus;
+import com.sjoh.kioomstock.recording.ResponseRecorder;
+import com.sjoh.kioomstock.recording.SegmentReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 녹화된 응답 세그먼트를 실시간 수집과 같은 파싱/저장 경로로 다시 흘려보냅니다.
+ * speed=1 이면 녹화 당시 간격대로, speed=0 이면 대기 없이 최대 속도로 재생합니다. (프로파일링용)
+ * 종목별로 ka10046(또는 ka10095 종목별 행)/ka10004/ka10081/ka10059 응답을 한 사이클로 모아 StockDataService.ingest 에 넘깁니다.
+ * 사이클 경계는 녹화 시각으로 정합니다: 사이클 첫 응답보다 replay-cycle-gap-ms 이상 늦은 응답이나 같은 TR 이 다시 나오면 새 사이클입니다.
+ * (우선 수집 주기처럼 일부 TR 만 호출된 사이클도 그대로 재현됨)
+ * 시세 행은 저장하지만 수집 이벤트는 발행하지 않고, 계좌(kt00004) 응답은 파싱만 하고 스냅샷을 바꾸지 않습니다.
+ * 녹화 시점의 행이 저장되므로 kiwoom.record.replay-enabled=true 인 프로파일링용 인스턴스에서만 켭니다.
+ */
+@Service
+@ConditionalOnProperty(name = "kiwoom.record.replay-enabled", havingValue = "true")
+public class ReplayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplayService.class);
+
+    private final StockDataService stockDataService;
+    private final ResponseRecorder responseRecorder;
+    private final SegmentReader segmentReader;
+    private final long cycleGapMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile ReplayStatus status = ReplayStatus.builder().build();
+
+    public ReplayService(StockDataService stockDataService, ResponseRecorder responseRecorder, ObjectMapper objectMapper,
+                         @Value("${kiwoom.record.replay-cycle-gap-ms:5000}") long cycleGapMillis) {
+        if (cycleGapMillis <= 0) {
+            throw new IllegalArgumentException("kiwoom.record.replay-cycle-gap-ms must be > 0");
+        }
+        this.stockDataService = stockDataService;
+        this.responseRecorder = responseRecorder;
+        this.segmentReader = new SegmentReader(objectMapper);
+        this.cycleGapMillis = cycleGapMillis;
+    }
+
+    /**
+     * 백그라운드 스레드에서 재생을 시작합니다. 이미 재생 중이면 false.
+     * prefix 로 세그먼트 파일명을 거를 수 있습니다. (예: responses-20261016)
+     */
+    public boolean start(double speed, String prefix) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("speed must be >= 0");
+        }
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                replay(speed, prefix);
+            } finally {
+                running.set(false);
+            }
+        }, "response-replay");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public ReplayStatus getStatus() {
+        return status;
+    }
+
+    private void replay(double speed, String prefix) {
+        long startNanos = System.nanoTime();
+        Replay replay = new Replay(speed);
+        List<Path> segments = List.of();
+        try {
+            segments = segmentReader.listSegments(responseRecorder.getDirectory(), prefix);
+            logger.info("Replaying {} segments at {}", segments.size(), speed == 0 ? "max speed" : speed + "x");
+            for (int i = 0; i < segments.size(); i++) {
+                segmentReader.read(segments.get(i), replay::accept);
+                replay.segmentsDone = i + 1;
+                status = replay.status(segments.size(), startNanos, true, null);
+            }
+            replay.flushAll();
+            status = replay.status(segments.size(), startNanos, false, null);
+            logger.info("Replay finished: {}", status);
+        } catch (Exception e) {
+            logger.error("Replay failed", e);
+            status = replay.status(segments.size(), startNanos, false, e.getMessage());
+        }
+    }
+
+    // 재생 1회분의 상태 (재생 스레드 전용)
+    private class Replay {
+        private final double speed;
+        private final Map<String, Map<String, Map<String, Object>>> pendingByStock = new LinkedHashMap<>();
+        private final Map<String, Long> pendingSince = new HashMap<>();
+        private long firstRecordedAt = -1;
+        private long replayStartNanos;
+        private long lastRecordedAt;
+        private long records;
+        private long rows;
+        private int segmentsDone;
+
+        Replay(double speed) {
+            this.speed = speed;
+        }
+
+        void accept(RecordedResponse response) {
+            pace(response.getRecordedAtMillis());
+            records++;
+            lastRecordedAt = response.getRecordedAtMillis();
+
+            if (ResponseRecorder.API_ACCOUNT.equals(response.getApiId())) {
+                // 파싱 비용만 재현 (라이브 계좌 스냅샷은 건드리지 않음)
+                try {
+                    AccountResponseParser.parse(response.getBody());
+                } catch (Exception e) {
+                    logger.warn("Skipping unreadable account record: {}", e.getMessage());
+                }
+                return;
+            }
+
+            long recordedAt = response.getRecordedAtMillis();
+            flushStale(recordedAt);
+
+            String stockCode = response.getStockCode();
+            Map<String, Map<String, Object>> pending = pendingByStock.get(stockCode);
+            // 같은 TR 이 다시 나오면 이전 사이클이 끝난 것 (같은 간격 안에 다음 주기가 온 경우)
+            if (pending != null && pending.containsKey(response.getApiId())) {
+                flush(stockCode);
+                pending = null;
+            }
+            if (pending == null) {
+                pending = new HashMap<>();
+                pendingByStock.put(stockCode, pending);
+                pendingSince.put(stockCode, recordedAt);
+            }
+            pending.put(response.getApiId(), response.getBody());
+        }
+
+        // 첫 응답 이후 간격이 지난 사이클을 시작 순서대로 내보냄 (pendingByStock 삽입 순서 = 사이클 시작 순서)
+        private void flushStale(long recordedAt) {
+            Iterator<String> iterator = pendingByStock.keySet().iterator();
+            while (iterator.hasNext()) {
+                String stockCode = iterator.next();
+                if (recordedAt - pendingSince.get(stockCode) < cycleGapMillis) {
+                    break;
+                }
+                Map<String, Map<String, Object>> pending = pendingByStock.get(stockCode);
+                long since = pendingSince.remove(stockCode);
+                iterator.remove();
+                ingest(stockCode, pending, since);
+            }
+        }
+
+        // speed 배속으로 녹화 간격만큼 대기
+        private void pace(long recordedAt) {
+            if (speed == 0) {
+                return;
+            }
+            if (firstRecordedAt < 0) {
+                firstRecordedAt = recordedAt;
+                replayStartNanos = System.nanoTime();
+                return;
+            }
+            long targetNanos = replayStartNanos + (long) ((recordedAt - firstRecordedAt) * 1_000_000L / speed);
+            long waitNanos = targetNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                try {
+                    Thread.sleep(waitNanos / 1_000_000L, (int) (waitNanos % 1_000_000L));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Replay interrupted", e);
+                }
+            }
+        }
+
+        private void flush(String stockCode) {
+            Map<String, Map<String, Object>> pending = pendingByStock.remove(stockCode);
+            Long since = pendingSince.remove(stockCode);
+            if (pending != null) {
+                ingest(stockCode, pending, since);
+            }
+        }
+
+        private void ingest(String stockCode, Map<String, Map<String, Object>> pending, long since) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            LocalDateTime asOf = LocalDateTime.ofInstant(Instant.ofEpochMilli(since), ZoneId.systemDefault());
+            try {
+                rows += stockDataService.ingest(stockCode, pending, asOf);
+            } catch (Exception e) {
+                logger.warn("Failed to ingest replayed cycle for {}: {}", stockCode, e.getMessage());
+            }
+        }
+
+        void flushAll() {
+            for (String stockCode : List.copyOf(pendingByStock.keySet())) {
+                flush(stockCode);
+            }
+        }
+
+        ReplayStatus status(int segments, long startNanos, boolean running, String error) {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            return ReplayStatus.builder()
+                    .running(running)
+                    .speed(speed)
+                    .segments(segments)
+                    .segmentsDone(segmentsDone)
+                    .records(records)
+                    .rowsSaved(rows)
+                    .recordedUpTo(records > 0 ? LocalDateTime.ofInstant(Instant.ofEpochMilli(lastRecordedAt), ZoneId.systemDefault()) : null)
+                    .elapsedMillis(elapsedNanos / 1_000_000)
+                    .recordsPerSecond(elapsedNanos > 0 ? records * 1_000_000_000.0 / elapsedNanos : 0)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.domain.StockDailyCandle;
+import com.sjoh.kioomstock.domain.StockInvestor;
+import com.sjoh.kioomstock.event.StockDataCollectedEvent;
+import com.sjoh.kioomstock.repository.StockDailyCandleRepository;
+import com.sjoh.kioomstock.repository.StockInvestorRepository;
+import com.sjoh.kioomstock.repository.StockPriceInfoRepository;
+import com.sjoh.kioomstock.repository.StockPriceInfoRepository.MinuteBar;
+import com.sjoh.kioomstock.screener.CorrelationCalculator;
+import com.sjoh.kioomstock.screener.CorrelationResult;
+import com.sjoh.kioomstock.screener.ReturnMatrix;
+import com.sjoh.kioomstock.screener.ScreenerMetric;
+import com.sjoh.kioomstock.screener.ScreenerRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 수집 대상 종목 전체를 대상으로 한 랭킹 / 상관행렬 스크리너.
+ * 종목별 수익률을 같은 시간축으로 정렬한 행렬을 한 번 만들고, 다음 수집 이벤트가 올 때까지 결과를 캐시합니다.
+ * - minute: 당일 stock_price_info 를 09:00 기준 분 단위로 정렬 (대상 종목만, DB 에서 분별 마지막 틱으로 집계해 읽음)
+ * - daily: 최근 stock_daily_candle 을 일자 기준으로 정렬
+ */
+@Service
+public class ScreenerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreenerService.class);
+
+    public static final String MINUTE = "minute";
+    public static final String DAILY = "daily";
+
+    private static final LocalTime SESSION_START = LocalTime.of(9, 0);
+    private static final int SESSION_MINUTES = 390;     // 09:00 ~ 15:30
+    private static final int DAILY_LOOKBACK_DAYS = 60;
+
+    private final StockDataService stockDataService;
+    private final StockPriceInfoRepository stockPriceInfoRepository;
+    private final StockDailyCandleRepository stockDailyCandleRepository;
+    private final StockInvestorRepository stockInvestorRepository;
+
+    // 수집 이벤트마다 증가. 캐시된 결과의 버전과 다르면 다시 계산
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final Map<String, CachedScreen> cache = new ConcurrentHashMap<>();
+    // 재계산 중 DB 조회가 있으므로 synchronized 대신 사용 (가상 스레드 고정 방지)
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public ScreenerService(StockDataService stockDataService, StockPriceInfoRepository stockPriceInfoRepository, StockDailyCandleRepository stockDailyCandleRepository, StockInvestorRepository stockInvestorRepository) {
+        this.stockDataService = stockDataService;
+        this.stockPriceInfoRepository = stockPriceInfoRepository;
+        this.stockDailyCandleRepository = stockDailyCandleRepository;
+        this.stockInvestorRepository = stockInvestorRepository;
+    }
+
+    @EventListener
+    public void onStockDataCollected(StockDataCollectedEvent event) {
+        dataVersion.incrementAndGet();
+    }
+
+    public List<ScreenerRow> rank(String source, ScreenerMetric metric, boolean ascending, int top) {
+        if (top < 1) {
+            throw new IllegalArgumentException("top must be positive: " + top);
+        }
+        Comparator<ScreenerRow> comparator;
+        switch (metric) {
+            case VOLATILITY:
+                comparator = Comparator.comparingDouble(ScreenerRow::getVolatility);
+                break;
+            case VOLUME_SURGE:
+                comparator = Comparator.comparingDouble(ScreenerRow::getVolumeSurge);
+                break;
+            case INVESTOR_NET_BUY:
+                comparator = Comparator.comparingLong(ScreenerRow::getInvestorNetBuy);
+                break;
+            default:
+                comparator = Comparator.comparingDouble(ScreenerRow::getReturnRate);
+        }
+        if (!ascending) {
+            comparator = comparator.reversed();
+        }
+        return getScreen(source).rows.stream()
+                .sorted(comparator)
+                .limit(top)
+                .collect(Collectors.toList());
+    }
+
+    public CorrelationResult getCorrelation(String source) {
+        CachedScreen screen = getScreen(source);
+        synchronized (screen) {
+            if (screen.correlation == null) {
+                long start = System.nanoTime();
+                int n = screen.matrix.size();
+                double[] flat = CorrelationCalculator.compute(screen.matrix);
+                double[][] matrix = new double[n][];
+                for (int i = 0; i < n; i++) {
+                    matrix[i] = new double[n];
+                    System.arraycopy(flat, i * n, matrix[i], 0, n);
+                }
+                screen.correlation = CorrelationResult.builder()
+                        .source(source)
+                        .observations(screen.matrix.getLength())
+                        .computedAt(LocalDateTime.now())
+                        .stockCodes(screen.matrix.getStockCodes())
+                        .matrix(matrix)
+                        .build();
+                logger.info("Computed {}x{} correlation matrix ({} observations) in {} ms",
+                        n, n, screen.matrix.getLength(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+            }
+            return screen.correlation;
+        }
+    }
+
+    private CachedScreen getScreen(String source) {
+        String key = DAILY.equals(source) ? DAILY : MINUTE;
+        long version = dataVersion.get();
+        CachedScreen cached = cache.get(key);
+        if (cached != null && cached.version == version) {
+            return cached;
+        }
+        rebuildLock.lock();
+        try {
+            cached = cache.get(key);
+            if (cached != null && cached.version == version) {
+                return cached;
+            }
+            List<String> codes = stockDataService.getTargetStockCodes();
+            ReturnMatrix matrix = DAILY.equals(key) ? buildDailyMatrix(codes) : buildMinuteMatrix(codes);
+            CachedScreen screen = new CachedScreen(version, matrix, buildRows(matrix));
+            cache.put(key, screen);
+            return screen;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private ReturnMatrix buildMinuteMatrix(List<String> codes) {
+        LocalDate today = LocalDate.now();
+        Map<String, Integer> index = indexOf(codes);
+        double[][] prices = new double[codes.size()][SESSION_MINUTES + 1];
+        double[][] volumes = new double[codes.size()][SESSION_MINUTES + 1];
+
+        if (codes.isEmpty()) {
+            return ReturnMatrix.fromAlignedPrices(codes, prices, volumes);
+        }
+        LocalDateTime from = today.atTime(SESSION_START);
+        for (MinuteBar bar : stockPriceInfoRepository.findMinuteBars(codes, from, from.plusMinutes(SESSION_MINUTES))) {
+            Integer i = index.get(bar.getCode());
+            int minute = bar.getMinute();
+            if (i == null || minute < 0 || minute > SESSION_MINUTES) {
+                continue;
+            }
+            prices[i][minute] = bar.getPrice();
+            volumes[i][minute] = bar.getVolume();
+        }
+        return ReturnMatrix.fromAlignedPrices(codes, prices, volumes);
+    }
+
+    private ReturnMatrix buildDailyMatrix(List<String> codes) {
+        // 휴장일을 감안해 달력 기준으로 넉넉히 조회한 뒤 최근 거래일만 사용
+        List<StockDailyCandle> candles = stockDailyCandleRepository.findByDateGreaterThanEqual(LocalDate.now().minusDays(DAILY_LOOKBACK_DAYS * 2L));
+        TreeSet<LocalDate> dates = new TreeSet<>();
+        for (StockDailyCandle candle : candles) {
+            dates.add(candle.getDate());
+        }
+        while (dates.size() > DAILY_LOOKBACK_DAYS + 1) {
+            dates.pollFirst();
+        }
+        Map<LocalDate, Integer> dateIndex = new HashMap<>();
+        for (LocalDate date : dates) {
+            dateIndex.put(date, dateIndex.size());
+        }
+
+        Map<String, Integer> index = indexOf(codes);
+        double[][] prices = new double[codes.size()][dates.size()];
+        double[][] volumes = new double[codes.size()][dates.size()];
+        for (StockDailyCandle candle : candles) {
+            Integer i = index.get(candle.getStockCode());
+            Integer t = dateIndex.get(candle.getDate());
+            if (i == null || t == null) {
+                continue;
+            }
+            prices[i][t] = Math.abs(candle.getClosePrice());
+            volumes[i][t] = candle.getVolume();
+        }
+        return ReturnMatrix.fromAlignedPrices(codes, prices, volumes);
+    }
+
+    private List<ScreenerRow> buildRows(ReturnMatrix matrix) {
+        Map<String, Long> netBuys = latestInvestorNetBuys();
+        int t = matrix.getLength();
+        double[] returns = matrix.getReturns();
+
+        return IntStream.range(0, matrix.size()).parallel()
+                .mapToObj(i -> {
+                    int base = i * t;
+                    double sum = 0;
+                    double sumSq = 0;
+                    for (int x = 0; x < t; x++) {
+                        double r = returns[base + x];
+                        sum += r;
+                        sumSq += r * r;
+                    }
+                    double mean = t == 0 ? 0 : sum / t;
+                    double variance = t < 2 ? 0 : Math.max(0, (sumSq - t * mean * mean) / (t - 1));
+                    double first = matrix.getFirstPrice(i);
+                    double last = matrix.getLastPrice(i);
+                    double avgVolume = matrix.getAvgVolume(i);
+                    String code = matrix.getStockCodes().get(i);
+                    return ScreenerRow.builder()
+                            .stockCode(code)
+                            .lastPrice(last)
+                            .returnRate(first > 0 ? last / first - 1 : 0)
+                            .volatility(Math.sqrt(variance))
+                            .volumeSurge(avgVolume > 0 ? matrix.getLastVolume(i) / avgVolume : 0)
+                            .investorNetBuy(netBuys.getOrDefault(code, 0L))
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    // 당일 종목별 마지막 스냅샷의 외국인 + 기관 순매수
+    private Map<String, Long> latestInvestorNetBuys() {
+        Map<String, StockInvestor> latest = new HashMap<>();
+        for (StockInvestor investor : stockInvestorRepository.findByDate(LocalDate.now())) {
+            StockInvestor current = latest.get(investor.getStockCode());
+            if (current == null || investor.getTime().isAfter(current.getTime())) {
+                latest.put(investor.getStockCode(), investor);
+            }
+        }
+        Map<String, Long> result = new HashMap<>();
+        latest.forEach((code, investor) -> result.put(code, investor.getForeigner() + investor.getInstitution()));
+        return result;
+    }
+
+    private Map<String, Integer> indexOf(List<String> codes) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < codes.size(); i++) {
+            index.put(codes.get(i), i);
+        }
+        return index;
+    }
+
+    private static class CachedScreen {
+        private final long version;
+        private final ReturnMatrix matrix;
+        private final List<ScreenerRow> rows;
+        private CorrelationResult correlation;  // 요청 시 계산
+
+        private CachedScreen(long version, ReturnMatrix matrix, List<ScreenerRow> rows) {
+            this.version = version;
+            this.matrix = matrix;
+            this.rows = new ArrayList<>(rows);
+        }
+    }
+}
@@ -1,32 +1,59 @@
 package com.sjoh.kioomstock.service;
 
+import com.sjoh.kioomstock.candle.DailyCandleCache;
+import com.sjoh.kioomstock.collector.ApiRateLimiter;
+import com.sjoh.kioomstock.collector.CollectionPriority;
+import com.sjoh.kioomstock.collector.VolumePowerDetail;
+import com.sjoh.kioomstock.config.RealtimeProperties;
+import com.sjoh.kioomstock.diagnostics.SqlUnitOfWork;
 import com.sjoh.kioomstock.domain.StockDailyCandle;
 import com.sjoh.kioomstock.domain.StockInvestor;
 import com.sjoh.kioomstock.domain.StockOrderBook;
 import com.sjoh.kioomstock.domain.StockPriceInfo;
+import com.sjoh.kioomstock.event.StockDataCollectedEvent;
+import com.sjoh.kioomstock.market.MarketCalendar;
+import com.sjoh.kioomstock.market.MarketPhase;
+import com.sjoh.kioomstock.persistence.ReactiveStockWriter;
+import com.sjoh.kioomstock.persistence.SpillLog;
+import com.sjoh.kioomstock.persistence.SymbolDictionary;
+import com.sjoh.kioomstock.persistence.SpillRecord;
+import com.sjoh.kioomstock.realtime.KiwoomRealtimeClient;
+import com.sjoh.kioomstock.realtime.RealtimeQuote;
+import com.sjoh.kioomstock.recording.ResponseRecorder;
 import com.sjoh.kioomstock.repository.StockDailyCandleRepository;
 import com.sjoh.kioomstock.repository.StockInvestorRepository;
 import com.sjoh.kioomstock.repository.StockOrderBookRepository;
 import com.sjoh.kioomstock.repository.StockPriceInfoRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class StockDataService {
@@ -39,72 +66,513 @@ public class StockDataService {
     private final StockOrderBookRepository stockOrderBookRepository;
     private final StockDailyCandleRepository stockDailyCandleRepository;
     private final StockInvestorRepository stockInvestorRepository;
-
-    // 모니터링할 종목 리스트 (예: 삼성전자 005930)
-    private final List<String> targetStockCodes = List.of("005930","000660","122630","114800");
-
-    public StockDataService(WebClient webClient, KiwoomAuthService authService, StockPriceInfoRepository stockPriceInfoRepository, StockOrderBookRepository stockOrderBookRepository, StockDailyCandleRepository stockDailyCandleRepository, StockInvestorRepository stockInvestorRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResponseRecorder responseRecorder;
+    private final MarketCalendar marketCalendar;
+    private final CollectionPriorityService priorityService;
+    private final ApiRateLimiter rateLimiter;
+    private final ClusterService clusterService;
+    // kiwoom.persistence.mode=r2dbc 일 때만 존재 (없으면 JPA 로 저장)
+    private final ReactiveStockWriter reactiveStockWriter;
+    // JPA 저장 단계 실행용 (가상 스레드 모드면 가상 스레드)
+    private final Scheduler persistenceScheduler;
+    private final SqlUnitOfWork sqlUnitOfWork;
+    private final KiwoomRealtimeClient realtimeClient;
+    private final RealtimeProperties realtimeProperties;
+    // DB 저장 실패 시 수집 결과를 보관하는 로컬 로그 (SpillReplayer 가 복구 후 DB 로 옮김)
+    private final SpillLog spillLog;
+    private final SymbolDictionary symbolDictionary;
+    // 당일 일봉을 이미 받은 종목은 1분 주기에서 일봉 조회를 건너뜀
+    private final DailyCandleCache dailyCandleCache;
+
+    // 모니터링할 종목 리스트 (예: 삼성전자 005930) - kiwoom.collect.stock-codes 로 변경 가능
+    @Value("${kiwoom.collect.stock-codes:005930,000660,122630,114800}")
+    private List<String> targetStockCodes;
+
+    // 동시에 수집할 종목 수 (종목당 API 4회 호출)
+    @Value("${kiwoom.collect.concurrency:16}")
+    private int concurrency;
+
+    // 관심종목 일괄 시세(ka10095) 1회에 담을 종목 수 (0 이면 종목별 ka10046 만 사용)
+    @Value("${kiwoom.collect.bulk-size:100}")
+    private int bulkSize;
+
+    // 5/20/60분 체결강도를 위해 종목별 ka10046 을 계속 호출할 범위
+    @Value("${kiwoom.collect.volume-power-detail:HIGH}")
+    private VolumePowerDetail volumePowerDetail;
+
+    // 그 외 종목도 이 주기마다 한 번은 ka10046 으로 기간별 체결강도를 갱신 (0 이면 갱신 안 함)
+    @Value("${kiwoom.collect.volume-power-refresh:5m}")
+    private Duration volumePowerRefresh;
+
+    // 장마감 작업을 마친 거래일 (하루 한 번만 실행)
+    private final AtomicReference<LocalDate> lastEndOfDay = new AtomicReference<>();
+
+    // 우선순위 시세 수집이 이전 주기와 겹치지 않도록
+    private final AtomicBoolean priorityQuotesRunning = new AtomicBoolean(false);
+
+    // 종목별 마지막 ka10046 응답 (실시간 체결에는 5/20/60분 체결강도가 없어 이 값으로 채움)
+    private final Map<String, StockPriceInfo> lastPolledPriceInfos = new ConcurrentHashMap<>();
+    // 종목별 마지막 ka10046 수신 시각 (System.nanoTime)
+    private final Map<String, Long> lastVolumePowerPolls = new ConcurrentHashMap<>();
+
+    public StockDataService(WebClient webClient, KiwoomAuthService authService, StockPriceInfoRepository stockPriceInfoRepository, StockOrderBookRepository stockOrderBookRepository, StockDailyCandleRepository stockDailyCandleRepository, StockInvestorRepository stockInvestorRepository, ApplicationEventPublisher eventPublisher, ResponseRecorder responseRecorder, MarketCalendar marketCalendar, CollectionPriorityService priorityService, ApiRateLimiter rateLimiter, ClusterService clusterService, Optional<ReactiveStockWriter> reactiveStockWriter, Scheduler persistenceScheduler, SqlUnitOfWork sqlUnitOfWork, KiwoomRealtimeClient realtimeClient, RealtimeProperties realtimeProperties, SpillLog spillLog, DailyCandleCache dailyCandleCache, SymbolDictionary symbolDictionary) {
         this.webClient = webClient;
         this.authService = authService;
         this.stockPriceInfoRepository = stockPriceInfoRepository;
         this.stockOrderBookRepository = stockOrderBookRepository;
         this.stockDailyCandleRepository = stockDailyCandleRepository;
         this.stockInvestorRepository = stockInvestorRepository;
+        this.eventPublisher = eventPublisher;
+        this.responseRecorder = responseRecorder;
+        this.marketCalendar = marketCalendar;
+        this.priorityService = priorityService;
+        this.rateLimiter = rateLimiter;
+        this.clusterService = clusterService;
+        this.reactiveStockWriter = reactiveStockWriter.orElse(null);
+        this.persistenceScheduler = persistenceScheduler;
+        this.sqlUnitOfWork = sqlUnitOfWork;
+        this.realtimeClient = realtimeClient;
+        this.realtimeProperties = realtimeProperties;
+        this.spillLog = spillLog;
+        this.symbolDictionary = symbolDictionary;
+        this.dailyCandleCache = dailyCandleCache;
+    }
+
+    public List<String> getTargetStockCodes() {
+        return targetStockCodes;
     }
 
-    // 서버 시작 시 1회 실행 (테스트용)
+    // 서버 시작 시 1회 실행 (장중일 때만)
     @EventListener(ApplicationReadyEvent.class)
     public void initDataCollection() {
         logger.info("Executing initial data collection on startup...");
+        startRealtime();
         collectStockData();
     }
 
-    // 평일 09:00 ~ 15:30 사이에 1분마다 실행 (장 운영 시간)
-    @Scheduled(cron = "0 * 9-15 * * MON-FRI")
+    /**
+     * kiwoom.realtime.enabled 면 실시간 체결/호가를 구독하고, batch-size 개 또는 batch-window 마다 묶어
+     * 폴링과 같은 저장 단계(persistStage)로 보냅니다. 실시간이 끊긴 종목은 폴링이 현재가/호가를 다시 맡습니다.
+     */
+    private void startRealtime() {
+        if (!realtimeClient.isEnabled()) {
+            return;
+        }
+        realtimeClient.quotes()
+                .bufferTimeout(realtimeProperties.getBatchSize(), realtimeProperties.getBatchWindow())
+                // 배치끼리는 순서대로 저장 (같은 종목 틱이 뒤섞여 저장되지 않도록)
+                .concatMap(batch -> persistRealtimeBatch(batch)
+                        .onErrorResume(error -> {
+                            logger.error("Failed to persist real-time batch of {} quotes", batch.size(), error);
+                            return Mono.just(0L);
+                        }))
+                .subscribe(rows -> logger.debug("Real-time batch saved {} rows", rows));
+        realtimeClient.subscribe(clusterService.filterOwned(targetStockCodes));
+        realtimeClient.start();
+    }
+
+    private Mono<Long> persistRealtimeBatch(List<RealtimeQuote> batch) {
+        // 종목별로 묶고, 같은 초의 체결은 마지막 것만 남김 (StockPriceInfo 는 종목+시각 단위), 호가도 마지막 스냅샷만 저장
+        Map<String, Map<LocalDateTime, StockPriceInfo>> tradesByCode = new LinkedHashMap<>();
+        Map<String, StockOrderBook> orderBooks = new LinkedHashMap<>();
+        for (RealtimeQuote quote : batch) {
+            if (quote.getTrade() != null) {
+                StockPriceInfo trade = quote.getTrade();
+                fillVolumePowerWindows(trade);
+                tradesByCode.computeIfAbsent(quote.getStockCode(), k -> new LinkedHashMap<>()).put(trade.getTime(), trade);
+            }
+            if (quote.getOrderBook() != null) {
+                orderBooks.put(quote.getStockCode(), quote.getOrderBook());
+            }
+        }
+
+        List<String> codes = new ArrayList<>(tradesByCode.keySet());
+        orderBooks.keySet().stream().filter(code -> !tradesByCode.containsKey(code)).forEach(codes::add);
+        return Flux.fromIterable(codes)
+                .flatMap(code -> persistStage(code,
+                        List.copyOf(tradesByCode.getOrDefault(code, Map.of()).values()),
+                        orderBooks.get(code), List.of(), List.of(), true)
+                        .onErrorResume(error -> {
+                            logger.error("Error saving real-time quotes for {}", code, error);
+                            return Mono.empty();
+                        }), concurrency)
+                .reduce(0L, Long::sum);
+    }
+
+    // ka10095 일괄 시세에는 5/20/60분 체결강도가 없으므로 마지막 ka10046 값을 붙임
+    private Map<String, List<StockPriceInfo>> withVolumePowerWindows(Map<String, List<StockPriceInfo>> quotes) {
+        quotes.values().forEach(infos -> infos.forEach(this::fillVolumePowerWindows));
+        return quotes;
+    }
+
+    private void fillVolumePowerWindows(StockPriceInfo trade) {
+        StockPriceInfo polled = lastPolledPriceInfos.get(trade.getStockCode());
+        if (polled != null) {
+            trade.setVolumePower5Min(polled.getVolumePower5Min());
+            trade.setVolumePower20Min(polled.getVolumePower20Min());
+            trade.setVolumePower60Min(polled.getVolumePower60Min());
+        }
+    }
+
+    // 평일 09:00 ~ 16:59 사이에 1분마다 깨어나 실제 장 구간(휴장일, 개장/마감 변경일 포함)은 MarketCalendar 로 판단
+    @Scheduled(cron = "0 * 9-16 * * MON-FRI")
     public void collectStockData() {
-        // 현재 시간이 15:30 이후인지 체크 (15시 대에는 0~59분 모두 실행되므로)
-        LocalTime now = LocalTime.now();
-        if (now.getHour() == 15 && now.getMinute() > 30) {
+        MarketPhase phase = marketCalendar.getPhase(LocalDateTime.now());
+        if (!phase.isTrading()) {
+            logger.debug("Skipping stock data collection (market phase: {})", phase);
             return;
         }
 
         logger.info("Starting scheduled stock data collection...");
+        // 클러스터 모드에서는 이 노드가 맡은 샤드만 수집 (샤드가 바뀌었으면 실시간 구독도 맞춤)
+        List<String> owned = clusterService.filterOwned(priorityService.orderForCollection(targetStockCodes));
+        if (realtimeClient.isEnabled()) {
+            realtimeClient.subscribe(owned);
+        }
+        collect(owned).subscribe();
+    }
+
+    // 보유/알림 종목은 1분 주기 전체 수집 사이사이에 현재가/호가만 더 자주 수집
+    @Scheduled(fixedDelayString = "${kiwoom.collect.priority-interval-ms:15000}", initialDelayString = "${kiwoom.collect.priority-interval-ms:15000}")
+    public void collectPriorityQuotes() {
+        // 실시간으로 들어오는 종목은 이미 초 단위로 받고 있으므로 제외
+        List<String> codes = clusterService.filterOwned(List.copyOf(priorityService.getHighPriorityCodes())).stream()
+                .filter(code -> !realtimeClient.isStreaming(code))
+                .toList();
+        if (codes.isEmpty() || !marketCalendar.isTrading(LocalDateTime.now())) {
+            return;
+        }
+        if (!priorityQuotesRunning.compareAndSet(false, true)) {
+            logger.debug("Previous priority quote collection still running, skipping");
+            return;
+        }
+        collectQuotes(codes)
+                .doFinally(signal -> priorityQuotesRunning.set(false))
+                .subscribe(rows -> logger.debug("Priority quote collection saved {} rows for {} codes", rows, codes.size()));
+    }
+
+    /**
+     * 현재가(ka10046)와 호가(ka10004)만 수집합니다. (HIGH 우선순위 호출 한도 사용)
+     */
+    public Mono<Long> collectQuotes(List<String> stockCodes) {
+        return authService.getAccessToken()
+                .flatMapMany(token -> Flux.fromIterable(stockCodes)
+                        .flatMap(code -> rateLimiter.acquire(CollectionPriority.HIGH, 2)
+                                .then(Mono.defer(() -> Mono.zip(
+                                        fetchStockPrice(token, code),
+                                        fetchOrderBook(token, code)
+                                )))
+                                .flatMap(tuple -> persistStage(code, tuple.getT1(), tuple.getT2(), List.of(), List.of(), true))
+                                .onErrorResume(error -> {
+                                    logger.error("Error collecting quotes for {}", code, error);
+                                    return Mono.empty();
+                                }), concurrency)
+                )
+                .reduce(0L, Long::sum);
+    }
+
+    // 마감 후 하루 한 번: 확정된 당일 일봉과 최종 투자자 매매동향 저장
+    @Scheduled(cron = "0 */5 15-18 * * MON-FRI")
+    public void runEndOfDay() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        if (!marketCalendar.isAfterEndOfDay(now) || today.equals(lastEndOfDay.get())) {
+            return;
+        }
+        LocalDate previous = lastEndOfDay.get();
+        if (!lastEndOfDay.compareAndSet(previous, today)) {
+            return;
+        }
+
+        logger.info("Starting end-of-day collection for {}", today);
+        collectEndOfDay(clusterService.filterOwned(priorityService.orderForCollection(targetStockCodes))).subscribe(
+                rows -> logger.info("End-of-day collection finished: {} rows", rows),
+                error -> {
+                    logger.error("End-of-day collection failed", error);
+                    lastEndOfDay.compareAndSet(today, previous); // 다음 주기에 재시도
+                }
+        );
+    }
 
-        authService.getAccessToken()
-                .flatMapMany(token -> Flux.fromIterable(targetStockCodes)
-                        .flatMap(code -> Mono.zip(
-                                fetchStockPrice(token, code),
-                                fetchOrderBook(token, code),
+    /**
+     * 장마감 작업: 일봉(당일분은 장중 값으로 저장돼 있으므로 확정값으로 덮어씀)과 투자자 최종 스냅샷만 수집합니다.
+     * ka10081 은 과거 일봉까지 함께 반환하지만 확정이 필요한 것은 당일 일봉뿐이므로 당일 행만 upsert 합니다.
+     * (과거 행까지 upsert 하면 종목마다 수백 건의 조회/갱신이 생기고 DailyCandleCache 도 전부 비워짐)
+     */
+    public Mono<Long> collectEndOfDay(List<String> stockCodes) {
+        LocalDate today = LocalDate.now();
+        return authService.getAccessToken()
+                .flatMapMany(token -> Flux.fromIterable(stockCodes)
+                        .flatMap(code -> rateLimiter.acquire(priorityService.getPriority(code), 2)
+                        .then(Mono.defer(() -> Mono.zip(
                                 fetchDailyCandle(token, code),
                                 fetchInvestorInfo(token, code)
-                        ).doOnNext(tuple -> {
-                            List<StockPriceInfo> priceInfos = tuple.getT1();
-                            StockOrderBook orderBook = tuple.getT2();
-                            List<StockDailyCandle> dailyCandles = tuple.getT3();
-                            List<StockInvestor> investors = tuple.getT4();
-
-                            if (priceInfos != null && !priceInfos.isEmpty()) {
-                                logger.info("Collected {} data points for {}", priceInfos.size(), code);
-                                saveData(priceInfos);
-                            }
-                            if (orderBook != null) {
-                                logger.info("Collected order book for {}: {}", code, orderBook);
-                                saveOrderBook(orderBook);
-                            }
-                            if (dailyCandles != null && !dailyCandles.isEmpty()) {
-                                logger.info("Collected {} daily candles for {}", dailyCandles.size(), code);
-                                saveDailyCandles(dailyCandles);
-                            }
-                            if (investors != null && !investors.isEmpty()) {
-                                logger.info("Collected {} investor records for {}", investors.size(), code);
-                                saveInvestors(investors);
-                            }
-                        }).onErrorResume(error -> {
-                            logger.error("Error collecting data for {}", code, error);
+                        )))
+                        .flatMap(tuple -> persistEndOfDayStage(code, todayOnly(tuple.getT1(), today), tuple.getT2()))
+                        .onErrorResume(error -> {
+                            logger.error("Error collecting end-of-day data for {}", code, error);
                             return Mono.empty();
-                        }))
+                        }), concurrency)
                 )
-                .subscribe();
+                .reduce(0L, Long::sum);
+    }
+
+    private static List<StockDailyCandle> todayOnly(List<StockDailyCandle> candles, LocalDate today) {
+        return candles.stream().filter(candle -> today.equals(candle.getDate())).toList();
+    }
+
+    /**
+     * 주어진 종목들을 한 사이클 수집/저장하고, 저장된 행 수를 반환합니다.
+     * (스케줄러는 구독만 하고, 부하 테스트 등에서는 완료 시점까지 기다릴 수 있음)
+     * 현재가는 관심종목 일괄 시세(ka10095)로 bulk-size 개씩 한 번에 받고, 종목별 호출은 일괄로 받을 수 없는
+     * 호가/일봉/투자자(와 volume-power-detail 대상의 ka10046)에만 씁니다.
+     * 실시간 시세가 들어오는 종목은 현재가/호가를 폴링하지 않습니다.
+     */
+    public Mono<Long> collect(List<String> stockCodes) {
+        List<String> bulkCodes = bulkSize > 0
+                ? stockCodes.stream().filter(code -> !realtimeClient.isStreaming(code) && !needsVolumePowerDetail(code)).toList()
+                : List.of();
+
+        return authService.getAccessToken()
+                .flatMapMany(token -> fetchWatchlistQuotesInChunks(token, bulkCodes)
+                        .flatMapMany(bulkQuotes -> Flux.fromIterable(stockCodes)
+                                .flatMap(code -> collectOne(token, code, bulkQuotes.get(code))
+                                .onErrorResume(error -> {
+                                    logger.error("Error collecting data for {}", code, error);
+                                    return Mono.empty();
+                                }), concurrency)))
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * 종목 하나의 상세 호출과 저장. bulkPriceInfos 가 null 이면(일괄 대상이 아니거나 일괄 응답에 없으면) ka10046 으로 현재가를 받습니다.
+     */
+    private Mono<Long> collectOne(String token, String code, List<StockPriceInfo> bulkPriceInfos) {
+        boolean streaming = realtimeClient.isStreaming(code);
+        int calls = 1; // 투자자
+
+        Mono<List<StockPriceInfo>> priceInfos;
+        if (bulkPriceInfos != null) {
+            priceInfos = Mono.just(bulkPriceInfos);
+        } else if (!streaming || needsVolumePowerDetail(code)) {
+            priceInfos = fetchStockPrice(token, code);
+            calls++;
+        } else {
+            priceInfos = Mono.just(List.of());
+        }
+
+        Mono<Optional<StockOrderBook>> orderBook;
+        if (streaming) {
+            orderBook = Mono.just(Optional.empty());
+        } else {
+            orderBook = fetchOrderBook(token, code).map(Optional::of).defaultIfEmpty(Optional.empty());
+            calls++;
+        }
+
+        // 과거 일봉은 바뀌지 않고 당일 일봉은 장마감 작업에서 확정하므로, 오늘 한 번 받았으면 다시 받지 않음
+        Mono<List<StockDailyCandle>> dailyCandles;
+        if (dailyCandleCache.hasToday(code)) {
+            dailyCandles = Mono.just(List.of());
+        } else {
+            dailyCandles = fetchDailyCandle(token, code)
+                    .doOnNext(candles -> dailyCandleCache.rememberToday(code, candles));
+            calls++;
+        }
+
+        // 우선순위에 따라 실제 호출 수만큼 한도를 얻은 뒤 요청
+        return rateLimiter.acquire(priorityService.getPriority(code), calls)
+                .then(Mono.defer(() -> Mono.zip(
+                        priceInfos,
+                        orderBook,
+                        dailyCandles,
+                        fetchInvestorInfo(token, code)
+                )))
+                .flatMap(tuple -> persistStage(code, tuple.getT1(), tuple.getT2().orElse(null), tuple.getT3(), tuple.getT4(), true));
+    }
+
+    private boolean needsVolumePowerDetail(String code) {
+        return switch (volumePowerDetail) {
+            case ALL -> true;
+            case HIGH -> priorityService.getPriority(code) == CollectionPriority.HIGH || isVolumePowerStale(code);
+            case NONE -> isVolumePowerStale(code);
+        };
+    }
+
+    // 기간별 체결강도를 아직 못 받았거나 volume-power-refresh 보다 오래됐으면 이번 주기는 ka10046 으로 받음
+    private boolean isVolumePowerStale(String code) {
+        if (volumePowerRefresh.isZero()) {
+            return false;
+        }
+        Long polledAt = lastVolumePowerPolls.get(code);
+        return polledAt == null || System.nanoTime() - polledAt >= volumePowerRefresh.toNanos();
+    }
+
+    // bulk-size 개씩 나눠 일괄 시세를 받고 종목코드별로 합침 (실패한 묶음의 종목은 종목별 호출로 대체됨)
+    private Mono<Map<String, List<StockPriceInfo>>> fetchWatchlistQuotesInChunks(String token, List<String> codes) {
+        if (codes.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < codes.size(); i += bulkSize) {
+            chunks.add(codes.subList(i, Math.min(codes.size(), i + bulkSize)));
+        }
+        return Flux.fromIterable(chunks)
+                // 묶음 안에서 가장 높은 우선순위 기준 (orderForCollection 이 HIGH 를 앞에 둠)
+                .flatMap(chunk -> rateLimiter.acquire(priorityService.getPriority(chunk.get(0)), 1)
+                        .then(Mono.defer(() -> fetchWatchlistQuotes(token, chunk))), concurrency)
+                .<Map<String, List<StockPriceInfo>>>collect(HashMap::new, Map::putAll);
+    }
+
+    /**
+     * 녹화된 원본 응답(api-id 별)을 실시간 수집과 동일한 파싱/저장 경로로 흘려보냅니다.
+     * asOf 는 녹화 시각으로, 응답에 날짜가 없는 필드의 기준일로 사용됩니다.
+     * 지난 시세로 알림/지표/평가 상태를 덮어쓰지 않도록 StockDataCollectedEvent 는 발행하지 않습니다.
+     */
+    public long ingest(String stockCode, Map<String, Map<String, Object>> responsesByApiId, LocalDateTime asOf) {
+        Map<String, Object> priceResponse = responsesByApiId.get(ResponseRecorder.API_VOLUME_POWER);
+        Map<String, Object> watchlistResponse = responsesByApiId.get(ResponseRecorder.API_WATCHLIST_QUOTES);
+        Map<String, Object> orderBookResponse = responsesByApiId.get(ResponseRecorder.API_ORDER_BOOK);
+        Map<String, Object> candleResponse = responsesByApiId.get(ResponseRecorder.API_DAILY_CANDLE);
+        Map<String, Object> investorResponse = responsesByApiId.get(ResponseRecorder.API_INVESTOR);
+
+        Long rows = persistStage(stockCode,
+                priceResponse != null ? StockResponseParser.parseResponse(stockCode, priceResponse, asOf)
+                        : watchlistResponse != null ? withVolumePowerWindows(StockResponseParser.parseWatchlistQuoteResponse(watchlistResponse, asOf)).getOrDefault(stockCode, List.of())
+                        : List.of(),
+                orderBookResponse != null ? StockResponseParser.parseOrderBookResponse(stockCode, orderBookResponse, asOf) : null,
+                candleResponse != null ? StockResponseParser.parseDailyCandleResponse(stockCode, candleResponse, asOf) : List.of(),
+                investorResponse != null ? StockResponseParser.parseInvestorResponse(stockCode, investorResponse, asOf) : List.of(),
+                false)
+                .block();
+        return rows != null ? rows : 0;
+    }
+
+    // 저장 단계: DB 오류로 저장하지 못하면 그 종목의 수집 결과를 스필 로그에 남기고 0행으로 처리
+    // publish=false 면 저장만 하고 StockDataCollectedEvent 는 발행하지 않음 (재생)
+    private Mono<Long> persistStage(String code, List<StockPriceInfo> priceInfos, StockOrderBook orderBook,
+                                    List<StockDailyCandle> dailyCandles, List<StockInvestor> investors, boolean publish) {
+        return writeStage(code, priceInfos, orderBook, dailyCandles, investors, publish)
+                .onErrorResume(StockDataService::isDatabaseFailure,
+                        error -> spill(code, false, priceInfos, orderBook, dailyCandles, investors, error));
+    }
+
+    private Mono<Long> persistEndOfDayStage(String code, List<StockDailyCandle> dailyCandles, List<StockInvestor> investors) {
+        return writeEndOfDayStage(code, dailyCandles, investors)
+                .onErrorResume(StockDataService::isDatabaseFailure,
+                        error -> spill(code, true, List.of(), null, dailyCandles, investors, error));
+    }
+
+    // 제약 위반은 DB 장애가 아니라 데이터 문제 - 스필해도 재생 때 다시 거부되므로 그대로 실패 처리
+    private static boolean isDatabaseFailure(Throwable error) {
+        if (error instanceof DataIntegrityViolationException) {
+            return false;
+        }
+        return error instanceof DataAccessException || error instanceof TransactionException;
+    }
+
+    // fsync 까지 끝나야 완료 (스필도 실패하면 원래 오류와 함께 실패로 전달)
+    private Mono<Long> spill(String code, boolean upsertCandles, List<StockPriceInfo> priceInfos, StockOrderBook orderBook,
+                             List<StockDailyCandle> dailyCandles, List<StockInvestor> investors, Throwable cause) {
+        if (!spillLog.isEnabled()) {
+            return Mono.error(cause);
+        }
+        logger.warn("Saving data for {} failed ({}), spilling to local log", code, cause.toString());
+        SpillRecord record = SpillRecord.builder()
+                .stockCode(code)
+                .spilledAt(LocalDateTime.now())
+                .upsertCandles(upsertCandles)
+                .priceInfos(priceInfos != null ? priceInfos : List.of())
+                .orderBook(orderBook)
+                .dailyCandles(dailyCandles != null ? dailyCandles : List.of())
+                .investors(investors != null ? investors : List.of())
+                .build();
+        return Mono.fromFuture(spillLog.append(record))
+                .thenReturn(0L)
+                .onErrorMap(spillError -> {
+                    spillError.addSuppressed(cause);
+                    return spillError;
+                });
+    }
+
+    // r2dbc 모드면 응답부터 커밋까지 논블로킹, 아니면 JPA 로 저장
+    private Mono<Long> writeStage(String code, List<StockPriceInfo> priceInfos, StockOrderBook orderBook,
+                                  List<StockDailyCandle> dailyCandles, List<StockInvestor> investors, boolean publish) {
+        if (reactiveStockWriter == null) {
+            return Mono.fromCallable(() -> {
+                        // 종목 등록은 저장 트랜잭션 밖에서 먼저 (엔티티 변환은 조회만 함)
+                        symbolDictionary.register(code);
+                        // 종목 1개 저장을 SQL 작업 단위로 집계 (N+1 탐지)
+                        try (SqlUnitOfWork.Scope ignored = sqlUnitOfWork.open("collect", code)) {
+                            return persist(code, priceInfos, orderBook, dailyCandles, investors, publish);
+                        }
+                    })
+                    .subscribeOn(persistenceScheduler);
+        }
+        return Mono.zip(
+                reactiveStockWriter.insertPriceInfos(priceInfos),
+                orderBook != null
+                        ? reactiveStockWriter.insertOrderBook(orderBook).map(Optional::of)
+                        : Mono.just(Optional.<StockOrderBook>empty()),
+                reactiveStockWriter.insertDailyCandles(dailyCandles),
+                reactiveStockWriter.insertInvestors(investors)
+        ).map(saved -> publishCollected(code, saved.getT1(), saved.getT2().orElse(null), saved.getT3(), saved.getT4(), publish));
+    }
+
+    private Mono<Long> writeEndOfDayStage(String code, List<StockDailyCandle> dailyCandles, List<StockInvestor> investors) {
+        if (reactiveStockWriter == null) {
+            return Mono.fromCallable(() -> {
+                symbolDictionary.register(code);
+                try (SqlUnitOfWork.Scope ignored = sqlUnitOfWork.open("end-of-day", code)) {
+                    List<StockDailyCandle> savedCandles = upsertDailyCandles(dailyCandles);
+                    if (!investors.isEmpty()) {
+                        saveInvestors(investors);
+                    }
+                    return publishCollected(code, List.of(), null, savedCandles, investors, true);
+                }
+            }).subscribeOn(persistenceScheduler);
+        }
+        return Mono.zip(
+                reactiveStockWriter.upsertDailyCandles(dailyCandles),
+                reactiveStockWriter.insertInvestors(investors)
+        ).map(saved -> publishCollected(code, List.of(), null, saved.getT1(), saved.getT2(), true));
+    }
+
+    // 한 종목의 수집 결과를 저장하고 이벤트를 발행한 뒤, 저장된 행 수를 반환
+    private long persist(String code, List<StockPriceInfo> priceInfos, StockOrderBook orderBook,
+                         List<StockDailyCandle> dailyCandles, List<StockInvestor> investors, boolean publish) {
+        List<StockPriceInfo> savedPriceInfos = List.of();
+        List<StockDailyCandle> savedCandles = List.of();
+        List<StockInvestor> savedInvestors = List.of();
+
+        if (priceInfos != null && !priceInfos.isEmpty()) {
+            logger.info("Collected {} data points for {}", priceInfos.size(), code);
+            savedPriceInfos = saveData(priceInfos);
+        }
+        if (orderBook != null) {
+            logger.info("Collected order book for {}: {}", code, orderBook);
+            saveOrderBook(orderBook);
+        }
+        if (dailyCandles != null && !dailyCandles.isEmpty()) {
+            logger.info("Collected {} daily candles for {}", dailyCandles.size(), code);
+            savedCandles = saveDailyCandles(dailyCandles);
+        }
+        if (investors != null && !investors.isEmpty()) {
+            logger.info("Collected {} investor records for {}", investors.size(), code);
+            saveInvestors(investors);
+            savedInvestors = investors;
+        }
+
+        return publishCollected(code, savedPriceInfos, orderBook, savedCandles, savedInvestors, publish);
+    }
+
+    // 지표 등 후속 처리는 저장이 끝난 뒤 이벤트로 전달하고, 저장된 행 수를 반환
+    private long publishCollected(String code, List<StockPriceInfo> savedPriceInfos, StockOrderBook orderBook,
+                                  List<StockDailyCandle> savedCandles, List<StockInvestor> savedInvestors, boolean publish) {
+        if (publish) {
+            eventPublisher.publishEvent(new StockDataCollectedEvent(code, savedPriceInfos, orderBook, savedCandles, savedInvestors));
+        }
+        return (long) savedPriceInfos.size() + (orderBook != null ? 1 : 0) + savedCandles.size() + savedInvestors.size();
     }
 
     private Mono<List<StockPriceInfo>> fetchStockPrice(String token, String stockCode) {
@@ -121,9 +589,16 @@ public class StockDataService {
                 .bodyValue(requestBody)
                 .retrieve()
                 .bodyToMono(Map.class)
+                .doOnNext(response -> responseRecorder.record(ResponseRecorder.API_VOLUME_POWER, stockCode, response))
                 .map(response -> {
                     logger.info("API Response for {}: {}", stockCode, response);
-                    return parseResponse(stockCode, (Map<String, Object>) response);
+                    return StockResponseParser.parseResponse(stockCode, (Map<String, Object>) response, LocalDateTime.now());
+                })
+                .doOnNext(priceInfos -> {
+                    if (!priceInfos.isEmpty()) {
+                        lastPolledPriceInfos.put(stockCode, priceInfos.get(priceInfos.size() - 1));
+                        lastVolumePowerPolls.put(stockCode, System.nanoTime());
+                    }
                 })
                 .onErrorResume(e -> {
                     logger.error("API call failed for {}: {}", stockCode, e.getMessage());
@@ -131,6 +606,67 @@ public class StockDataService {
                 });
     }
 
+    /**
+     * ka10046 응답의 시간별 행 전체를 반환합니다. (누락 분 복구용, 호출 한도는 호출하는 쪽에서 얻음)
+     * 실패하면 빈 목록을 반환하며, 수집 주기와 달리 응답 녹화나 마지막 체결강도 갱신은 하지 않습니다.
+     */
+    public Mono<List<StockPriceInfo>> fetchVolumePowerHistory(String stockCode) {
+        Map<String, String> requestBody = new HashMap<>();
+        requestBody.put("stk_cd", stockCode);
+
+        return authService.getAccessToken()
+                .flatMap(token -> webClient.post()
+                        .uri("/api/dostk/mrkcond")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", "Bearer " + token)
+                        .header("api-id", "ka10046")
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .bodyToMono(Map.class))
+                .map(response -> StockResponseParser.parseResponseHistory(stockCode, (Map<String, Object>) response, LocalDateTime.now()))
+                .onErrorResume(e -> {
+                    logger.error("Volume power history call failed for {}: {}", stockCode, e.getMessage());
+                    return Mono.just(List.of());
+                });
+    }
+
+    // ka10095 관심종목정보요청: stk_cd 에 종목코드를 | 로 이어 여러 종목 현재가를 한 번에 조회
+    private Mono<Map<String, List<StockPriceInfo>>> fetchWatchlistQuotes(String token, List<String> stockCodes) {
+        logger.info("fetchWatchlistQuotes CALL for {} codes", stockCodes.size());
+
+        Map<String, String> requestBody = new HashMap<>();
+        requestBody.put("stk_cd", String.join("|", stockCodes));
+
+        return webClient.post()
+                .uri("/api/dostk/stkinfo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .header("api-id", "ka10095")
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(Map.class)
+                .doOnNext(response -> recordWatchlistQuotes((Map<String, Object>) response))
+                .map(response -> withVolumePowerWindows(StockResponseParser.parseWatchlistQuoteResponse((Map<String, Object>) response, LocalDateTime.now())))
+                .onErrorResume(e -> {
+                    logger.error("Watchlist quote API call failed for {} codes: {}", stockCodes.size(), e.getMessage());
+                    return Mono.just(Map.of());
+                });
+    }
+
+    // 재생이 종목 단위로 사이클을 묶으므로 일괄 응답은 종목별 행으로 나눠 녹화
+    @SuppressWarnings("unchecked")
+    private void recordWatchlistQuotes(Map<String, Object> response) {
+        if (!responseRecorder.isEnabled() || !(response.get("atn_stk_infr") instanceof List<?> rows)) {
+            return;
+        }
+        for (Object row : rows) {
+            if (row instanceof Map<?, ?> data) {
+                String code = StockResponseParser.normalizeCode(String.valueOf(data.get("stk_cd")));
+                responseRecorder.record(ResponseRecorder.API_WATCHLIST_QUOTES, code, Map.of("atn_stk_infr", List.of(data)));
+            }
+        }
+    }
+
     private Mono<StockOrderBook> fetchOrderBook(String token, String stockCode) {
         logger.info("fetchOrderBook CALL for {}", stockCode);
 
@@ -145,9 +681,10 @@ public class StockDataService {
                 .bodyValue(requestBody)
                 .retrieve()
                 .bodyToMono(Map.class)
+                .doOnNext(response -> responseRecorder.record(ResponseRecorder.API_ORDER_BOOK, stockCode, response))
                 .map(response -> {
                     logger.info("OrderBook API Response for {}: {}", stockCode, response);
-                    return parseOrderBookResponse(stockCode, (Map<String, Object>) response);
+                    return StockResponseParser.parseOrderBookResponse(stockCode, (Map<String, Object>) response, LocalDateTime.now());
                 })
                 .onErrorResume(e -> {
                     logger.error("OrderBook API call failed for {}: {}", stockCode, e.getMessage());
@@ -171,9 +708,10 @@ public class StockDataService {
                 .bodyValue(requestBody)
                 .retrieve()
                 .bodyToMono(Map.class)
+                .doOnNext(response -> responseRecorder.record(ResponseRecorder.API_DAILY_CANDLE, stockCode, response))
                 .map(response -> {
                     logger.info("DailyCandle API Response for {}: {}", stockCode, response);
-                    return parseDailyCandleResponse(stockCode, (Map<String, Object>) response);
+                    return StockResponseParser.parseDailyCandleResponse(stockCode, (Map<String, Object>) response, LocalDateTime.now());
                 })
                 .onErrorResume(e -> {
                     logger.error("DailyCandle API call failed for {}: {}", stockCode, e.getMessage());
@@ -199,9 +737,10 @@ public class StockDataService {
                 .bodyValue(requestBody)
                 .retrieve()
                 .bodyToMono(Map.class)
+                .doOnNext(response -> responseRecorder.record(ResponseRecorder.API_INVESTOR, stockCode, response))
                 .map(response -> {
                     logger.info("Investor API Response for {}: {}", stockCode, response);
-                    return parseInvestorResponse(stockCode, (Map<String, Object>) response);
+                    return StockResponseParser.parseInvestorResponse(stockCode, (Map<String, Object>) response, LocalDateTime.now());
                 })
                 .onErrorResume(e -> {
                     logger.error("Investor API call failed for {}: {}", stockCode, e.getMessage());
@@ -209,267 +748,47 @@ public class StockDataService {
                 });
     }
 
-    @SuppressWarnings("unchecked")
-    private List<StockPriceInfo> parseResponse(String stockCode, Map<String, Object> response) {
-        try {
-            List<Map<String, String>> chartData = (List<Map<String, String>>) response.get("cntr_str_tm");
-
-            if (chartData == null || chartData.isEmpty()) {
-                logger.warn("No chart data found for {}: {}", stockCode, response);
-                return List.of();
-            }
-
-            if (!chartData.isEmpty()) {
-                return List.of(mapToStockPriceInfo(stockCode, chartData.get(0)));
-            }
-            return List.of();
-
-        } catch (Exception e) {
-            logger.error("Error parsing response for {}: {}", stockCode, e.getMessage());
-            return List.of();
-        }
-    }
-
-    private StockOrderBook parseOrderBookResponse(String stockCode, Map<String, Object> response) {
-        try {
-            Map<String, Object> data = response;
-            if (response.containsKey("output")) {
-                data = (Map<String, Object>) response.get("output");
-            }
-
-            LocalDateTime time = LocalDateTime.now();
-            String timeStr = getString(data, "bid_req_base_tm");
-            if (timeStr != null && timeStr.length() == 6) {
-                try {
-                    LocalTime localTime = LocalTime.parse(timeStr, DateTimeFormatter.ofPattern("HHmmss"));
-                    time = LocalDateTime.of(LocalDate.now(), localTime);
-                } catch (Exception e) {
-                    logger.warn("Failed to parse order book time: {}", timeStr);
-                }
-            }
-
-            return StockOrderBook.builder()
-                    .stockCode(stockCode)
-                    .time(time)
-                    .totalSellRemain(parseLong(data, "tot_sel_req"))
-                    .totalBuyRemain(parseLong(data, "tot_buy_req"))
-                    .build();
-
-        } catch (Exception e) {
-            logger.error("Error parsing order book response for {}: {}", stockCode, e.getMessage());
-            return null;
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<StockDailyCandle> parseDailyCandleResponse(String stockCode, Map<String, Object> response) {
-        try {
-            List<Map<String, String>> chartData = (List<Map<String, String>>) response.get("stk_dt_pole_chart_qry");
-
-            if (chartData == null || chartData.isEmpty()) {
-                logger.warn("No daily candle data found for {}: {}", stockCode, response);
-                return List.of();
-            }
-
-            // 최근 일주일(7일) 데이터만 필터링
-            LocalDate oneWeekAgo = LocalDate.now().minusDays(7);
-
-            return chartData.stream()
-                    .map(data -> mapToStockDailyCandle(stockCode, data))
-                    .filter(candle -> !candle.getDate().isBefore(oneWeekAgo)) // 7일 이전 데이터 제외
-                    .collect(Collectors.toList());
-
-        } catch (Exception e) {
-            logger.error("Error parsing daily candle response for {}: {}", stockCode, e.getMessage());
-            return List.of();
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<StockInvestor> parseInvestorResponse(String stockCode, Map<String, Object> response) {
-        try {
-            List<Map<String, String>> investorData = (List<Map<String, String>>) response.get("stk_invsr_orgn");
-
-            if (investorData == null || investorData.isEmpty()) {
-                logger.warn("No investor data found for {}: {}", stockCode, response);
-                return List.of();
-            }
-
-            // 오늘 날짜 데이터만 필터링
-            LocalDate today = LocalDate.now();
-
-            return investorData.stream()
-                    .map(data -> mapToStockInvestor(stockCode, data))
-                    .filter(investor -> investor.getDate().isEqual(today)) // 오늘 날짜만 포함
-                    .collect(Collectors.toList());
-
-        } catch (Exception e) {
-            logger.error("Error parsing investor response for {}: {}", stockCode, e.getMessage());
-            return List.of();
-        }
-    }
-
-    private StockPriceInfo mapToStockPriceInfo(String stockCode, Map<String, String> data) {
-        LocalDateTime time = LocalDateTime.now();
-        String timeStr = data.get("cntr_tm");
-        if (timeStr != null && timeStr.length() == 6) {
-            try {
-                LocalTime localTime = LocalTime.parse(timeStr, DateTimeFormatter.ofPattern("HHmmss"));
-                time = LocalDateTime.of(LocalDate.now(), localTime);
-            } catch (Exception e) {
-                logger.warn("Failed to parse time: {}", timeStr);
-            }
-        }
-        
-        long currentPrice = parseLong(data.get("cur_prc"));
-        long diffFromPrev = parseLong(data.get("pred_pre"));
-        String diffFromPrevSign = data.getOrDefault("pred_pre_sig", "");
-        double fluctuationRate = parseDouble(data.get("flu_rt"));
-        long volume = parseLong(data.get("trde_qty"));
-        long accumulatedTradePrice = parseLong(data.get("acc_trde_prica"));
-        long accumulatedTradeVolume = parseLong(data.get("acc_trde_qty"));
-        double volumePower = parseDouble(data.get("cntr_str"));
-        double volumePower5Min = parseDouble(data.get("cntr_str_5min"));
-        double volumePower20Min = parseDouble(data.get("cntr_str_20min"));
-        double volumePower60Min = parseDouble(data.get("cntr_str_60min"));
-        String exchangeType = data.getOrDefault("stex_tp", "");
-
-        return StockPriceInfo.builder()
-                .stockCode(stockCode)
-                .time(time)
-                .currentPrice(currentPrice)
-                .diffFromPrev(diffFromPrev)
-                .diffFromPrevSign(diffFromPrevSign)
-                .fluctuationRate(fluctuationRate)
-                .volume(volume)
-                .accumulatedTradePrice(accumulatedTradePrice)
-                .accumulatedTradeVolume(accumulatedTradeVolume)
-                .volumePower(volumePower)
-                .volumePower5Min(volumePower5Min)
-                .volumePower20Min(volumePower20Min)
-                .volumePower60Min(volumePower60Min)
-                .exchangeType(exchangeType)
-                .build();
-    }
-
-    private StockDailyCandle mapToStockDailyCandle(String stockCode, Map<String, String> data) {
-        LocalDate date = LocalDate.now();
-        String dateStr = data.get("dt");
-        if (dateStr != null && dateStr.length() == 8) {
-            try {
-                date = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("yyyyMMdd"));
-            } catch (Exception e) {
-                logger.warn("Failed to parse date: {}", dateStr);
-            }
-        }
-
-        return StockDailyCandle.builder()
-                .stockCode(stockCode)
-                .date(date)
-                .closePrice(parseLong(data.get("cur_prc")))
-                .volume(parseLong(data.get("trde_qty")))
-                .tradingValue(parseLong(data.get("trde_prica")))
-                .openPrice(parseLong(data.get("open_pric")))
-                .highPrice(parseLong(data.get("high_pric")))
-                .lowPrice(parseLong(data.get("low_pric")))
-                .changeFromPrev(parseLong(data.get("pred_pre")))
-                .changeSign(data.getOrDefault("pred_pre_sig", ""))
-                .turnoverRate(parseDouble(data.get("trde_tern_rt")))
-                .build();
-    }
-
-    private StockInvestor mapToStockInvestor(String stockCode, Map<String, String> data) {
-        LocalDate date = LocalDate.now();
-        String dateStr = data.get("dt");
-        if (dateStr != null && dateStr.length() == 8) {
-            try {
-                date = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("yyyyMMdd"));
-            } catch (Exception e) {
-                logger.warn("Failed to parse date: {}", dateStr);
-            }
-        }
-
-        return StockInvestor.builder()
-                .time(LocalDateTime.now()) // 수집 시간 저장 (StockPriceInfo와 동일한 타입)
-                .stockCode(stockCode)
-                .date(date)
-                .currentPrice(parseLong(data.get("cur_prc")))
-                .changeFromPrev(parseLong(data.get("pred_pre")))
-                .fluctuationRate(parseDouble(data.get("flu_rt")))
-                .volume(parseLong(data.get("acc_trde_qty")))
-                .tradingValue(parseLong(data.get("acc_trde_prica")))
-                .individual(parseLong(data.get("ind_invsr")))
-                .foreigner(parseLong(data.get("frgnr_invsr")))
-                .institution(parseLong(data.get("orgn")))
-                .financialInvestment(parseLong(data.get("fnnc_invt")))
-                .insurance(parseLong(data.get("insrnc")))
-                .investmentTrust(parseLong(data.get("invtrt")))
-                .etcFinance(parseLong(data.get("etc_fnnc")))
-                .bank(parseLong(data.get("bank")))
-                .pensionFund(parseLong(data.get("penfnd_etc")))
-                .privateFund(parseLong(data.get("samo_fund")))
-                .nation(parseLong(data.get("natn")))
-                .etcCorp(parseLong(data.get("etc_corp")))
-                .foreignNational(parseLong(data.get("natfor")))
-                .build();
-    }
-
-    private String getString(Map<String, Object> data, String key) {
-        return data.getOrDefault(key, "").toString();
-    }
-
-    private long parseLong(Object value) {
-        if (value == null) return 0;
-        String strVal = value.toString();
-        if (strVal.trim().isEmpty()) return 0;
-        try {
-            return Long.parseLong(strVal.replace("+", "").replace(",", "").trim());
-        } catch (NumberFormatException e) {
-            return 0;
-        }
-    }
-    
-    private long parseLong(Map<String, Object> data, String key) {
-        return parseLong(data.get(key));
-    }
-
-    private double parseDouble(Object value) {
-        if (value == null) return 0.0;
-        String strVal = value.toString();
-        if (strVal.trim().isEmpty()) return 0.0;
-        try {
-            return Double.parseDouble(strVal.replace("+", "").replace(",", "").trim());
-        } catch (NumberFormatException e) {
-            return 0.0;
-        }
-    }
-
-    private void saveData(List<StockPriceInfo> infoList) {
+    private List<StockPriceInfo> saveData(List<StockPriceInfo> infoList) {
+        List<StockPriceInfo> saved = new ArrayList<>();
         for (StockPriceInfo info : infoList) {
             // 중복 체크: 이미 존재하는 데이터면 저장하지 않음 (또는 업데이트)
             if (stockPriceInfoRepository.findByStockCodeAndTime(info.getStockCode(), info.getTime()).isEmpty()) {
-                stockPriceInfoRepository.save(info);
+                saved.add(stockPriceInfoRepository.save(info));
             } else {
                 logger.debug("Skipping duplicate StockPriceInfo for {} at {}", info.getStockCode(), info.getTime());
             }
         }
+        return saved;
     }
 
     private void saveOrderBook(StockOrderBook orderBook) {
         stockOrderBookRepository.save(orderBook);
     }
 
-    private void saveDailyCandles(List<StockDailyCandle> candles) {
+    private List<StockDailyCandle> saveDailyCandles(List<StockDailyCandle> candles) {
+        List<StockDailyCandle> saved = new ArrayList<>();
         for (StockDailyCandle candle : candles) {
             // 중복 체크: 이미 존재하는 데이터면 저장하지 않음 (또는 업데이트)
             // 여기서는 이미 존재하면 업데이트하지 않고 스킵하거나, 필요 시 업데이트 로직 추가
             // findByStockCodeAndDate는 이미 Repository에 추가됨
             if (stockDailyCandleRepository.findByStockCodeAndDate(candle.getStockCode(), candle.getDate()).isEmpty()) {
-                stockDailyCandleRepository.save(candle);
+                saved.add(stockDailyCandleRepository.save(candle));
             } else {
                 logger.debug("Skipping duplicate StockDailyCandle for {} at {}", candle.getStockCode(), candle.getDate());
             }
         }
+        return saved;
+    }
+
+    // 이미 저장된 일자는 확정값으로 갱신
+    private List<StockDailyCandle> upsertDailyCandles(List<StockDailyCandle> candles) {
+        List<StockDailyCandle> saved = new ArrayList<>();
+        for (StockDailyCandle candle : candles) {
+            stockDailyCandleRepository.findByStockCodeAndDate(candle.getStockCode(), candle.getDate())
+                    .ifPresent(existing -> candle.setId(existing.getId()));
+            saved.add(stockDailyCandleRepository.save(candle));
+        }
+        return saved;
     }
 
     private void saveInvestors(List<StockInvestor> investors) {
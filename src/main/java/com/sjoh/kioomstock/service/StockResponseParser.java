@@ -0,0 +1,346 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.domain.StockDailyCandle;
+import com.sjoh.kioomstock.domain.StockInvestor;
+import com.sjoh.kioomstock.domain.StockOrderBook;
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 키움 시세 TR(ka10046, ka10095, ka10004, ka10081, ka10059) 응답 -> 엔티티 변환.
+ * 상태가 없는 static 메서드만 있으므로 수집/재생 경로와 JMH 벤치마크(src/jmh)가 그대로 호출합니다.
+ */
+final class StockResponseParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockResponseParser.class);
+
+    private StockResponseParser() {
+    }
+
+    // asOf: 수집 시각 (실시간은 now, 재생 시에는 녹화 시각). 응답의 시각 필드에 날짜를 붙이는 기준
+    @SuppressWarnings("unchecked")
+    static List<StockPriceInfo> parseResponse(String stockCode, Map<String, Object> response, LocalDateTime asOf) {
+        try {
+            List<Map<String, String>> chartData = (List<Map<String, String>>) response.get("cntr_str_tm");
+
+            if (chartData == null || chartData.isEmpty()) {
+                logger.warn("No chart data found for {}: {}", stockCode, response);
+                return List.of();
+            }
+
+            if (!chartData.isEmpty()) {
+                return List.of(mapToStockPriceInfo(stockCode, chartData.get(0), asOf));
+            }
+            return List.of();
+
+        } catch (Exception e) {
+            logger.error("Error parsing response for {}: {}", stockCode, e.getMessage());
+            return List.of();
+        }
+    }
+
+    // parseResponse 와 같지만 첫 행만이 아니라 응답의 모든 시간별 행을 변환
+    @SuppressWarnings("unchecked")
+    static List<StockPriceInfo> parseResponseHistory(String stockCode, Map<String, Object> response, LocalDateTime asOf) {
+        try {
+            List<Map<String, String>> chartData = (List<Map<String, String>>) response.get("cntr_str_tm");
+            if (chartData == null || chartData.isEmpty()) {
+                return List.of();
+            }
+            List<StockPriceInfo> result = new ArrayList<>(chartData.size());
+            for (Map<String, String> row : chartData) {
+                result.add(mapToStockPriceInfo(stockCode, row, asOf));
+            }
+            return result;
+        } catch (Exception e) {
+            logger.error("Error parsing history response for {}: {}", stockCode, e.getMessage());
+            return List.of();
+        }
+    }
+
+    // ka10095 응답 -> 종목코드별 StockPriceInfo. 응답에 체결시각이 없어 asOf(초 단위)를 시각으로 사용
+    // (5/20/60분 체결강도는 응답에 없으므로 호출 측에서 채움)
+    @SuppressWarnings("unchecked")
+    static Map<String, List<StockPriceInfo>> parseWatchlistQuoteResponse(Map<String, Object> response, LocalDateTime asOf) {
+        try {
+            List<Map<String, String>> rows = (List<Map<String, String>>) response.get("atn_stk_infr");
+            if (rows == null || rows.isEmpty()) {
+                logger.warn("No watchlist quote data found: {}", response);
+                return Map.of();
+            }
+
+            LocalDateTime time = asOf.withNano(0);
+            Map<String, List<StockPriceInfo>> result = new HashMap<>(rows.size() * 2);
+            for (Map<String, String> row : rows) {
+                StockPriceInfo info = mapWatchlistQuote(row, time);
+                if (info.getStockCode() != null && !info.getStockCode().isEmpty()) {
+                    result.put(info.getStockCode(), List.of(info));
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            logger.error("Error parsing watchlist quote response: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    static StockPriceInfo mapWatchlistQuote(Map<String, String> data, LocalDateTime time) {
+        return StockPriceInfo.builder()
+                .stockCode(normalizeCode(data.get("stk_cd")))
+                .time(time)
+                .currentPrice(parseLong(data.get("cur_prc")))
+                .diffFromPrev(parseLong(data.get("pred_pre")))
+                .diffFromPrevSign(data.getOrDefault("pred_pre_sig", ""))
+                .fluctuationRate(parseDouble(data.get("flu_rt")))
+                .volume(parseLong(data.get("cntr_qty")))               // 최근 체결량
+                .accumulatedTradeVolume(parseLong(data.get("trde_qty")))
+                .accumulatedTradePrice(parseLong(data.get("trde_prica")))
+                .volumePower(parseDouble(data.get("cntr_str")))
+                .exchangeType("KRX")
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    static StockOrderBook parseOrderBookResponse(String stockCode, Map<String, Object> response, LocalDateTime asOf) {
+        try {
+            Map<String, Object> data = response;
+            if (response.containsKey("output")) {
+                data = (Map<String, Object>) response.get("output");
+            }
+
+            LocalDateTime time = asOf;
+            String timeStr = getString(data, "bid_req_base_tm");
+            if (timeStr != null && timeStr.length() == 6) {
+                try {
+                    LocalTime localTime = LocalTime.parse(timeStr, DateTimeFormatter.ofPattern("HHmmss"));
+                    time = LocalDateTime.of(asOf.toLocalDate(), localTime);
+                } catch (Exception e) {
+                    logger.warn("Failed to parse order book time: {}", timeStr);
+                }
+            }
+
+            return StockOrderBook.builder()
+                    .stockCode(stockCode)
+                    .time(time)
+                    .totalSellRemain(parseLong(data, "tot_sel_req"))
+                    .totalBuyRemain(parseLong(data, "tot_buy_req"))
+                    .build();
+
+        } catch (Exception e) {
+            logger.error("Error parsing order book response for {}: {}", stockCode, e.getMessage());
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<StockDailyCandle> parseDailyCandleResponse(String stockCode, Map<String, Object> response, LocalDateTime asOf) {
+        try {
+            List<Map<String, String>> chartData = (List<Map<String, String>>) response.get("stk_dt_pole_chart_qry");
+
+            if (chartData == null || chartData.isEmpty()) {
+                logger.warn("No daily candle data found for {}: {}", stockCode, response);
+                return List.of();
+            }
+
+            // 최근 일주일(7일) 데이터만 필터링
+            LocalDate oneWeekAgo = asOf.toLocalDate().minusDays(7);
+
+            return chartData.stream()
+                    .map(data -> mapToStockDailyCandle(stockCode, data, asOf))
+                    .filter(candle -> !candle.getDate().isBefore(oneWeekAgo)) // 7일 이전 데이터 제외
+                    .collect(Collectors.toList());
+
+        } catch (Exception e) {
+            logger.error("Error parsing daily candle response for {}: {}", stockCode, e.getMessage());
+            return List.of();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<StockInvestor> parseInvestorResponse(String stockCode, Map<String, Object> response, LocalDateTime asOf) {
+        try {
+            List<Map<String, String>> investorData = (List<Map<String, String>>) response.get("stk_invsr_orgn");
+
+            if (investorData == null || investorData.isEmpty()) {
+                logger.warn("No investor data found for {}: {}", stockCode, response);
+                return List.of();
+            }
+
+            // 오늘 날짜 데이터만 필터링
+            LocalDate today = asOf.toLocalDate();
+
+            return investorData.stream()
+                    .map(data -> mapToStockInvestor(stockCode, data, asOf))
+                    .filter(investor -> investor.getDate().isEqual(today)) // 오늘 날짜만 포함
+                    .collect(Collectors.toList());
+
+        } catch (Exception e) {
+            logger.error("Error parsing investor response for {}: {}", stockCode, e.getMessage());
+            return List.of();
+        }
+    }
+
+    static StockPriceInfo mapToStockPriceInfo(String stockCode, Map<String, String> data, LocalDateTime asOf) {
+        LocalDateTime time = asOf;
+        String timeStr = data.get("cntr_tm");
+        if (timeStr != null && timeStr.length() == 6) {
+            try {
+                LocalTime localTime = LocalTime.parse(timeStr, DateTimeFormatter.ofPattern("HHmmss"));
+                time = LocalDateTime.of(asOf.toLocalDate(), localTime);
+            } catch (Exception e) {
+                logger.warn("Failed to parse time: {}", timeStr);
+            }
+        }
+        
+        long currentPrice = parseLong(data.get("cur_prc"));
+        long diffFromPrev = parseLong(data.get("pred_pre"));
+        String diffFromPrevSign = data.getOrDefault("pred_pre_sig", "");
+        double fluctuationRate = parseDouble(data.get("flu_rt"));
+        long volume = parseLong(data.get("trde_qty"));
+        long accumulatedTradePrice = parseLong(data.get("acc_trde_prica"));
+        long accumulatedTradeVolume = parseLong(data.get("acc_trde_qty"));
+        double volumePower = parseDouble(data.get("cntr_str"));
+        Double volumePower5Min = parseNullableDouble(data.get("cntr_str_5min"));
+        Double volumePower20Min = parseNullableDouble(data.get("cntr_str_20min"));
+        Double volumePower60Min = parseNullableDouble(data.get("cntr_str_60min"));
+        String exchangeType = data.getOrDefault("stex_tp", "");
+
+        return StockPriceInfo.builder()
+                .stockCode(stockCode)
+                .time(time)
+                .currentPrice(currentPrice)
+                .diffFromPrev(diffFromPrev)
+                .diffFromPrevSign(diffFromPrevSign)
+                .fluctuationRate(fluctuationRate)
+                .volume(volume)
+                .accumulatedTradePrice(accumulatedTradePrice)
+                .accumulatedTradeVolume(accumulatedTradeVolume)
+                .volumePower(volumePower)
+                .volumePower5Min(volumePower5Min)
+                .volumePower20Min(volumePower20Min)
+                .volumePower60Min(volumePower60Min)
+                .exchangeType(exchangeType)
+                .build();
+    }
+
+    private static StockDailyCandle mapToStockDailyCandle(String stockCode, Map<String, String> data, LocalDateTime asOf) {
+        LocalDate date = asOf.toLocalDate();
+        String dateStr = data.get("dt");
+        if (dateStr != null && dateStr.length() == 8) {
+            try {
+                date = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("yyyyMMdd"));
+            } catch (Exception e) {
+                logger.warn("Failed to parse date: {}", dateStr);
+            }
+        }
+
+        return StockDailyCandle.builder()
+                .stockCode(stockCode)
+                .date(date)
+                .closePrice(parseLong(data.get("cur_prc")))
+                .volume(parseLong(data.get("trde_qty")))
+                .tradingValue(parseLong(data.get("trde_prica")))
+                .openPrice(parseLong(data.get("open_pric")))
+                .highPrice(parseLong(data.get("high_pric")))
+                .lowPrice(parseLong(data.get("low_pric")))
+                .changeFromPrev(parseLong(data.get("pred_pre")))
+                .changeSign(data.getOrDefault("pred_pre_sig", ""))
+                .turnoverRate(parseDouble(data.get("trde_tern_rt")))
+                .build();
+    }
+
+    static StockInvestor mapToStockInvestor(String stockCode, Map<String, String> data, LocalDateTime asOf) {
+        LocalDate date = asOf.toLocalDate();
+        String dateStr = data.get("dt");
+        if (dateStr != null && dateStr.length() == 8) {
+            try {
+                date = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("yyyyMMdd"));
+            } catch (Exception e) {
+                logger.warn("Failed to parse date: {}", dateStr);
+            }
+        }
+
+        return StockInvestor.builder()
+                .time(asOf) // 수집 시간 저장 (StockPriceInfo와 동일한 타입)
+                .stockCode(stockCode)
+                .date(date)
+                .currentPrice(parseLong(data.get("cur_prc")))
+                .changeFromPrev(parseLong(data.get("pred_pre")))
+                .fluctuationRate(parseDouble(data.get("flu_rt")))
+                .volume(parseLong(data.get("acc_trde_qty")))
+                .tradingValue(parseLong(data.get("acc_trde_prica")))
+                .individual(parseLong(data.get("ind_invsr")))
+                .foreigner(parseLong(data.get("frgnr_invsr")))
+                .institution(parseLong(data.get("orgn")))
+                .financialInvestment(parseLong(data.get("fnnc_invt")))
+                .insurance(parseLong(data.get("insrnc")))
+                .investmentTrust(parseLong(data.get("invtrt")))
+                .etcFinance(parseLong(data.get("etc_fnnc")))
+                .bank(parseLong(data.get("bank")))
+                .pensionFund(parseLong(data.get("penfnd_etc")))
+                .privateFund(parseLong(data.get("samo_fund")))
+                .nation(parseLong(data.get("natn")))
+                .etcCorp(parseLong(data.get("etc_corp")))
+                .foreignNational(parseLong(data.get("natfor")))
+                .build();
+    }
+
+    private static String getString(Map<String, Object> data, String key) {
+        return data.getOrDefault(key, "").toString();
+    }
+
+    static long parseLong(Object value) {
+        if (value == null) return 0;
+        String strVal = value.toString();
+        if (strVal.trim().isEmpty()) return 0;
+        try {
+            return Long.parseLong(strVal.replace("+", "").replace(",", "").trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+    
+    private static long parseLong(Map<String, Object> data, String key) {
+        return parseLong(data.get(key));
+    }
+
+    // 값이 없거나 숫자가 아니면 0 대신 null (측정값이 없는 것과 0 을 구분해야 하는 필드용)
+    static Double parseNullableDouble(Object value) {
+        if (value == null || value.toString().trim().isEmpty()) return null;
+        try {
+            return Double.parseDouble(value.toString().replace("+", "").replace(",", "").trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static double parseDouble(Object value) {
+        if (value == null) return 0.0;
+        String strVal = value.toString();
+        if (strVal.trim().isEmpty()) return 0.0;
+        try {
+            return Double.parseDouble(strVal.replace("+", "").replace(",", "").trim());
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    // 계좌/관심종목 API 는 종목코드 앞에 'A'를 붙여 반환함 (예: A005930)
+    static String normalizeCode(String stockCode) {
+        if (stockCode != null && stockCode.length() == 7 && stockCode.charAt(0) == 'A') {
+            return stockCode.substring(1);
+        }
+        return stockCode;
+    }
+}
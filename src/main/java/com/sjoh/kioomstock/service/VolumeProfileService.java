@@ -0,0 +1,269 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import com.sjoh.kioomstock.event.StockDataCollectedEvent;
+import com.sjoh.kioomstock.repository.StockPriceInfoRepository;
+import com.sjoh.kioomstock.volumeprofile.VolumeProfileSnapshot;
+import com.sjoh.kioomstock.volumeprofile.VolumeProfileState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 일중 가격대별 거래량(volume profile)과 VWAP 밴드.
+ * 당일 상태는 수집 이벤트로 틱마다 O(1) 갱신하고, 지난 날짜는 마감된 프로파일을 종목당 history-days 개까지 보관합니다.
+ * 메모리에 없는 날짜는 그날 틱을 DB 에서 읽어 한 번 계산한 뒤 같은 보관소에 넣습니다. (지난 날짜는 바뀌지 않음)
+ * 틱이 없던 지난 날짜(휴장일 등)도 따로 기억해 다시 조회하지 않고, 최근 N일 요약은 필요한 구간을 한 번에 읽어 날짜별로 나눕니다.
+ */
+@Service
+public class VolumeProfileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VolumeProfileService.class);
+
+    // 종목별로 기억할 틱 없는 날짜 수 (최근 60 거래일 조회의 달력 범위보다 넉넉하게)
+    private static final int MAX_EMPTY_DAYS = 256;
+
+    private final StockDataService stockDataService;
+    private final StockPriceInfoRepository stockPriceInfoRepository;
+    private final int bucketTicks;
+    private final double valueAreaRatio;
+    private final int historyDays;
+
+    private final Map<String, VolumeProfileState> states = new ConcurrentHashMap<>();
+    // 종목별 지난 날짜 프로파일 (가격대 목록 포함), 날짜 오름차순
+    private final Map<String, LinkedHashMap<LocalDate, VolumeProfileSnapshot>> history = new ConcurrentHashMap<>();
+    // 종목별 틱이 없던 지난 날짜
+    private final Map<String, TreeSet<LocalDate>> emptyDays = new ConcurrentHashMap<>();
+
+    public VolumeProfileService(StockDataService stockDataService, StockPriceInfoRepository stockPriceInfoRepository,
+                                @Value("${kiwoom.volume-profile.bucket-ticks:1}") int bucketTicks,
+                                @Value("${kiwoom.volume-profile.value-area:0.7}") double valueAreaRatio,
+                                @Value("${kiwoom.volume-profile.history-days:20}") int historyDays) {
+        if (valueAreaRatio <= 0 || valueAreaRatio > 1) {
+            throw new IllegalArgumentException("kiwoom.volume-profile.value-area must be in (0, 1]: " + valueAreaRatio);
+        }
+        this.stockDataService = stockDataService;
+        this.stockPriceInfoRepository = stockPriceInfoRepository;
+        this.bucketTicks = bucketTicks;
+        this.valueAreaRatio = valueAreaRatio;
+        this.historyDays = historyDays;
+    }
+
+    // 재시작 시 당일 틱으로 상태를 다시 만듦 (초기 수집보다 먼저)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildStates() {
+        LocalDate today = LocalDate.now();
+        for (String code : stockDataService.getTargetStockCodes()) {
+            try {
+                VolumeProfileState state = build(code, today);
+                states.put(code, state);
+                logger.info("Rebuilt volume profile for {} (volume: {})", code, state.getTotalVolume());
+            } catch (Exception e) {
+                logger.error("Failed to rebuild volume profile for {}", code, e);
+            }
+        }
+    }
+
+    @EventListener
+    public void onStockDataCollected(StockDataCollectedEvent event) {
+        if (event.getPriceInfos().isEmpty()) {
+            return;
+        }
+        String code = event.getStockCode();
+        VolumeProfileState state = states.computeIfAbsent(code, k -> new VolumeProfileState(bucketTicks));
+        synchronized (state) {
+            for (StockPriceInfo info : event.getPriceInfos()) {
+                LocalDate date = info.getTime().toLocalDate();
+                if (state.getDate() != null && date.isAfter(state.getDate())) {
+                    // 날짜가 바뀌면 어제 프로파일을 보관하고 새로 시작
+                    archive(code, state.snapshot(code, valueAreaRatio, true));
+                    state.reset();
+                }
+                state.apply(info.getTime(), info.getCurrentPrice(), info.getVolume(), info.getAccumulatedTradeVolume());
+            }
+        }
+    }
+
+    public VolumeProfileSnapshot getCurrent(String stockCode, boolean includeLevels) {
+        VolumeProfileState state = states.get(stockCode);
+        if (state == null) {
+            return VolumeProfileSnapshot.builder().stockCode(stockCode).valueAreaRatio(valueAreaRatio).levels(List.of()).build();
+        }
+        synchronized (state) {
+            return state.snapshot(stockCode, valueAreaRatio, includeLevels);
+        }
+    }
+
+    /**
+     * 특정 날짜의 프로파일. 오늘이면 현재 상태, 지난 날짜면 보관분 또는 DB 에서 계산합니다.
+     */
+    public VolumeProfileSnapshot getDaily(String stockCode, LocalDate date, boolean includeLevels) {
+        VolumeProfileSnapshot live = liveSnapshot(stockCode, date, includeLevels);
+        if (live != null) {
+            return live;
+        }
+        if (!date.isBefore(LocalDate.now())) {
+            return getCurrent(stockCode, includeLevels);
+        }
+        if (isKnownEmpty(stockCode, date)) {
+            return empty(stockCode, date);
+        }
+
+        VolumeProfileSnapshot snapshot = findArchived(stockCode, date);
+        if (snapshot == null) {
+            snapshot = archiveOrMarkEmpty(stockCode, date, build(stockCode, date));
+        }
+        return includeLevels ? snapshot : withoutLevels(snapshot);
+    }
+
+    /**
+     * 최근 days 개 거래일(오늘 포함) 프로파일 요약, 날짜 오름차순. 가격대 목록은 제외합니다.
+     */
+    public List<VolumeProfileSnapshot> getRecent(String stockCode, int days) {
+        List<VolumeProfileSnapshot> result = new ArrayList<>();
+        if (days <= 0) {
+            return result;
+        }
+        LocalDate today = LocalDate.now();
+        // 휴장일은 거래량 0 으로 나오므로 달력 기준으로 넉넉히 거슬러 올라가며 채움
+        LocalDate from = today.minusDays(days * 2L + 6);
+        Map<LocalDate, VolumeProfileSnapshot> past = loadPast(stockCode, from, today.minusDays(1));
+        for (LocalDate date = today; !date.isBefore(from) && result.size() < days; date = date.minusDays(1)) {
+            VolumeProfileSnapshot snapshot = liveSnapshot(stockCode, date, false);
+            if (snapshot == null && date.equals(today)) {
+                snapshot = getCurrent(stockCode, false);
+            } else if (snapshot == null && past.containsKey(date)) {
+                snapshot = withoutLevels(past.get(date));
+            }
+            if (snapshot != null && snapshot.getTotalVolume() > 0) {
+                result.add(snapshot);
+            }
+        }
+        result.sort(Comparator.comparing(VolumeProfileSnapshot::getDate));
+        return result;
+    }
+
+    // [from, to] 의 지난 날짜 프로파일. 보관분/틱 없는 날짜를 뺀 나머지는 한 번의 구간 조회로 읽어 날짜별로 계산
+    private Map<LocalDate, VolumeProfileSnapshot> loadPast(String stockCode, LocalDate from, LocalDate to) {
+        Map<LocalDate, VolumeProfileSnapshot> result = new HashMap<>();
+        TreeMap<LocalDate, VolumeProfileState> missing = new TreeMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            VolumeProfileSnapshot archived = findArchived(stockCode, date);
+            if (archived != null) {
+                result.put(date, archived);
+            } else if (!isKnownEmpty(stockCode, date)) {
+                missing.put(date, new VolumeProfileState(bucketTicks));
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        for (StockPriceInfo info : stockPriceInfoRepository.findByStockCodeAndTimeBetweenOrderByTimeAsc(
+                stockCode, missing.firstKey().atStartOfDay(), missing.lastKey().atTime(23, 59, 59))) {
+            VolumeProfileState state = missing.get(info.getTime().toLocalDate());
+            if (state != null) {
+                state.apply(info.getTime(), info.getCurrentPrice(), info.getVolume(), info.getAccumulatedTradeVolume());
+            }
+        }
+        missing.forEach((date, state) -> result.put(date, archiveOrMarkEmpty(stockCode, date, state)));
+        return result;
+    }
+
+    // 수집 중인 상태가 그 날짜면 그 스냅샷 (어제 상태가 아직 넘어가지 않은 경우 포함)
+    private VolumeProfileSnapshot liveSnapshot(String stockCode, LocalDate date, boolean includeLevels) {
+        VolumeProfileState state = states.get(stockCode);
+        if (state == null) {
+            return null;
+        }
+        synchronized (state) {
+            return date.equals(state.getDate()) ? state.snapshot(stockCode, valueAreaRatio, includeLevels) : null;
+        }
+    }
+
+    private VolumeProfileSnapshot archiveOrMarkEmpty(String stockCode, LocalDate date, VolumeProfileState state) {
+        if (state.getTotalVolume() > 0) {
+            VolumeProfileSnapshot snapshot = state.snapshot(stockCode, valueAreaRatio, true);
+            archive(stockCode, snapshot);
+            return snapshot;
+        }
+        TreeSet<LocalDate> dates = emptyDays.computeIfAbsent(stockCode, k -> new TreeSet<>());
+        synchronized (dates) {
+            dates.add(date);
+            while (dates.size() > MAX_EMPTY_DAYS) {
+                dates.pollFirst();
+            }
+        }
+        return empty(stockCode, date);
+    }
+
+    private boolean isKnownEmpty(String stockCode, LocalDate date) {
+        TreeSet<LocalDate> dates = emptyDays.get(stockCode);
+        if (dates == null) {
+            return false;
+        }
+        synchronized (dates) {
+            return dates.contains(date);
+        }
+    }
+
+    private VolumeProfileSnapshot empty(String stockCode, LocalDate date) {
+        return VolumeProfileSnapshot.builder().stockCode(stockCode).date(date).valueAreaRatio(valueAreaRatio).levels(List.of()).build();
+    }
+
+    private VolumeProfileState build(String stockCode, LocalDate date) {
+        VolumeProfileState state = new VolumeProfileState(bucketTicks);
+        List<StockPriceInfo> ticks = stockPriceInfoRepository.findByStockCodeAndTimeBetweenOrderByTimeAsc(
+                stockCode, date.atStartOfDay(), date.atTime(23, 59, 59));
+        for (StockPriceInfo info : ticks) {
+            state.apply(info.getTime(), info.getCurrentPrice(), info.getVolume(), info.getAccumulatedTradeVolume());
+        }
+        return state;
+    }
+
+    private VolumeProfileSnapshot findArchived(String stockCode, LocalDate date) {
+        LinkedHashMap<LocalDate, VolumeProfileSnapshot> days = history.get(stockCode);
+        if (days == null) {
+            return null;
+        }
+        synchronized (days) {
+            return days.get(date);
+        }
+    }
+
+    private void archive(String stockCode, VolumeProfileSnapshot snapshot) {
+        if (snapshot.getDate() == null) {
+            return;
+        }
+        LinkedHashMap<LocalDate, VolumeProfileSnapshot> days = history.computeIfAbsent(stockCode, k -> new LinkedHashMap<>());
+        synchronized (days) {
+            days.put(snapshot.getDate(), snapshot);
+            // 가장 오래된 날짜부터 제거 (DB 에서 다시 계산 가능)
+            while (days.size() > historyDays) {
+                LocalDate oldest = days.keySet().stream().min(LocalDate::compareTo).orElseThrow();
+                days.remove(oldest);
+            }
+        }
+    }
+
+    private static VolumeProfileSnapshot withoutLevels(VolumeProfileSnapshot snapshot) {
+        return snapshot.toBuilder().levels(List.of()).build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.sjoh.kioomstock.simulator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 키움 REST API 를 흉내 내는 로컬 시뮬레이터 (simulator 프로필 전용).
+ * kiwoom.api.base-url 을 /simulator 로 돌리면 수집/계좌 서비스가 실제 API 대신 이 엔드포인트를 호출합니다.
+ * 응답마다 지연, 오류(500), 초당 요청 제한(429)을 설정값대로 주입합니다.
+ */
+@RestController
+@Profile("simulator")
+@RequestMapping("/simulator")
+public class KiwoomSimulatorController {
+
+    private static final Logger logger = LoggerFactory.getLogger(KiwoomSimulatorController.class);
+
+    private final SimulatorProperties properties;
+    private final SyntheticMarket market;
+    private final TokenBucket rateLimiter;
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicLong throttledCount = new AtomicLong();
+
+    public KiwoomSimulatorController(SimulatorProperties properties, SyntheticMarket market) {
+        this.properties = properties;
+        this.market = market;
+        this.rateLimiter = new TokenBucket(properties.getRateLimitPerSecond());
+    }
+
+    @PostMapping("/oauth2/token")
+    public Mono<ResponseEntity<Map<String, Object>>> token(@RequestBody Map<String, String> body) {
+        return respond(() -> {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("expires_dt", LocalDateTime.now().plusDays(1).format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss")));
+            response.put("token_type", "bearer");
+            response.put("token", "SIM-" + UUID.randomUUID());
+            response.put("return_code", 0);
+            response.put("return_msg", "정상적으로 처리되었습니다");
+            return response;
+        });
+    }
+
+    // ka10046 체결강도추이시간별 / ka10004 주식호가
+    @PostMapping("/api/dostk/mrkcond")
+    public Mono<ResponseEntity<Map<String, Object>>> marketCondition(@RequestHeader("api-id") String apiId,
+                                                                     @RequestBody Map<String, String> body) {
+        String stockCode = body.get("stk_cd");
+        if ("ka10004".equals(apiId)) {
+            return respond(() -> market.orderBook(stockCode));
+        }
+        return respond(() -> market.volumePower(stockCode));
+    }
+
+    // ka10081 주식일봉차트조회
+    @PostMapping("/api/dostk/chart")
+    public Mono<ResponseEntity<Map<String, Object>>> chart(@RequestBody Map<String, String> body) {
+        return respond(() -> market.dailyCandles(body.get("stk_cd")));
+    }
+
+    // ka10059 종목별투자자기관별 / ka10095 관심종목정보 (stk_cd 가 | 로 이어진 여러 종목)
+    @PostMapping("/api/dostk/stkinfo")
+    public Mono<ResponseEntity<Map<String, Object>>> stockInfo(@RequestHeader("api-id") String apiId,
+                                                               @RequestBody Map<String, String> body) {
+        if ("ka10095".equals(apiId)) {
+            return respond(() -> market.watchlistQuotes(List.of(body.get("stk_cd").split("\\|"))));
+        }
+        return respond(() -> market.investors(body.get("stk_cd")));
+    }
+
+    // kt00004 계좌평가현황
+    @PostMapping("/api/dostk/acnt")
+    public Mono<ResponseEntity<Map<String, Object>>> account(@RequestBody Map<String, String> body) {
+        return respond(market::account);
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("requests", requestCount.get());
+        stats.put("errors", errorCount.get());
+        stats.put("throttled", throttledCount.get());
+        return stats;
+    }
+
+    private Mono<ResponseEntity<Map<String, Object>>> respond(Supplier<Map<String, Object>> body) {
+        requestCount.incrementAndGet();
+
+        // 제한 초과는 지연 없이 즉시 거절 (실제 게이트웨이와 동일)
+        if (!rateLimiter.tryAcquire()) {
+            throttledCount.incrementAndGet();
+            return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(error(1700, "허용된 요청 개수를 초과하였습니다")));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latency = properties.getMaxLatencyMs() > properties.getMinLatencyMs()
+                ? random.nextLong(properties.getMinLatencyMs(), properties.getMaxLatencyMs() + 1)
+                : properties.getMinLatencyMs();
+        boolean fail = random.nextDouble() < properties.getErrorRate();
+
+        return Mono.delay(Duration.ofMillis(latency))
+                .map(ignored -> {
+                    if (fail) {
+                        errorCount.incrementAndGet();
+                        logger.debug("Injecting simulated server error");
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .body(error(9999, "시뮬레이터 오류 주입"));
+                    }
+                    return ResponseEntity.ok(body.get());
+                });
+    }
+
+    private static Map<String, Object> error(int code, String message) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("return_code", code);
+        response.put("return_msg", message);
+        return response;
+    }
+}
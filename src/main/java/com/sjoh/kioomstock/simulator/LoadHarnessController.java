@@ -0,0 +1,73 @@
+package com.sjoh.kioomstock.simulator;
+
+import com.sjoh.kioomstock.service.StockDataService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 시뮬레이터를 상대로 수집 사이클을 반복 실행하고 사이클 시간과 초당 저장 행 수를 보고합니다.
+ * 예) GET /simulator/load?codes=1000&cycles=3
+ */
+@RestController
+@Profile("simulator")
+public class LoadHarnessController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadHarnessController.class);
+
+    private final StockDataService stockDataService;
+    private final KiwoomSimulatorController simulator;
+
+    public LoadHarnessController(StockDataService stockDataService, KiwoomSimulatorController simulator) {
+        this.stockDataService = stockDataService;
+        this.simulator = simulator;
+    }
+
+    @GetMapping("/simulator/load")
+    public LoadReport runLoad(@RequestParam(defaultValue = "1000") int codes,
+                              @RequestParam(defaultValue = "3") int cycles) {
+        if (codes <= 0 || cycles <= 0) {
+            throw new IllegalArgumentException("codes and cycles must be positive");
+        }
+
+        List<String> stockCodes = new ArrayList<>(codes);
+        for (int i = 0; i < codes; i++) {
+            stockCodes.add(String.format("%06d", 100000 + i));
+        }
+
+        List<Long> cycleMillis = new ArrayList<>(cycles);
+        List<Long> cycleRows = new ArrayList<>(cycles);
+        long totalRows = 0;
+        long totalNanos = 0;
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            long start = System.nanoTime();
+            Long rows = stockDataService.collect(stockCodes).block();
+            long elapsed = System.nanoTime() - start;
+
+            long saved = rows != null ? rows : 0;
+            cycleMillis.add(elapsed / 1_000_000);
+            cycleRows.add(saved);
+            totalRows += saved;
+            totalNanos += elapsed;
+            logger.info("Load cycle {}/{}: {} codes, {} rows in {} ms", cycle + 1, cycles, codes, saved, elapsed / 1_000_000);
+        }
+
+        return LoadReport.builder()
+                .stockCount(codes)
+                .cycles(cycles)
+                .cycleMillis(cycleMillis)
+                .cycleRows(cycleRows)
+                .avgCycleMillis(cycleMillis.stream().mapToLong(Long::longValue).average().orElse(0))
+                .maxCycleMillis(cycleMillis.stream().mapToLong(Long::longValue).max().orElse(0))
+                .totalRows(totalRows)
+                .rowsPerSecond(totalNanos > 0 ? totalRows * 1_000_000_000.0 / totalNanos : 0)
+                .simulatorStats(simulator.getStats())
+                .build();
+    }
+}
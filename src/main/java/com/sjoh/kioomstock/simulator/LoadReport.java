@@ -0,0 +1,29 @@
+package com.sjoh.kioomstock.simulator;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시뮬레이터 대상 수집 부하 테스트 결과.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadReport {
+
+    private int stockCount;
+    private int cycles;
+    private List<Long> cycleMillis;     // 사이클별 소요 시간
+    private List<Long> cycleRows;       // 사이클별 저장 행 수
+    private double avgCycleMillis;
+    private long maxCycleMillis;
+    private long totalRows;
+    private double rowsPerSecond;
+    private Map<String, Long> simulatorStats;   // 요청/오류/429 누적 건수
+}
@@ -0,0 +1,27 @@
+package com.sjoh.kioomstock.simulator;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로컬 키움 API 시뮬레이터 설정 (simulator 프로필 전용).
+ */
+@Data
+@Component
+@Profile("simulator")
+@ConfigurationProperties(prefix = "simulator")
+public class SimulatorProperties {
+
+    private long minLatencyMs = 20;           // 응답 지연 하한
+    private long maxLatencyMs = 120;          // 응답 지연 상한
+    private double errorRate = 0.0;           // 500 응답 비율 (0.0 ~ 1.0)
+    private int rateLimitPerSecond = 0;       // 초당 허용 요청 수, 초과 시 429 (0 이면 무제한)
+    private int dailyCandleCount = 30;        // ka10081 응답 일봉 개수
+    private int investorDays = 5;             // ka10059 응답 일자 수
+    private int holdingCount = 10;            // kt00004 응답 보유 종목 수
+    private long realtimeIntervalMs = 200;    // 실시간 WebSocket 에서 종목별 체결/호가를 보내는 주기
+    private long realtimePingIntervalMs = 10_000;
+    private long realtimeDropAfterMs = 0;     // 접속 후 이 시간이 지나면 서버가 끊음 (재접속 테스트용, 0 이면 유지)
+}
@@ -0,0 +1,184 @@
+package com.sjoh.kioomstock.simulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 키움 실시간 WebSocket 을 흉내 내는 대역 서버 (simulator 프로필 전용).
+ * LOGIN/REG/REMOVE/PING 을 처리하고, 등록된 종목마다 realtime-interval-ms 주기로 주식체결(0B)과 주식호가잔량(0D)을 보냅니다.
+ * realtime-drop-after-ms 를 주면 접속을 주기적으로 끊어 클라이언트 재접속/재구독을 확인할 수 있습니다.
+ */
+@Component
+@Profile("simulator")
+public class SimulatorRealtimeHandler extends TextWebSocketHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulatorRealtimeHandler.class);
+
+    private final SimulatorProperties properties;
+    private final SyntheticMarket market;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Client> clients = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "simulator-realtime");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SimulatorRealtimeHandler(SimulatorProperties properties, SyntheticMarket market, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.market = market;
+        this.objectMapper = objectMapper;
+        scheduler.scheduleAtFixedRate(this::pushQuotes, properties.getRealtimeIntervalMs(), properties.getRealtimeIntervalMs(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(this::ping, properties.getRealtimePingIntervalMs(), properties.getRealtimePingIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        // 송신 스레드(스케줄러)와 응답(요청 스레드)이 겹쳐도 안전하도록 감쌈
+        clients.put(session.getId(), new Client(new ConcurrentWebSocketSessionDecorator(session, 5_000, 1024 * 1024)));
+        logger.info("Simulator real-time session opened: {}", session.getId());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        clients.remove(session.getId());
+        logger.info("Simulator real-time session closed: {} ({})", session.getId(), status);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        Client client = clients.get(session.getId());
+        if (client == null) {
+            return;
+        }
+        Map<String, Object> request = objectMapper.readValue(message.getPayload(), Map.class);
+        String trnm = String.valueOf(request.get("trnm"));
+        switch (trnm) {
+            case "LOGIN" -> {
+                client.loggedIn = true;
+                send(client, ok("LOGIN"));
+            }
+            case "REG", "REMOVE" -> {
+                if (!client.loggedIn) {
+                    Map<String, Object> error = ok(trnm);
+                    error.put("return_code", 1);
+                    error.put("return_msg", "로그인이 필요합니다");
+                    send(client, error);
+                    return;
+                }
+                for (Map<String, Object> data : (List<Map<String, Object>>) request.getOrDefault("data", List.of())) {
+                    for (Object item : (List<Object>) data.getOrDefault("item", List.of())) {
+                        if ("REG".equals(trnm)) {
+                            client.codes.add(item.toString());
+                        } else {
+                            client.codes.remove(item.toString());
+                        }
+                    }
+                }
+                send(client, ok(trnm));
+            }
+            case "PING" -> logger.trace("Simulator received PING echo from {}", session.getId());
+            default -> logger.debug("Simulator ignoring real-time message {}", trnm);
+        }
+    }
+
+    private void pushQuotes() {
+        long now = System.currentTimeMillis();
+        for (Client client : clients.values()) {
+            if (properties.getRealtimeDropAfterMs() > 0 && now - client.connectedAt > properties.getRealtimeDropAfterMs()) {
+                close(client);
+                continue;
+            }
+            if (!client.loggedIn || client.codes.isEmpty()) {
+                continue;
+            }
+            List<Map<String, Object>> data = new ArrayList<>();
+            for (String code : client.codes) {
+                data.add(real("0B", "주식체결", code, market.realtimeTrade(code)));
+                data.add(real("0D", "주식호가잔량", code, market.realtimeOrderBook(code)));
+            }
+            Map<String, Object> message = new LinkedHashMap<>();
+            message.put("trnm", "REAL");
+            message.put("data", data);
+            send(client, message);
+        }
+    }
+
+    private void ping() {
+        for (Client client : clients.values()) {
+            send(client, Map.of("trnm", "PING"));
+        }
+    }
+
+    private static Map<String, Object> real(String type, String name, String code, Map<String, String> values) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("type", type);
+        entry.put("name", name);
+        entry.put("item", code);
+        entry.put("values", values);
+        return entry;
+    }
+
+    private static Map<String, Object> ok(String trnm) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("trnm", trnm);
+        response.put("return_code", 0);
+        response.put("return_msg", "");
+        return response;
+    }
+
+    private void send(Client client, Map<String, Object> message) {
+        try {
+            client.session.sendMessage(new TextMessage(objectMapper.writeValueAsString(message)));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Simulator real-time send failed for {}: {}", client.session.getId(), e.getMessage());
+            close(client);
+        }
+    }
+
+    private void close(Client client) {
+        clients.remove(client.session.getId());
+        try {
+            client.session.close(CloseStatus.GOING_AWAY);
+        } catch (IOException e) {
+            logger.debug("Simulator real-time close failed: {}", e.getMessage());
+        }
+    }
+
+    private static final class Client {
+        final WebSocketSession session;
+        final long connectedAt = System.currentTimeMillis();
+        final Set<String> codes = ConcurrentHashMap.newKeySet();
+        volatile boolean loggedIn;
+
+        Client(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.sjoh.kioomstock.simulator;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * 실시간 WebSocket 대역 서버 등록 (simulator 프로필 전용). 경로는 실제 키움 엔드포인트와 같은 /api/dostk/websocket.
+ */
+@Configuration
+@EnableWebSocket
+@Profile("simulator")
+public class SimulatorWebSocketConfig implements WebSocketConfigurer {
+
+    private final SimulatorRealtimeHandler realtimeHandler;
+
+    public SimulatorWebSocketConfig(SimulatorRealtimeHandler realtimeHandler) {
+        this.realtimeHandler = realtimeHandler;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(realtimeHandler, "/simulator/api/dostk/websocket");
+    }
+}
@@ -0,0 +1,334 @@
+package com.sjoh.kioomstock.simulator;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 종목별 랜덤워크 시세로 키움 REST 응답 형식의 가짜 데이터를 만듭니다.
+ * 필드명/부호/0 채움 형식은 실제 응답과 동일하게 맞춰 StockDataService/AccountService 파서를 그대로 탑니다.
+ */
+@Component
+@Profile("simulator")
+public class SyntheticMarket {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HHmmss");
+
+    private final SimulatorProperties properties;
+    private final Map<String, Quote> quotes = new ConcurrentHashMap<>();
+
+    public SyntheticMarket(SimulatorProperties properties) {
+        this.properties = properties;
+    }
+
+    // ka10046 체결강도추이시간별
+    public Map<String, Object> volumePower(String stockCode) {
+        Quote quote = quote(stockCode);
+        Map<String, String> row = new LinkedHashMap<>();
+        synchronized (quote) {
+            quote.tick();
+            row.put("cntr_tm", quote.nextTime().format(TIME));
+            row.put("cur_prc", signed(quote.price, quote.price - quote.prevClose));
+            row.put("pred_pre", signed(quote.price - quote.prevClose, quote.price - quote.prevClose));
+            row.put("pred_pre_sig", quote.price >= quote.prevClose ? "2" : "5");
+            row.put("flu_rt", String.format("%+.2f", (quote.price - quote.prevClose) * 100.0 / quote.prevClose));
+            row.put("trde_qty", String.valueOf(quote.lastVolume));
+            row.put("acc_trde_prica", String.valueOf(quote.accTradePrice / 1_000_000));
+            row.put("acc_trde_qty", String.valueOf(quote.accVolume));
+            row.put("cntr_str", String.format("%.2f", quote.volumePower));
+            row.put("cntr_str_5min", String.format("%.2f", quote.volumePower * 0.98));
+            row.put("cntr_str_20min", String.format("%.2f", quote.volumePower * 0.95));
+            row.put("cntr_str_60min", String.format("%.2f", quote.volumePower * 0.9));
+            row.put("stex_tp", "KRX");
+        }
+        return ok("cntr_str_tm", List.of(row));
+    }
+
+    // ka10095 관심종목정보요청 (여러 종목 현재가를 한 번에)
+    public Map<String, Object> watchlistQuotes(List<String> stockCodes) {
+        List<Map<String, String>> rows = new ArrayList<>(stockCodes.size());
+        for (String stockCode : stockCodes) {
+            Quote quote = quote(stockCode);
+            Map<String, String> row = new LinkedHashMap<>();
+            synchronized (quote) {
+                quote.tick();
+                long diff = quote.price - quote.prevClose;
+                row.put("stk_cd", stockCode);
+                row.put("stk_nm", "시뮬" + stockCode);
+                row.put("cur_prc", signed(quote.price, diff));
+                row.put("base_pric", String.valueOf(quote.prevClose));
+                row.put("pred_pre", signed(diff, diff));
+                row.put("pred_pre_sig", quote.price >= quote.prevClose ? "2" : "5");
+                row.put("flu_rt", String.format("%+.2f", diff * 100.0 / quote.prevClose));
+                row.put("trde_qty", String.valueOf(quote.accVolume));
+                row.put("trde_prica", String.valueOf(quote.accTradePrice / 1_000_000));
+                row.put("cntr_qty", String.valueOf(quote.lastVolume));
+                row.put("cntr_str", String.format("%.2f", quote.volumePower));
+            }
+            rows.add(row);
+        }
+        return ok("atn_stk_infr", rows);
+    }
+
+    // ka10004 주식호가요청
+    public Map<String, Object> orderBook(String stockCode) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> response = ok(null, null);
+        response.put("bid_req_base_tm", LocalTime.now().format(TIME));
+        response.put("tot_sel_req", String.valueOf(random.nextLong(50_000, 2_000_000)));
+        response.put("tot_buy_req", String.valueOf(random.nextLong(50_000, 2_000_000)));
+        return response;
+    }
+
+    // ka10081 주식일봉차트조회 (최신 일자부터)
+    public Map<String, Object> dailyCandles(String stockCode) {
+        Quote quote = quote(stockCode);
+        long close;
+        synchronized (quote) {
+            close = quote.price;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Map<String, String>> rows = new ArrayList<>();
+        LocalDate date = LocalDate.now();
+        for (int i = 0; i < properties.getDailyCandleCount(); i++) {
+            long open = Math.max(1, Math.round(close * (1 + random.nextGaussian() * 0.01)));
+            long high = Math.max(open, close) + Math.round(close * random.nextDouble(0.01));
+            long low = Math.max(1, Math.min(open, close) - Math.round(close * random.nextDouble(0.01)));
+            long volume = random.nextLong(100_000, 5_000_000);
+            Map<String, String> row = new LinkedHashMap<>();
+            row.put("dt", date.format(DATE));
+            row.put("cur_prc", String.valueOf(close));
+            row.put("trde_qty", String.valueOf(volume));
+            row.put("trde_prica", String.valueOf(close * volume / 1_000_000));
+            row.put("open_pric", String.valueOf(open));
+            row.put("high_pric", String.valueOf(high));
+            row.put("low_pric", String.valueOf(low));
+            row.put("pred_pre", String.valueOf(close - open));
+            row.put("pred_pre_sig", close >= open ? "2" : "5");
+            row.put("trde_tern_rt", String.format("%.2f", random.nextDouble(0.05, 2.0)));
+            rows.add(row);
+            close = open;
+            date = date.minusDays(1);
+        }
+        return ok("stk_dt_pole_chart_qry", rows);
+    }
+
+    // ka10059 종목별투자자기관별요청 (순매수 수량)
+    public Map<String, Object> investors(String stockCode) {
+        Quote quote = quote(stockCode);
+        long price;
+        long prevClose;
+        long accVolume;
+        synchronized (quote) {
+            price = quote.price;
+            prevClose = quote.prevClose;
+            accVolume = quote.accVolume;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Map<String, String>> rows = new ArrayList<>();
+        LocalDate date = LocalDate.now();
+        for (int i = 0; i < properties.getInvestorDays(); i++) {
+            long foreigner = random.nextLong(-200_000, 200_000);
+            long financialInvestment = random.nextLong(-50_000, 50_000);
+            long insurance = random.nextLong(-10_000, 10_000);
+            long investmentTrust = random.nextLong(-20_000, 20_000);
+            long etcFinance = random.nextLong(-2_000, 2_000);
+            long bank = random.nextLong(-2_000, 2_000);
+            long pensionFund = random.nextLong(-30_000, 30_000);
+            long privateFund = random.nextLong(-10_000, 10_000);
+            long nation = random.nextLong(-1_000, 1_000);
+            long institution = financialInvestment + insurance + investmentTrust + etcFinance + bank + pensionFund + privateFund + nation;
+            long etcCorp = random.nextLong(-5_000, 5_000);
+            long foreignNational = random.nextLong(-1_000, 1_000);
+            long individual = -(foreigner + institution + etcCorp + foreignNational);
+
+            Map<String, String> row = new LinkedHashMap<>();
+            row.put("dt", date.format(DATE));
+            row.put("cur_prc", signed(price, price - prevClose));
+            row.put("pred_pre", signed(price - prevClose, price - prevClose));
+            row.put("flu_rt", String.format("%+.2f", (price - prevClose) * 100.0 / prevClose));
+            row.put("acc_trde_qty", String.valueOf(accVolume));
+            row.put("acc_trde_prica", String.valueOf(accVolume * price / 1_000_000));
+            row.put("ind_invsr", signed(individual, individual));
+            row.put("frgnr_invsr", signed(foreigner, foreigner));
+            row.put("orgn", signed(institution, institution));
+            row.put("fnnc_invt", signed(financialInvestment, financialInvestment));
+            row.put("insrnc", signed(insurance, insurance));
+            row.put("invtrt", signed(investmentTrust, investmentTrust));
+            row.put("etc_fnnc", signed(etcFinance, etcFinance));
+            row.put("bank", signed(bank, bank));
+            row.put("penfnd_etc", signed(pensionFund, pensionFund));
+            row.put("samo_fund", signed(privateFund, privateFund));
+            row.put("natn", signed(nation, nation));
+            row.put("etc_corp", signed(etcCorp, etcCorp));
+            row.put("natfor", signed(foreignNational, foreignNational));
+            rows.add(row);
+            date = date.minusDays(1);
+        }
+        return ok("stk_invsr_orgn", rows);
+    }
+
+    // kt00004 계좌평가현황요청
+    public Map<String, Object> account() {
+        List<Map<String, String>> holdings = new ArrayList<>();
+        long totalPurchase = 0;
+        long totalEval = 0;
+        for (int i = 0; i < properties.getHoldingCount(); i++) {
+            String stockCode = String.format("%06d", 100000 + i * 7919 % 900000);
+            Quote quote = quote(stockCode);
+            long price;
+            synchronized (quote) {
+                price = quote.price;
+            }
+            long qty = 10 + Math.floorMod(stockCode.hashCode(), 500);
+            long avgPrice = Math.round(quote.basePrice * 1.02);
+            long purchase = avgPrice * qty;
+            long eval = price * qty;
+            totalPurchase += purchase;
+            totalEval += eval;
+
+            Map<String, String> row = new LinkedHashMap<>();
+            row.put("stk_cd", "A" + stockCode);
+            row.put("stk_nm", "시뮬" + stockCode);
+            row.put("rmnd_qty", zeroPad(qty));
+            row.put("avg_prc", zeroPad(avgPrice));
+            row.put("cur_prc", zeroPad(price));
+            row.put("evlt_amt", zeroPad(eval));
+            row.put("pl_amt", String.valueOf(eval - purchase));
+            row.put("pl_rt", String.format("%.4f", (eval - purchase) * 100.0 / purchase));
+            row.put("loan_dt", "");
+            row.put("pur_amt", zeroPad(purchase));
+            row.put("setl_remn", zeroPad(qty));
+            row.put("pred_buyq", zeroPad(0));
+            row.put("pred_sellq", zeroPad(0));
+            row.put("tdy_buyq", zeroPad(0));
+            row.put("tdy_sellq", zeroPad(0));
+            holdings.add(row);
+        }
+
+        long deposit = 10_000_000;
+        Map<String, Object> response = ok("stk_acnt_evlt_prst", holdings);
+        response.put("acnt_nm", "시뮬레이터");
+        response.put("brch_nm", "본점");
+        response.put("entr", zeroPad(deposit));
+        response.put("d2_entra", zeroPad(deposit));
+        response.put("tot_est_amt", zeroPad(totalEval));
+        response.put("aset_evlt_amt", zeroPad(deposit + totalEval));
+        response.put("tot_pur_amt", zeroPad(totalPurchase));
+        response.put("prsm_dpst_aset_amt", zeroPad(deposit + totalEval));
+        response.put("tot_grnt_sella", zeroPad(0));
+        response.put("tdy_lspft_amt", zeroPad(0));
+        response.put("invt_bsamt", zeroPad(0));
+        response.put("lspft_amt", zeroPad(totalPurchase));
+        response.put("tdy_lspft", zeroPad(0));
+        response.put("lspft2", zeroPad(0));
+        response.put("lspft", String.valueOf(totalEval - totalPurchase));
+        response.put("tdy_lspft_rt", "0.00");
+        response.put("lspft_ratio", "0.00");
+        response.put("lspft_rt", String.format("%.2f", totalPurchase == 0 ? 0.0 : (totalEval - totalPurchase) * 100.0 / totalPurchase));
+        return response;
+    }
+
+    // 실시간 주식체결(0B) FID 값
+    public Map<String, String> realtimeTrade(String stockCode) {
+        Quote quote = quote(stockCode);
+        Map<String, String> values = new LinkedHashMap<>();
+        synchronized (quote) {
+            quote.tick();
+            long diff = quote.price - quote.prevClose;
+            values.put("20", LocalTime.now().format(TIME));
+            values.put("10", signed(quote.price, diff));
+            values.put("11", signed(diff, diff));
+            values.put("12", String.format("%+.2f", diff * 100.0 / quote.prevClose));
+            values.put("15", (ThreadLocalRandom.current().nextBoolean() ? "+" : "-") + quote.lastVolume);
+            values.put("13", String.valueOf(quote.accVolume));
+            values.put("14", String.valueOf(quote.accTradePrice / 1_000_000));
+            values.put("25", quote.price >= quote.prevClose ? "2" : "5");
+            values.put("228", String.format("%.2f", quote.volumePower));
+        }
+        return values;
+    }
+
+    // 실시간 주식호가잔량(0D) FID 값
+    public Map<String, String> realtimeOrderBook(String stockCode) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("21", LocalTime.now().format(TIME));
+        values.put("121", String.valueOf(random.nextLong(50_000, 2_000_000)));
+        values.put("125", String.valueOf(random.nextLong(50_000, 2_000_000)));
+        return values;
+    }
+
+    private Quote quote(String stockCode) {
+        return quotes.computeIfAbsent(stockCode, Quote::new);
+    }
+
+    private static Map<String, Object> ok(String listKey, List<?> rows) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (listKey != null) {
+            response.put(listKey, rows);
+        }
+        response.put("return_code", 0);
+        response.put("return_msg", "정상적으로 처리되었습니다");
+        return response;
+    }
+
+    // 키움 응답처럼 상승/하락 부호를 붙임
+    private static String signed(long value, long direction) {
+        long abs = Math.abs(value);
+        if (direction > 0) return "+" + abs;
+        if (direction < 0) return "-" + abs;
+        return String.valueOf(abs);
+    }
+
+    private static String zeroPad(long value) {
+        return String.format("%015d", value);
+    }
+
+    private static final class Quote {
+        final long basePrice;
+        final long prevClose;
+        long price;
+        long lastVolume;
+        long accVolume;
+        long accTradePrice;
+        double volumePower = 100.0;
+        LocalTime lastTime;
+
+        Quote(String stockCode) {
+            // 종목코드마다 고정된 기준가 (1,000 ~ 300,000원)
+            this.basePrice = 1_000 + Math.floorMod(stockCode.hashCode() * 31L, 299_000L);
+            this.prevClose = basePrice;
+            this.price = basePrice;
+        }
+
+        void tick() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            price = Math.max(1, Math.round(price * (1 + random.nextGaussian() * 0.002)));
+            lastVolume = random.nextLong(100, 20_000);
+            accVolume += lastVolume;
+            accTradePrice += lastVolume * price;
+            volumePower = Math.max(10.0, Math.min(500.0, volumePower + random.nextGaussian() * 5));
+        }
+
+        // 같은 초에 여러 번 호출돼도 (stockCode, time) 유니크 제약에 걸리지 않도록 체결시각을 단조 증가시킴
+        LocalTime nextTime() {
+            LocalTime now = LocalTime.now().withNano(0);
+            if (lastTime != null && !now.isAfter(lastTime) && lastTime.isBefore(LocalTime.of(23, 59, 59))) {
+                now = lastTime.plusSeconds(1);
+            }
+            lastTime = now;
+            return now;
+        }
+    }
+}
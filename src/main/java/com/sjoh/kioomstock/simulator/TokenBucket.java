@@ -0,0 +1,31 @@
+package com.sjoh.kioomstock.simulator;
+
+/**
+ * 초당 요청 수 제한을 흉내 내는 토큰 버킷. (버스트 크기 = 초당 허용 수)
+ */
+class TokenBucket {
+
+    private final int ratePerSecond;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(int ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+        this.tokens = ratePerSecond;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    synchronized boolean tryAcquire() {
+        if (ratePerSecond <= 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        tokens = Math.min(ratePerSecond, tokens + (now - lastRefillNanos) / 1_000_000_000.0 * ratePerSecond);
+        lastRefillNanos = now;
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+}
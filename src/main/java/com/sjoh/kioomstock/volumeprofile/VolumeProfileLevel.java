@@ -0,0 +1,17 @@
+package com.sjoh.kioomstock.volumeprofile;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 가격대 하나의 거래량. price 는 구간의 하한 가격입니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VolumeProfileLevel {
+
+    private long price;
+    private long volume;
+}
@@ -0,0 +1,40 @@
+package com.sjoh.kioomstock.volumeprofile;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 하루치 가격대별 거래량 분포와 VWAP 밴드. 거래량이 아직 없으면 가격 관련 값은 null 입니다.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class VolumeProfileSnapshot {
+
+    private String stockCode;
+    private LocalDate date;
+    private LocalDateTime time;         // 마지막으로 반영된 틱 시각
+    private long totalVolume;
+    private long bucketSize;            // 가격대 간격 (원)
+
+    private Long pointOfControl;        // 거래량이 가장 많은 가격대 (POC)
+    private Long valueAreaLow;          // POC 부터 넓혀서 전체 거래량의 valueAreaRatio 를 담는 구간
+    private Long valueAreaHigh;
+    private double valueAreaRatio;
+
+    private Double vwap;
+    private Double stdDev;              // 거래량 가중 가격 표준편차
+    private Double upperBand1;          // VWAP + 1σ
+    private Double lowerBand1;
+    private Double upperBand2;          // VWAP + 2σ
+    private Double lowerBand2;
+
+    private List<VolumeProfileLevel> levels;    // 가격 오름차순
+}
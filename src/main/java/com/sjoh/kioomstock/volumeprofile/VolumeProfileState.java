@@ -0,0 +1,233 @@
+package com.sjoh.kioomstock.volumeprofile;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 한 종목 하루치 가격대별 거래량(volume profile) 증분 상태.
+ * - 틱마다 누적거래량 차이(없으면 체결량)를 가격대 히스토그램(long[])에 더함. 범위를 벗어나면 배열을 두 배로 늘려 분할 상환 O(1)
+ * - POC 는 거래량이 줄지 않으므로 더할 때마다 비교만 해서 유지
+ * - VWAP/σ 는 Σv, Σv·d, Σv·d² (d = 첫 틱 가격과의 차이, 큰 수끼리 빼는 오차 방지) 로 유지
+ * - 가치영역(value area)만 조회 시 POC 에서 양쪽으로 넓히며 계산 (가격대 수에 비례)
+ * 가격대 간격은 그날 첫 틱 가격의 KRX 호가단위 x bucketTicks 로 정하고 하루 동안 바꾸지 않습니다.
+ * (스레드 안전하지 않음 - 호출 측에서 동기화)
+ */
+public class VolumeProfileState {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int bucketTicks;
+
+    private LocalDate date;
+    private LocalDateTime lastTime;
+    private long bucketSize;
+    private long referencePrice;
+
+    private long[] volumes = new long[INITIAL_CAPACITY];
+    private long baseLevel;             // volumes[0] 의 가격대 번호 (가격 / bucketSize)
+    private int minIndex = Integer.MAX_VALUE;
+    private int maxIndex = Integer.MIN_VALUE;
+    private int pocIndex = -1;
+
+    private long lastAccumulatedVolume;
+    private long totalVolume;
+    private double sumVolumeDiff;       // Σ v·d
+    private double sumVolumeDiffSq;     // Σ v·d²
+
+    public VolumeProfileState(int bucketTicks) {
+        if (bucketTicks <= 0) {
+            throw new IllegalArgumentException("bucketTicks must be positive: " + bucketTicks);
+        }
+        this.bucketTicks = bucketTicks;
+    }
+
+    /**
+     * 틱 하나를 반영합니다. 다른 날짜의 틱이면 false 를 반환하며 반영하지 않습니다. (날짜 전환은 호출 측에서 reset)
+     */
+    public boolean apply(LocalDateTime time, long price, long volume, long accumulatedVolume) {
+        LocalDate tickDate = time.toLocalDate();
+        if (date == null) {
+            date = tickDate;
+        } else if (!date.equals(tickDate)) {
+            return false;
+        }
+        price = Math.abs(price);
+        if (price == 0) {
+            return true;
+        }
+
+        // 누적거래량이 있으면 직전 틱과의 차이가 그 사이 체결량. 줄어들면(중복/순서 뒤바뀐 틱) 무시
+        long delta;
+        if (accumulatedVolume > 0) {
+            if (lastAccumulatedVolume == 0) {
+                delta = volume;     // 그날 첫 틱: 그 전 누적분은 어느 가격에서 체결됐는지 모름
+            } else {
+                delta = accumulatedVolume - lastAccumulatedVolume;
+            }
+            if (accumulatedVolume > lastAccumulatedVolume) {
+                lastAccumulatedVolume = accumulatedVolume;
+            }
+        } else {
+            delta = volume;
+        }
+        if (lastTime == null || time.isAfter(lastTime)) {
+            lastTime = time;
+        }
+        if (delta <= 0) {
+            return true;
+        }
+
+        if (bucketSize == 0) {
+            bucketSize = tickSize(price) * bucketTicks;
+            referencePrice = price;
+            baseLevel = price / bucketSize - INITIAL_CAPACITY / 2;
+        }
+        int index = indexOf(price / bucketSize);
+        volumes[index] += delta;
+        minIndex = Math.min(minIndex, index);
+        maxIndex = Math.max(maxIndex, index);
+        if (pocIndex < 0 || volumes[index] > volumes[pocIndex]) {
+            pocIndex = index;
+        }
+
+        double diff = price - referencePrice;
+        totalVolume += delta;
+        sumVolumeDiff += delta * diff;
+        sumVolumeDiffSq += delta * diff * diff;
+        return true;
+    }
+
+    public void reset() {
+        date = null;
+        lastTime = null;
+        bucketSize = 0;
+        referencePrice = 0;
+        volumes = new long[INITIAL_CAPACITY];
+        baseLevel = 0;
+        minIndex = Integer.MAX_VALUE;
+        maxIndex = Integer.MIN_VALUE;
+        pocIndex = -1;
+        lastAccumulatedVolume = 0;
+        totalVolume = 0;
+        sumVolumeDiff = 0;
+        sumVolumeDiffSq = 0;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public long getTotalVolume() {
+        return totalVolume;
+    }
+
+    /**
+     * @param valueAreaRatio 가치영역에 담을 거래량 비율 (보통 0.7)
+     * @param includeLevels  가격대별 거래량 목록 포함 여부
+     */
+    public VolumeProfileSnapshot snapshot(String stockCode, double valueAreaRatio, boolean includeLevels) {
+        VolumeProfileSnapshot.VolumeProfileSnapshotBuilder builder = VolumeProfileSnapshot.builder()
+                .stockCode(stockCode)
+                .date(date)
+                .time(lastTime)
+                .totalVolume(totalVolume)
+                .bucketSize(bucketSize)
+                .valueAreaRatio(valueAreaRatio)
+                .levels(List.of());
+        if (totalVolume == 0) {
+            return builder.build();
+        }
+
+        double meanDiff = sumVolumeDiff / totalVolume;
+        double variance = Math.max(0.0, sumVolumeDiffSq / totalVolume - meanDiff * meanDiff);
+        double vwap = referencePrice + meanDiff;
+        double stdDev = Math.sqrt(variance);
+
+        // POC 에서 시작해 양옆 중 거래량이 큰 쪽으로 한 칸씩 넓힘
+        long target = (long) Math.ceil(totalVolume * valueAreaRatio);
+        int low = pocIndex;
+        int high = pocIndex;
+        long covered = volumes[pocIndex];
+        while (covered < target && (low > minIndex || high < maxIndex)) {
+            long below = low > minIndex ? volumes[low - 1] : -1;
+            long above = high < maxIndex ? volumes[high + 1] : -1;
+            if (above >= below) {
+                covered += volumes[++high];
+            } else {
+                covered += volumes[--low];
+            }
+        }
+
+        builder.pointOfControl(priceOf(pocIndex))
+                .valueAreaLow(priceOf(low))
+                .valueAreaHigh(priceOf(high))
+                .vwap(vwap)
+                .stdDev(stdDev)
+                .upperBand1(vwap + stdDev)
+                .lowerBand1(vwap - stdDev)
+                .upperBand2(vwap + 2 * stdDev)
+                .lowerBand2(vwap - 2 * stdDev);
+
+        if (includeLevels) {
+            List<VolumeProfileLevel> levels = new ArrayList<>(maxIndex - minIndex + 1);
+            for (int i = minIndex; i <= maxIndex; i++) {
+                if (volumes[i] > 0) {
+                    levels.add(new VolumeProfileLevel(priceOf(i), volumes[i]));
+                }
+            }
+            builder.levels(levels);
+        }
+        return builder.build();
+    }
+
+    // 가격대 번호 -> 배열 인덱스. 범위 밖이면 두 배로 늘리며 기존 값을 가운데 쪽으로 옮김
+    private int indexOf(long level) {
+        long offset = level - baseLevel;
+        if (offset >= 0 && offset < volumes.length) {
+            return (int) offset;
+        }
+        int capacity = volumes.length;
+        long needLow = Math.min(level, baseLevel);
+        long needHigh = Math.max(level, baseLevel + capacity - 1);
+        while (capacity < needHigh - needLow + 1) {
+            capacity *= 2;
+        }
+        long newBase = needLow - (capacity - (needHigh - needLow + 1)) / 2;
+        int shift = (int) (baseLevel - newBase);
+        long[] grown = new long[capacity];
+        System.arraycopy(volumes, 0, grown, shift, volumes.length);
+        volumes = grown;
+        baseLevel = newBase;
+        if (pocIndex >= 0) {
+            pocIndex += shift;
+            minIndex += shift;
+            maxIndex += shift;
+        }
+        return (int) (level - baseLevel);
+    }
+
+    private long priceOf(int index) {
+        return (baseLevel + index) * bucketSize;
+    }
+
+    /**
+     * KRX 주식 호가가격단위 (2023년 개편 기준, 유가/코스닥 공통).
+     */
+    static long tickSize(long price) {
+        if (price < 2_000) return 1;
+        if (price < 5_000) return 5;
+        if (price < 20_000) return 10;
+        if (price < 50_000) return 50;
+        if (price < 200_000) return 100;
+        if (price < 500_000) return 500;
+        return 1_000;
+    }
+
+    // 테스트용
+    long[] copyVolumes() {
+        return minIndex > maxIndex ? new long[0] : Arrays.copyOfRange(volumes, minIndex, maxIndex + 1);
+    }
+}
@@ -0,0 +1,67 @@
+package com.sjoh.kioomstock.alert;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlertRuleTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void aboveAndBelowAreStrict() {
+        AlertCondition above = AlertOperator.ABOVE.compile(100);
+        assertTrue(above.test(Double.NaN, 100.5));
+        assertFalse(above.test(Double.NaN, 100));
+        assertFalse(above.test(Double.NaN, Double.NaN));
+
+        AlertCondition below = AlertOperator.BELOW.compile(100);
+        assertTrue(below.test(Double.NaN, 99.5));
+        assertFalse(below.test(Double.NaN, 100));
+    }
+
+    @Test
+    void crossAboveFiresOnlyOnTheCrossingTick() {
+        AlertCondition cross = AlertOperator.CROSS_ABOVE.compile(100);
+        assertTrue(cross.test(99, 100));            // 기준값에 닿는 순간 포함
+        assertTrue(cross.test(99, 101));
+        assertFalse(cross.test(100, 101));          // 이미 기준값 이상이던 경우
+        assertFalse(cross.test(101, 102));
+        assertFalse(cross.test(101, 99));
+        assertFalse(cross.test(Double.NaN, 101));   // 직전 값이 없으면 발생하지 않음
+    }
+
+    @Test
+    void crossBelowFiresOnlyOnTheCrossingTick() {
+        AlertCondition cross = AlertOperator.CROSS_BELOW.compile(100);
+        assertTrue(cross.test(101, 100));
+        assertTrue(cross.test(101, 99));
+        assertFalse(cross.test(100, 99));
+        assertFalse(cross.test(99, 98));
+        assertFalse(cross.test(99, 101));
+        assertFalse(cross.test(Double.NaN, 99));
+    }
+
+    @Test
+    void cooldownSuppressesRepeatsUntilElapsed() {
+        CompiledRule rule = new CompiledRule("r1", AlertMetric.PRICE, AlertOperator.ABOVE, 100, 60 * SECOND, null);
+
+        assertTrue(rule.evaluate(Double.NaN, 101, 0));
+        assertFalse(rule.evaluate(101, 102, 59 * SECOND));
+        assertTrue(rule.evaluate(102, 103, 60 * SECOND));
+        // 조건을 만족하지 않은 평가는 쿨다운 시각을 바꾸지 않음
+        assertFalse(rule.evaluate(103, 99, 61 * SECOND));
+        assertFalse(rule.evaluate(99, 101, 119 * SECOND));
+        assertTrue(rule.evaluate(101, 101, 120 * SECOND));
+    }
+
+    @Test
+    void copyStartsWithoutCooldownState() {
+        CompiledRule rule = new CompiledRule("r1", AlertMetric.PRICE, AlertOperator.ABOVE, 100, 60 * SECOND, null);
+        assertTrue(rule.evaluate(Double.NaN, 101, 0));
+
+        assertTrue(rule.copy().evaluate(Double.NaN, 101, SECOND));
+        assertFalse(rule.evaluate(101, 101, SECOND));
+    }
+}
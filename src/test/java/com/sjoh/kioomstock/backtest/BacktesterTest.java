@@ -0,0 +1,86 @@
+package com.sjoh.kioomstock.backtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BacktesterTest {
+
+    private static final BacktestConfig NO_COSTS = config(0);
+
+    @Test
+    void fillsSignalsAtNextBarOpen() {
+        PriceSeries series = series(100, 100, 110, 120, 130);
+        // 0번 봉 종가에 진입 신호 -> 1번 봉 시가(100)에 10주, 2번 봉 청산 신호 -> 3번 봉 시가(120)에 매도
+        BacktestResult result = Backtester.run(series, new FixedSignals(Strategy.ENTER, Strategy.HOLD, Strategy.EXIT), NO_COSTS);
+
+        assertArrayEquals(new double[]{1000, 1000, 1100, 1200, 1200}, result.getEquityCurve(), 1e-9);
+        assertEquals(1200, result.getFinalEquity(), 1e-9);
+        assertEquals(0.2, result.getTotalReturn(), 1e-9);
+        assertEquals(1, result.getTradeCount());
+        assertEquals(1.0, result.getWinRate(), 1e-9);
+        assertEquals(0.0, result.getMaxDrawdown(), 1e-9);
+    }
+
+    @Test
+    void tracksLosingTradeAndDrawdown() {
+        PriceSeries series = series(100, 100, 80, 90, 90);
+        BacktestResult result = Backtester.run(series, new FixedSignals(Strategy.ENTER, Strategy.HOLD, Strategy.EXIT), NO_COSTS);
+
+        assertEquals(900, result.getFinalEquity(), 1e-9);
+        assertEquals(1, result.getTradeCount());
+        assertEquals(0.0, result.getWinRate(), 1e-9);
+        assertEquals(0.2, result.getMaxDrawdown(), 1e-9);
+    }
+
+    @Test
+    void appliesCommissionToPositionSizeAndProceeds() {
+        PriceSeries series = series(100, 100, 100, 100);
+        BacktestResult result = Backtester.run(series, new FixedSignals(Strategy.ENTER, Strategy.EXIT), config(0.01));
+
+        // 1000 / (100 * 1.01) -> 9주, 매수 909 / 매도 9 * 100 * 0.99 = 891
+        assertEquals(1000 - 909 + 891, result.getFinalEquity(), 1e-9);
+        assertEquals(0.0, result.getWinRate(), 1e-9);
+    }
+
+    private static BacktestConfig config(double commissionRate) {
+        return BacktestConfig.builder()
+                .initialCapital(1000)
+                .commissionRate(commissionRate)
+                .sellTaxRate(0)
+                .slippageRate(0)
+                .keepEquityCurve(true)
+                .build();
+    }
+
+    private static PriceSeries series(double... prices) {
+        int n = prices.length;
+        long[] times = new long[n];
+        for (int i = 0; i < n; i++) {
+            times[i] = i * 86_400L;
+        }
+        return new PriceSeries("005930", "daily", times, prices, prices, prices, prices, new long[n]);
+    }
+
+    // 앞부분 봉에 정해진 신호를 내는 테스트용 전략
+    private record FixedSignals(byte... leading) implements Strategy {
+
+        @Override
+        public byte[] generateSignals(PriceSeries series) {
+            byte[] signals = new byte[series.length()];
+            System.arraycopy(leading, 0, signals, 0, Math.min(leading.length, signals.length));
+            return signals;
+        }
+
+        @Override
+        public String getName() {
+            return "fixed";
+        }
+
+        @Override
+        public String getParameters() {
+            return "";
+        }
+    }
+}
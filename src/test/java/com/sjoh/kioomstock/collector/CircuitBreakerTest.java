@@ -0,0 +1,73 @@
+package com.sjoh.kioomstock.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CircuitBreakerTest {
+
+    private static final long OPEN_NANOS = 1_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void opensWhenFailureRateReachesThresholdAfterMinimumCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, OPEN_NANOS, 2, now::get);
+        breaker.tryAcquire().failure();
+        breaker.tryAcquire().failure();
+        breaker.tryAcquire().failure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.tryAcquire().success();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        now.set(OPEN_NANOS - 1);
+        assertNull(breaker.tryAcquire());
+    }
+
+    @Test
+    void closesAfterAllHalfOpenTrialsSucceed() {
+        CircuitBreaker breaker = open();
+        now.set(OPEN_NANOS);
+
+        CircuitBreaker.Permit first = breaker.tryAcquire();
+        CircuitBreaker.Permit second = breaker.tryAcquire();
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(breaker.tryAcquire(), "only half-open-calls trials are allowed");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        first.success();
+        second.success();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0.0, breaker.getFailureRate());
+    }
+
+    @Test
+    void reopensOnHalfOpenFailureAndIgnoresStaleOrRepeatedReports() {
+        CircuitBreaker breaker = open();
+        now.set(OPEN_NANOS);
+        CircuitBreaker.Permit trial = breaker.tryAcquire();
+        CircuitBreaker.Permit other = breaker.tryAcquire();
+
+        trial.failure();
+        trial.success();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // 이전 HALF_OPEN 에서 받은 허가의 결과는 새 상태에 반영되지 않음
+        other.success();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private CircuitBreaker open() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 2, 0.5, OPEN_NANOS, 2, now::get);
+        breaker.tryAcquire().failure();
+        breaker.tryAcquire().failure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        return breaker;
+    }
+}
@@ -0,0 +1,73 @@
+package com.sjoh.kioomstock.collector;
+
+import com.sjoh.kioomstock.config.KiwoomHttpProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class KiwoomResilienceFilterTest {
+
+    private final KiwoomHttpProperties properties = properties();
+    private final ApiRateLimiter rateLimiter = spy(new ApiRateLimiter(1000, 0));
+    private final KiwoomResilienceFilter filter = new KiwoomResilienceFilter(properties, new SimpleMeterRegistry(), rateLimiter);
+    private final ClientRequest request = ClientRequest.create(HttpMethod.POST, URI.create("http://localhost/api/dostk/mrkcond"))
+            .header("api-id", "ka10080")
+            .build();
+
+    @Test
+    void eachRetryAcquiresRateLimitPermit() {
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = req -> Mono.just(calls.incrementAndGet() <= 2
+                ? ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).build()
+                : ClientResponse.create(HttpStatus.OK).build());
+
+        ClientResponse response = filter.filter(request, next).block(Duration.ofSeconds(5));
+
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals(3, calls.get());
+        // 첫 호출은 호출 측이 한도를 얻으므로 재시도 2번만
+        verify(rateLimiter, times(2)).acquire(CollectionPriority.NORMAL, 1);
+    }
+
+    @Test
+    void successfulFirstCallDoesNotTouchRateLimiter() {
+        ExchangeFunction next = req -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+
+        filter.filter(request, next).block(Duration.ofSeconds(5));
+
+        verify(rateLimiter, never()).acquire(CollectionPriority.NORMAL, 1);
+    }
+
+    @Test
+    void exhaustedRetriesSurfaceLastFailure() {
+        ExchangeFunction next = req -> Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).build());
+
+        assertThrows(WebClientResponseException.TooManyRequests.class,
+                () -> filter.filter(request, next).block(Duration.ofSeconds(5)));
+        verify(rateLimiter, times(properties.getRetry().getMaxAttempts())).acquire(CollectionPriority.NORMAL, 1);
+    }
+
+    private static KiwoomHttpProperties properties() {
+        KiwoomHttpProperties properties = new KiwoomHttpProperties();
+        properties.getRetry().setMinBackoff(Duration.ofMillis(1));
+        properties.getRetry().setMaxBackoff(Duration.ofMillis(5));
+        return properties;
+    }
+}
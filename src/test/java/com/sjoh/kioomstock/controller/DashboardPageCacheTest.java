@@ -0,0 +1,82 @@
+package com.sjoh.kioomstock.controller;
+
+import com.sjoh.kioomstock.persistence.SymbolDictionary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardPageCacheTest {
+
+    private final SymbolDictionary symbolDictionary = mock(SymbolDictionary.class);
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @Test
+    void cachesWatchlistAndKnownSymbolsOnly() {
+        when(symbolDictionary.contains(anyString())).thenAnswer(invocation -> "035720".equals(invocation.getArgument(0)));
+        DashboardPageCache cache = cache(10, 1 << 20);
+
+        render(cache, null);
+        render(cache, null);
+        render(cache, "005930");
+        render(cache, "005930");
+        render(cache, "035720");
+        render(cache, "035720");
+        assertEquals(3, renders.get());
+
+        // 사전에 없는 종목은 매번 렌더링
+        render(cache, "NOPE");
+        render(cache, "NOPE");
+        assertEquals(5, renders.get());
+    }
+
+    @Test
+    void evictsOldestPageBeyondMaxEntries() {
+        when(symbolDictionary.contains(anyString())).thenReturn(true);
+        DashboardPageCache cache = cache(2, 1 << 20);
+
+        render(cache, "000001");
+        render(cache, "000002");
+        render(cache, "000003");
+        assertEquals(3, renders.get());
+
+        render(cache, "000003");
+        render(cache, "000002");
+        assertEquals(3, renders.get());
+        render(cache, "000001");
+        assertEquals(4, renders.get());
+    }
+
+    @Test
+    void evictsOldestPageBeyondMaxBytes() {
+        when(symbolDictionary.contains(anyString())).thenReturn(true);
+        // 페이지 하나가 6바이트("000001")이므로 두 개까지만
+        DashboardPageCache cache = cache(100, 12);
+
+        render(cache, "000001");
+        render(cache, "000002");
+        render(cache, "000003");
+        render(cache, "000001");
+        assertEquals(4, renders.get());
+    }
+
+    private DashboardPageCache cache(int maxEntries, long maxBytes) {
+        return new DashboardPageCache(new SimpleMeterRegistry(), symbolDictionary, List.of("005930"),
+                true, Duration.ofMinutes(1), maxEntries, maxBytes);
+    }
+
+    private void render(DashboardPageCache cache, String stockCode) {
+        cache.get(stockCode, () -> {
+            renders.incrementAndGet();
+            return (stockCode != null ? stockCode : "all").getBytes(StandardCharsets.UTF_8);
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.sjoh.kioomstock.indicator;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IndicatorStateTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 10, 16, 9, 0);
+
+    @Test
+    void incrementalValuesMatchFullRecalculation() {
+        IndicatorState state = new IndicatorState();
+        double[] prices = new double[60];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = 70000 + 500 * Math.sin(i / 3.0) + i * 10;
+            state.update(BASE.plusMinutes(i), prices[i], 100 + i);
+        }
+
+        IndicatorSnapshot snapshot = state.snapshot("005930", "intraday");
+
+        double sum = 0;
+        for (int i = prices.length - IndicatorState.SMA_PERIOD; i < prices.length; i++) {
+            sum += prices[i];
+        }
+        double sma = sum / IndicatorState.SMA_PERIOD;
+        double var = 0;
+        for (int i = prices.length - IndicatorState.SMA_PERIOD; i < prices.length; i++) {
+            var += (prices[i] - sma) * (prices[i] - sma);
+        }
+        double std = Math.sqrt(var / IndicatorState.SMA_PERIOD);
+
+        double emaFast = prices[0];
+        double emaSlow = prices[0];
+        for (int i = 1; i < prices.length; i++) {
+            emaFast += 2.0 / (IndicatorState.EMA_FAST_PERIOD + 1) * (prices[i] - emaFast);
+            emaSlow += 2.0 / (IndicatorState.EMA_SLOW_PERIOD + 1) * (prices[i] - emaSlow);
+        }
+
+        double pv = 0;
+        long v = 0;
+        for (int i = 0; i < prices.length; i++) {
+            pv += prices[i] * (100 + i);
+            v += 100 + i;
+        }
+
+        assertEquals(sma, snapshot.getSma(), 1e-6);
+        assertEquals(sma + 2 * std, snapshot.getBollingerUpper(), 1e-4);
+        assertEquals(pv / v, snapshot.getVwap(), 1e-6);
+        assertEquals(emaFast - emaSlow, snapshot.getMacd(), 1e-6);
+        assertEquals(60, snapshot.getSampleCount());
+    }
+
+    @Test
+    void macdAfterSingleStepMatchesHandComputedValue() {
+        IndicatorState state = new IndicatorState();
+        for (int i = 0; i < IndicatorState.EMA_SLOW_PERIOD - 1; i++) {
+            state.update(BASE.plusMinutes(i), 100, 1);
+        }
+        state.update(BASE.plusMinutes(IndicatorState.EMA_SLOW_PERIOD), 200, 1);
+
+        // 100 에서 200 으로 한 번 뛰면 EMA 는 alpha * 100 만큼 움직임: 100 * (2/13 - 2/27) = 2800/351
+        IndicatorSnapshot snapshot = state.snapshot("005930", "intraday");
+        assertEquals(100 + 200.0 / 13, snapshot.getEmaFast(), 1e-9);
+        assertEquals(100 + 200.0 / 27, snapshot.getEmaSlow(), 1e-9);
+        assertEquals(2800.0 / 351, snapshot.getMacd(), 1e-9);
+    }
+
+    @Test
+    void rsiIsHundredWhenPriceOnlyRises() {
+        IndicatorState state = new IndicatorState();
+        for (int i = 0; i <= IndicatorState.RSI_PERIOD; i++) {
+            state.update(BASE.plusMinutes(i), 1000 + i, 1);
+        }
+        assertEquals(100.0, state.snapshot("000660", "intraday").getRsi(), 1e-9);
+    }
+
+    @Test
+    void ignoresOutOfOrderTicksAndWarmsUpBeforeReporting() {
+        IndicatorState state = new IndicatorState();
+        state.update(BASE.plusMinutes(1), 1000, 1);
+        assertFalse(state.update(BASE, 2000, 1));
+
+        IndicatorSnapshot snapshot = state.snapshot("000660", "intraday");
+        assertEquals(1, snapshot.getSampleCount());
+        assertNull(snapshot.getSma());
+        assertNull(snapshot.getRsi());
+        assertNull(snapshot.getMacd());
+    }
+}
@@ -0,0 +1,99 @@
+package com.sjoh.kioomstock.market;
+
+import com.sjoh.kioomstock.config.MarketProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarketCalendarTest {
+
+    private static final LocalDate FRIDAY = LocalDate.of(2026, 10, 16);
+    private static final LocalDate SUNDAY = LocalDate.of(2026, 10, 18);
+    private static final LocalDate HOLIDAY = LocalDate.of(2026, 10, 9);     // 한글날 (금)
+    private static final LocalDate LATE_OPEN = LocalDate.of(2026, 11, 19);  // 수능일: 10:00 ~ 16:30
+
+    private final MarketCalendar calendar = new MarketCalendar(properties());
+
+    @Test
+    void regularDayPhaseBoundaries() {
+        assertPhase(MarketPhase.CLOSED, FRIDAY, "08:29:59");
+        assertPhase(MarketPhase.PRE_MARKET, FRIDAY, "08:30");
+        assertPhase(MarketPhase.PRE_MARKET, FRIDAY, "08:59:59");
+        assertPhase(MarketPhase.REGULAR, FRIDAY, "09:00");
+        assertPhase(MarketPhase.REGULAR, FRIDAY, "15:19:59");
+        assertPhase(MarketPhase.CLOSING_AUCTION, FRIDAY, "15:20");
+        assertPhase(MarketPhase.CLOSING_AUCTION, FRIDAY, "15:29:59");
+        // 마감 ~ 장후 시간외 시작(마감 + 10분) 사이는 거래 없음
+        assertPhase(MarketPhase.CLOSED, FRIDAY, "15:30");
+        assertPhase(MarketPhase.AFTER_HOURS, FRIDAY, "15:40");
+        assertPhase(MarketPhase.AFTER_HOURS, FRIDAY, "17:59:59");
+        assertPhase(MarketPhase.CLOSED, FRIDAY, "18:00");
+    }
+
+    @Test
+    void weekendsAndHolidaysAreClosed() {
+        assertFalse(calendar.isTradingDay(SUNDAY));
+        assertFalse(calendar.isTradingDay(HOLIDAY));
+        assertTrue(calendar.isTradingDay(FRIDAY));
+        assertPhase(MarketPhase.CLOSED, SUNDAY, "10:00");
+        assertPhase(MarketPhase.CLOSED, HOLIDAY, "10:00");
+        assertFalse(calendar.isAfterEndOfDay(LocalDateTime.of(HOLIDAY, LocalTime.of(16, 0))));
+    }
+
+    @Test
+    void specialSessionMovesOpenCloseAndAuctions() {
+        assertEquals(LocalTime.of(10, 0), calendar.getOpen(LATE_OPEN));
+        assertEquals(LocalTime.of(16, 30), calendar.getClose(LATE_OPEN));
+        // 장전 시간외도 개장이 늦춰진 만큼(1시간) 늦춰짐
+        assertPhase(MarketPhase.CLOSED, LATE_OPEN, "09:29:59");
+        assertPhase(MarketPhase.PRE_MARKET, LATE_OPEN, "09:30");
+        assertPhase(MarketPhase.PRE_MARKET, LATE_OPEN, "09:59:59");
+        assertPhase(MarketPhase.REGULAR, LATE_OPEN, "10:00");
+        assertPhase(MarketPhase.REGULAR, LATE_OPEN, "16:19:59");
+        assertPhase(MarketPhase.CLOSING_AUCTION, LATE_OPEN, "16:20");
+        assertPhase(MarketPhase.CLOSED, LATE_OPEN, "16:30");
+        assertPhase(MarketPhase.AFTER_HOURS, LATE_OPEN, "16:40");
+        assertPhase(MarketPhase.CLOSED, LATE_OPEN, "18:00");
+    }
+
+    @Test
+    void endOfDayStartsAfterCloseAndDelay() {
+        assertFalse(calendar.isAfterEndOfDay(LocalDateTime.of(FRIDAY, LocalTime.of(15, 39, 59))));
+        assertTrue(calendar.isAfterEndOfDay(LocalDateTime.of(FRIDAY, LocalTime.of(15, 40))));
+        assertFalse(calendar.isAfterEndOfDay(LocalDateTime.of(LATE_OPEN, LocalTime.of(16, 39, 59))));
+        assertTrue(calendar.isAfterEndOfDay(LocalDateTime.of(LATE_OPEN, LocalTime.of(16, 40))));
+    }
+
+    @Test
+    void alwaysOpenIgnoresCalendar() {
+        MarketProperties properties = properties();
+        properties.setAlwaysOpen(true);
+        MarketCalendar alwaysOpen = new MarketCalendar(properties);
+
+        assertTrue(alwaysOpen.isTradingDay(SUNDAY));
+        assertEquals(MarketPhase.REGULAR, alwaysOpen.getPhase(LocalDateTime.of(SUNDAY, LocalTime.of(3, 0))));
+    }
+
+    private void assertPhase(MarketPhase expected, LocalDate date, String time) {
+        LocalDateTime at = LocalDateTime.of(date, LocalTime.parse(time));
+        assertEquals(expected, calendar.getPhase(at), at.toString());
+    }
+
+    private static MarketProperties properties() {
+        MarketProperties properties = new MarketProperties();
+        properties.setHolidays(List.of(HOLIDAY));
+        MarketProperties.SpecialSession session = new MarketProperties.SpecialSession();
+        session.setDate(LATE_OPEN);
+        session.setOpen(LocalTime.of(10, 0));
+        session.setClose(LocalTime.of(16, 30));
+        properties.setSpecialSessions(List.of(session));
+        return properties;
+    }
+}
@@ -0,0 +1,168 @@
+package com.sjoh.kioomstock.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpillLogTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    private final List<SpillLog> logs = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        for (SpillLog log : logs) {
+            log.shutdown();
+        }
+    }
+
+    @Test
+    void readsBackSealedRecordsInOrder() throws Exception {
+        SpillLog log = open(1 << 20);
+        append(log, "005930", "000660", "122630");
+        log.seal().get(5, TimeUnit.SECONDS);
+
+        List<Path> segments = log.sealedSegments();
+        assertEquals(1, segments.size());
+        assertEquals(List.of("005930", "000660", "122630"), codes(log, segments.get(0)));
+    }
+
+    @Test
+    void stopsAtTruncatedTail() throws Exception {
+        SpillLog log = open(1 << 20);
+        append(log, "005930", "000660", "122630");
+        log.seal().get(5, TimeUnit.SECONDS);
+        Path segment = log.sealedSegments().get(0);
+
+        // 마지막 레코드를 쓰다 죽은 경우
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        assertEquals(List.of("005930", "000660"), codes(log, segment));
+    }
+
+    @Test
+    void stopsAtCrcMismatch() throws Exception {
+        SpillLog log = open(1 << 20);
+        append(log, "005930", "000660", "122630");
+        log.seal().get(5, TimeUnit.SECONDS);
+        Path segment = log.sealedSegments().get(0);
+
+        // 두 번째 레코드 본문의 한 바이트를 바꿈
+        byte[] bytes = Files.readAllBytes(segment);
+        int second = 8 + ByteBuffer.wrap(bytes).getInt(0);
+        bytes[second + 8 + 1] ^= 0x01;
+        Files.write(segment, bytes);
+
+        assertEquals(List.of("005930"), codes(log, segment));
+    }
+
+    @Test
+    void rotatesWhenSegmentIsFull() throws Exception {
+        // 레코드 하나만으로 segment-bytes 를 넘으므로 매번 새 세그먼트
+        SpillLog log = open(1);
+        append(log, "005930", "000660", "122630");
+
+        List<Path> segments = log.sealedSegments();
+        assertEquals(3, segments.size());
+        assertEquals(List.of("005930"), codes(log, segments.get(0)));
+        assertEquals(List.of("122630"), codes(log, segments.get(2)));
+    }
+
+    @Test
+    void treatsSegmentsLeftByPreviousRunAsSealed() throws Exception {
+        // 이전 실행이 세그먼트를 닫지 못하고 죽은 경우
+        SpillLog previous = open(1 << 20);
+        append(previous, "005930", "000660");
+        assertTrue(previous.sealedSegments().isEmpty());
+
+        SpillLog log = open(1 << 20);
+        assertTrue(log.hasPending());
+        List<Path> leftovers = log.sealedSegments();
+        assertEquals(1, leftovers.size());
+        assertEquals(List.of("005930", "000660"), codes(log, leftovers.get(0)));
+
+        // 새 기록은 다음 번호의 세그먼트로 가고, 닫기 전까지는 재생 대상이 아님
+        append(log, "122630");
+        assertEquals(leftovers, log.sealedSegments());
+        log.seal().get(5, TimeUnit.SECONDS);
+        assertEquals(2, log.sealedSegments().size());
+    }
+
+    @Test
+    void deadLettersAreReadableButNotReplayed() throws Exception {
+        SpillLog log = open(1 << 20);
+        append(log, "005930");
+        log.seal().get(5, TimeUnit.SECONDS);
+        Path segment = log.sealedSegments().get(0);
+
+        Path deadLetters = log.writeDeadLetters(segment, List.of(record("000660"), record("122630")));
+        // 같은 세그먼트를 다시 재생하면 덮어씀
+        deadLetters = log.writeDeadLetters(segment, List.of(record("000660")));
+        log.delete(segment);
+
+        assertEquals(List.of("000660"), codes(log, deadLetters));
+        assertTrue(log.sealedSegments().isEmpty());
+        assertFalse(log.hasPending());
+    }
+
+    private SpillLog open(long segmentBytes) throws IOException {
+        SpillLog log = new SpillLog(OBJECT_MAPPER, new SimpleMeterRegistry(), true, directory.toString(), segmentBytes);
+        logs.add(log);
+        return log;
+    }
+
+    @Test
+    void appendAndSealFailAfterShutdownInsteadOfHanging() throws Exception {
+        SpillLog log = open(1 << 20);
+        append(log, "005930");
+        log.shutdown();
+
+        ExecutionException appended = assertThrows(ExecutionException.class, () -> log.append(record("000660")).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, appended.getCause());
+        assertThrows(ExecutionException.class, () -> log.seal().get(5, TimeUnit.SECONDS));
+        // 종료 전에 들어온 레코드는 그대로 남음
+        assertEquals(List.of("005930"), codes(log, log.sealedSegments().get(0)));
+    }
+
+    private static void append(SpillLog log, String... codes) throws Exception {
+        for (String code : codes) {
+            log.append(record(code)).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static SpillRecord record(String code) {
+        return SpillRecord.builder().stockCode(code).spilledAt(LocalDateTime.of(2026, 10, 16, 10, 0)).build();
+    }
+
+    private static List<String> codes(SpillLog log, Path segment) throws IOException {
+        List<String> codes = new ArrayList<>();
+        log.read(segment, record -> codes.add(record.getStockCode()));
+        return codes;
+    }
+}
@@ -0,0 +1,142 @@
+package com.sjoh.kioomstock.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sjoh.kioomstock.domain.StockOrderBook;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SpillReplayerTest {
+
+    private static final String POISONED = "BAD";
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final List<String> inserted = new ArrayList<>();
+    private SpillLog spillLog;
+    private SpillReplayer replayer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        spillLog = new SpillLog(new ObjectMapper().findAndRegisterModules(), meterRegistry, true, directory.toString(), 1 << 20);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        replayer = new SpillReplayer(spillLog, mock(SymbolDictionary.class), jdbcTemplate, transactionTemplate, meterRegistry, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        spillLog.shutdown();
+    }
+
+    @Test
+    void quarantinesRecordTheDatabaseKeepsRejectingAndContinues() throws Exception {
+        // 배치 안에 거부되는 레코드가 있으면 배치 전체가 롤백됨
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class))).thenAnswer(invocation -> {
+            SqlParameterSource[] rows = invocation.getArgument(1);
+            List<String> codes = new ArrayList<>();
+            for (SqlParameterSource row : rows) {
+                codes.add((String) row.getValue("stockCode"));
+            }
+            if (codes.contains(POISONED)) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            inserted.addAll(codes);
+            return new int[rows.length];
+        });
+        spill("005930", POISONED, "000660", "122630");
+
+        replayer.drain();
+
+        assertEquals(List.of("005930", "000660", "122630"), inserted);
+        assertFalse(spillLog.hasPending());
+        assertEquals(1.0, meterRegistry.counter("kiwoom.spill.records.dead-lettered").count());
+        assertEquals(3.0, meterRegistry.counter("kiwoom.spill.records.replayed").count());
+
+        List<String> deadLettered = new ArrayList<>();
+        try (var files = Files.list(directory.resolve("dead"))) {
+            for (Path file : files.toList()) {
+                spillLog.read(file, record -> deadLettered.add(record.getStockCode()));
+            }
+        }
+        assertEquals(List.of(POISONED), deadLettered);
+    }
+
+    @Test
+    void keepsSegmentWhenDatabaseIsDown() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class)))
+                .thenThrow(new CannotGetJdbcConnectionException("connection refused"));
+        spill("005930", "000660", "122630");
+
+        replayer.drain();
+
+        assertTrue(spillLog.hasPending());
+        assertEquals(1, spillLog.sealedSegments().size());
+        assertFalse(Files.exists(directory.resolve("dead")));
+        assertEquals(0.0, meterRegistry.counter("kiwoom.spill.records.dead-lettered").count());
+    }
+
+    @Test
+    void doesNotSealNewSegmentsUntilDatabaseRecovers() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class)))
+                .thenThrow(new CannotGetJdbcConnectionException("connection refused"));
+        spill("005930");
+        replayer.drain();
+        spill("000660");
+        replayer.drain();
+
+        // 두 번째 주기는 첫 세그먼트로 DB 를 확인만 하고 쓰던 세그먼트는 닫지 않음
+        assertEquals(1, spillLog.sealedSegments().size());
+
+        doAnswer(invocation -> {
+            for (SqlParameterSource row : (SqlParameterSource[]) invocation.getArgument(1)) {
+                inserted.add((String) row.getValue("stockCode"));
+            }
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class));
+        replayer.drain();
+        replayer.drain();
+
+        assertEquals(List.of("005930", "000660"), inserted);
+        assertFalse(spillLog.hasPending());
+    }
+
+    private void spill(String... codes) throws Exception {
+        for (String code : codes) {
+            StockOrderBook orderBook = new StockOrderBook();
+            orderBook.setStockCode(code);
+            orderBook.setTime(LocalDateTime.of(2026, 10, 16, 10, 0));
+            spillLog.append(SpillRecord.builder()
+                    .stockCode(code)
+                    .spilledAt(LocalDateTime.of(2026, 10, 16, 10, 0))
+                    .orderBook(orderBook)
+                    .build()).get(5, TimeUnit.SECONDS);
+        }
+    }
+}
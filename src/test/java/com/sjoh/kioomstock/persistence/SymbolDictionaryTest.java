@@ -0,0 +1,64 @@
+package com.sjoh.kioomstock.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SymbolDictionaryTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SymbolDictionary dictionary = new SymbolDictionary(jdbcTemplate, List.of("005930"));
+
+    @Test
+    void lookupOfUnknownCodeDoesNotInsert() {
+        assertEquals(SymbolDictionary.UNKNOWN_ID, dictionary.idOf("NOPE"));
+        assertEquals(SymbolDictionary.UNKNOWN_ID, dictionary.idOf("NOPE"));
+
+        assertFalse(dictionary.contains("NOPE"));
+        boolean inserted = mockingDetails(jdbcTemplate).getInvocations().stream()
+                .flatMap(invocation -> invocation.getArguments().length > 0 ? Stream.of(invocation.getArguments()[0]) : Stream.empty())
+                .anyMatch(sql -> sql instanceof String s && s.startsWith("INSERT"));
+        assertFalse(inserted);
+    }
+
+    @Test
+    void lookupFindsSymbolRegisteredElsewhere() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq("000660"))).thenReturn(List.of(3));
+
+        assertEquals(3, dictionary.idOf("000660"));
+        assertTrue(dictionary.contains("000660"));
+        assertEquals("000660", dictionary.codeOf(3));
+    }
+
+    @Test
+    void registerInsertsOnceAndCachesId() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("005930"))).thenReturn(7);
+
+        assertEquals(7, dictionary.register("005930"));
+        assertEquals(7, dictionary.register("005930"));
+        assertEquals(7, dictionary.idOf("005930"));
+
+        verify(jdbcTemplate, times(1)).update(startsWith("INSERT"), eq("005930"));
+        assertTrue(dictionary.contains("005930"));
+    }
+
+    @Test
+    void registerRejectsBlankCode() {
+        assertThrows(IllegalArgumentException.class, () -> dictionary.register(" "));
+    }
+}
@@ -0,0 +1,143 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.alert.AlertEvent;
+import com.sjoh.kioomstock.alert.AlertMetric;
+import com.sjoh.kioomstock.alert.AlertNotifier;
+import com.sjoh.kioomstock.alert.AlertOperator;
+import com.sjoh.kioomstock.config.AlertProperties;
+import com.sjoh.kioomstock.domain.StockInvestor;
+import com.sjoh.kioomstock.domain.StockOrderBook;
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import com.sjoh.kioomstock.event.StockDataCollectedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AlertServiceTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2026, 10, 16, 10, 0);
+
+    private final List<AlertEvent> notified = new ArrayList<>();
+    private final AlertNotifier notifier = notified::add;
+
+    @Test
+    void crossAboveFiresOnceAndCarriesPreviousValue() {
+        AlertService service = service(rule("price-cross", List.of("005930"), AlertMetric.PRICE, AlertOperator.CROSS_ABOVE, 70000));
+
+        service.onStockDataCollected(prices("005930", -69000));     // 직전 값 없음
+        service.onStockDataCollected(prices("005930", 70500));      // 돌파
+        service.onStockDataCollected(prices("005930", 71000));      // 이미 위
+
+        assertEquals(1, notified.size());
+        AlertEvent alert = notified.get(0);
+        assertEquals("price-cross", alert.getRuleId());
+        assertEquals(69000, alert.getPreviousValue(), 1e-9);
+        assertEquals(70500, alert.getValue(), 1e-9);
+        assertEquals(1, service.getRecentAlerts().size());
+    }
+
+    @Test
+    void rulesOnMetricsNotUpdatedThisEventAreSkipped() {
+        AlertProperties.Rule rule = rule("imbalance", List.of(), AlertMetric.ORDER_BOOK_IMBALANCE, AlertOperator.ABOVE, 0.5);
+        rule.setCooldown(Duration.ZERO);
+        AlertService service = service(rule);
+
+        service.onStockDataCollected(orderBook("000660", 900, 100));   // 0.8 -> 발생
+        notified.clear();
+        // 호가가 없는 이벤트는 이전 불균형 값이 남아 있어도 평가하지 않음 (쿨다운 없이도 재발생 안 함)
+        service.onStockDataCollected(prices("000660", 120000));
+        service.onStockDataCollected(investors("000660", 1000));
+        assertEquals(List.of(), notified);
+
+        service.onStockDataCollected(orderBook("000660", 800, 200));
+        assertEquals(1, notified.size());
+    }
+
+    @Test
+    void cooldownIsTrackedPerStock() {
+        AlertService service = service(rule("foreigner", List.of(), AlertMetric.FOREIGNER_NET, AlertOperator.ABOVE, 0));
+
+        service.onStockDataCollected(investors("005930", 100));
+        service.onStockDataCollected(investors("000660", 100));
+        service.onStockDataCollected(investors("005930", 200));     // 쿨다운 중
+
+        assertEquals(List.of("005930", "000660"), notified.stream().map(AlertEvent::getStockCode).toList());
+    }
+
+    @Test
+    void stockSpecificRulesApplyOnlyToTheirCodes() {
+        AlertService service = service(rule("below", List.of("005930"), AlertMetric.PRICE, AlertOperator.BELOW, 50000));
+
+        service.onStockDataCollected(prices("000660", 40000));
+        service.onStockDataCollected(prices("005930", 40000));
+
+        assertEquals(List.of("005930"), notified.stream().map(AlertEvent::getStockCode).toList());
+        assertEquals(Set.of("005930"), service.getAlertedStockCodes());
+    }
+
+    @Test
+    void rejectsRuleWithoutOperator() {
+        AlertProperties.Rule rule = rule("broken", List.of(), AlertMetric.PRICE, null, 0);
+        assertThrows(IllegalArgumentException.class, () -> service(rule));
+    }
+
+    @Test
+    void notifierFailureDoesNotStopOtherNotifiers() {
+        AlertProperties properties = properties(rule("above", List.of(), AlertMetric.PRICE, AlertOperator.ABOVE, 0));
+        AlertNotifier failing = alert -> {
+            throw new IllegalStateException("down");
+        };
+        AlertService service = new AlertService(properties, List.of(failing, notifier));
+        service.compileRules();
+
+        service.onStockDataCollected(prices("005930", 1000));
+
+        assertEquals(1, notified.size());
+        assertEquals(1, service.getRecentAlerts().size());
+    }
+
+    private AlertService service(AlertProperties.Rule... rules) {
+        AlertService service = new AlertService(properties(rules), List.of(notifier));
+        service.compileRules();
+        return service;
+    }
+
+    private static AlertProperties properties(AlertProperties.Rule... rules) {
+        AlertProperties properties = new AlertProperties();
+        properties.setRules(List.of(rules));
+        return properties;
+    }
+
+    private static AlertProperties.Rule rule(String id, List<String> codes, AlertMetric metric, AlertOperator operator, double threshold) {
+        AlertProperties.Rule rule = new AlertProperties.Rule();
+        rule.setId(id);
+        rule.setStockCodes(codes);
+        rule.setMetric(metric);
+        rule.setOperator(operator);
+        rule.setThreshold(threshold);
+        rule.setCooldown(Duration.ofMinutes(5));
+        return rule;
+    }
+
+    private static StockDataCollectedEvent prices(String code, long price) {
+        StockPriceInfo info = StockPriceInfo.builder().stockCode(code).time(TIME).currentPrice(price).build();
+        return new StockDataCollectedEvent(code, List.of(info), null, List.of(), List.of());
+    }
+
+    private static StockDataCollectedEvent orderBook(String code, long buy, long sell) {
+        StockOrderBook orderBook = StockOrderBook.builder().stockCode(code).totalBuyRemain(buy).totalSellRemain(sell).build();
+        return new StockDataCollectedEvent(code, List.of(), orderBook, List.of(), List.of());
+    }
+
+    private static StockDataCollectedEvent investors(String code, long foreigner) {
+        StockInvestor investor = StockInvestor.builder().stockCode(code).time(TIME).foreigner(foreigner).build();
+        return new StockDataCollectedEvent(code, List.of(), null, List.of(), List.of(investor));
+    }
+}
@@ -0,0 +1,135 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.backtest.BacktestConfig;
+import com.sjoh.kioomstock.backtest.PriceSeries;
+import com.sjoh.kioomstock.backtest.Strategy;
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import com.sjoh.kioomstock.repository.StockPriceInfoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BacktestServiceTest {
+
+    @Test
+    void smaGridSkipsPairsWhereSlowIsNotLonger() {
+        List<Strategy> grid = BacktestService.smaCrossGrid(1, 3, 2, 3, 1);
+
+        assertEquals(List.of("fast=1,slow=2", "fast=1,slow=3", "fast=2,slow=3"),
+                grid.stream().map(Strategy::getParameters).toList());
+    }
+
+    @Test
+    void rsiGridStepsLevels() {
+        List<Strategy> grid = BacktestService.rsiGrid(14, 14, 20, 30, 70, 80, 10);
+
+        assertEquals(4, grid.size());
+    }
+
+    @Test
+    void rejectsNonPositiveSteps() {
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.rsiGrid(14, 14, 20, 30, 70, 80, 0));
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.rsiGrid(14, 14, 20, 30, 70, 80, -5));
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.rsiGrid(14, 14, 20, 30, 70, 80, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.smaCrossGrid(1, 3, 2, 3, 0));
+    }
+
+    @Test
+    void rejectsGridLargerThanCap() {
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.smaCrossGrid(1, 1000, 2, 1000, 1));
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.rsiGrid(2, 1000, 0, 50, 50, 100, 1));
+    }
+
+    @Test
+    void rejectsUnboundedOrInvertedRanges() {
+        // 바깥 루프만 2^31 번 돌던 요청
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.smaCrossGrid(2, Integer.MAX_VALUE, 10, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.smaCrossGrid(30, 2, 10, 120, 1));
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.smaCrossGrid(0, 3, 2, 3, 1));
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.smaCrossGrid(1, 3, 2, 3, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.rsiGrid(30, 5, 10, 40, 60, 90, 5));
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.rsiGrid(14, 14, 40, 10, 60, 90, 5));
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.rsiGrid(14, 14, -10, 40, 60, 90, 5));
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.rsiGrid(14, 14, 10, 40, 60, 1e300, 5));
+    }
+
+    @Test
+    void rejectsTinyOrNonFiniteLevelStep() {
+        // lower 가 전혀 늘지 않던 요청
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.rsiGrid(5, 30, 10, 40, 60, 0, 1e-300));
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.rsiGrid(14, 14, 20, 30, 70, 80, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> BacktestService.rsiGrid(14, 14, 20, 30, 70, 80, Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void rsiGridKeepsLastLevelDespiteRoundingError() {
+        List<Strategy> grid = BacktestService.rsiGrid(14, 14, 0.1, 0.3, 99.9, 99.9, 0.1);
+
+        assertEquals(3, grid.size());
+    }
+
+    @Test
+    void rejectsNonPositiveTop() {
+        BacktestService service = new BacktestService(null, null, 0);
+        try {
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.sweep(List.of("005930"), BacktestService.DAILY, List.of(), new BacktestConfig(), 0));
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.sweep(List.of("005930"), BacktestService.DAILY, List.of(), new BacktestConfig(), -1));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsPositionFractionOutsideUnitInterval() {
+        for (double fraction : new double[]{0, -0.5, 1.5, Double.NaN}) {
+            BacktestConfig config = BacktestConfig.builder().positionFraction(fraction).build();
+            assertThrows(IllegalArgumentException.class, () -> BacktestService.requireValid(config), String.valueOf(fraction));
+        }
+        BacktestService.requireValid(BacktestConfig.builder().positionFraction(1.0).build());
+        BacktestService.requireValid(BacktestConfig.builder().positionFraction(0.25).build());
+    }
+
+    @Test
+    void minuteSeriesCacheEvictsLeastRecentlyUsedCode() {
+        StockPriceInfoRepository repository = mock(StockPriceInfoRepository.class);
+        when(repository.findByStockCode(anyString(), any(Sort.class))).thenAnswer(invocation -> ticks(invocation.getArgument(0), 100));
+        // 100틱 시계열 두 개는 못 들어가는 한도
+        long oneSeries = PriceSeries.fromTicks("000000", ticks("000000", 100)).weightBytes();
+        BacktestService service = new BacktestService(null, repository, oneSeries + oneSeries / 2);
+        try {
+            PriceSeries first = service.loadSeries("005930", BacktestService.MINUTE);
+            assertSame(first, service.loadSeries("005930", BacktestService.MINUTE));
+
+            service.loadSeries("000660", BacktestService.MINUTE);
+            service.loadSeries("005930", BacktestService.MINUTE);
+
+            verify(repository, times(2)).findByStockCode(eq("005930"), any(Sort.class));
+            verify(repository, times(1)).findByStockCode(eq("000660"), any(Sort.class));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static List<StockPriceInfo> ticks(String code, int count) {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 16, 9, 0);
+        return IntStream.range(0, count)
+                .mapToObj(i -> StockPriceInfo.builder().stockCode(code).time(start.plusMinutes(i)).currentPrice(70_000 + i).build())
+                .toList();
+    }
+}
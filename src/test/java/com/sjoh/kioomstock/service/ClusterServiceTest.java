@@ -0,0 +1,145 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.event.LeadershipChangedEvent;
+import com.sjoh.kioomstock.repository.CollectorNodeRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClusterServiceTest {
+
+    private static final List<String> CODES = codes(1000);
+    private static final List<String> NODES = List.of("node-a", "node-b", "node-c");
+
+    @Test
+    void assignmentDoesNotDependOnNodeOrder() {
+        Map<String, String> owners = owners(NODES);
+        List<String> reversed = new ArrayList<>(NODES);
+        Collections.reverse(reversed);
+
+        assertEquals(owners, owners(reversed));
+    }
+
+    @Test
+    void joiningNodeOnlyTakesCodesFromOthers() {
+        Map<String, String> before = owners(NODES);
+        List<String> joined = new ArrayList<>(NODES);
+        joined.add("node-d");
+        Map<String, String> after = owners(joined);
+
+        int moved = 0;
+        for (String code : CODES) {
+            if (!before.get(code).equals(after.get(code))) {
+                assertEquals("node-d", after.get(code), code);
+                moved++;
+            }
+        }
+        // 새 노드가 대략 1/4 을 가져감
+        assertTrue(moved > 200 && moved < 300, "moved " + moved);
+    }
+
+    @Test
+    void leavingNodeOnlyMovesItsOwnCodes() {
+        Map<String, String> before = owners(NODES);
+        Map<String, String> after = owners(List.of("node-a", "node-c"));
+
+        for (String code : CODES) {
+            if (before.get(code).equals("node-b")) {
+                assertTrue(after.get(code).equals("node-a") || after.get(code).equals("node-c"), code);
+            } else {
+                assertEquals(before.get(code), after.get(code), code);
+            }
+        }
+    }
+
+    @Test
+    void codesAreSpreadEvenly() {
+        Map<String, Integer> counts = new HashMap<>();
+        owners(List.of("node-a", "node-b", "node-c", "node-d")).values().forEach(node -> counts.merge(node, 1, Integer::sum));
+
+        assertEquals(4, counts.size());
+        counts.forEach((node, count) -> assertTrue(count > 200 && count < 300, node + "=" + count));
+    }
+
+    @Test
+    void smallestLiveNodeIdIsLeaderAndChangesArePublished() {
+        CollectorNodeRepository repository = mock(CollectorNodeRepository.class);
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        ClusterService service = new ClusterService(repository, publisher, true, Duration.ofSeconds(30));
+        String self = service.getNodeId();
+        String smaller = "!" + self;     // '!' 는 영숫자보다 앞에 정렬됨
+
+        when(repository.findLiveNodeIds(anyDouble())).thenReturn(List.of(self));
+        service.heartbeat();
+        assertTrue(service.isLeader());
+        verify(publisher, never()).publishEvent(any(Object.class));
+
+        when(repository.findLiveNodeIds(anyDouble())).thenReturn(List.of(smaller, self));
+        service.heartbeat();
+        assertFalse(service.isLeader());
+        assertEquals(List.of(smaller, self), service.getLiveNodes());
+
+        when(repository.findLiveNodeIds(anyDouble())).thenReturn(List.of(self));
+        service.heartbeat();
+        assertTrue(service.isLeader());
+
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(publisher, times(2)).publishEvent(events.capture());
+        assertFalse(((LeadershipChangedEvent) events.getAllValues().get(0)).isLeader());
+        assertTrue(((LeadershipChangedEvent) events.getAllValues().get(1)).isLeader());
+        // 만료 노드 정리는 리더일 때만
+        verify(repository, times(2)).deleteExpired(anyDouble());
+    }
+
+    @Test
+    void failedHeartbeatGivesUpLeadershipAndOwnership() {
+        CollectorNodeRepository repository = mock(CollectorNodeRepository.class);
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        ClusterService service = new ClusterService(repository, publisher, true, Duration.ofSeconds(30));
+        when(repository.findLiveNodeIds(anyDouble())).thenReturn(List.of(service.getNodeId()));
+        service.heartbeat();
+        assertTrue(service.owns("005930"));
+
+        when(repository.heartbeat(anyString(), anyString())).thenThrow(new IllegalStateException("db down"));
+        service.heartbeat();
+
+        assertFalse(service.isLeader());
+        assertFalse(service.owns("005930"));
+        assertTrue(service.filterOwned(CODES).isEmpty());
+    }
+
+    private static Map<String, String> owners(List<String> nodes) {
+        Map<String, String> owners = new HashMap<>();
+        for (String code : CODES) {
+            owners.put(code, ClusterService.ownerOf(code, nodes));
+        }
+        return owners;
+    }
+
+    private static List<String> codes(int count) {
+        List<String> codes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            codes.add(String.format("%06d", 5930 + i * 7));
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,128 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.collector.ApiRateLimiter;
+import com.sjoh.kioomstock.config.MarketProperties;
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import com.sjoh.kioomstock.market.MarketCalendar;
+import com.sjoh.kioomstock.persistence.SymbolDictionary;
+import com.sjoh.kioomstock.repository.StockPriceInfoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class GapRepairServiceTest {
+
+    private static final String CODE = "005930";
+    private static final LocalDate FRIDAY = LocalDate.of(2026, 10, 16);
+    private static final LocalDate SUNDAY = LocalDate.of(2026, 10, 18);
+    private static final LocalDateTime OPEN = FRIDAY.atTime(9, 0);
+
+    private final StockDataService stockDataService = mock(StockDataService.class);
+    private final StockPriceInfoRepository stockPriceInfoRepository = mock(StockPriceInfoRepository.class);
+    private final ClusterService clusterService = mock(ClusterService.class);
+    private final GapRepairService service = new GapRepairService(stockDataService, stockPriceInfoRepository,
+            mock(SymbolDictionary.class), new MarketCalendar(new MarketProperties()), clusterService,
+            new ApiRateLimiter(0, 0), Schedulers.immediate(), new SimpleMeterRegistry(), true, Duration.ofMinutes(3), 20);
+
+    @BeforeEach
+    void setUp() {
+        when(stockDataService.getTargetStockCodes()).thenReturn(List.of(CODE));
+        when(clusterService.filterOwned(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void repairsMissingMinutesAndRemembersMinutesWithoutTrades() {
+        // 09:00 ~ 09:59 중 5, 6, 30 분이 비어 있음
+        when(stockPriceInfoRepository.findMinuteOffsets(eq(CODE), any(), any())).thenReturn(offsetsExcept(60, 5, 6, 30));
+        // 응답에는 5 분과 이미 있는 40 분만 있음 -> 6, 30 분은 체결이 없던 분
+        when(stockDataService.fetchVolumePowerHistory(CODE)).thenReturn(Mono.just(List.of(tick(5), tick(40))));
+
+        service.scanAndRepair(OPEN.plusMinutes(63).plusSeconds(30));
+
+        ArgumentCaptor<List<StockPriceInfo>> saved = ArgumentCaptor.forClass(List.class);
+        verify(stockPriceInfoRepository).saveAll(saved.capture());
+        assertEquals(List.of(OPEN.plusMinutes(5)), saved.getValue().stream().map(StockPriceInfo::getTime).toList());
+        assertEquals(58.0 / 60, service.getCompleteness().get(CODE), 1e-9);
+
+        // 다음 스캔: 5 분은 채워졌고 6, 30 분은 다시 요청하지 않음 (완전성에는 계속 누락으로 반영)
+        when(stockPriceInfoRepository.findMinuteOffsets(eq(CODE), any(), any())).thenReturn(offsetsExcept(65, 6, 30));
+        service.scanAndRepair(OPEN.plusMinutes(68).plusSeconds(30));
+
+        verify(stockDataService, times(1)).fetchVolumePowerHistory(CODE);
+        assertEquals(63.0 / 65, service.getCompleteness().get(CODE), 1e-9);
+    }
+
+    @Test
+    void minutesAfterLatestResponseRowAreRequestedAgain() {
+        when(stockPriceInfoRepository.findMinuteOffsets(eq(CODE), any(), any())).thenReturn(offsetsExcept(60, 10, 59));
+        when(stockDataService.fetchVolumePowerHistory(CODE)).thenReturn(Mono.just(List.of(tick(10), tick(58))));
+
+        service.scanAndRepair(OPEN.plusMinutes(63));
+        // 59 분은 응답의 마지막 분(58) 이후라 아직 실리지 않았을 수 있음
+        service.scanAndRepair(OPEN.plusMinutes(63).plusSeconds(30));
+
+        verify(stockDataService, times(2)).fetchVolumePowerHistory(CODE);
+    }
+
+    @Test
+    void skipsNonTradingDaysAndBeforeOpen() {
+        service.scanAndRepair(SUNDAY.atTime(11, 0));
+        service.scanAndRepair(FRIDAY.atTime(8, 50));
+        service.scanAndRepair(FRIDAY.atTime(9, 2));     // grace 가 지나지 않음
+
+        verifyNoInteractions(stockPriceInfoRepository);
+    }
+
+    @Test
+    void scansOnceAfterCloseUpToCloseExcludingClosingAuction() {
+        // 마감 직후에는 마지막 분이 grace 를 지나지 않음
+        service.scanAndRepair(FRIDAY.atTime(15, 31));
+        verify(stockPriceInfoRepository, never()).findMinuteOffsets(anyString(), any(), any());
+
+        // 정규장 접속매매 380 분 (09:00 ~ 15:20) 만 기대 - 동시호가 10 분은 비어 있어도 누락이 아님
+        when(stockPriceInfoRepository.findMinuteOffsets(eq(CODE), any(), any())).thenReturn(offsetsExcept(380));
+        service.scanAndRepair(FRIDAY.atTime(15, 35));
+        service.scanAndRepair(FRIDAY.atTime(15, 45));
+        service.scanAndRepair(FRIDAY.atTime(16, 30));
+
+        verify(stockPriceInfoRepository, times(1)).findMinuteOffsets(CODE, OPEN, FRIDAY.atTime(15, 30));
+        verify(stockDataService, never()).fetchVolumePowerHistory(anyString());
+        assertEquals(1.0, service.getCompleteness().get(CODE), 1e-9);
+    }
+
+    private static List<Integer> offsetsExcept(int minutes, Integer... missing) {
+        List<Integer> excluded = List.of(missing);
+        return IntStream.range(0, minutes).boxed().filter(offset -> !excluded.contains(offset)).toList();
+    }
+
+    private static StockPriceInfo tick(int minute) {
+        return StockPriceInfo.builder()
+                .stockCode(CODE)
+                .time(OPEN.plusMinutes(minute))
+                .currentPrice(70000)
+                .volume(10)
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.candle.DailyCandleCache;
+import com.sjoh.kioomstock.candle.DailyCandleSeries;
+import com.sjoh.kioomstock.domain.StockDailyCandle;
+import com.sjoh.kioomstock.event.StockDataCollectedEvent;
+import com.sjoh.kioomstock.indicator.IndicatorSnapshot;
+import com.sjoh.kioomstock.repository.StockPriceInfoRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IndicatorServiceTest {
+
+    private static final String CODE = "005930";
+
+    private final StockDataService stockDataService = mock(StockDataService.class);
+    private final StockPriceInfoRepository stockPriceInfoRepository = mock(StockPriceInfoRepository.class);
+    private final DailyCandleCache dailyCandleCache = mock(DailyCandleCache.class);
+    private final IndicatorService indicatorService =
+            new IndicatorService(stockDataService, stockPriceInfoRepository, dailyCandleCache);
+
+    @Test
+    void rebuildCountsDownDayClosesAsAbsolutePrices() {
+        // 하락일 종가는 음수(-)로 들어옴
+        List<StockDailyCandle> candles = candles(LocalDate.now().minusDays(40), 30);
+        when(stockDataService.getTargetStockCodes()).thenReturn(List.of(CODE));
+        when(dailyCandleCache.getHistory(CODE)).thenReturn(DailyCandleSeries.of(CODE, candles));
+
+        indicatorService.rebuildStates();
+
+        IndicatorSnapshot daily = indicatorService.getDaily(CODE);
+        assertEquals(30, daily.getSampleCount());
+        assertEquals(Math.abs(candles.get(29).getClosePrice()), daily.getLastPrice(), 1e-9);
+        assertEquals(expectedSma(candles), daily.getSma(), 1e-9);
+    }
+
+    @Test
+    void collectedDownDayCandlesUpdateDailyState() {
+        List<StockDailyCandle> candles = candles(LocalDate.now().minusDays(30), 20);
+
+        indicatorService.onStockDataCollected(new StockDataCollectedEvent(CODE, List.of(), null, candles, List.of()));
+
+        IndicatorSnapshot daily = indicatorService.getDaily(CODE);
+        assertEquals(20, daily.getSampleCount());
+        assertEquals(expectedSma(candles), daily.getSma(), 1e-9);
+    }
+
+    // 홀수 날은 하락일
+    private static List<StockDailyCandle> candles(LocalDate from, int days) {
+        List<StockDailyCandle> candles = new ArrayList<>();
+        for (int i = 0; i < days; i++) {
+            long close = 70000 + i * 100L;
+            candles.add(StockDailyCandle.builder()
+                    .stockCode(CODE)
+                    .date(from.plusDays(i))
+                    .closePrice(i % 2 == 1 ? -close : close)
+                    .build());
+        }
+        return candles;
+    }
+
+    private static double expectedSma(List<StockDailyCandle> candles) {
+        return candles.subList(candles.size() - 20, candles.size()).stream()
+                .mapToLong(candle -> Math.abs(candle.getClosePrice()))
+                .average()
+                .orElseThrow();
+    }
+}
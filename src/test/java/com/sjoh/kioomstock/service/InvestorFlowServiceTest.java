@@ -0,0 +1,140 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.domain.StockInvestor;
+import com.sjoh.kioomstock.event.StockDataCollectedEvent;
+import com.sjoh.kioomstock.investor.CategoryFlow;
+import com.sjoh.kioomstock.investor.FlowWindow;
+import com.sjoh.kioomstock.investor.InvestorCategory;
+import com.sjoh.kioomstock.investor.InvestorFlowSummary;
+import com.sjoh.kioomstock.investor.NetBuyerRow;
+import com.sjoh.kioomstock.repository.StockInvestorRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InvestorFlowServiceTest {
+
+    private static final String CODE = "005930";
+    private static final LocalDate DAY1 = LocalDate.of(2026, 10, 12);
+
+    private final StockInvestorRepository stockInvestorRepository = mock(StockInvestorRepository.class);
+    private final InvestorFlowService service = new InvestorFlowService(stockInvestorRepository);
+
+    @Test
+    void intradaySnapshotsOverwriteTodayInsteadOfAdding() {
+        // 스냅샷 값은 당일 누적 순매수이므로 더하지 않고 마지막 값만 남음
+        collect(snapshot(CODE, DAY1, 9, 30, 100));
+        collect(snapshot(CODE, DAY1, 10, 0, 250));
+        collect(snapshot(CODE, DAY1, 10, 0, 300));      // 같은 분은 덮어씀
+
+        assertEquals(300, foreigner(FlowWindow.TODAY));
+        assertEquals(300, foreigner(FlowWindow.D5));
+        assertEquals(300, foreigner(FlowWindow.CUMULATIVE));
+
+        CategoryFlow flow = category(service.getSummary(CODE), InvestorCategory.FOREIGNER);
+        assertArrayEquals(new long[]{100, 300}, flow.getIntradaySeries());
+        assertArrayEquals(new int[]{9 * 60 + 30, 10 * 60}, service.getSummary(CODE).getIntradayMinutes());
+    }
+
+    @Test
+    void newDayResetsTodayAndAccumulatesWindows() {
+        collect(snapshot(CODE, DAY1, 15, 30, 100));
+        collect(snapshot(CODE, DAY1.plusDays(1), 9, 30, -40));
+
+        assertEquals(-40, foreigner(FlowWindow.TODAY));
+        assertEquals(60, foreigner(FlowWindow.D5));
+        assertEquals(60, foreigner(FlowWindow.CUMULATIVE));
+
+        InvestorFlowSummary summary = service.getSummary(CODE);
+        assertEquals(DAY1.plusDays(1), summary.getDate());
+        assertArrayEquals(new long[]{-40, 100}, category(summary, InvestorCategory.FOREIGNER).getDailySeries());
+        // 장중 시계열은 날짜가 바뀌면 새로 시작
+        assertArrayEquals(new int[]{9 * 60 + 30}, summary.getIntradayMinutes());
+    }
+
+    @Test
+    void fiveDayWindowDropsSixthDayBackButCumulativeKeepsIt() {
+        for (int day = 0; day < 6; day++) {
+            collect(snapshot(CODE, DAY1.plusDays(day), 15, 30, 10L << day));   // 10, 20, 40, 80, 160, 320
+        }
+
+        assertEquals(20 + 40 + 80 + 160 + 320, foreigner(FlowWindow.D5));
+        assertEquals(10 + 20 + 40 + 80 + 160 + 320, foreigner(FlowWindow.D20));
+        assertEquals(10 + 20 + 40 + 80 + 160 + 320, foreigner(FlowWindow.CUMULATIVE));
+    }
+
+    @Test
+    void ignoresSnapshotsFromPastDays() {
+        collect(snapshot(CODE, DAY1.plusDays(1), 10, 0, 500));
+        collect(snapshot(CODE, DAY1, 15, 30, 999));
+
+        assertEquals(500, foreigner(FlowWindow.TODAY));
+        assertEquals(500, foreigner(FlowWindow.CUMULATIVE));
+    }
+
+    @Test
+    void rebuildAppliesSnapshotsInDateAndTimeOrder() {
+        List<StockInvestor> stored = new ArrayList<>(List.of(
+                snapshot(CODE, DAY1.plusDays(1), 9, 0, 30),
+                snapshot(CODE, DAY1, 15, 0, 20),
+                snapshot(CODE, DAY1, 10, 0, 10)));
+        when(stockInvestorRepository.findByDateGreaterThanEqualOrderByTimeAsc(any())).thenReturn(stored);
+
+        service.rebuildStates();
+
+        assertEquals(30, foreigner(FlowWindow.TODAY));
+        assertEquals(50, foreigner(FlowWindow.CUMULATIVE));
+    }
+
+    @Test
+    void topNetBuyersKeepsLargestOrSmallest() {
+        collect(snapshot("A", DAY1, 10, 0, 300));
+        collect(snapshot("B", DAY1, 10, 0, -200));
+        collect(snapshot("C", DAY1, 10, 0, 100));
+
+        List<NetBuyerRow> top = service.topNetBuyers(InvestorCategory.FOREIGNER, FlowWindow.TODAY, 2, false);
+        assertEquals(List.of("A", "C"), top.stream().map(NetBuyerRow::getStockCode).toList());
+
+        List<NetBuyerRow> bottom = service.topNetBuyers(InvestorCategory.FOREIGNER, FlowWindow.TODAY, 2, true);
+        assertEquals(List.of("B", "C"), bottom.stream().map(NetBuyerRow::getStockCode).toList());
+    }
+
+    private void collect(StockInvestor investor) {
+        service.onStockDataCollected(new StockDataCollectedEvent(investor.getStockCode(), List.of(), null, List.of(), List.of(investor)));
+    }
+
+    private long foreigner(FlowWindow window) {
+        return valueOf(category(service.getSummary(CODE), InvestorCategory.FOREIGNER), window);
+    }
+
+    private static long valueOf(CategoryFlow flow, FlowWindow window) {
+        return switch (window) {
+            case TODAY -> flow.getToday();
+            case D5 -> flow.getSum5Days();
+            case D20 -> flow.getSum20Days();
+            case D60 -> flow.getSum60Days();
+            case CUMULATIVE -> flow.getCumulative();
+        };
+    }
+
+    private static CategoryFlow category(InvestorFlowSummary summary, InvestorCategory category) {
+        return summary.getCategories().get(category.ordinal());
+    }
+
+    private static StockInvestor snapshot(String code, LocalDate date, int hour, int minute, long foreigner) {
+        return StockInvestor.builder()
+                .stockCode(code)
+                .date(date)
+                .time(date.atTime(hour, minute))
+                .foreigner(foreigner)
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.sjoh.kioomstock.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sjoh.kioomstock.config.KiwoomAccountProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KiwoomAuthServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> requestedKeys = new ArrayList<>();
+
+    // 토큰 요청 본문의 appkey 를 기록하고 "token-<appkey>" 를 돌려주는 가짜 토큰 서버
+    private final WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                MockClientHttpRequest captured = new MockClientHttpRequest(HttpMethod.POST, request.url());
+                return request.body().insert(captured, context())
+                        .then(captured.getBodyAsString())
+                        .map(body -> {
+                            String appKey = String.valueOf(readJson(body).get("appkey"));
+                            requestedKeys.add(appKey);
+                            return ClientResponse.create(HttpStatus.OK)
+                                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                    .body("{\"token\":\"token-" + appKey + "\"}")
+                                    .build();
+                        });
+            })
+            .build();
+
+    @Test
+    void fallsBackToApiKeyWhenNoCredentialsConfigured() {
+        KiwoomAuthService authService = new KiwoomAuthService(webClient, new KiwoomAccountProperties(), "api-key", "api-secret");
+
+        assertEquals(List.of(KiwoomAuthService.DEFAULT_ACCOUNT_ID), authService.getAccountIds());
+        assertEquals(KiwoomAuthService.DEFAULT_ACCOUNT_ID, authService.getDefaultAccountId());
+        assertEquals("token-api-key", authService.getAccessToken().block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void firstConfiguredAccountIsDefaultAndUnconfiguredAccountsAreSkipped() {
+        KiwoomAuthService authService = new KiwoomAuthService(webClient,
+                properties(credential("main", "key-main", "secret-main"),
+                        credential("sub", "key-sub", "secret-sub"),
+                        credential("pending", "", "")),
+                "api-key", "api-secret");
+
+        assertEquals("main", authService.getDefaultAccountId());
+        assertEquals(List.of("main", "sub"), authService.getAccountIds());
+    }
+
+    @Test
+    void rejectsBlankAndDuplicateIds() {
+        assertThrows(IllegalArgumentException.class, () -> new KiwoomAuthService(webClient,
+                properties(credential(" ", "key", "secret")), "", ""));
+        assertThrows(IllegalArgumentException.class, () -> new KiwoomAuthService(webClient,
+                properties(credential("main", "key-a", "secret-a"), credential("main", "key-b", "secret-b")), "", ""));
+    }
+
+    @Test
+    void blankAccountIdResolvesToDefault() {
+        KiwoomAuthService authService = new KiwoomAuthService(webClient,
+                properties(credential("main", "key-main", "secret-main"), credential("sub", "key-sub", "secret-sub")), "", "");
+
+        assertEquals("main", authService.resolveAccountId(null));
+        assertEquals("main", authService.resolveAccountId(" "));
+        assertEquals("sub", authService.resolveAccountId("sub"));
+    }
+
+    @Test
+    void tokensAreIssuedAndCachedPerAccount() {
+        KiwoomAuthService authService = new KiwoomAuthService(webClient,
+                properties(credential("main", "key-main", "secret-main"), credential("sub", "key-sub", "secret-sub")), "", "");
+
+        assertEquals("token-key-sub", authService.getAccessToken("sub").block(Duration.ofSeconds(5)));
+        assertEquals("token-key-main", authService.getAccessToken("main").block(Duration.ofSeconds(5)));
+        assertEquals("token-key-sub", authService.getAccessToken("sub").block(Duration.ofSeconds(5)));
+        assertEquals("token-key-main", authService.getAccessToken().block(Duration.ofSeconds(5)));
+
+        // 계좌마다 한 번씩만 발급
+        assertEquals(List.of("key-sub", "key-main"), requestedKeys);
+    }
+
+    @Test
+    void unknownAccountFails() {
+        KiwoomAuthService authService = new KiwoomAuthService(webClient,
+                properties(credential("main", "key-main", "secret-main")), "", "");
+
+        assertThrows(IllegalArgumentException.class, () -> authService.getAccessToken("other").block(Duration.ofSeconds(5)));
+        assertEquals(List.of(), requestedKeys);
+    }
+
+    private static KiwoomAccountProperties properties(KiwoomAccountProperties.Credential... credentials) {
+        KiwoomAccountProperties properties = new KiwoomAccountProperties();
+        properties.setCredentials(List.of(credentials));
+        return properties;
+    }
+
+    private static KiwoomAccountProperties.Credential credential(String id, String key, String secret) {
+        KiwoomAccountProperties.Credential credential = new KiwoomAccountProperties.Credential();
+        credential.setId(id);
+        credential.setKey(key);
+        credential.setSecret(secret);
+        return credential;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readJson(String body) {
+        try {
+            return objectMapper.readValue(body, Map.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BodyInserter.Context context() {
+        return new BodyInserter.Context() {
+            @Override
+            public List<HttpMessageWriter<?>> messageWriters() {
+                return ExchangeStrategies.withDefaults().messageWriters();
+            }
+
+            @Override
+            public Optional<ServerHttpRequest> serverRequest() {
+                return Optional.empty();
+            }
+
+            @Override
+            public Map<String, Object> hints() {
+                return Map.of();
+            }
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.domain.AccountInfo;
+import com.sjoh.kioomstock.domain.AccountStockInfo;
+import com.sjoh.kioomstock.portfolio.PortfolioValuation;
+import com.sjoh.kioomstock.portfolio.PositionValuation;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PortfolioValuationServiceTest {
+
+    private static final LocalDateTime TICK = LocalDateTime.of(2026, 10, 16, 10, 0);
+
+    private final AccountService accountService = mock(AccountService.class);
+    private final PortfolioValuationService service = new PortfolioValuationService(accountService);
+
+    @Test
+    void valuesSnapshotWithAbsolutePricesAndNormalizedCodes() {
+        service.load(account("acc-1", 1_000_000,
+                stock("A005930", 10, 70000, -72000),
+                stock("A000660", 5, 120000, 110000)));
+
+        PortfolioValuation valuation = service.getValuation("acc-1");
+
+        assertEquals(10 * 70000 + 5 * 120000, valuation.getTotalPurchaseAmount());
+        assertEquals(10 * 72000 + 5 * 110000, valuation.getTotalEvalAmount());
+        assertEquals(1_000_000 + 10 * 72000 + 5 * 110000, valuation.getEstimatedAsset());
+        assertEquals(-30000, valuation.getTotalProfitLoss());
+        assertEquals("005930", valuation.getPositions().get(0).getStockCode());
+        assertTrue(service.isHeld("000660"));
+        assertFalse(service.isHeld("A000660"));
+        assertNull(service.getValuation("missing"));
+    }
+
+    @Test
+    void repricesOnlyTheMatchingPositionAndKeepsTotalsConsistent() {
+        service.load(account("acc-1", 0,
+                stock("A005930", 10, 70000, 70000),
+                stock("A000660", 5, 120000, 120000)));
+
+        service.updatePrice("005930", 71000, TICK);
+        service.updatePrice("005930", 0, TICK.plusSeconds(1));      // 무시
+        service.updatePrice("122630", 9000, TICK.plusSeconds(2));   // 보유하지 않은 종목
+
+        PortfolioValuation valuation = service.getValuation("acc-1");
+        assertEquals(10 * 71000 + 5 * 120000, valuation.getTotalEvalAmount());
+        assertEquals(10000, valuation.getTotalProfitLoss());
+        assertEquals(71000, valuation.getPositions().get(0).getCurrentPrice());
+        assertEquals(120000, valuation.getPositions().get(1).getCurrentPrice());
+        assertEquals(TICK, valuation.getUpdatedAt());
+        assertEquals(sumOfPositions(valuation), valuation.getTotalEvalAmount());
+    }
+
+    @Test
+    void repricesEveryLineOfSameCodeWithinAccount() {
+        // 현금 잔고와 신용 잔고가 같은 종목으로 두 줄
+        service.load(account("acc-1", 0,
+                stock("A005930", 10, 70000, 70000),
+                stock("A005930", 4, 68000, 70000)));
+
+        service.updatePrice("005930", 75000, TICK);
+
+        PortfolioValuation valuation = service.getValuation("acc-1");
+        assertEquals(2, valuation.getPositions().size());
+        assertEquals(14 * 75000, valuation.getTotalEvalAmount());
+        assertEquals(sumOfPositions(valuation), valuation.getTotalEvalAmount());
+        assertEquals(75000, valuation.getPositions().get(1).getCurrentPrice());
+    }
+
+    @Test
+    void repricesEveryAccountHoldingTheCode() {
+        when(accountService.findLatestSnapshots()).thenReturn(List.of(
+                account("acc-1", 0, stock("A005930", 1, 70000, 70000)),
+                account("acc-2", 0, stock("A005930", 2, 60000, 70000))));
+        service.loadLastSnapshot();
+
+        service.updatePrice("005930", 80000, TICK);
+
+        List<PortfolioValuation> valuations = service.getValuations();
+        assertEquals(List.of("acc-1", "acc-2"), valuations.stream().map(PortfolioValuation::getAccountId).toList());
+        assertEquals(80000, valuations.get(0).getTotalEvalAmount());
+        assertEquals(160000, valuations.get(1).getTotalEvalAmount());
+    }
+
+    private static long sumOfPositions(PortfolioValuation valuation) {
+        return valuation.getPositions().stream().mapToLong(PositionValuation::getEvalAmount).sum();
+    }
+
+    private static AccountInfo account(String accountId, long deposit, AccountStockInfo... stocks) {
+        return AccountInfo.builder()
+                .accountId(accountId)
+                .accountName("test")
+                .deposit(deposit)
+                .stockInfos(List.of(stocks))
+                .build();
+    }
+
+    private static AccountStockInfo stock(String code, long quantity, double avgPrice, long currentPrice) {
+        return AccountStockInfo.builder()
+                .stockCode(code)
+                .stockName(code)
+                .remainQty(quantity)
+                .avgPrice(avgPrice)
+                .currentPrice(currentPrice)
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.domain.StockInvestor;
+import com.sjoh.kioomstock.repository.StockDailyCandleRepository;
+import com.sjoh.kioomstock.repository.StockInvestorRepository;
+import com.sjoh.kioomstock.repository.StockPriceInfoRepository;
+import com.sjoh.kioomstock.repository.StockPriceInfoRepository.MinuteBar;
+import com.sjoh.kioomstock.screener.ScreenerMetric;
+import com.sjoh.kioomstock.screener.ScreenerRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ScreenerServiceTest {
+
+    private final StockDataService stockDataService = mock(StockDataService.class);
+    private final StockPriceInfoRepository stockPriceInfoRepository = mock(StockPriceInfoRepository.class);
+    private final StockDailyCandleRepository stockDailyCandleRepository = mock(StockDailyCandleRepository.class);
+    private final StockInvestorRepository stockInvestorRepository = mock(StockInvestorRepository.class);
+    private final ScreenerService screenerService = new ScreenerService(stockDataService, stockPriceInfoRepository,
+            stockDailyCandleRepository, stockInvestorRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(stockDataService.getTargetStockCodes()).thenReturn(List.of("A", "B", "C"));
+        when(stockPriceInfoRepository.findMinuteBars(anyCollection(), any(), any())).thenReturn(List.of(
+                bar("A", 0, 1000, 10), bar("A", 10, 1100, 10),     // +10%
+                bar("B", 0, 1000, 10), bar("B", 10, 950, 50),      // -5%, 거래량 급증
+                bar("C", 0, 1000, 10), bar("C", 10, 1020, 10),     // +2%
+                bar("X", 0, 1, 1),                                 // 대상이 아닌 종목
+                bar("A", 500, 99999, 99999)));                     // 장 종료 이후
+        LocalDateTime now = LocalDateTime.now();
+        when(stockInvestorRepository.findByDate(any())).thenReturn(List.of(
+                investor("A", now.minusMinutes(5), 100, 100),
+                investor("A", now, -500, 0),                       // 최신 스냅샷만 사용
+                investor("C", now, 300, 200)));
+    }
+
+    @Test
+    void ranksByReturnDescendingAndLimitsToTop() {
+        List<ScreenerRow> rows = screenerService.rank(ScreenerService.MINUTE, ScreenerMetric.RETURN, false, 2);
+
+        assertEquals(List.of("A", "C"), rows.stream().map(ScreenerRow::getStockCode).toList());
+        assertEquals(0.10, rows.get(0).getReturnRate(), 1e-9);
+        assertEquals(1100, rows.get(0).getLastPrice(), 1e-9);
+    }
+
+    @Test
+    void ranksAscendingAndIgnoresOtherCodesAndMinutesOutsideSession() {
+        List<ScreenerRow> rows = screenerService.rank(ScreenerService.MINUTE, ScreenerMetric.RETURN, true, 10);
+
+        assertEquals(List.of("B", "C", "A"), rows.stream().map(ScreenerRow::getStockCode).toList());
+    }
+
+    @Test
+    void ranksVolumeSurgeAndLatestInvestorNetBuy() {
+        assertEquals("B", screenerService.rank(ScreenerService.MINUTE, ScreenerMetric.VOLUME_SURGE, false, 1).get(0).getStockCode());
+
+        List<ScreenerRow> byNetBuy = screenerService.rank(ScreenerService.MINUTE, ScreenerMetric.INVESTOR_NET_BUY, false, 3);
+        assertEquals(List.of("C", "B", "A"), byNetBuy.stream().map(ScreenerRow::getStockCode).toList());
+        assertEquals(500, byNetBuy.get(0).getInvestorNetBuy());
+        assertEquals(-500, byNetBuy.get(2).getInvestorNetBuy());
+    }
+
+    @Test
+    void rejectsNonPositiveTop() {
+        assertThrows(IllegalArgumentException.class, () -> screenerService.rank(ScreenerService.MINUTE, ScreenerMetric.RETURN, false, 0));
+        assertThrows(IllegalArgumentException.class, () -> screenerService.rank(ScreenerService.MINUTE, ScreenerMetric.RETURN, false, -1));
+    }
+
+    private static MinuteBar bar(String code, int minute, long price, long volume) {
+        return new MinuteBar() {
+            @Override
+            public String getCode() {
+                return code;
+            }
+
+            @Override
+            public int getMinute() {
+                return minute;
+            }
+
+            @Override
+            public long getPrice() {
+                return price;
+            }
+
+            @Override
+            public long getVolume() {
+                return volume;
+            }
+        };
+    }
+
+    private static StockInvestor investor(String code, LocalDateTime time, long foreigner, long institution) {
+        return StockInvestor.builder()
+                .stockCode(code)
+                .date(LocalDate.now())
+                .time(time)
+                .foreigner(foreigner)
+                .institution(institution)
+                .build();
+    }
+}
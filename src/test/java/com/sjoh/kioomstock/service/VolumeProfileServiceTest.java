@@ -0,0 +1,73 @@
+package com.sjoh.kioomstock.service;
+
+import com.sjoh.kioomstock.domain.StockPriceInfo;
+import com.sjoh.kioomstock.repository.StockPriceInfoRepository;
+import com.sjoh.kioomstock.volumeprofile.VolumeProfileSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VolumeProfileServiceTest {
+
+    private static final String CODE = "005930";
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final StockPriceInfoRepository stockPriceInfoRepository = mock(StockPriceInfoRepository.class);
+    private final VolumeProfileService service = new VolumeProfileService(mock(StockDataService.class), stockPriceInfoRepository, 1, 0.7, 20);
+
+    @Test
+    void pastDayWithoutTicksIsQueriedOnlyOnce() {
+        LocalDate holiday = TODAY.minusDays(3);
+
+        assertEquals(0, service.getDaily(CODE, holiday, true).getTotalVolume());
+        assertEquals(0, service.getDaily(CODE, holiday, true).getTotalVolume());
+        assertEquals(holiday, service.getDaily(CODE, holiday, false).getDate());
+
+        verify(stockPriceInfoRepository, times(1)).findByStockCodeAndTimeBetweenOrderByTimeAsc(anyString(), any(), any());
+    }
+
+    @Test
+    void recentDaysAreLoadedWithOneRangeQueryAndThenServedFromMemory() {
+        // 홀수 날(달력 기준)만 틱이 있음
+        List<StockPriceInfo> ticks = new ArrayList<>();
+        for (int day = 13; day >= 1; day -= 2) {
+            ticks.add(tick(TODAY.minusDays(day).atTime(10, 0), 70000 + day, 100));
+        }
+        when(stockPriceInfoRepository.findByStockCodeAndTimeBetweenOrderByTimeAsc(eq(CODE), any(), any())).thenReturn(ticks);
+
+        List<VolumeProfileSnapshot> recent = service.getRecent(CODE, 5);
+
+        assertEquals(List.of(TODAY.minusDays(9), TODAY.minusDays(7), TODAY.minusDays(5), TODAY.minusDays(3), TODAY.minusDays(1)),
+                recent.stream().map(VolumeProfileSnapshot::getDate).toList());
+        assertEquals(List.of(), recent.get(0).getLevels());
+        verify(stockPriceInfoRepository, times(1)).findByStockCodeAndTimeBetweenOrderByTimeAsc(
+                CODE, TODAY.minusDays(16).atStartOfDay(), TODAY.minusDays(1).atTime(23, 59, 59));
+
+        // 보관분과 틱 없는 날짜를 기억하므로 같은 조회는 DB 를 다시 읽지 않음
+        assertEquals(recent.size(), service.getRecent(CODE, 5).size());
+        assertEquals(100, service.getDaily(CODE, TODAY.minusDays(3), true).getTotalVolume());
+        assertEquals(0, service.getDaily(CODE, TODAY.minusDays(2), true).getTotalVolume());
+        verify(stockPriceInfoRepository, times(1)).findByStockCodeAndTimeBetweenOrderByTimeAsc(anyString(), any(), any());
+    }
+
+    private static StockPriceInfo tick(LocalDateTime time, long price, long volume) {
+        return StockPriceInfo.builder()
+                .stockCode(CODE)
+                .time(time)
+                .currentPrice(price)
+                .volume(volume)
+                .build();
+    }
+}
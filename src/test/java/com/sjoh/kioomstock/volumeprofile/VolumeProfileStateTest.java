@@ -0,0 +1,79 @@
+package com.sjoh.kioomstock.volumeprofile;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VolumeProfileStateTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 10, 16, 9, 0);
+
+    @Test
+    void bucketsAccumulatedVolumeDeltasByPrice() {
+        VolumeProfileState state = new VolumeProfileState(1);
+        // 첫 틱은 체결량(10)만, 이후는 누적거래량 차이
+        state.apply(BASE, 70000, 10, 1000);
+        state.apply(BASE.plusMinutes(1), -70100, 5, 1030);     // +30 @ 70100 (부호는 무시)
+        state.apply(BASE.plusMinutes(2), 70000, 5, 1050);      // +20 @ 70000
+        state.apply(BASE.plusMinutes(3), 69900, 5, 1040);      // 누적이 줄어든 틱은 무시
+
+        VolumeProfileSnapshot snapshot = state.snapshot("005930", 0.7, true);
+
+        assertEquals(60, snapshot.getTotalVolume());
+        assertEquals(100, snapshot.getBucketSize());
+        assertArrayEquals(new long[]{30, 30}, state.copyVolumes());
+        assertEquals(2, snapshot.getLevels().size());
+        assertEquals(70000, snapshot.getLevels().get(0).getPrice());
+        assertEquals((70000.0 * 30 + 70100.0 * 30) / 60, snapshot.getVwap(), 1e-6);
+        assertEquals(50.0, snapshot.getStdDev(), 1e-6);
+    }
+
+    @Test
+    void valueAreaExpandsFromPointOfControlTowardsLargerSide() {
+        VolumeProfileState state = new VolumeProfileState(1);
+        long[] prices = {69800, 69900, 70000, 70100, 70200};
+        long[] volumes = {5, 20, 50, 15, 10};
+        for (int i = 0; i < prices.length; i++) {
+            state.apply(BASE.plusMinutes(i), prices[i], volumes[i], 0);
+        }
+
+        VolumeProfileSnapshot snapshot = state.snapshot("005930", 0.7, false);
+
+        // 50(POC) -> +20(아래) = 70 >= 70
+        assertEquals(70000L, snapshot.getPointOfControl());
+        assertEquals(69900L, snapshot.getValueAreaLow());
+        assertEquals(70000L, snapshot.getValueAreaHigh());
+        assertEquals(0, snapshot.getLevels().size());
+    }
+
+    @Test
+    void growsHistogramInBothDirections() {
+        VolumeProfileState state = new VolumeProfileState(1);
+        state.apply(BASE, 10000, 1, 0);
+        state.apply(BASE.plusMinutes(1), 12000, 2, 0);     // 호가단위 10 -> 200칸 위
+        state.apply(BASE.plusMinutes(2), 8000, 3, 0);      // 200칸 아래
+
+        VolumeProfileSnapshot snapshot = state.snapshot("000660", 0.7, true);
+
+        assertEquals(6, snapshot.getTotalVolume());
+        assertEquals(8000L, snapshot.getPointOfControl());
+        assertEquals(8000, snapshot.getLevels().get(0).getPrice());
+        assertEquals(12000, snapshot.getLevels().get(2).getPrice());
+        assertEquals(401, state.copyVolumes().length);
+    }
+
+    @Test
+    void rejectsTicksFromAnotherDay() {
+        VolumeProfileState state = new VolumeProfileState(1);
+        state.apply(BASE, 70000, 10, 0);
+        assertFalse(state.apply(BASE.plusDays(1), 70000, 10, 0));
+
+        state.reset();
+        assertNull(state.snapshot("005930", 0.7, false).getVwap());
+    }
+}